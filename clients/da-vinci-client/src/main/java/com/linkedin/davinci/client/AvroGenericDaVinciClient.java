@@ -40,6 +40,7 @@ import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.transport.D2TransportClient;
 import com.linkedin.venice.client.store.transport.TransportClient;
 import com.linkedin.venice.common.VeniceSystemStoreType;
+import com.linkedin.venice.compute.ComputeAggregator;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.controllerapi.D2ServiceDiscoveryResponseV2;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -52,6 +53,7 @@ import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.service.ICProvider;
 import com.linkedin.venice.utils.ComplementSet;
 import com.linkedin.venice.utils.ComputeUtils;
+import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.PropertyBuilder;
 import com.linkedin.venice.utils.ReferenceCounted;
 import com.linkedin.venice.utils.VeniceProperties;
@@ -428,6 +430,8 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
 
       Map<String, Object> globalContext = new HashMap<>();
       Schema computeResultSchema = getComputeResultSchema(computeRequestWrapper);
+      ComputeAggregator<Pair<K, GenericRecord>> aggregator =
+          ComputeAggregator.create(computeRequestWrapper, computeResultSchema);
 
       for (K key: keys) {
         byte[] keyBytes =
@@ -446,7 +450,18 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
               computeRequestWrapper,
               computeResultSchema);
 
-          callback.onRecordReceived(key, computeResultValue);
+          if (aggregator == null || computeResultValue == null) {
+            callback.onRecordReceived(key, computeResultValue);
+          } else if (aggregator.matches(computeResultValue)) {
+            if (!aggregator.hasTopK()) {
+              callback.onRecordReceived(key, computeResultValue);
+            } else {
+              Double score = aggregator.getScore(computeResultValue);
+              if (score != null) {
+                aggregator.offer(score, Pair.create(key, computeResultValue));
+              }
+            }
+          }
         } else if (isVeniceQueryAllowed()) {
           missingKeys.add(key);
         } else if (!isPartitionSubscribed(versionBackend, partition)) {
@@ -456,6 +471,16 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         }
       }
 
+      /**
+       * The local top-K is merged with the top-K of the missing keys from the backend by the callback, which is
+       * created by the compute request builder.
+       */
+      if (aggregator != null && aggregator.hasTopK()) {
+        for (Pair<K, GenericRecord> winner: aggregator.drainTopK()) {
+          callback.onRecordReceived(winner.getFirst(), winner.getSecond());
+        }
+      }
+
       if (missingKeys.isEmpty()) {
         callback.onCompletion(Optional.empty());
         return;
@@ -20,14 +20,24 @@ import static com.linkedin.venice.ConfigKeys.MAX_FUTURE_VERSION_LEADER_FOLLOWER_
 import static com.linkedin.venice.ConfigKeys.MAX_LEADER_FOLLOWER_STATE_TRANSITION_THREAD_NUMBER;
 import static com.linkedin.venice.ConfigKeys.OFFSET_LAG_DELTA_RELAX_FACTOR_FOR_FAST_ONLINE_TRANSITION_IN_RESTART;
 import static com.linkedin.venice.ConfigKeys.PARTICIPANT_MESSAGE_CONSUMPTION_DELAY_MS;
+import static com.linkedin.venice.ConfigKeys.SERVER_ACTIVE_ACTIVE_LOOKUP_PREFETCH_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_AUTO_COMPACTION_FOR_SAMZA_REPROCESSING_JOB_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BLOCKING_QUEUE_TYPE;
 import static com.linkedin.venice.ConfigKeys.SERVER_CACHE_WARMING_BEFORE_READY_TO_SERVE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_CACHE_WARMING_STORE_LIST;
 import static com.linkedin.venice.ConfigKeys.SERVER_CACHE_WARMING_THREAD_POOL_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_CHUNKED_STREAMING_RESPONSE_BATCH_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_CHUNKED_STREAMING_RESPONSE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_FAST_AVRO_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_THREAD_NUM;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_ELASTIC_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_GROW_OFFSET_LAG_THRESHOLD;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_GROW_POLL_FULLNESS_THRESHOLD;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_MIN_SIZE_PER_KAFKA_CLUSTER;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_RESIZE_INTERVAL_MS;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_SHRINK_POLL_FULLNESS_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_SIZE_PER_KAFKA_CLUSTER;
 import static com.linkedin.venice.ConfigKeys.SERVER_DATABASE_CHECKSUM_VERIFICATION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_DATABASE_LOOKUP_QUEUE_CAPACITY;
@@ -45,6 +55,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_DISK_HEALTH_CHECK_TIMEOUT_IN
 import static com.linkedin.venice.ConfigKeys.SERVER_ENABLE_KAFKA_OPENSSL;
 import static com.linkedin.venice.ConfigKeys.SERVER_ENABLE_LIVE_CONFIG_BASED_KAFKA_THROTTLING;
 import static com.linkedin.venice.ConfigKeys.SERVER_ENABLE_PARALLEL_BATCH_GET;
+import static com.linkedin.venice.ConfigKeys.SERVER_ENABLE_PARALLEL_COMPUTE;
 import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_HEADER_TABLE_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_INBOUND_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_INITIAL_WINDOW_SIZE;
@@ -73,6 +84,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_NO_READ_THRESHOLD_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_SERVICE_SCHEDULE_INTERNAL_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_COMPUTE_CHUNK_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARTITION_GRACEFUL_DROP_DELAY_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_PROMOTION_TO_LEADER_REPLICA_DELAY_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_QUOTA_ENFORCEMENT_ENABLED;
@@ -86,14 +98,21 @@ import static com.linkedin.venice.ConfigKeys.SERVER_SCHEMA_FAST_CLASS_WARMUP_TIM
 import static com.linkedin.venice.ConfigKeys.SERVER_SCHEMA_PRESENCE_CHECK_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_CONSUMER_ASSIGNMENT_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_CONSUMER_NON_EXISTING_TOPIC_CLEANUP_DELAY_MS;
+import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_CONSUMER_QUEUED_SUBSCRIPTION_COMMANDS_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_KAFKA_PRODUCER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHUTDOWN_DISK_UNHEALTHY_TIME_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_SOURCE_TOPIC_OFFSET_CHECK_INTERVAL_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_STORE_TO_EARLY_TERMINATION_THRESHOLD_MS_MAP;
 import static com.linkedin.venice.ConfigKeys.SERVER_SYSTEM_STORE_PROMOTION_TO_LEADER_REPLICA_DELAY_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_TRANSIENT_RECORD_OFF_HEAP_MEMORY_BUDGET_IN_BYTES;
 import static com.linkedin.venice.ConfigKeys.SERVER_UNSUB_AFTER_BATCHPUSH;
 import static com.linkedin.venice.ConfigKeys.SEVER_CALCULATE_QUOTA_USAGE_BASED_ON_PARTITIONS_ASSIGNMENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SORTED_INPUT_DRAINER_SIZE;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_ADAPTIVE_ASSIGNMENT_ENABLED;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_ADAPTIVE_ASSIGNMENT_INTERVAL_MS;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BATCH_MAX_RECORDS;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BATCH_MAX_SIZE_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_LOCK_FREE_QUEUE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_MEMORY_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_NOTIFY_DELTA;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_NUMBER;
@@ -201,6 +220,16 @@ public class VeniceServerConfig extends VeniceClusterConfig {
    */
   private final long storeWriterBufferNotifyDelta;
 
+  /**
+   * The max number of records and the max size of the records, which each writer will drain from its buffer and
+   * persist through a single write batch per partition. 1 means the batch mode is disabled.
+   */
+  private final int storeWriterBatchMaxRecords;
+  private final long storeWriterBatchMaxSizeInBytes;
+  private final boolean storeWriterAdaptiveAssignmentEnabled;
+  private final long storeWriterAdaptiveAssignmentIntervalMs;
+  private final boolean storeWriterBufferLockFreeQueueEnabled;
+
   /**
    * The number of threads being used to serve get requests.
    */
@@ -293,6 +322,16 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final int parallelBatchGetChunkSize;
 
+  private final boolean enableParallelCompute;
+
+  private final int parallelComputeChunkSize;
+
+  private final boolean batchGetStorageMultiGetEnabled;
+
+  private final boolean chunkedStreamingResponseEnabled;
+
+  private final int chunkedStreamingResponseBatchSize;
+
   private final boolean keyValueProfilingEnabled;
 
   private final boolean enableDatabaseMemoryStats;
@@ -312,6 +351,12 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final long ssdHealthCheckShutdownTimeMs;
   private final KafkaConsumerService.ConsumerAssignmentStrategy sharedConsumerAssignmentStrategy;
   private final int consumerPoolSizePerKafkaCluster;
+  private final boolean elasticConsumerPoolEnabled;
+  private final int minConsumerPoolSizePerKafkaCluster;
+  private final long consumerPoolResizeIntervalMs;
+  private final double consumerPoolGrowPollFullnessThreshold;
+  private final long consumerPoolGrowOffsetLagThreshold;
+  private final double consumerPoolShrinkPollFullnessThreshold;
   private final boolean leakedResourceCleanupEnabled;
   private final boolean cacheWarmingBeforeReadyToServeEnabled;
   private final Set<String> cacheWarmingStoreSet;
@@ -332,6 +377,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final String systemSchemaClusterName;
 
   private final long sharedConsumerNonExistingTopicCleanupDelayMS;
+  private final boolean sharedConsumerQueuedSubscriptionCommandsEnabled;
   private final boolean enableAutoCompactionForSamzaReprocessingJob;
   private final int offsetLagDeltaRelaxFactorForFastOnlineTransitionInRestart;
 
@@ -368,6 +414,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final boolean serverIngestionCheckpointDuringGracefulShutdownEnabled;
 
+  private final boolean activeActiveLookupPrefetchEnabled;
+
+  private final long transientRecordOffHeapMemoryBudgetInBytes;
+
   private final int remoteIngestionRepairSleepInterval;
 
   private final boolean optimizeDatabaseForBackupVersionEnabled;
@@ -413,6 +463,13 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     storeWriterBufferMemoryCapacity =
         serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_MEMORY_CAPACITY, 10 * 1024 * 1024);
     storeWriterBufferNotifyDelta = serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_NOTIFY_DELTA, 1 * 1024 * 1024);
+    storeWriterBatchMaxRecords = serverProperties.getInt(STORE_WRITER_BATCH_MAX_RECORDS, 1);
+    storeWriterBatchMaxSizeInBytes = serverProperties.getSizeInBytes(STORE_WRITER_BATCH_MAX_SIZE_IN_BYTES, 1024 * 1024);
+    storeWriterAdaptiveAssignmentEnabled = serverProperties.getBoolean(STORE_WRITER_ADAPTIVE_ASSIGNMENT_ENABLED, false);
+    storeWriterAdaptiveAssignmentIntervalMs =
+        serverProperties.getLong(STORE_WRITER_ADAPTIVE_ASSIGNMENT_INTERVAL_MS, TimeUnit.SECONDS.toMillis(10));
+    storeWriterBufferLockFreeQueueEnabled =
+        serverProperties.getBoolean(STORE_WRITER_BUFFER_LOCK_FREE_QUEUE_ENABLED, false);
     restServiceStorageThreadNum = serverProperties.getInt(SERVER_REST_SERVICE_STORAGE_THREAD_NUM, 16);
     serverComputeThreadNum = serverProperties.getInt(SERVER_COMPUTE_THREAD_NUM, 16);
     nettyIdleTimeInSeconds = serverProperties.getInt(SERVER_NETTY_IDLE_TIME_SECONDS, (int) TimeUnit.HOURS.toSeconds(3));
@@ -459,6 +516,11 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
     enableParallelBatchGet = serverProperties.getBoolean(SERVER_ENABLE_PARALLEL_BATCH_GET, false);
     parallelBatchGetChunkSize = serverProperties.getInt(SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE, 5);
+    enableParallelCompute = serverProperties.getBoolean(SERVER_ENABLE_PARALLEL_COMPUTE, false);
+    parallelComputeChunkSize = serverProperties.getInt(SERVER_PARALLEL_COMPUTE_CHUNK_SIZE, 100);
+    batchGetStorageMultiGetEnabled = serverProperties.getBoolean(SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED, false);
+    chunkedStreamingResponseEnabled = serverProperties.getBoolean(SERVER_CHUNKED_STREAMING_RESPONSE_ENABLED, false);
+    chunkedStreamingResponseBatchSize = serverProperties.getInt(SERVER_CHUNKED_STREAMING_RESPONSE_BATCH_SIZE, 100);
 
     keyValueProfilingEnabled = serverProperties.getBoolean(KEY_VALUE_PROFILING_ENABLED, false);
     enableDatabaseMemoryStats = serverProperties.getBoolean(SERVER_DATABASE_MEMORY_STATS_ENABLED, true);
@@ -514,6 +576,22 @@ public class VeniceServerConfig extends VeniceClusterConfig {
               + MINIMUM_CONSUMER_NUM_IN_CONSUMER_POOL_PER_KAFKA_CLUSTER + ", but it is "
               + consumerPoolSizePerKafkaCluster);
     }
+    elasticConsumerPoolEnabled = serverProperties.getBoolean(SERVER_CONSUMER_POOL_ELASTIC_ENABLED, false);
+    minConsumerPoolSizePerKafkaCluster = serverProperties.getInt(SERVER_CONSUMER_POOL_MIN_SIZE_PER_KAFKA_CLUSTER, 1);
+    if (minConsumerPoolSizePerKafkaCluster < 1
+        || minConsumerPoolSizePerKafkaCluster > consumerPoolSizePerKafkaCluster) {
+      throw new VeniceException(
+          SERVER_CONSUMER_POOL_MIN_SIZE_PER_KAFKA_CLUSTER + " should be between 1 and "
+              + SERVER_CONSUMER_POOL_SIZE_PER_KAFKA_CLUSTER + ": " + consumerPoolSizePerKafkaCluster + ", but it is "
+              + minConsumerPoolSizePerKafkaCluster);
+    }
+    consumerPoolResizeIntervalMs =
+        serverProperties.getLong(SERVER_CONSUMER_POOL_RESIZE_INTERVAL_MS, TimeUnit.MINUTES.toMillis(1));
+    consumerPoolGrowPollFullnessThreshold =
+        serverProperties.getDouble(SERVER_CONSUMER_POOL_GROW_POLL_FULLNESS_THRESHOLD, 0.8);
+    consumerPoolGrowOffsetLagThreshold = serverProperties.getLong(SERVER_CONSUMER_POOL_GROW_OFFSET_LAG_THRESHOLD, 0);
+    consumerPoolShrinkPollFullnessThreshold =
+        serverProperties.getDouble(SERVER_CONSUMER_POOL_SHRINK_POLL_FULLNESS_THRESHOLD, 0.2);
     leakedResourceCleanupEnabled = serverProperties.getBoolean(SERVER_LEAKED_RESOURCE_CLEANUP_ENABLED, true);
     cacheWarmingBeforeReadyToServeEnabled =
         serverProperties.getBoolean(SERVER_CACHE_WARMING_BEFORE_READY_TO_SERVE_ENABLED, false);
@@ -544,6 +622,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     systemSchemaClusterName = serverProperties.getString(SYSTEM_SCHEMA_CLUSTER_NAME, "");
     sharedConsumerNonExistingTopicCleanupDelayMS = serverProperties
         .getLong(SERVER_SHARED_CONSUMER_NON_EXISTING_TOPIC_CLEANUP_DELAY_MS, TimeUnit.MINUTES.toMillis(10));
+    sharedConsumerQueuedSubscriptionCommandsEnabled =
+        serverProperties.getBoolean(SERVER_SHARED_CONSUMER_QUEUED_SUBSCRIPTION_COMMANDS_ENABLED, false);
     enableAutoCompactionForSamzaReprocessingJob =
         serverProperties.getBoolean(SERVER_AUTO_COMPACTION_FOR_SAMZA_REPROCESSING_JOB_ENABLED, true);
     sharedKafkaProducerEnabled = serverProperties.getBoolean(SERVER_SHARED_KAFKA_PRODUCER_ENABLED, false);
@@ -598,6 +678,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
      */
     serverIngestionCheckpointDuringGracefulShutdownEnabled =
         serverProperties.getBoolean(SERVER_INGESTION_CHECKPOINT_DURING_GRACEFUL_SHUTDOWN_ENABLED, true);
+    activeActiveLookupPrefetchEnabled =
+        serverProperties.getBoolean(SERVER_ACTIVE_ACTIVE_LOOKUP_PREFETCH_ENABLED, false);
+    transientRecordOffHeapMemoryBudgetInBytes =
+        serverProperties.getSizeInBytes(SERVER_TRANSIENT_RECORD_OFF_HEAP_MEMORY_BUDGET_IN_BYTES, 0);
     optimizeDatabaseForBackupVersionEnabled =
         serverProperties.getBoolean(SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_ENABLED, false);
     optimizeDatabaseForBackupVersionNoReadThresholdMS = serverProperties
@@ -657,6 +741,26 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return this.storeWriterBufferNotifyDelta;
   }
 
+  public int getStoreWriterBatchMaxRecords() {
+    return this.storeWriterBatchMaxRecords;
+  }
+
+  public long getStoreWriterBatchMaxSizeInBytes() {
+    return this.storeWriterBatchMaxSizeInBytes;
+  }
+
+  public boolean isStoreWriterAdaptiveAssignmentEnabled() {
+    return this.storeWriterAdaptiveAssignmentEnabled;
+  }
+
+  public long getStoreWriterAdaptiveAssignmentIntervalMs() {
+    return this.storeWriterAdaptiveAssignmentIntervalMs;
+  }
+
+  public boolean isStoreWriterBufferLockFreeQueueEnabled() {
+    return this.storeWriterBufferLockFreeQueueEnabled;
+  }
+
   public int getRestServiceStorageThreadNum() {
     return restServiceStorageThreadNum;
   }
@@ -783,6 +887,26 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return parallelBatchGetChunkSize;
   }
 
+  public boolean isEnableParallelCompute() {
+    return enableParallelCompute;
+  }
+
+  public int getParallelComputeChunkSize() {
+    return parallelComputeChunkSize;
+  }
+
+  public boolean isBatchGetStorageMultiGetEnabled() {
+    return batchGetStorageMultiGetEnabled;
+  }
+
+  public boolean isChunkedStreamingResponseEnabled() {
+    return chunkedStreamingResponseEnabled;
+  }
+
+  public int getChunkedStreamingResponseBatchSize() {
+    return chunkedStreamingResponseBatchSize;
+  }
+
   public boolean isKeyValueProfilingEnabled() {
     return keyValueProfilingEnabled;
   }
@@ -843,6 +967,30 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return consumerPoolSizePerKafkaCluster;
   }
 
+  public boolean isElasticConsumerPoolEnabled() {
+    return elasticConsumerPoolEnabled;
+  }
+
+  public int getMinConsumerPoolSizePerKafkaCluster() {
+    return minConsumerPoolSizePerKafkaCluster;
+  }
+
+  public long getConsumerPoolResizeIntervalMs() {
+    return consumerPoolResizeIntervalMs;
+  }
+
+  public double getConsumerPoolGrowPollFullnessThreshold() {
+    return consumerPoolGrowPollFullnessThreshold;
+  }
+
+  public long getConsumerPoolGrowOffsetLagThreshold() {
+    return consumerPoolGrowOffsetLagThreshold;
+  }
+
+  public double getConsumerPoolShrinkPollFullnessThreshold() {
+    return consumerPoolShrinkPollFullnessThreshold;
+  }
+
   public boolean isLeakedResourceCleanupEnabled() {
     return leakedResourceCleanupEnabled;
   }
@@ -903,6 +1051,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return sharedConsumerNonExistingTopicCleanupDelayMS;
   }
 
+  public boolean isSharedConsumerQueuedSubscriptionCommandsEnabled() {
+    return sharedConsumerQueuedSubscriptionCommandsEnabled;
+  }
+
   public boolean isEnableAutoCompactionForSamzaReprocessingJob() {
     return enableAutoCompactionForSamzaReprocessingJob;
   }
@@ -999,6 +1151,14 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return serverIngestionCheckpointDuringGracefulShutdownEnabled;
   }
 
+  public boolean isActiveActiveLookupPrefetchEnabled() {
+    return activeActiveLookupPrefetchEnabled;
+  }
+
+  public long getTransientRecordOffHeapMemoryBudgetInBytes() {
+    return transientRecordOffHeapMemoryBudgetInBytes;
+  }
+
   public int getRemoteIngestionRepairSleepInterval() {
     return remoteIngestionRepairSleepInterval;
   }
@@ -4,6 +4,7 @@ import static com.linkedin.davinci.kafka.consumer.LeaderFollowerStateType.LEADER
 import static com.linkedin.davinci.kafka.consumer.LeaderFollowerStateType.STANDBY;
 import static com.linkedin.venice.VeniceConstants.REWIND_TIME_DECIDED_BY_SERVER;
 
+import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.config.VeniceStoreVersionConfig;
 import com.linkedin.davinci.replication.RmdWithValueSchemaId;
 import com.linkedin.davinci.replication.merge.MergeConflictResolver;
@@ -44,6 +45,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -56,6 +58,7 @@ import java.util.function.BooleanSupplier;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -160,6 +163,109 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     }
   }
 
+  /**
+   * When {@link VeniceServerConfig#isActiveActiveLookupPrefetchEnabled()} is on, the old values and the RMDs of all the
+   * keys in a batch of real-time topic records are looked up with one batched lookup per column family before the
+   * records are processed, so that the conflict resolution of each record under its key-level lock doesn't need to hit
+   * the storage engine anymore. The records colliding on the same key still go through the transient record cache.
+   */
+  @Override
+  protected void produceToStoreBufferServiceOrKafka(
+      Iterable<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> records,
+      boolean whetherToApplyThrottling,
+      TopicPartition topicPartition,
+      String kafkaUrl,
+      int kafkaClusterId) throws InterruptedException {
+    Map<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> prefetchedRecords = Collections.emptyMap();
+    PartitionConsumptionState partitionConsumptionState = partitionConsumptionStateMap.get(topicPartition.partition());
+    if (shouldPrefetchLookup(topicPartition, partitionConsumptionState)) {
+      prefetchedRecords = prefetchLookup(records, topicPartition.partition(), partitionConsumptionState);
+    }
+    try {
+      super.produceToStoreBufferServiceOrKafka(
+          records,
+          whetherToApplyThrottling,
+          topicPartition,
+          kafkaUrl,
+          kafkaClusterId);
+    } finally {
+      for (Map.Entry<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> entry: prefetchedRecords.entrySet()) {
+        partitionConsumptionState.removePrefetchedRecord(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * The prefetch is only needed when the records go through the conflict resolution. It is skipped with the
+   * amplification factor, in which case the records of a Kafka partition belong to different sub-partitions.
+   */
+  boolean shouldPrefetchLookup(TopicPartition topicPartition, PartitionConsumptionState partitionConsumptionState) {
+    return serverConfig.isActiveActiveLookupPrefetchEnabled() && amplificationFactor == 1
+        && Version.isRealTimeTopic(topicPartition.topic()) && partitionConsumptionState != null
+        && partitionConsumptionState.isEndOfPushReceived()
+        && !(isDataRecovery && partitionConsumptionState.getTopicSwitch() != null);
+  }
+
+  /**
+   * Each key is reserved in the {@link PartitionConsumptionState} before it is looked up, and the keys having a
+   * transient record are skipped, since the storage engine may not have their latest values yet. Any transient record
+   * set afterwards invalidates the reservation of the key, so that a prefetched record is never staler than the storage
+   * engine. A failed prefetch is not fatal, since the lookups fall back to the storage engine per record.
+   *
+   * @return the reserved records, which need to be released by the caller.
+   */
+  Map<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> prefetchLookup(
+      Iterable<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> records,
+      int subPartition,
+      PartitionConsumptionState partitionConsumptionState) {
+    Map<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> prefetchedRecords = new LinkedHashMap<>();
+    List<byte[]> keys = new ArrayList<>();
+    List<ByteBuffer> keyBuffers = new ArrayList<>();
+    for (ConsumerRecord<KafkaKey, KafkaMessageEnvelope> record: records) {
+      if (record.key().isControlMessage()) {
+        continue;
+      }
+      byte[] keyBytes = record.key().getKey();
+      ByteArrayKey key = ByteArrayKey.wrap(keyBytes);
+      if (prefetchedRecords.containsKey(key)) {
+        continue;
+      }
+      PartitionConsumptionState.PrefetchedRecord prefetchedRecord = new PartitionConsumptionState.PrefetchedRecord();
+      if (partitionConsumptionState.reservePrefetchedRecord(key, prefetchedRecord)) {
+        prefetchedRecords.put(key, prefetchedRecord);
+        keys.add(keyBytes);
+        keyBuffers.add(ByteBuffer.wrap(keyBytes));
+      }
+    }
+    if (prefetchedRecords.isEmpty()) {
+      return prefetchedRecords;
+    }
+
+    try {
+      long lookupStartTimeInNS = System.nanoTime();
+      List<byte[]> rmds = storageEngine.multiGetReplicationMetadata(subPartition, keys);
+      hostLevelIngestionStats
+          .recordIngestionReplicationMetadataLookUpLatency(LatencyUtils.getLatencyInMS(lookupStartTimeInNS));
+      lookupStartTimeInNS = System.nanoTime();
+      List<byte[]> values =
+          ChunkingUtils.multiGetTopLevelValues(storageEngine, subPartition, keyBuffers, isChunked, null);
+      hostLevelIngestionStats.recordIngestionValueBytesLookUpLatency(LatencyUtils.getLatencyInMS(lookupStartTimeInNS));
+      int i = 0;
+      for (PartitionConsumptionState.PrefetchedRecord prefetchedRecord: prefetchedRecords.values()) {
+        prefetchedRecord.complete(values.get(i), rmds.get(i));
+        i++;
+      }
+    } catch (VeniceException e) {
+      LOGGER.warn(
+          "Failed to prefetch the old values and RMDs of {} keys in partition {} of topic {}",
+          keys.size(),
+          subPartition,
+          kafkaVersionTopic,
+          e);
+    }
+    return prefetchedRecords;
+  }
+
   @Override
   protected void putInStorageEngine(int partition, byte[] keyBytes, Put put) {
     try {
@@ -230,28 +336,39 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
    * the transient map then use that, otherwise get it from storage engine.
    *
    * @param partitionConsumptionState The {@link PartitionConsumptionState} of the current partition
+   * @param cachedRecord The retained transient record of the key, or null if there is none.
    * @param key Bytes of key.
    * @param subPartition The partition to fetch the replication metadata from storage engine
    * @return The object containing RMD and value schema id. If nothing is found, return {@code Optional.empty()}
    */
-  private Optional<RmdWithValueSchemaId> getReplicationMetadataAndSchemaId(
+  Optional<RmdWithValueSchemaId> getReplicationMetadataAndSchemaId(
       PartitionConsumptionState partitionConsumptionState,
+      PartitionConsumptionState.TransientRecord cachedRecord,
       byte[] key,
       int subPartition) {
-    PartitionConsumptionState.TransientRecord cachedRecord = partitionConsumptionState.getTransientRecord(key);
     if (cachedRecord != null) {
       hostLevelIngestionStats.recordIngestionReplicationMetadataCacheHitCount();
-      return Optional.of(
-          new RmdWithValueSchemaId(
-              cachedRecord.getValueSchemaId(),
-              rmdProtocolVersionID,
-              cachedRecord.getReplicationMetadataRecord()));
+      GenericRecord rmdRecord = cachedRecord.getReplicationMetadataRecord();
+      ByteBuffer rmdBytes = cachedRecord.getReplicationMetadataBytes();
+      if (rmdBytes != null) {
+        // The transient record was kept off heap with the serialized RMD, which is deserialized from the off-heap view
+        // for every lookup, so that the deserialized RMD is never kept on heap along with the record.
+        rmdRecord =
+            rmdSerDe.deserializeRmdBytes(cachedRecord.getValueSchemaId(), cachedRecord.getValueSchemaId(), rmdBytes);
+      }
+      return Optional.of(new RmdWithValueSchemaId(cachedRecord.getValueSchemaId(), rmdProtocolVersionID, rmdRecord));
     }
 
-    final long lookupStartTimeInNS = System.nanoTime();
-    byte[] replicationMetadataWithValueSchemaBytes = storageEngine.getReplicationMetadata(subPartition, key);
-    hostLevelIngestionStats
-        .recordIngestionReplicationMetadataLookUpLatency(LatencyUtils.getLatencyInMS(lookupStartTimeInNS));
+    byte[] replicationMetadataWithValueSchemaBytes;
+    PartitionConsumptionState.PrefetchedRecord prefetchedRecord = partitionConsumptionState.getPrefetchedRecord(key);
+    if (prefetchedRecord != null) {
+      replicationMetadataWithValueSchemaBytes = prefetchedRecord.getReplicationMetadataWithValueSchemaId();
+    } else {
+      final long lookupStartTimeInNS = System.nanoTime();
+      replicationMetadataWithValueSchemaBytes = storageEngine.getReplicationMetadata(subPartition, key);
+      hostLevelIngestionStats
+          .recordIngestionReplicationMetadataLookUpLatency(LatencyUtils.getLatencyInMS(lookupStartTimeInNS));
+    }
     if (replicationMetadataWithValueSchemaBytes == null) {
       return Optional.empty(); // No RMD for this key
     }
@@ -310,92 +427,102 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
             consumerTaskId + " : Invalid/Unrecognized operation type submitted: " + kafkaValue.messageType);
     }
 
-    Lazy<ByteBuffer> oldValueProvider = Lazy.of(
-        () -> getValueBytesForKey(
-            partitionConsumptionState,
-            keyBytes,
-            consumerRecord.topic(),
-            consumerRecord.partition()));
-
-    final Optional<RmdWithValueSchemaId> rmdWithValueSchemaID =
-        getReplicationMetadataAndSchemaId(partitionConsumptionState, keyBytes, subPartition);
-
-    final long writeTimestamp = getWriteTimestampFromKME(kafkaValue);
-    final long offsetSumPreOperation = rmdWithValueSchemaID.isPresent()
-        ? MergeUtils.extractOffsetVectorSumFromRmd(rmdWithValueSchemaID.get().getRmdRecord())
-        : 0;
-    List<Long> recordTimestampsPreOperation = rmdWithValueSchemaID.isPresent()
-        ? MergeUtils.extractTimestampFromRmd(rmdWithValueSchemaID.get().getRmdRecord())
-        : Collections.singletonList(0L);
-    // get the source offset and the id
-    long sourceOffset = consumerRecord.offset();
-    final MergeConflictResult mergeConflictResult;
-
-    aggVersionedIngestionStats.recordTotalDCR(storeName, versionNumber);
+    // The transient record, if any, is looked up once for both the old value and the RMD, and retained until the
+    // merged record is produced, so that its off-heap memory isn't freed by the drainer in the meantime.
+    PartitionConsumptionState.TransientRecord transientRecord = partitionConsumptionState.getTransientRecord(keyBytes);
+    try {
+      Lazy<ByteBuffer> oldValueProvider = Lazy.of(
+          () -> getValueBytesForKey(
+              partitionConsumptionState,
+              transientRecord,
+              keyBytes,
+              consumerRecord.topic(),
+              consumerRecord.partition()));
+
+      final Optional<RmdWithValueSchemaId> rmdWithValueSchemaID =
+          getReplicationMetadataAndSchemaId(partitionConsumptionState, transientRecord, keyBytes, subPartition);
+
+      final long writeTimestamp = getWriteTimestampFromKME(kafkaValue);
+      final long offsetSumPreOperation = rmdWithValueSchemaID.isPresent()
+          ? MergeUtils.extractOffsetVectorSumFromRmd(rmdWithValueSchemaID.get().getRmdRecord())
+          : 0;
+      List<Long> recordTimestampsPreOperation = rmdWithValueSchemaID.isPresent()
+          ? MergeUtils.extractTimestampFromRmd(rmdWithValueSchemaID.get().getRmdRecord())
+          : Collections.singletonList(0L);
+      // get the source offset and the id
+      long sourceOffset = consumerRecord.offset();
+      final MergeConflictResult mergeConflictResult;
+
+      aggVersionedIngestionStats.recordTotalDCR(storeName, versionNumber);
+
+      switch (msgType) {
+        case PUT:
+          mergeConflictResult = mergeConflictResolver.put(
+              oldValueProvider,
+              rmdWithValueSchemaID,
+              ((Put) kafkaValue.payloadUnion).putValue,
+              writeTimestamp,
+              incomingValueSchemaId,
+              sourceOffset,
+              kafkaClusterId,
+              kafkaClusterId // Use the kafka cluster ID as the colo ID for now because one colo/fabric has only one
+                             // Kafka cluster. TODO: evaluate whether it is enough this way, or we need to add a new
+                             // config to represent the mapping from Kafka server URLs to colo ID.
+          );
+          break;
 
-    switch (msgType) {
-      case PUT:
-        mergeConflictResult = mergeConflictResolver.put(
-            oldValueProvider,
-            rmdWithValueSchemaID,
-            ((Put) kafkaValue.payloadUnion).putValue,
-            writeTimestamp,
-            incomingValueSchemaId,
-            sourceOffset,
-            kafkaClusterId,
-            kafkaClusterId // Use the kafka cluster ID as the colo ID for now because one colo/fabric has only one
-                           // Kafka cluster. TODO: evaluate whether it is enough this way, or we need to add a new
-                           // config to represent the mapping from Kafka server URLs to colo ID.
-        );
-        break;
+        case DELETE:
+          mergeConflictResult = mergeConflictResolver.delete(
+              oldValueProvider,
+              rmdWithValueSchemaID,
+              writeTimestamp,
+              sourceOffset,
+              kafkaClusterId,
+              kafkaClusterId);
+          break;
 
-      case DELETE:
-        mergeConflictResult = mergeConflictResolver.delete(
-            oldValueProvider,
-            rmdWithValueSchemaID,
-            writeTimestamp,
-            sourceOffset,
-            kafkaClusterId,
-            kafkaClusterId);
-        break;
+        case UPDATE:
+          mergeConflictResult = mergeConflictResolver.update(
+              oldValueProvider,
+              rmdWithValueSchemaID,
+              ((Update) kafkaValue.payloadUnion).updateValue,
+              incomingValueSchemaId,
+              incomingWriteComputeSchemaId,
+              writeTimestamp,
+              sourceOffset,
+              kafkaClusterId,
+              kafkaClusterId);
+          break;
+        default:
+          throw new VeniceMessageException(
+              consumerTaskId + " : Invalid/Unrecognized operation type submitted: " + kafkaValue.messageType);
+      }
 
-      case UPDATE:
-        mergeConflictResult = mergeConflictResolver.update(
-            oldValueProvider,
-            rmdWithValueSchemaID,
-            ((Update) kafkaValue.payloadUnion).updateValue,
-            incomingValueSchemaId,
-            incomingWriteComputeSchemaId,
-            writeTimestamp,
-            sourceOffset,
+      if (mergeConflictResult.isUpdateIgnored()) {
+        hostLevelIngestionStats.recordUpdateIgnoredDCR();
+        aggVersionedIngestionStats.recordUpdateIgnoredDCR(storeName, versionNumber);
+        aggVersionedIngestionStats.recordConsumedRecordEndToEndProcessingLatency(
+            storeName,
+            versionNumber,
+            LatencyUtils.getLatencyInMS(beforeProcessingRecordTimestamp));
+      } else {
+        validatePostOperationResultsAndRecord(mergeConflictResult, offsetSumPreOperation, recordTimestampsPreOperation);
+        // This function may modify the original record in KME and it is unsafe to use the payload from KME directly
+        // after this call.
+        producePutOrDeleteToKafka(
+            mergeConflictResult,
+            partitionConsumptionState,
+            keyBytes,
+            consumerRecord,
+            subPartition,
+            kafkaUrl,
             kafkaClusterId,
-            kafkaClusterId);
-        break;
-      default:
-        throw new VeniceMessageException(
-            consumerTaskId + " : Invalid/Unrecognized operation type submitted: " + kafkaValue.messageType);
-    }
-
-    if (mergeConflictResult.isUpdateIgnored()) {
-      hostLevelIngestionStats.recordUpdateIgnoredDCR();
-      aggVersionedIngestionStats.recordUpdateIgnoredDCR(storeName, versionNumber);
-      aggVersionedIngestionStats.recordConsumedRecordEndToEndProcessingLatency(
-          storeName,
-          versionNumber,
-          LatencyUtils.getLatencyInMS(beforeProcessingRecordTimestamp));
-    } else {
-      validatePostOperationResultsAndRecord(mergeConflictResult, offsetSumPreOperation, recordTimestampsPreOperation);
-      // This function may modify the original record in KME and it is unsafe to use the payload from KME directly after
-      // this call.
-      producePutOrDeleteToKafka(
-          mergeConflictResult,
-          partitionConsumptionState,
-          keyBytes,
-          consumerRecord,
-          subPartition,
-          kafkaUrl,
-          kafkaClusterId,
-          beforeProcessingRecordTimestamp);
+            beforeProcessingRecordTimestamp);
+      }
+    } finally {
+      if (transientRecord != null) {
+        transientRecord.release();
+      }
     }
   }
 
@@ -446,21 +573,37 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
    * Get the value bytes for a key from {@link PartitionConsumptionState.TransientRecord} or from disk. The assumption
    * is that the {@link PartitionConsumptionState.TransientRecord} only contains the full value.
    * @param partitionConsumptionState The {@link PartitionConsumptionState} of the current partition
+   * @param transientRecord The retained transient record of the key, or null if there is none.
    * @param key The key bytes of the incoming record.
    * @param topic The topic from which the incomign record was consumed
    * @param partition The Kafka partition from which the incomign record was consumed
    * @return
    */
-  private ByteBuffer getValueBytesForKey(
+  ByteBuffer getValueBytesForKey(
       PartitionConsumptionState partitionConsumptionState,
+      PartitionConsumptionState.TransientRecord transientRecord,
       byte[] key,
       String topic,
       int partition) {
     ByteBuffer originalValue = null;
     // Find the existing value. If a value for this key is found from the transient map then use that value, otherwise
     // get it from DB.
-    PartitionConsumptionState.TransientRecord transientRecord = partitionConsumptionState.getTransientRecord(key);
-    if (transientRecord == null) {
+    PartitionConsumptionState.PrefetchedRecord prefetchedRecord;
+    if (transientRecord == null && (prefetchedRecord = partitionConsumptionState.getPrefetchedRecord(key)) != null) {
+      // The top-level value was prefetched, and only the chunks, if any, and the decompression are left.
+      originalValue = RawBytesChunkingAdapter.INSTANCE.getFromPrefetchedValue(
+          storeName,
+          storageEngine,
+          getSubPartitionId(key, topic, partition),
+          prefetchedRecord.getValue(),
+          null,
+          null,
+          compressionStrategy,
+          serverConfig.isComputeFastAvroEnabled(),
+          schemaRepository,
+          null,
+          compressor.get());
+    } else if (transientRecord == null) {
       long lookupStartTimeInNS = System.nanoTime();
       originalValue = RawBytesChunkingAdapter.INSTANCE.get(
           storageEngine,
@@ -479,10 +622,11 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       hostLevelIngestionStats.recordIngestionValueBytesLookUpLatency(LatencyUtils.getLatencyInMS(lookupStartTimeInNS));
     } else {
       hostLevelIngestionStats.recordIngestionValueBytesCacheHitCount();
-      // construct originalValue from this transient record only if it's not null.
-      if (transientRecord.getValue() != null) {
-        originalValue = ByteBuffer
-            .wrap(transientRecord.getValue(), transientRecord.getValueOffset(), transientRecord.getValueLen());
+      // construct originalValue from this transient record only if it's not null. The value is copied on heap if the
+      // record is kept off heap, so it's only read once.
+      byte[] value = transientRecord.getValue();
+      if (value != null) {
+        originalValue = ByteBuffer.wrap(value, transientRecord.getValueOffset(), transientRecord.getValueLen());
       }
     }
     return originalValue;
@@ -496,6 +640,7 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
    *
    * @param mergeConflictResult The result of conflict resolution.
    * @param partitionConsumptionState The {@link PartitionConsumptionState} of the current partition
+   * @param transientRecord The retained transient record of the key, or null if there is none.
    * @param key The key bytes of the incoming record.
    * @param consumerRecord The {@link ConsumerRecord} for the current record.
    * @param subPartition
@@ -525,8 +670,16 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
     if (updatedValueBytes == null) {
       hostLevelIngestionStats.recordTombstoneCreatedDCR();
       aggVersionedIngestionStats.recordTombStoneCreationDCR(storeName, versionNumber);
-      partitionConsumptionState
-          .setTransientRecord(kafkaClusterId, consumerRecord.offset(), key, valueSchemaId, rmdRecord);
+      partitionConsumptionState.setTransientRecord(
+          kafkaClusterId,
+          consumerRecord.offset(),
+          key,
+          null,
+          -1,
+          -1,
+          valueSchemaId,
+          rmdRecord,
+          updatedRmdBytes);
       Delete deletePayload = new Delete();
       deletePayload.schemaId = valueSchemaId;
       deletePayload.replicationMetadataVersionId = rmdProtocolVersionID;
@@ -559,7 +712,8 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
           updatedValueBytes.position(),
           valueLen,
           valueSchemaId,
-          rmdRecord);
+          rmdRecord,
+          updatedRmdBytes);
 
       Put updatedPut = new Put();
       updatedPut.putValue = ByteUtils
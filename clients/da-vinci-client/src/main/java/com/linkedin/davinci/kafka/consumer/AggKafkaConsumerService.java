@@ -4,11 +4,11 @@ import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.ingestion.consumption.ConsumedDataReceiver;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.KafkaClientFactory;
-import com.linkedin.venice.kafka.consumer.KafkaConsumerWrapper;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.service.AbstractVeniceService;
 import com.linkedin.venice.throttle.EventThrottler;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.SystemTime;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.metrics.MetricsRepository;
@@ -18,6 +18,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
@@ -42,7 +45,18 @@ public class AggKafkaConsumerService extends AbstractVeniceService {
   private final MetricsRepository metricsRepository;
   private final TopicExistenceChecker topicExistenceChecker;
   private final boolean liveConfigBasedKafkaThrottlingEnabled;
+  private final boolean queuedSubscriptionCommandsEnabled;
   private final KafkaConsumerService.ConsumerAssignmentStrategy sharedConsumerAssignmentStrategy;
+  private final boolean elasticConsumerPoolEnabled;
+  private final int minNumOfConsumersPerKafkaCluster;
+  private final long consumerPoolResizeIntervalMs;
+  private final double consumerPoolGrowPollFullnessThreshold;
+  private final long consumerPoolGrowOffsetLagThreshold;
+  private final double consumerPoolShrinkPollFullnessThreshold;
+  /**
+   * Periodically resizes the consumer pools when the elastic consumer pool is enabled, otherwise null.
+   */
+  private final ScheduledExecutorService consumerPoolResizeExecutor;
   private final Map<String, KafkaConsumerService> kafkaServerToConsumerServiceMap = new VeniceConcurrentHashMap<>();
   private final Map<String, String> kafkaClusterUrlToAliasMap;
   private final Object2IntMap<String> kafkaClusterUrlToIdMap;
@@ -65,9 +79,19 @@ public class AggKafkaConsumerService extends AbstractVeniceService {
     this.metricsRepository = metricsRepository;
     this.topicExistenceChecker = topicExistenceChecker;
     this.liveConfigBasedKafkaThrottlingEnabled = serverConfig.isLiveConfigBasedKafkaThrottlingEnabled();
+    this.queuedSubscriptionCommandsEnabled = serverConfig.isSharedConsumerQueuedSubscriptionCommandsEnabled();
     this.sharedConsumerAssignmentStrategy = serverConfig.getSharedConsumerAssignmentStrategy();
     this.kafkaClusterUrlToAliasMap = serverConfig.getKafkaClusterUrlToAliasMap();
     this.kafkaClusterUrlToIdMap = serverConfig.getKafkaClusterUrlToIdMap();
+    this.elasticConsumerPoolEnabled = serverConfig.isElasticConsumerPoolEnabled();
+    this.minNumOfConsumersPerKafkaCluster = serverConfig.getMinConsumerPoolSizePerKafkaCluster();
+    this.consumerPoolResizeIntervalMs = serverConfig.getConsumerPoolResizeIntervalMs();
+    this.consumerPoolGrowPollFullnessThreshold = serverConfig.getConsumerPoolGrowPollFullnessThreshold();
+    this.consumerPoolGrowOffsetLagThreshold = serverConfig.getConsumerPoolGrowOffsetLagThreshold();
+    this.consumerPoolShrinkPollFullnessThreshold = serverConfig.getConsumerPoolShrinkPollFullnessThreshold();
+    this.consumerPoolResizeExecutor = elasticConsumerPoolEnabled
+        ? Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("KafkaConsumerPoolResizer"))
+        : null;
     LOGGER.info("Successfully initialized AggKafkaConsumerService");
   }
 
@@ -77,16 +101,44 @@ public class AggKafkaConsumerService extends AbstractVeniceService {
    */
   @Override
   public boolean startInner() {
+    if (consumerPoolResizeExecutor != null) {
+      consumerPoolResizeExecutor.scheduleWithFixedDelay(
+          this::resizeConsumerPools,
+          consumerPoolResizeIntervalMs,
+          consumerPoolResizeIntervalMs,
+          TimeUnit.MILLISECONDS);
+    }
     return true;
   }
 
   @Override
   public void stopInner() throws Exception {
+    if (consumerPoolResizeExecutor != null) {
+      consumerPoolResizeExecutor.shutdown();
+      if (!consumerPoolResizeExecutor.awaitTermination(consumerPoolResizeIntervalMs, TimeUnit.MILLISECONDS)) {
+        consumerPoolResizeExecutor.shutdownNow();
+      }
+    }
     for (KafkaConsumerService consumerService: kafkaServerToConsumerServiceMap.values()) {
       consumerService.stop();
     }
   }
 
+  private void resizeConsumerPools() {
+    for (Map.Entry<String, KafkaConsumerService> entry: kafkaServerToConsumerServiceMap.entrySet()) {
+      try {
+        entry.getValue()
+            .resizeConsumerPool(
+                minNumOfConsumersPerKafkaCluster,
+                consumerPoolGrowPollFullnessThreshold,
+                consumerPoolShrinkPollFullnessThreshold,
+                consumerPoolGrowOffsetLagThreshold);
+      } catch (Exception e) {
+        LOGGER.error("Failed to resize the consumer pool for Kafka cluster: {}", entry.getKey(), e);
+      }
+    }
+  }
+
   /**
    * @return the {@link KafkaConsumerService} for a specific Kafka bootstrap url,
    *         or null if there isn't any.
@@ -128,9 +180,13 @@ public class AggKafkaConsumerService extends AbstractVeniceService {
             sharedConsumerNonExistingTopicCleanupDelayMS,
             topicExistenceChecker,
             liveConfigBasedKafkaThrottlingEnabled,
+            queuedSubscriptionCommandsEnabled,
             SystemTime.INSTANCE,
             null));
 
+    if (elasticConsumerPoolEnabled) {
+      consumerService.setActiveConsumerCount(minNumOfConsumersPerKafkaCluster);
+    }
     if (!consumerService.isRunning()) {
       consumerService.start();
     }
@@ -166,13 +222,10 @@ public class AggKafkaConsumerService extends AbstractVeniceService {
   }
 
   void resetOffsetFor(String versionTopic, String topic, int partition) {
-    KafkaConsumerWrapper consumer;
     TopicPartition topicPartition = new TopicPartition(topic, partition);
     for (KafkaConsumerService consumerService: kafkaServerToConsumerServiceMap.values()) {
-      consumer = consumerService.getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition);
-      if (consumer != null) {
-        consumer.resetOffset(topic, partition);
-      }
+      consumerService
+          .applyToAssignedConsumer(versionTopic, topicPartition, consumer -> consumer.resetOffset(topic, partition));
     }
   }
 
@@ -240,24 +293,18 @@ public class AggKafkaConsumerService extends AbstractVeniceService {
   }
 
   void pauseConsumerFor(String versionTopic, String topic, int partition) {
-    KafkaConsumerWrapper consumer;
     TopicPartition topicPartition = new TopicPartition(topic, partition);
     for (KafkaConsumerService consumerService: kafkaServerToConsumerServiceMap.values()) {
-      consumer = consumerService.getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition);
-      if (consumer != null) {
-        consumer.pause(topic, partition);
-      }
+      consumerService
+          .applyToAssignedConsumer(versionTopic, topicPartition, consumer -> consumer.pause(topic, partition));
     }
   }
 
   void resumeConsumerFor(String versionTopic, String topic, int partition) {
-    KafkaConsumerWrapper consumer;
     TopicPartition topicPartition = new TopicPartition(topic, partition);
     for (KafkaConsumerService consumerService: kafkaServerToConsumerServiceMap.values()) {
-      consumer = consumerService.getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition);
-      if (consumer != null) {
-        consumer.resume(topic, partition);
-      }
+      consumerService
+          .applyToAssignedConsumer(versionTopic, topicPartition, consumer -> consumer.resume(topic, partition));
     }
   }
 
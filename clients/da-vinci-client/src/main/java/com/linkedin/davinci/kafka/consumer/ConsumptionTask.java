@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -41,6 +42,11 @@ class ConsumptionTask implements Runnable {
   private final int taskId;
   private final Map<TopicPartition, ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>>> dataReceiverMap =
       new VeniceConcurrentHashMap<>();
+  /**
+   * The offset of the last record handed over to the data receiver of each topic-partition, which is where the
+   * consumption resumes from if the topic-partition is moved to another consumer.
+   */
+  private final Map<TopicPartition, Long> lastReadOffsetMap = new VeniceConcurrentHashMap<>();
   private final long readCycleDelayMs;
   private final Supplier<ConsumerRecords<KafkaKey, KafkaMessageEnvelope>> pollFunction;
   private final Consumer<ConsumerRecords<KafkaKey, KafkaMessageEnvelope>> bandwidthThrottler;
@@ -56,6 +62,13 @@ class ConsumptionTask implements Runnable {
    */
   private volatile long lastSuccessfulPollTimestamp = System.currentTimeMillis();
 
+  /**
+   * The poll signals accumulated since the last {@link #getAndResetPollCount()} and
+   * {@link #getAndResetPolledRecordCount()}, which are used to decide whether to resize the consumer pool.
+   */
+  private final AtomicLong pollCount = new AtomicLong();
+  private final AtomicLong polledRecordCount = new AtomicLong();
+
   public ConsumptionTask(
       final String kafkaUrl,
       final int taskId,
@@ -103,6 +116,7 @@ class ConsumptionTask implements Runnable {
         for (TopicPartition topicPartitionToUnSub: topicPartitionsToUnsub) {
           ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> dataReceiver =
               dataReceiverMap.remove(topicPartitionToUnSub);
+          lastReadOffsetMap.remove(topicPartitionToUnSub);
           if (dataReceiver != null) {
             dataReceiver.notifyOfTopicDeletion(topicPartitionToUnSub.topic());
           }
@@ -118,6 +132,8 @@ class ConsumptionTask implements Runnable {
         lastSuccessfulPollTimestamp = System.currentTimeMillis();
         stats.recordPollRequestLatency(lastSuccessfulPollTimestamp - beforePollingTimeStamp);
         stats.recordPollResultNum(records.count());
+        pollCount.incrementAndGet();
+        polledRecordCount.addAndGet(records.count());
         if (!records.isEmpty()) {
           beforeProducingToWriteBufferTimestamp = System.currentTimeMillis();
           for (TopicPartition topicPartition: records.partitions()) {
@@ -132,6 +148,7 @@ class ConsumptionTask implements Runnable {
             }
             partitionRecords = records.records(topicPartition);
             consumedDataReceiver.write(partitionRecords);
+            lastReadOffsetMap.put(topicPartition, partitionRecords.get(partitionRecords.size() - 1).offset());
           }
           stats.recordConsumerRecordsProducingToWriterBufferLatency(
               LatencyUtils.getElapsedTimeInMs(beforeProducingToWriteBufferTimestamp));
@@ -172,6 +189,31 @@ class ConsumptionTask implements Runnable {
     return taskId;
   }
 
+  long getAndResetPollCount() {
+    return pollCount.getAndSet(0);
+  }
+
+  long getAndResetPolledRecordCount() {
+    return polledRecordCount.getAndSet(0);
+  }
+
+  ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> getDataReceiver(
+      TopicPartition topicPartition) {
+    return dataReceiverMap.get(topicPartition);
+  }
+
+  /**
+   * @return the offset of the last record handed over to the data receiver of the given topic-partition, or the offset
+   *         it was subscribed from if nothing has been handed over yet.
+   */
+  long getLastReadOffset(TopicPartition topicPartition) {
+    return lastReadOffsetMap.getOrDefault(topicPartition, -1L);
+  }
+
+  void setLastReadOffset(TopicPartition topicPartition, long lastReadOffset) {
+    lastReadOffsetMap.put(topicPartition, lastReadOffset);
+  }
+
   void setDataReceiver(
       TopicPartition topicPartition,
       ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> consumedDataReceiver) {
@@ -192,5 +234,6 @@ class ConsumptionTask implements Runnable {
 
   void removeDataReceiver(TopicPartition topicPartition) {
     dataReceiverMap.remove(topicPartition);
+    lastReadOffsetMap.remove(topicPartition);
   }
 }
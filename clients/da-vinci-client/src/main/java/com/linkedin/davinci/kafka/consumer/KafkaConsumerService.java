@@ -13,19 +13,27 @@ import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.IndexedHashMap;
 import com.linkedin.venice.utils.IndexedMap;
 import com.linkedin.venice.utils.LatencyUtils;
+import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.RedundantExceptionFilter;
 import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.metrics.MetricsRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import org.apache.kafka.clients.CommonClientConfigs;
@@ -65,6 +73,7 @@ import org.apache.logging.log4j.Logger;
 public abstract class KafkaConsumerService extends AbstractVeniceService {
   private static final RedundantExceptionFilter REDUNDANT_LOGGING_FILTER =
       RedundantExceptionFilter.getRedundantExceptionFilter();
+  private static final int DEFAULT_MAX_POLL_RECORDS = 500;
 
   private final ExecutorService consumerExecutor;
   protected final String kafkaUrl;
@@ -76,6 +85,25 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
       new VeniceConcurrentHashMap<>();
 
   /**
+   * The topic-partitions being moved by {@link #moveTopicPartition(String, TopicPartition, SharedKafkaConsumer,
+   * SharedKafkaConsumer)}, keyed by the version topic and the topic-partition, and completed once moved. The other
+   * changes of the same topic-partitions wait for the move, since it doesn't hold the mapping of the version topic.
+   */
+  private final Map<Pair<String, TopicPartition>, CompletableFuture<Void>> topicPartitionMoves =
+      new VeniceConcurrentHashMap<>();
+
+  private final int maxPollRecords;
+
+  /**
+   * The number of consumers which new subscriptions could be assigned to, which are always the first ones in
+   * {@link #consumerToConsumptionTask}. The other consumers stay idle until the pool grows, see
+   * {@link #resizeConsumerPool(int, double, double, long)}.
+   */
+  private volatile int activeConsumerCount;
+
+  /**
+   * @param queuedSubscriptionCommandsEnabled whether the subscription changes are queued and applied at the poll
+   *                                          boundaries, see {@link SharedKafkaConsumer}
    * @param statsOverride injection of stats, for test purposes
    */
   protected KafkaConsumerService(
@@ -91,6 +119,7 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
       final long sharedConsumerNonExistingTopicCleanupDelayMS,
       final TopicExistenceChecker topicExistenceChecker,
       final boolean liveConfigBasedKafkaThrottlingEnabled,
+      final boolean queuedSubscriptionCommandsEnabled,
       final Time time,
       final KafkaConsumerServiceStats statsOverride) {
     this.kafkaUrl = consumerProperties.getProperty(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG);
@@ -101,6 +130,10 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
         numOfConsumersPerKafkaCluster,
         new DaemonThreadFactory("venice-shared-consumer-for-" + kafkaUrl));
     this.consumerToConsumptionTask = new IndexedHashMap<>(numOfConsumersPerKafkaCluster);
+    this.activeConsumerCount = numOfConsumersPerKafkaCluster;
+    this.maxPollRecords = Integer.parseInt(
+        consumerProperties
+            .getProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Integer.toString(DEFAULT_MAX_POLL_RECORDS)));
     this.stats = statsOverride != null
         ? statsOverride
         : createKafkaConsumerServiceStats(
@@ -116,7 +149,8 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
           consumerFactory.getConsumer(consumerProperties),
           stats,
           this::recordPartitionsPerConsumerSensor,
-          this::handleUnsubscription);
+          this::handleUnsubscription,
+          queuedSubscriptionCommandsEnabled);
       Supplier<ConsumerRecords<KafkaKey, KafkaMessageEnvelope>> pollFunction = liveConfigBasedKafkaThrottlingEnabled
           ? () -> kafkaClusterBasedRecordThrottler.poll(newConsumer, kafkaUrl, readCycleDelayMs)
           : () -> newConsumer.poll(readCycleDelayMs);
@@ -197,13 +231,11 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
    * Stop all subscription associated with the given version topic.
    */
   public void unsubscribeAll(String versionTopic) {
-    versionTopicToTopicPartitionToConsumer.compute(versionTopic, (k, topicPartitionToConsumerMap) -> {
-      if (topicPartitionToConsumerMap != null) {
-        topicPartitionToConsumerMap.forEach((topicPartition, sharedConsumer) -> {
-          sharedConsumer.unSubscribe(topicPartition.topic(), topicPartition.partition());
-          removeTopicPartitionFromConsumptionTask(sharedConsumer, topicPartition);
-        });
-      }
+    computeUnlessMoving(versionTopic, null, topicPartitionToConsumerMap -> {
+      topicPartitionToConsumerMap.forEach((topicPartition, sharedConsumer) -> {
+        sharedConsumer.unSubscribe(topicPartition.topic(), topicPartition.partition());
+        removeTopicPartitionFromConsumptionTask(sharedConsumer, topicPartition);
+      });
       return null;
     });
   }
@@ -212,39 +244,85 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
    * Stop specific subscription associated with the given version topic.
    */
   void unSubscribe(String versionTopic, String topic, int partition) {
-    TopicPartition topicPartition = new TopicPartition(topic, partition);
-    KafkaConsumerWrapper consumer = getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition);
-    if (consumer != null) {
-      consumer.unSubscribe(topic, partition);
-      consumerToConsumptionTask.get(consumer).removeDataReceiver(topicPartition);
-      versionTopicToTopicPartitionToConsumer.compute(versionTopic, (k, topicPartitionToConsumerMap) -> {
-        if (topicPartitionToConsumerMap != null) {
-          topicPartitionToConsumerMap.remove(topicPartition);
-          return topicPartitionToConsumerMap.isEmpty() ? null : topicPartitionToConsumerMap;
-        } else {
-          return null;
-        }
-      });
-    }
+    unSubscribe(versionTopic, new TopicPartition(topic, partition));
   }
 
   void batchUnsubscribe(String versionTopic, Set<TopicPartition> topicPartitionsToUnSub) {
-    KafkaConsumerWrapper consumer;
     for (TopicPartition topicPartition: topicPartitionsToUnSub) {
-      consumer = getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition);
+      unSubscribe(versionTopic, topicPartition);
+    }
+  }
+
+  /**
+   * N.B. The unsubscription happens once the topic-partition isn't being moved, while holding the mapping of the
+   * version topic, so that it can't interleave with
+   * {@link #moveTopicPartition(String, TopicPartition, SharedKafkaConsumer, SharedKafkaConsumer)}.
+   */
+  private void unSubscribe(String versionTopic, TopicPartition topicPartition) {
+    computeUnlessMoving(versionTopic, topicPartition, topicPartitionToConsumerMap -> {
+      SharedKafkaConsumer consumer = topicPartitionToConsumerMap.remove(topicPartition);
       if (consumer != null) {
         consumer.unSubscribe(topicPartition.topic(), topicPartition.partition());
         consumerToConsumptionTask.get(consumer).removeDataReceiver(topicPartition);
-        versionTopicToTopicPartitionToConsumer.compute(versionTopic, (k, topicPartitionToConsumerMap) -> {
-          if (topicPartitionToConsumerMap != null) {
-            topicPartitionToConsumerMap.remove(topicPartition);
-            return topicPartitionToConsumerMap.isEmpty() ? null : topicPartitionToConsumerMap;
-          } else {
-            return null;
-          }
-        });
+      }
+      return topicPartitionToConsumerMap.isEmpty() ? null : topicPartitionToConsumerMap;
+    });
+  }
+
+  /**
+   * Apply the given function to the consumer assigned to the given version topic and topic-partition, if any, while
+   * the assignment can't be changed by the rebalancing of the consumer pool.
+   */
+  void applyToAssignedConsumer(
+      String versionTopic,
+      TopicPartition topicPartition,
+      Consumer<SharedKafkaConsumer> function) {
+    computeUnlessMoving(versionTopic, topicPartition, topicPartitionToConsumerMap -> {
+      SharedKafkaConsumer consumer = topicPartitionToConsumerMap.get(topicPartition);
+      if (consumer != null) {
+        function.accept(consumer);
+      }
+      return topicPartitionToConsumerMap;
+    });
+  }
+
+  /**
+   * Update the mapping of the given version topic like {@link Map#computeIfPresent}, once the given topic-partition, or
+   * any topic-partition of the version topic if null, isn't being moved.
+   */
+  private void computeUnlessMoving(
+      String versionTopic,
+      TopicPartition topicPartition,
+      Function<Map<TopicPartition, SharedKafkaConsumer>, Map<TopicPartition, SharedKafkaConsumer>> function) {
+    AtomicBoolean moving = new AtomicBoolean();
+    do {
+      CompletableFuture<Void> move = getTopicPartitionMove(versionTopic, topicPartition);
+      if (move != null) {
+        move.join();
+      }
+      moving.set(false);
+      versionTopicToTopicPartitionToConsumer.computeIfPresent(versionTopic, (k, topicPartitionToConsumerMap) -> {
+        // The moves are registered while holding the mapping, so none of them could be missed here.
+        if (getTopicPartitionMove(versionTopic, topicPartition) != null) {
+          moving.set(true);
+          return topicPartitionToConsumerMap;
+        }
+        return function.apply(topicPartitionToConsumerMap);
+      });
+    } while (moving.get());
+  }
+
+  private CompletableFuture<Void> getTopicPartitionMove(String versionTopic, TopicPartition topicPartition) {
+    if (topicPartition != null) {
+      return topicPartitionMoves.get(new Pair<>(versionTopic, topicPartition));
+    }
+    // There is at most one move at a time, so the scan is cheap.
+    for (Map.Entry<Pair<String, TopicPartition>, CompletableFuture<Void>> entry: topicPartitionMoves.entrySet()) {
+      if (entry.getKey().getFirst().equals(versionTopic)) {
+        return entry.getValue();
       }
     }
+    return null;
   }
 
   @Override
@@ -354,9 +432,301 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
      * {@link KafkaConsumerService.ConsumptionTask} will not be able to funnel the messages.
      */
     consumptionTask.setDataReceiver(topicPartition, consumedDataReceiver);
+    consumptionTask.setLastReadOffset(topicPartition, lastReadOffset);
     consumer.subscribe(consumedDataReceiver.destinationIdentifier(), topicPartition, lastReadOffset);
   }
 
+  int getActiveConsumerCount() {
+    return activeConsumerCount;
+  }
+
+  /**
+   * Only keep the given number of consumers active, which should be called before any subscription. The idle consumers
+   * are activated later on by {@link #resizeConsumerPool(int, double, double, long)} or
+   * {@link #activateConsumer(SharedKafkaConsumer)}.
+   */
+  synchronized void setActiveConsumerCount(int count) {
+    if (count < 1 || count > consumerToConsumptionTask.size()) {
+      throw new IllegalArgumentException(
+          "The active consumer count should be between 1 and " + consumerToConsumptionTask.size() + ", but got: "
+              + count);
+    }
+    activeConsumerCount = count;
+    stats.recordActiveConsumerCount(count);
+  }
+
+  protected SharedKafkaConsumer getConsumerByIndex(int index) {
+    return consumerToConsumptionTask.getByIndex(index).getKey();
+  }
+
+  /**
+   * Make sure the given consumer is active, which is needed when none of the active consumers is eligible for a new
+   * subscription. This may activate the idle consumers before the given one as well.
+   */
+  protected synchronized void activateConsumer(SharedKafkaConsumer consumer) {
+    int index = consumerToConsumptionTask.indexOf(consumer);
+    if (index >= activeConsumerCount) {
+      LOGGER.info("Activating the idle consumers up to index {} for lack of an eligible active consumer", index);
+      activeConsumerCount = index + 1;
+      stats.recordActiveConsumerCount(activeConsumerCount);
+    }
+  }
+
+  /**
+   * Whether the topic-partitions could be moved across the consumers, to rebalance them when the pool is resized. By
+   * default, the topic-partitions are never moved, and the pool only shrinks when the last active consumer has no
+   * subscription anymore.
+   */
+  protected boolean supportsTopicPartitionMoves() {
+    return false;
+  }
+
+  /**
+   * Whether the topic-partition could be moved to the given consumer, in which case the subclass should also account
+   * for the new assignment, as if it was picked by {@link #pickConsumerForPartition(String, TopicPartition)}.
+   */
+  protected boolean reserveConsumerForMovedTopicPartition(SharedKafkaConsumer consumer, TopicPartition topicPartition) {
+    return true;
+  }
+
+  /**
+   * Grow or shrink the active consumers by one, based on the poll fullness (i.e. the ratio of the polled records to the
+   * max poll records, which is 0 for the idle polls) and the offset lag of each active consumer since the last call,
+   * and then rebalance the topic-partitions across the active consumers if the subclass supports it:
+   * 1. The pool grows if any active consumer is saturated, i.e. its poll fullness and offset lag reach the thresholds;
+   * 2. The pool shrinks if the poll fullness of all the active consumers is below the threshold.
+   */
+  void resizeConsumerPool(
+      int minActiveConsumerCount,
+      double growPollFullnessThreshold,
+      double shrinkPollFullnessThreshold,
+      long growOffsetLagThreshold) {
+    int currentActiveConsumerCount = activeConsumerCount;
+    boolean saturated = false;
+    boolean underutilized = true;
+    double totalPollFullness = 0;
+    for (int i = 0; i < consumerToConsumptionTask.size(); i++) {
+      Map.Entry<SharedKafkaConsumer, ConsumptionTask> entry = consumerToConsumptionTask.getByIndex(i);
+      long pollCount = entry.getValue().getAndResetPollCount();
+      long polledRecordCount = entry.getValue().getAndResetPolledRecordCount();
+      if (i >= currentActiveConsumerCount) {
+        continue;
+      }
+      double pollFullness = pollCount == 0 ? 0 : (double) polledRecordCount / (pollCount * maxPollRecords);
+      totalPollFullness += pollFullness;
+      if (pollFullness >= growPollFullnessThreshold && getOffsetLag(entry.getKey()) >= growOffsetLagThreshold) {
+        saturated = true;
+      }
+      if (pollFullness > shrinkPollFullnessThreshold) {
+        underutilized = false;
+      }
+    }
+    stats.recordAvgPollFullness(totalPollFullness / currentActiveConsumerCount);
+
+    boolean grown = false;
+    if (saturated && currentActiveConsumerCount < consumerToConsumptionTask.size()) {
+      grown = updateActiveConsumerCount(currentActiveConsumerCount, currentActiveConsumerCount + 1);
+    } else if (underutilized && currentActiveConsumerCount > minActiveConsumerCount
+        && (supportsTopicPartitionMoves()
+            || getConsumerByIndex(currentActiveConsumerCount - 1).getAssignmentSize() == 0)) {
+      updateActiveConsumerCount(currentActiveConsumerCount, currentActiveConsumerCount - 1);
+    }
+    rebalanceTopicPartitions(grown);
+  }
+
+  /**
+   * @return whether the active consumer count is updated, which is not the case if it was changed in the meantime.
+   */
+  private synchronized boolean updateActiveConsumerCount(int expectedCount, int newCount) {
+    if (activeConsumerCount != expectedCount) {
+      return false;
+    }
+    LOGGER.info("Resizing the active consumers from {} to {}", expectedCount, newCount);
+    activeConsumerCount = newCount;
+    stats.recordActiveConsumerCount(newCount);
+    if (newCount > expectedCount) {
+      stats.recordConsumerPoolGrowth();
+    } else {
+      stats.recordConsumerPoolShrink();
+    }
+    return true;
+  }
+
+  /**
+   * Move all the topic-partitions off the idle consumers, and then if needed, move the topic-partitions from the most
+   * loaded active consumers to the least loaded ones, until they are balanced. The paused topic-partitions are left in
+   * place.
+   */
+  private void rebalanceTopicPartitions(boolean balanceActiveConsumers) {
+    if (!supportsTopicPartitionMoves()) {
+      return;
+    }
+    Map<SharedKafkaConsumer, List<Pair<String, TopicPartition>>> consumerToAssignment = new HashMap<>();
+    for (int i = 0; i < consumerToConsumptionTask.size(); i++) {
+      consumerToAssignment.put(getConsumerByIndex(i), new ArrayList<>());
+    }
+    versionTopicToTopicPartitionToConsumer.forEach(
+        (versionTopic, topicPartitionToConsumerMap) -> topicPartitionToConsumerMap.forEach(
+            (topicPartition, consumer) -> consumerToAssignment.get(consumer)
+                .add(new Pair<>(versionTopic, topicPartition))));
+    List<SharedKafkaConsumer> activeConsumers = new ArrayList<>();
+    for (int i = 0; i < activeConsumerCount; i++) {
+      activeConsumers.add(getConsumerByIndex(i));
+    }
+    Comparator<SharedKafkaConsumer> byAssignmentSize = Comparator.comparingInt(c -> consumerToAssignment.get(c).size());
+
+    int movedTopicPartitionCount = 0;
+    for (int i = activeConsumers.size(); i < consumerToConsumptionTask.size(); i++) {
+      SharedKafkaConsumer idleConsumer = getConsumerByIndex(i);
+      for (Pair<String, TopicPartition> assignment: new ArrayList<>(consumerToAssignment.get(idleConsumer))) {
+        activeConsumers.sort(byAssignmentSize);
+        for (SharedKafkaConsumer target: activeConsumers) {
+          if (moveTopicPartition(assignment, idleConsumer, target, consumerToAssignment)) {
+            movedTopicPartitionCount++;
+            break;
+          }
+        }
+      }
+    }
+
+    // Each move narrows the gap between the most and the least loaded consumers, or gives up on a topic-partition
+    int maxAttempts =
+        balanceActiveConsumers ? versionTopicToTopicPartitionToConsumer.values().stream().mapToInt(Map::size).sum() : 0;
+    for (int attempt = 0; attempt < maxAttempts; attempt++) {
+      activeConsumers.sort(byAssignmentSize);
+      SharedKafkaConsumer leastLoadedConsumer = activeConsumers.get(0);
+      SharedKafkaConsumer mostLoadedConsumer = activeConsumers.get(activeConsumers.size() - 1);
+      List<Pair<String, TopicPartition>> sourceAssignment = consumerToAssignment.get(mostLoadedConsumer);
+      if (sourceAssignment.size() - consumerToAssignment.get(leastLoadedConsumer).size() <= 1) {
+        break;
+      }
+      Pair<String, TopicPartition> assignment = sourceAssignment.get(sourceAssignment.size() - 1);
+      if (moveTopicPartition(assignment, mostLoadedConsumer, leastLoadedConsumer, consumerToAssignment)) {
+        movedTopicPartitionCount++;
+      } else {
+        // Leave it in place from now on
+        sourceAssignment.remove(sourceAssignment.size() - 1);
+      }
+    }
+    if (movedTopicPartitionCount > 0) {
+      LOGGER.info("Moved {} topic-partitions to rebalance the active consumers", movedTopicPartitionCount);
+      stats.recordMovedTopicPartitionNum(movedTopicPartitionCount);
+    }
+  }
+
+  private boolean moveTopicPartition(
+      Pair<String, TopicPartition> assignment,
+      SharedKafkaConsumer source,
+      SharedKafkaConsumer target,
+      Map<SharedKafkaConsumer, List<Pair<String, TopicPartition>>> consumerToAssignment) {
+    if (!moveTopicPartition(assignment.getFirst(), assignment.getSecond(), source, target)) {
+      return false;
+    }
+    consumerToAssignment.get(source).remove(assignment);
+    consumerToAssignment.get(target).add(assignment);
+    return true;
+  }
+
+  /**
+   * Move the given topic-partition from the source consumer to the target one, without skipping or dropping any
+   * record: the unsubscription waits for the records polled by the source consumer to be handed over to the data
+   * receiver, and then the target consumer resumes right after the last handed over record.
+   *
+   * The move doesn't hold the mapping of the version topic while waiting, but the other changes of the topic-partition
+   * wait for it, and the mapping is only swapped once the topic-partition is consumed by the target consumer. If the
+   * hand-over can't be confirmed in time, the move is aborted and the source consumer resumes from its last handed over
+   * record, so the in-flight records are only ever delivered by the source consumer, in order, and at worst handed over
+   * again, which the ingestion skips as duplicates.
+   *
+   * @return whether the topic-partition is moved, which may not be the case if it was unsubscribed, paused, or not
+   *         eligible for the target consumer in the meantime, or if the move was aborted.
+   */
+  boolean moveTopicPartition(
+      String versionTopic,
+      TopicPartition topicPartition,
+      SharedKafkaConsumer source,
+      SharedKafkaConsumer target) {
+    Pair<String, TopicPartition> moveKey = new Pair<>(versionTopic, topicPartition);
+    CompletableFuture<Void> move = new CompletableFuture<>();
+    ConsumptionTask sourceTask = consumerToConsumptionTask.get(source);
+    AtomicReference<ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>>> dataReceiverRef =
+        new AtomicReference<>();
+    versionTopicToTopicPartitionToConsumer.computeIfPresent(versionTopic, (k, topicPartitionToConsumerMap) -> {
+      ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> dataReceiver =
+          sourceTask.getDataReceiver(topicPartition);
+      if (topicPartitionToConsumerMap.get(topicPartition) == source && dataReceiver != null
+          && !source.isPaused(topicPartition) && reserveConsumerForMovedTopicPartition(target, topicPartition)) {
+        topicPartitionMoves.put(moveKey, move);
+        dataReceiverRef.set(dataReceiver);
+      }
+      return topicPartitionToConsumerMap;
+    });
+    ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> dataReceiver = dataReceiverRef.get();
+    if (dataReceiver == null) {
+      return false;
+    }
+
+    SharedKafkaConsumer newConsumer = source;
+    try {
+      if (!source.unSubscribeAndWaitForHandover(topicPartition.topic(), topicPartition.partition())) {
+        // The source consumption task may still be handing over the last polled records, so it keeps the data receiver,
+        // and the last read offset can't be trusted by the target consumer.
+        LOGGER.warn(
+            "Couldn't confirm the hand-over of {} in time, will resubscribe the original consumer",
+            topicPartition);
+        handleUnsubscription(target, topicPartition);
+        resubscribe(versionTopic, topicPartition, source, dataReceiver, sourceTask.getLastReadOffset(topicPartition));
+        return false;
+      }
+      long lastReadOffset = sourceTask.getLastReadOffset(topicPartition);
+      sourceTask.removeDataReceiver(topicPartition);
+      ConsumptionTask targetTask = consumerToConsumptionTask.get(target);
+      targetTask.setDataReceiver(topicPartition, dataReceiver);
+      targetTask.setLastReadOffset(topicPartition, lastReadOffset);
+      try {
+        target.subscribe(versionTopic, topicPartition, lastReadOffset);
+        newConsumer = target;
+        return true;
+      } catch (Exception e) {
+        LOGGER.error("Failed to move {} to another consumer, will resubscribe the original one", topicPartition, e);
+        targetTask.removeDataReceiver(topicPartition);
+        handleUnsubscription(target, topicPartition);
+        resubscribe(versionTopic, topicPartition, source, dataReceiver, lastReadOffset);
+        return false;
+      }
+    } finally {
+      SharedKafkaConsumer assignedConsumer = newConsumer;
+      versionTopicToTopicPartitionToConsumer.computeIfPresent(versionTopic, (k, topicPartitionToConsumerMap) -> {
+        topicPartitionToConsumerMap.replace(topicPartition, source, assignedConsumer);
+        topicPartitionMoves.remove(moveKey);
+        return topicPartitionToConsumerMap;
+      });
+      move.complete(null);
+    }
+  }
+
+  private void resubscribe(
+      String versionTopic,
+      TopicPartition topicPartition,
+      SharedKafkaConsumer consumer,
+      ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> dataReceiver,
+      long lastReadOffset) {
+    // The reservation was released by the unsubscription.
+    reserveConsumerForMovedTopicPartition(consumer, topicPartition);
+    ConsumptionTask consumptionTask = consumerToConsumptionTask.get(consumer);
+    consumptionTask.setDataReceiver(topicPartition, dataReceiver);
+    consumptionTask.setLastReadOffset(topicPartition, lastReadOffset);
+    consumer.subscribe(versionTopic, topicPartition, lastReadOffset);
+  }
+
+  private long getOffsetLag(SharedKafkaConsumer consumer) {
+    long offsetLag = 0;
+    for (TopicPartition topicPartition: consumer.getAssignment()) {
+      offsetLag += Math.max(consumer.getOffsetLag(topicPartition.topic(), topicPartition.partition()), 0);
+    }
+    return offsetLag;
+  }
+
   interface KCSConstructor {
     KafkaConsumerService construct(
         KafkaClientFactory consumerFactory,
@@ -371,6 +741,7 @@ public abstract class KafkaConsumerService extends AbstractVeniceService {
         long sharedConsumerNonExistingTopicCleanupDelayMS,
         TopicExistenceChecker topicExistenceChecker,
         boolean liveConfigBasedKafkaThrottlingEnabled,
+        boolean queuedSubscriptionCommandsEnabled,
         Time time,
         KafkaConsumerServiceStats stats);
   }
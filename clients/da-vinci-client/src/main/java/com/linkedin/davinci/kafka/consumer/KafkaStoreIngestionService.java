@@ -381,7 +381,12 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
       this.storeBufferService = new StoreBufferService(
           serverConfig.getStoreWriterNumber(),
           serverConfig.getStoreWriterBufferMemoryCapacity(),
-          serverConfig.getStoreWriterBufferNotifyDelta());
+          serverConfig.getStoreWriterBufferNotifyDelta(),
+          serverConfig.getStoreWriterBatchMaxRecords(),
+          serverConfig.getStoreWriterBatchMaxSizeInBytes(),
+          serverConfig.isStoreWriterAdaptiveAssignmentEnabled(),
+          serverConfig.getStoreWriterAdaptiveAssignmentIntervalMs(),
+          serverConfig.isStoreWriterBufferLockFreeQueueEnabled());
     }
     this.kafkaMessageEnvelopeSchemaReader = kafkaMessageEnvelopeSchemaReader;
     /**
@@ -450,6 +455,13 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
         veniceConfigLoader.getVeniceServerConfig().getDataBasePath(),
         veniceConfigLoader.getVeniceServerConfig().getDiskFullThreshold());
 
+    TransientRecordMemoryPool transientRecordMemoryPool = null;
+    if (serverConfig.getTransientRecordOffHeapMemoryBudgetInBytes() > 0) {
+      transientRecordMemoryPool = new TransientRecordMemoryPool(
+          serverConfig.getTransientRecordOffHeapMemoryBudgetInBytes(),
+          hostLevelIngestionStats.getTotalStats());
+    }
+
     ingestionTaskFactory = StoreIngestionTaskFactory.builder()
         .setVeniceWriterFactory(veniceWriterFactory)
         .setKafkaClientFactory(veniceConsumerFactory)
@@ -478,6 +490,7 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
         .setRemoteIngestionRepairService(remoteIngestionRepairService)
         .setMetaStoreWriter(metaStoreWriter)
         .setCompressorFactory(compressorFactory)
+        .setTransientRecordMemoryPool(transientRecordMemoryPool)
         .build();
   }
 
@@ -1336,6 +1336,8 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
         KafkaKey key = consumerRecord.key();
         KafkaMessageEnvelope envelope = consumerRecord.value();
         AbstractStorageEngine storageEngine = storageEngineRepository.getLocalStorageEngine(kafkaVersionTopic);
+        // The writes buffered by the drainer batch mode need to be visible to the following lookup.
+        storageEngine.commitWriteBatch(consumerRecord.partition());
         switch (MessageType.valueOf(envelope)) {
           case PUT:
             // Issue an read to get the current value of the key
@@ -2827,25 +2829,29 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
       }
     } else {
       hostLevelIngestionStats.recordWriteComputeCacheHitCount();
-      // construct currValue from this transient record only if it's not null.
-      if (transientRecord.getValue() != null) {
-        try {
+      try {
+        // construct currValue from this transient record only if it's not null. The value is copied on heap if the
+        // record is kept off heap, so it's only read once.
+        byte[] value = transientRecord.getValue();
+        if (value != null) {
           currValue = GenericRecordChunkingAdapter.INSTANCE.constructValue(
               transientRecord.getValueSchemaId(),
               readerValueSchemaID,
-              transientRecord.getValue(),
+              value,
               transientRecord.getValueOffset(),
               transientRecord.getValueLen(),
               serverConfig.isComputeFastAvroEnabled(),
               schemaRepository,
               storeName,
               compressor.get());
-        } catch (Exception e) {
-          writeComputeFailureCode = StatsErrorCode.WRITE_COMPUTE_DESERIALIZATION_FAILURE.code;
-          throw e;
+        } else {
+          currValue = null;
         }
-      } else {
-        currValue = null;
+      } catch (Exception e) {
+        writeComputeFailureCode = StatsErrorCode.WRITE_COMPUTE_DESERIALIZATION_FAILURE.code;
+        throw e;
+      } finally {
+        transientRecord.release();
       }
     }
     return Optional.ofNullable(currValue);
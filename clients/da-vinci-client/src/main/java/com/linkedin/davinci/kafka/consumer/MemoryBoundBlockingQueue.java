@@ -6,7 +6,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
@@ -43,7 +42,7 @@ import org.apache.logging.log4j.Logger;
  *
  * @param <T>
  */
-public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQueue<T> {
+public class MemoryBoundBlockingQueue<T extends Measurable> implements MemoryBoundQueue<T> {
   private static final Logger LOGGER = LogManager.getLogger(MemoryBoundBlockingQueue.class);
   /**
    * Considering the node implementation: {@link java.util.LinkedList.Node}, the overhead
@@ -77,10 +76,12 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
     this.remainingMemoryCapacityInByte = new AtomicLong(this.memoryCapacityInByte);
   }
 
+  @Override
   public long getMemoryUsage() {
     return memoryCapacityInByte - remainingMemoryCapacityInByte();
   }
 
+  @Override
   public long remainingMemoryCapacityInByte() {
     return remainingMemoryCapacityInByte.get();
   }
@@ -119,17 +120,7 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
       while ((record = this.queue.poll()) == null) {
         notEmpty.await();
       }
-      int recordSize = getRecordSize(record);
-      currentFreedMemoryInBytes += recordSize;
-      /**
-       * It won't notify the blocked {@link #put(Measurable)}  thread until the freed memory exceeds
-       * pre-defined {@link #notifyDeltaInByte}.
-       */
-      if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
-        remainingMemoryCapacityInByte.getAndAdd(currentFreedMemoryInBytes);
-        currentFreedMemoryInBytes = 0;
-        hasEnoughMemory.signalAll();
-      }
+      freeMemory(record);
     } finally {
       memoryLock.unlock();
     }
@@ -137,6 +128,23 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
     return record;
   }
 
+  /**
+   * This function should be invoked while holding {@link #memoryLock}.
+   */
+  private void freeMemory(T record) {
+    int recordSize = getRecordSize(record);
+    currentFreedMemoryInBytes += recordSize;
+    /**
+     * It won't notify the blocked {@link #put(Measurable)}  thread until the freed memory exceeds
+     * pre-defined {@link #notifyDeltaInByte}.
+     */
+    if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
+      remainingMemoryCapacityInByte.getAndAdd(currentFreedMemoryInBytes);
+      currentFreedMemoryInBytes = 0;
+      hasEnoughMemory.signalAll();
+    }
+  }
+
   @Override
   public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
     throw new VeniceException("Operation is not supported yet!");
@@ -157,9 +165,22 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
     throw new VeniceException("Operation is not supported yet!");
   }
 
+  /**
+   * Retrieve and remove the head of the queue without blocking.
+   * @return null if the queue is empty.
+   */
   @Override
   public T poll() {
-    throw new VeniceException("Operation is not supported yet!");
+    this.memoryLock.lock();
+    try {
+      T record = this.queue.poll();
+      if (record != null) {
+        freeMemory(record);
+      }
+      return record;
+    } finally {
+      memoryLock.unlock();
+    }
   }
 
   @Override
@@ -0,0 +1,17 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.venice.common.Measurable;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * A {@link BlockingQueue} bounded by the memory usage of each {@link Measurable} object buffered inside, instead of
+ * the number of objects.
+ *
+ * @param <T>
+ */
+public interface MemoryBoundQueue<T extends Measurable> extends BlockingQueue<T> {
+  long getMemoryUsage();
+
+  long remainingMemoryCapacityInByte();
+}
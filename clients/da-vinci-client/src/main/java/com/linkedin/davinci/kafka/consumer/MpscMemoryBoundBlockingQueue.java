@@ -0,0 +1,402 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.venice.common.Measurable;
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * This class is a lock-free alternative of {@link MemoryBoundBlockingQueue} for multiple producers and a single
+ * consumer, such as the store writer of each queue in {@link StoreBufferService}.
+ *
+ * The objects are buffered in a bounded ring buffer, whose slots are claimed by the producers with a CAS on the
+ * producer index, and published by a sequence number per slot, as Dmitry Vyukov's bounded MPMC queue does. The memory
+ * of each object is reserved with a CAS as well, so neither {@link #put(Measurable)} nor {@link #take()} takes any
+ * lock, unless the memory or the slots are exhausted, in which case the producers block until the consumer frees
+ * enough.
+ * The consumer parks itself when the queue is empty, and the producers only unpark it after publishing an object.
+ *
+ * Like {@link MemoryBoundBlockingQueue}, the freed memory is given back in the unit of {@link #notifyDeltaInByte}, to
+ * guarantee some kind of fairness among various sizes of objects when the queue is full.
+ *
+ * IMPORTANT: {@link #take()} and {@link #poll()} must only be called by one thread at a time.
+ *
+ * @param <T>
+ */
+public class MpscMemoryBoundBlockingQueue<T extends Measurable> implements MemoryBoundQueue<T> {
+  private static final Logger LOGGER = LogManager.getLogger(MpscMemoryBoundBlockingQueue.class);
+  /**
+   * The reference to the object and the sequence number of its slot in the ring buffer.
+   */
+  public static final int RING_BUFFER_SLOT_OVERHEAD_IN_BYTE = 16;
+  /**
+   * The slots are allocated upfront, so the default number of slots is capped to keep the footprint around 1MB, even
+   * though the memory capacity could fit more small objects.
+   */
+  static final int MAX_DEFAULT_SLOT_COUNT = 1 << 16;
+  private static final int ESTIMATED_MIN_OBJECT_SIZE_IN_BYTE = 64;
+
+  private final long memoryCapacityInByte;
+  private final long notifyDeltaInByte;
+  private final AtomicLong remainingMemoryCapacityInByte;
+  private final int mask;
+  private final AtomicReferenceArray<T> slots;
+  /**
+   * The sequence number of each slot is the producer index to claim it when the slot is free, and that index + 1 when
+   * the object in it is published.
+   */
+  private final AtomicLongArray sequences;
+  private final AtomicLong producerIndex = new AtomicLong();
+  /**
+   * Only updated by the consumer thread, and read by the others to check the buffered objects.
+   */
+  private final AtomicLong consumerIndex = new AtomicLong();
+  private volatile Thread waitingConsumer;
+
+  private final Lock producerLock = new ReentrantLock();
+  private final Condition producerCondition = producerLock.newCondition();
+  private final AtomicInteger waitingProducerCount = new AtomicInteger();
+  private volatile boolean slotsExhausted;
+  // Accumulated free memory since last notification, which is only accessed by the consumer thread
+  private long currentFreedMemoryInBytes = 0;
+
+  public MpscMemoryBoundBlockingQueue(long memoryCapacityInByte, long notifyDeltaInByte) {
+    this(
+        memoryCapacityInByte,
+        notifyDeltaInByte,
+        (int) Math.min(MAX_DEFAULT_SLOT_COUNT, memoryCapacityInByte / ESTIMATED_MIN_OBJECT_SIZE_IN_BYTE));
+  }
+
+  /**
+   * @param slotCount the number of slots in the ring buffer, which is rounded up to a power of 2.
+   */
+  public MpscMemoryBoundBlockingQueue(long memoryCapacityInByte, long notifyDeltaInByte, int slotCount) {
+    if (notifyDeltaInByte > memoryCapacityInByte) {
+      throw new IllegalArgumentException(
+          "Param notifyDeltaInByte: " + notifyDeltaInByte + " should not be bigger than param memoryCapacityInByte: "
+              + memoryCapacityInByte);
+    }
+    if (slotCount > 1 << 30) {
+      throw new IllegalArgumentException("Param slotCount: " + slotCount + " should not be bigger than 2^30");
+    }
+    this.memoryCapacityInByte = memoryCapacityInByte;
+    this.notifyDeltaInByte = notifyDeltaInByte;
+    this.remainingMemoryCapacityInByte = new AtomicLong(memoryCapacityInByte);
+    int capacity = Integer.highestOneBit(Math.max(2, slotCount) - 1) << 1;
+    this.mask = capacity - 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  @Override
+  public long getMemoryUsage() {
+    return memoryCapacityInByte - remainingMemoryCapacityInByte();
+  }
+
+  @Override
+  public long remainingMemoryCapacityInByte() {
+    return remainingMemoryCapacityInByte.get();
+  }
+
+  int getSlotCount() {
+    return mask + 1;
+  }
+
+  private int getRecordSize(T record) {
+    return record.getSize() + RING_BUFFER_SLOT_OVERHEAD_IN_BYTE;
+  }
+
+  @Override
+  public void put(T record) throws InterruptedException {
+    int recordSize = getRecordSize(record);
+    if (recordSize > notifyDeltaInByte) {
+      LOGGER.warn(
+          "Record size of record: " + record + " is " + recordSize + ", which exceeds notifyDeltaInByte: "
+              + notifyDeltaInByte + ", and it could potentially be blocked when the buffer is full.");
+    }
+    if (!tryReserveMemory(recordSize)) {
+      awaitProducerCondition(() -> tryReserveMemory(recordSize), false);
+    }
+    try {
+      if (!tryPublish(record)) {
+        awaitProducerCondition(() -> tryPublish(record), true);
+      }
+    } catch (InterruptedException e) {
+      remainingMemoryCapacityInByte.getAndAdd(recordSize);
+      if (waitingProducerCount.get() > 0) {
+        signalProducers();
+      }
+      throw e;
+    }
+    Thread consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  private boolean tryReserveMemory(int recordSize) {
+    long remainingMemory;
+    do {
+      remainingMemory = remainingMemoryCapacityInByte.get();
+      if (remainingMemory < recordSize) {
+        return false;
+      }
+    } while (!remainingMemoryCapacityInByte.compareAndSet(remainingMemory, remainingMemory - recordSize));
+    return true;
+  }
+
+  /**
+   * @return false if all the slots are taken.
+   */
+  private boolean tryPublish(T record) {
+    while (true) {
+      long index = producerIndex.get();
+      int slot = (int) index & mask;
+      long sequence = sequences.get(slot);
+      if (sequence == index) {
+        if (producerIndex.compareAndSet(index, index + 1)) {
+          slots.lazySet(slot, record);
+          // The volatile write makes the object visible to the consumer
+          sequences.set(slot, index + 1);
+          return true;
+        }
+      } else if (sequence < index) {
+        // The object put in this slot one round ago isn't consumed yet
+        return false;
+      }
+      // Otherwise, another producer has claimed this slot, so retry with the next one
+    }
+  }
+
+  /**
+   * The slow path of the producers, which only happens when the memory or the slots are exhausted. The consumer checks
+   * {@link #waitingProducerCount} or {@link #slotsExhausted} after freeing the memory or the slots, so the producers
+   * must announce themselves before checking the condition again, to not miss the signal.
+   */
+  private void awaitProducerCondition(BooleanSupplier condition, boolean waitForSlots) throws InterruptedException {
+    producerLock.lock();
+    waitingProducerCount.incrementAndGet();
+    try {
+      while (true) {
+        if (waitForSlots) {
+          slotsExhausted = true;
+        }
+        if (condition.getAsBoolean()) {
+          return;
+        }
+        producerCondition.await();
+      }
+    } finally {
+      waitingProducerCount.decrementAndGet();
+      producerLock.unlock();
+    }
+  }
+
+  private void signalProducers() {
+    producerLock.lock();
+    try {
+      slotsExhausted = false;
+      producerCondition.signalAll();
+    } finally {
+      producerLock.unlock();
+    }
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    T record;
+    while ((record = poll()) == null) {
+      waitingConsumer = Thread.currentThread();
+      try {
+        // Check again after announcing the waiting consumer, since the producers only unpark the announced one.
+        record = poll();
+        if (record != null) {
+          return record;
+        }
+        LockSupport.park(this);
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      } finally {
+        waitingConsumer = null;
+      }
+    }
+    return record;
+  }
+
+  /**
+   * Retrieve and remove the head of the queue without blocking.
+   * @return null if the queue is empty.
+   */
+  @Override
+  public T poll() {
+    long index = consumerIndex.get();
+    int slot = (int) index & mask;
+    if (sequences.get(slot) != index + 1) {
+      return null;
+    }
+    T record = slots.get(slot);
+    slots.lazySet(slot, null);
+    consumerIndex.lazySet(index + 1);
+    // The volatile write frees the slot for the producers of the next round
+    sequences.set(slot, index + mask + 1);
+    boolean memoryFreed = freeMemory(record);
+    if ((memoryFreed && waitingProducerCount.get() > 0) || slotsExhausted) {
+      signalProducers();
+    }
+    return record;
+  }
+
+  /**
+   * @return whether the accumulated freed memory is given back.
+   */
+  private boolean freeMemory(T record) {
+    currentFreedMemoryInBytes += getRecordSize(record);
+    /**
+     * It won't give back the memory to the blocked {@link #put(Measurable)} thread until the freed memory exceeds
+     * pre-defined {@link #notifyDeltaInByte}.
+     */
+    if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
+      remainingMemoryCapacityInByte.getAndAdd(currentFreedMemoryInBytes);
+      currentFreedMemoryInBytes = 0;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * This check is best effort, since the buffered objects could be consumed and the slots reused while scanning them.
+   */
+  @Override
+  public boolean contains(Object o) {
+    long end = producerIndex.get();
+    for (long index = consumerIndex.get(); index < end; index++) {
+      T record = slots.get((int) index & mask);
+      if (record != null && o.equals(record)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean add(T t) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean offer(T t) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T remove() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T element() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T peek() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public int remainingCapacity() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean containsAll(Collection<?> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends T> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public void clear() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public Object[] toArray() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public <T1> T1[] toArray(T1[] a) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> c, int maxElements) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+}
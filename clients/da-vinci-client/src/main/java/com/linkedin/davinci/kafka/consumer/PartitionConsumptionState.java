@@ -10,6 +10,7 @@ import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.utils.PartitionUtils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.buffer.ByteBuf;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +18,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.avro.generic.GenericRecord;
 
 
@@ -95,6 +97,21 @@ public class PartitionConsumptionState {
    */
   private final ConcurrentMap<ByteArrayKey, TransientRecord> transientRecordMap = new VeniceConcurrentHashMap<>();
 
+  /**
+   * When present, the values and the serialized replication metadata of the transient records are kept off heap with
+   * the memory allocated from this pool, otherwise they are kept on heap.
+   */
+  private final TransientRecordMemoryPool transientRecordMemoryPool;
+
+  /**
+   * This hash map keeps the old values and replication metadata of the keys, which have been looked up in batch from
+   * the DB by the A/A leader before processing the records polled from the real-time topic.
+   * An entry is reserved by {@link #reservePrefetchedRecord(ByteArrayKey, PrefetchedRecord)} before the lookup, and
+   * it is invalidated by any subsequent {@link #setTransientRecord}, so that a prefetched record never hides a newer
+   * write, which is either in {@link #transientRecordMap} or persisted in the DB already when the entry is reserved.
+   */
+  private final ConcurrentMap<ByteArrayKey, PrefetchedRecord> prefetchedRecordMap = new VeniceConcurrentHashMap<>();
+
   /**
    * In-memory hash set which keeps track of all previous status this sub-partition has reported. It is the in-memory
    * cache of the previousStatuses field in {@link com.linkedin.venice.kafka.protocol.state.PartitionState} inside
@@ -152,7 +169,17 @@ public class PartitionConsumptionState {
   private Map<String, Long> latestProcessedUpstreamRTOffsetMap;
 
   public PartitionConsumptionState(int partition, int amplificationFactor, OffsetRecord offsetRecord, boolean hybrid) {
+    this(partition, amplificationFactor, offsetRecord, hybrid, null);
+  }
+
+  public PartitionConsumptionState(
+      int partition,
+      int amplificationFactor,
+      OffsetRecord offsetRecord,
+      boolean hybrid,
+      TransientRecordMemoryPool transientRecordMemoryPool) {
     this.partition = partition;
+    this.transientRecordMemoryPool = transientRecordMemoryPool;
     this.amplificationFactor = amplificationFactor;
     this.userPartition = PartitionUtils.getUserPartition(partition, amplificationFactor);
     this.hybrid = hybrid;
@@ -365,8 +392,11 @@ public class PartitionConsumptionState {
     return consumeRemotely;
   }
 
-  public void initializeExpectedChecksum() {
-    this.expectedSSTFileChecksum = CheckSum.getInstance(CheckSumType.MD5);
+  /**
+   * @param checkSumType the checksum type to verify the SST files with, which must match the one of the storage engine.
+   */
+  public void initializeExpectedChecksum(CheckSumType checkSumType) {
+    this.expectedSSTFileChecksum = CheckSum.getInstance(checkSumType);
   }
 
   public void finalizeExpectedChecksum() {
@@ -436,16 +466,117 @@ public class PartitionConsumptionState {
       int valueLen,
       int valueSchemaId,
       GenericRecord replicationMetadataRecord) {
-    TransientRecord transientRecord =
-        new TransientRecord(value, valueOffset, valueLen, valueSchemaId, kafkaClusterId, kafkaConsumedOffset);
-    if (replicationMetadataRecord != null) {
-      transientRecord.setReplicationMetadataRecord(replicationMetadataRecord);
+    setTransientRecord(
+        kafkaClusterId,
+        kafkaConsumedOffset,
+        key,
+        value,
+        valueOffset,
+        valueLen,
+        valueSchemaId,
+        replicationMetadataRecord,
+        null);
+  }
+
+  /**
+   * @param replicationMetadataBytes the serialized {@param replicationMetadataRecord}, which is required to keep the
+   *                                 replication metadata of the transient record off heap.
+   */
+  public void setTransientRecord(
+      int kafkaClusterId,
+      long kafkaConsumedOffset,
+      byte[] key,
+      byte[] value,
+      int valueOffset,
+      int valueLen,
+      int valueSchemaId,
+      GenericRecord replicationMetadataRecord,
+      ByteBuffer replicationMetadataBytes) {
+    TransientRecord transientRecord = null;
+    if (transientRecordMemoryPool != null && (replicationMetadataRecord == null || replicationMetadataBytes != null)) {
+      transientRecord = OffHeapTransientRecord.create(
+          transientRecordMemoryPool,
+          value,
+          valueOffset,
+          valueLen,
+          valueSchemaId,
+          kafkaClusterId,
+          kafkaConsumedOffset,
+          replicationMetadataRecord == null ? null : replicationMetadataBytes);
+    }
+    if (transientRecord == null) {
+      transientRecord = new TransientRecord(
+          value,
+          valueOffset,
+          valueLen,
+          valueSchemaId,
+          kafkaClusterId,
+          kafkaConsumedOffset,
+          replicationMetadataRecord);
+    }
+    ByteArrayKey byteArrayKey = ByteArrayKey.wrap(key);
+    TransientRecord previousRecord = transientRecordMap.put(byteArrayKey, transientRecord);
+    if (previousRecord != null) {
+      previousRecord.release();
+    }
+    if (!prefetchedRecordMap.isEmpty()) {
+      prefetchedRecordMap.remove(byteArrayKey);
     }
-    transientRecordMap.put(ByteArrayKey.wrap(key), transientRecord);
   }
 
+  /**
+   * @return the transient record of the given key, which is retained so that its off-heap memory, if any, stays valid
+   *         after the transient record is removed concurrently. The caller must {@link TransientRecord#release()} it
+   *         once done with it.
+   */
   public TransientRecord getTransientRecord(byte[] key) {
-    return transientRecordMap.get(ByteArrayKey.wrap(key));
+    ByteArrayKey byteArrayKey = ByteArrayKey.wrap(key);
+    while (true) {
+      TransientRecord transientRecord = transientRecordMap.get(byteArrayKey);
+      if (transientRecord == null) {
+        return null;
+      }
+      if (transientRecord.retain()) {
+        return transientRecord;
+      }
+      // The record has been released after being removed or replaced concurrently, so look it up again.
+    }
+  }
+
+  /**
+   * Reserve the entry of the given key before looking up its old value and replication metadata from the DB.
+   *
+   * @return false if there is a transient record for the key, which is newer than what the lookup could return, so
+   *         there is no need to prefetch it.
+   */
+  public boolean reservePrefetchedRecord(ByteArrayKey key, PrefetchedRecord prefetchedRecord) {
+    prefetchedRecordMap.put(key, prefetchedRecord);
+    // The transient record is checked after the reservation, since it could be removed concurrently after being
+    // persisted, and any transient record set afterwards will invalidate the reservation.
+    if (transientRecordMap.containsKey(key)) {
+      prefetchedRecordMap.remove(key, prefetchedRecord);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return the prefetched record of the given key, or null if the key is not prefetched or has been updated since.
+   */
+  public PrefetchedRecord getPrefetchedRecord(byte[] key) {
+    if (prefetchedRecordMap.isEmpty()) {
+      return null;
+    }
+    PrefetchedRecord prefetchedRecord = prefetchedRecordMap.get(ByteArrayKey.wrap(key));
+    return (prefetchedRecord != null && prefetchedRecord.isCompleted()) ? prefetchedRecord : null;
+  }
+
+  public void removePrefetchedRecord(ByteArrayKey key, PrefetchedRecord prefetchedRecord) {
+    prefetchedRecordMap.remove(key, prefetchedRecord);
+  }
+
+  public int getPrefetchedRecordMapSize() {
+    return prefetchedRecordMap.size();
   }
 
   /**
@@ -454,17 +585,35 @@ public class PartitionConsumptionState {
    * @param kafkaClusterId
    * @param kafkaConsumedOffset
    * @param key
-   * @return
+   * @return the transient record left for the key, which is not retained, so it must not be read.
    */
   public TransientRecord mayRemoveTransientRecord(int kafkaClusterId, long kafkaConsumedOffset, byte[] key) {
-    TransientRecord removed = transientRecordMap.computeIfPresent(ByteArrayKey.wrap(key), (k, v) -> {
-      if (v.kafkaClusterId == kafkaClusterId && v.kafkaConsumedOffset == kafkaConsumedOffset) {
-        return null;
-      } else {
-        return v;
+    ByteArrayKey byteArrayKey = ByteArrayKey.wrap(key);
+    TransientRecord transientRecord = transientRecordMap.get(byteArrayKey);
+    if (transientRecord == null || transientRecord.kafkaClusterId != kafkaClusterId
+        || transientRecord.kafkaConsumedOffset != kafkaConsumedOffset) {
+      return transientRecord;
+    }
+    if (transientRecordMap.remove(byteArrayKey, transientRecord)) {
+      // The reference of the map is released after the removal, and the memory is freed once the readers are done.
+      transientRecord.release();
+      return null;
+    }
+    // The record has been replaced concurrently
+    return transientRecordMap.get(byteArrayKey);
+  }
+
+  /**
+   * Remove all the transient records, and release their off-heap memory, if any. This should only be invoked when the
+   * partition is no longer consumed.
+   */
+  public void clearTransientRecords() {
+    for (ByteArrayKey key: transientRecordMap.keySet()) {
+      TransientRecord transientRecord = transientRecordMap.remove(key);
+      if (transientRecord != null) {
+        transientRecord.release();
       }
-    });
-    return removed;
+    }
   }
 
   public int getSourceTopicPartition(String topic) {
@@ -501,6 +650,10 @@ public class PartitionConsumptionState {
   /**
    * This immutable class holds a association between a key and  value and the source offset of the consumed message.
    * The value could be either as received in kafka ConsumerRecord or it could be a write computed value.
+   *
+   * The replication metadata is either kept as {@link #getReplicationMetadataRecord()}, or serialized as
+   * {@link #getReplicationMetadataBytes()} when the record has been kept off heap, in which case it is deserialized by
+   * the reader on demand and never kept on heap along with the record.
    */
   public static class TransientRecord {
     private final byte[] value;
@@ -509,7 +662,7 @@ public class PartitionConsumptionState {
     private final int valueSchemaId;
     private final int kafkaClusterId;
     private final long kafkaConsumedOffset;
-    private GenericRecord replicationMetadataRecord;
+    private final GenericRecord replicationMetadataRecord;
 
     TransientRecord(
         byte[] value,
@@ -517,16 +670,14 @@ public class PartitionConsumptionState {
         int valueLen,
         int valueSchemaId,
         int kafkaClusterId,
-        long kafkaConsumedOffset) {
+        long kafkaConsumedOffset,
+        GenericRecord replicationMetadataRecord) {
       this.value = value;
       this.valueOffset = valueOffset;
       this.valueLen = valueLen;
       this.valueSchemaId = valueSchemaId;
       this.kafkaClusterId = kafkaClusterId;
       this.kafkaConsumedOffset = kafkaConsumedOffset;
-    }
-
-    public void setReplicationMetadataRecord(GenericRecord replicationMetadataRecord) {
       this.replicationMetadataRecord = replicationMetadataRecord;
     }
 
@@ -534,6 +685,10 @@ public class PartitionConsumptionState {
       return replicationMetadataRecord;
     }
 
+    public ByteBuffer getReplicationMetadataBytes() {
+      return null;
+    }
+
     public byte[] getValue() {
       return value;
     }
@@ -549,6 +704,168 @@ public class PartitionConsumptionState {
     public int getValueSchemaId() {
       return valueSchemaId;
     }
+
+    /**
+     * Acquire a reference of this record, which must be released by {@link #release()}.
+     *
+     * @return false if this record is released already, so it must not be read.
+     */
+    boolean retain() {
+      return true;
+    }
+
+    void release() {
+    }
+  }
+
+  /**
+   * This class keeps the value and the serialized replication metadata of a transient record in a direct buffer, which
+   * is freed once the record has been persisted, replaced or dropped, and all the readers have released it.
+   *
+   * The replication metadata is exposed as a read-only view of the direct buffer, while the value is copied on heap by
+   * {@link #getValue()}, since the merged value could reuse the old value bytes beyond the lifetime of this record.
+   */
+  private static class OffHeapTransientRecord extends TransientRecord {
+    private final TransientRecordMemoryPool memoryPool;
+    private final ByteBuf buffer;
+    private final int offHeapValueLen;
+    private final int replicationMetadataLen;
+    /**
+     * One reference is held by {@link #transientRecordMap}, and one more by each reader.
+     */
+    private final AtomicInteger referenceCount = new AtomicInteger(1);
+
+    private OffHeapTransientRecord(
+        TransientRecordMemoryPool memoryPool,
+        ByteBuf buffer,
+        int valueLen,
+        int replicationMetadataLen,
+        int valueSchemaId,
+        int kafkaClusterId,
+        long kafkaConsumedOffset) {
+      super(null, -1, -1, valueSchemaId, kafkaClusterId, kafkaConsumedOffset, null);
+      this.memoryPool = memoryPool;
+      this.buffer = buffer;
+      this.offHeapValueLen = valueLen;
+      this.replicationMetadataLen = replicationMetadataLen;
+    }
+
+    /**
+     * @return null if there is nothing to keep, or the memory isn't available.
+     */
+    static OffHeapTransientRecord create(
+        TransientRecordMemoryPool memoryPool,
+        byte[] value,
+        int valueOffset,
+        int valueLen,
+        int valueSchemaId,
+        int kafkaClusterId,
+        long kafkaConsumedOffset,
+        ByteBuffer replicationMetadataBytes) {
+      int offHeapValueLen = value == null ? -1 : valueLen;
+      int replicationMetadataLen = replicationMetadataBytes == null ? -1 : replicationMetadataBytes.remaining();
+      int size = Math.max(offHeapValueLen, 0) + Math.max(replicationMetadataLen, 0);
+      if (size == 0) {
+        return null;
+      }
+      ByteBuf buffer = memoryPool.allocate(size);
+      if (buffer == null) {
+        return null;
+      }
+      if (value != null) {
+        buffer.writeBytes(value, valueOffset, valueLen);
+      }
+      if (replicationMetadataBytes != null) {
+        buffer.writeBytes(replicationMetadataBytes.duplicate());
+      }
+      return new OffHeapTransientRecord(
+          memoryPool,
+          buffer,
+          offHeapValueLen,
+          replicationMetadataLen,
+          valueSchemaId,
+          kafkaClusterId,
+          kafkaConsumedOffset);
+    }
+
+    @Override
+    public byte[] getValue() {
+      if (offHeapValueLen < 0) {
+        return null;
+      }
+      byte[] value = new byte[offHeapValueLen];
+      buffer.getBytes(0, value);
+      return value;
+    }
+
+    @Override
+    public int getValueOffset() {
+      return offHeapValueLen < 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getValueLen() {
+      return offHeapValueLen;
+    }
+
+    @Override
+    public ByteBuffer getReplicationMetadataBytes() {
+      if (replicationMetadataLen < 0) {
+        return null;
+      }
+      return buffer.nioBuffer(Math.max(offHeapValueLen, 0), replicationMetadataLen).asReadOnlyBuffer();
+    }
+
+    @Override
+    boolean retain() {
+      int count;
+      do {
+        count = referenceCount.get();
+        if (count == 0) {
+          return false;
+        }
+      } while (!referenceCount.compareAndSet(count, count + 1));
+      return true;
+    }
+
+    @Override
+    void release() {
+      if (referenceCount.decrementAndGet() == 0) {
+        memoryPool.release(buffer);
+      }
+    }
+  }
+
+  /**
+   * This class holds the raw bytes of the old value and the replication metadata of a key, as stored in the DB, which
+   * are looked up ahead of the merge conflict resolution.
+   */
+  public static class PrefetchedRecord {
+    private byte[] value;
+    private byte[] replicationMetadataWithValueSchemaId;
+    private volatile boolean completed = false;
+
+    /**
+     * @param value the top-level value bytes, which is the manifest if the value is chunked, or null if not found.
+     * @param replicationMetadataWithValueSchemaId the value schema id prepended RMD bytes, or null if not found.
+     */
+    public void complete(byte[] value, byte[] replicationMetadataWithValueSchemaId) {
+      this.value = value;
+      this.replicationMetadataWithValueSchemaId = replicationMetadataWithValueSchemaId;
+      this.completed = true;
+    }
+
+    public boolean isCompleted() {
+      return completed;
+    }
+
+    public byte[] getValue() {
+      return value;
+    }
+
+    public byte[] getReplicationMetadataWithValueSchemaId() {
+      return replicationMetadataWithValueSchemaId;
+    }
   }
 
   public void updateLeaderConsumedUpstreamRTOffset(String kafkaUrl, long offset) {
@@ -51,6 +51,7 @@ public class PartitionWiseKafkaConsumerService extends KafkaConsumerService {
       final long sharedConsumerNonExistingTopicCleanupDelayMS,
       final TopicExistenceChecker topicExistenceChecker,
       final boolean liveConfigBasedKafkaThrottlingEnabled,
+      final boolean queuedSubscriptionCommandsEnabled,
       final Time time,
       final KafkaConsumerServiceStats stats) {
     super(
@@ -66,6 +67,7 @@ public class PartitionWiseKafkaConsumerService extends KafkaConsumerService {
         sharedConsumerNonExistingTopicCleanupDelayMS,
         topicExistenceChecker,
         liveConfigBasedKafkaThrottlingEnabled,
+        queuedSubscriptionCommandsEnabled,
         time,
         stats);
     this.logger = LogManager.getLogger(PartitionWiseKafkaConsumerService.class + " [" + kafkaUrl + "]");
@@ -75,11 +77,15 @@ public class PartitionWiseKafkaConsumerService extends KafkaConsumerService {
   protected synchronized SharedKafkaConsumer pickConsumerForPartition(
       String versionTopic,
       TopicPartition topicPartition) {
-    // Basic case, round-robin search to find next consumer for this partition.
+    // Basic case, round-robin search among the active consumers to find next consumer for this partition.
     boolean seekNewConsumer = true;
     int consumerIndex = -1;
     int consumersChecked = 0;
     SharedKafkaConsumer consumer = null;
+    int activeConsumerCount = getActiveConsumerCount();
+    if (shareConsumerIndex >= activeConsumerCount) {
+      shareConsumerIndex = 0;
+    }
 
     while (seekNewConsumer) {
 
@@ -90,12 +96,17 @@ public class PartitionWiseKafkaConsumerService extends KafkaConsumerService {
                 + topicPartition.partition() + " from the ingestion task belonging to version topic: " + versionTopic);
       }
 
-      consumer = consumerToConsumptionTask.getByIndex(shareConsumerIndex).getKey();
-      consumerIndex = shareConsumerIndex;
-      shareConsumerIndex++;
-      if (shareConsumerIndex == consumerToConsumptionTask.size()) {
-        shareConsumerIndex = 0;
+      if (consumersChecked < activeConsumerCount) {
+        consumerIndex = shareConsumerIndex;
+        shareConsumerIndex++;
+        if (shareConsumerIndex == activeConsumerCount) {
+          shareConsumerIndex = 0;
+        }
+      } else {
+        // None of the active consumers is eligible, so fall back to the idle ones.
+        consumerIndex = consumersChecked;
       }
+      consumer = getConsumerByIndex(consumerIndex);
       seekNewConsumer = false;
 
       if (Version.isRealTimeTopic(topicPartition.topic())) {
@@ -119,6 +130,7 @@ public class PartitionWiseKafkaConsumerService extends KafkaConsumerService {
       throw new IllegalStateException(
           "Did not find a suitable consumer after checking " + consumersChecked + " instances.");
     }
+    activateConsumer(consumer);
     logger.info(
         "Get shared consumer for: {} from the ingestion task belonging to version topic: {} with index: {}",
         topicPartition,
@@ -132,6 +144,24 @@ public class PartitionWiseKafkaConsumerService extends KafkaConsumerService {
     return consumers != null && consumers.contains(consumer);
   }
 
+  @Override
+  protected boolean supportsTopicPartitionMoves() {
+    return true;
+  }
+
+  @Override
+  protected synchronized boolean reserveConsumerForMovedTopicPartition(
+      SharedKafkaConsumer consumer,
+      TopicPartition topicPartition) {
+    if (Version.isRealTimeTopic(topicPartition.topic())) {
+      if (alreadySubscribedRealtimeTopicPartition(consumer, topicPartition)) {
+        return false;
+      }
+      rtTopicPartitionToConsumerMap.computeIfAbsent(topicPartition, key -> new HashSet<>()).add(consumer);
+    }
+    return true;
+  }
+
   @Override
   void handleUnsubscription(SharedKafkaConsumer consumer, TopicPartition topicPartition) {
     if (Version.isRealTimeTopic(topicPartition.topic())) {
@@ -30,11 +30,21 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
     this.sortedServiceDelegate = new StoreBufferService(
         sortedPoolSize,
         serverConfig.getStoreWriterBufferMemoryCapacity(),
-        serverConfig.getStoreWriterBufferNotifyDelta());
+        serverConfig.getStoreWriterBufferNotifyDelta(),
+        serverConfig.getStoreWriterBatchMaxRecords(),
+        serverConfig.getStoreWriterBatchMaxSizeInBytes(),
+        serverConfig.isStoreWriterAdaptiveAssignmentEnabled(),
+        serverConfig.getStoreWriterAdaptiveAssignmentIntervalMs(),
+        serverConfig.isStoreWriterBufferLockFreeQueueEnabled());
     this.unsortedServiceDelegate = new StoreBufferService(
         unsortedPoolSize,
         serverConfig.getStoreWriterBufferMemoryCapacity(),
-        serverConfig.getStoreWriterBufferNotifyDelta());
+        serverConfig.getStoreWriterBufferNotifyDelta(),
+        serverConfig.getStoreWriterBatchMaxRecords(),
+        serverConfig.getStoreWriterBatchMaxSizeInBytes(),
+        serverConfig.isStoreWriterAdaptiveAssignmentEnabled(),
+        serverConfig.getStoreWriterAdaptiveAssignmentIntervalMs(),
+        serverConfig.isStoreWriterBufferLockFreeQueueEnabled());
     LOGGER.info(
         "Created separated store buffer service with {} sorted drainers and {} unsorted drainers queues with capacity of {}",
         sortedPoolSize,
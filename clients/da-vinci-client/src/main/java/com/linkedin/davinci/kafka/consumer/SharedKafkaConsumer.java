@@ -11,9 +11,16 @@ import com.linkedin.venice.utils.SystemTime;
 import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.util.Collections;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntSupplier;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.common.TopicPartition;
@@ -30,6 +37,12 @@ import org.apache.logging.log4j.Logger;
  *
  * It also provides some callbacks used by the {@link KafkaConsumerService} to react to certain changes, in a way that
  * minimizes bidirectional coupling as much as possible.
+ *
+ * By default, all the accesses to the delegate are synchronized on this consumer, so the subscription changes contend
+ * with the consumption thread, which holds the monitor during the whole {@link #poll(long)}. When the queued
+ * subscription commands are enabled, the subscription changes are queued instead, and applied by whichever thread
+ * owns the delegate next: either the caller itself when the delegate is idle, or the consumption thread right before
+ * or after its poll. This way, all the changes accumulated during a poll are applied together at the poll boundary.
  */
 class SharedKafkaConsumer implements KafkaConsumerWrapper {
   private static final Logger LOGGER = LogManager.getLogger(SharedKafkaConsumer.class);
@@ -67,19 +80,48 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
    * This cached assignment is for performance optimization purpose since {@link #hasSubscription} could be invoked frequently.
    * This set should be unmodifiable.
    */
-  private Set<TopicPartition> currentAssignment;
+  private volatile Set<TopicPartition> currentAssignment;
+
+  /**
+   * The topic-partitions paused via {@link #pause(String, int)}, which need to be paused again if they are moved to
+   * another consumer.
+   */
+  private final Set<TopicPartition> pausedTopicPartitions = VeniceConcurrentHashMap.newKeySet();
 
   /**
    * an ever increasing count of number of time poll has been invoked.
    */
   private volatile long pollTimes = 0;
 
+  private final boolean queuedCommandsEnabled;
+
+  /**
+   * The subscription changes which haven't been applied to {@link #delegate} yet, only used when
+   * {@link #queuedCommandsEnabled} is true.
+   */
+  private final Queue<SubscriptionCommand> pendingCommands = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Guards all the accesses to {@link #delegate} which could change its state, only used when
+   * {@link #queuedCommandsEnabled} is true.
+   */
+  private final Lock delegateLock = new ReentrantLock();
+
   public SharedKafkaConsumer(
       KafkaConsumerWrapper delegate,
       KafkaConsumerServiceStats stats,
       Runnable assignmentChangeListener,
       UnsubscriptionListener unsubscriptionListener) {
-    this(delegate, stats, assignmentChangeListener, unsubscriptionListener, new SystemTime());
+    this(delegate, stats, assignmentChangeListener, unsubscriptionListener, false);
+  }
+
+  public SharedKafkaConsumer(
+      KafkaConsumerWrapper delegate,
+      KafkaConsumerServiceStats stats,
+      Runnable assignmentChangeListener,
+      UnsubscriptionListener unsubscriptionListener,
+      boolean queuedCommandsEnabled) {
+    this(delegate, stats, assignmentChangeListener, unsubscriptionListener, queuedCommandsEnabled, new SystemTime());
   }
 
   SharedKafkaConsumer(
@@ -87,11 +129,13 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
       KafkaConsumerServiceStats stats,
       Runnable assignmentChangeListener,
       UnsubscriptionListener unsubscriptionListener,
+      boolean queuedCommandsEnabled,
       Time time) {
     this.delegate = delegate;
     this.stats = stats;
     this.assignmentChangeListener = assignmentChangeListener;
     this.unsubscriptionListener = unsubscriptionListener;
+    this.queuedCommandsEnabled = queuedCommandsEnabled;
     this.time = time;
     this.currentAssignment = Collections.emptySet();
     this.currentAssignmentSize = new AtomicInteger(0);
@@ -104,6 +148,87 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
     void call(SharedKafkaConsumer consumer, TopicPartition topicPartition);
   }
 
+  /**
+   * A subscription change, which is applied to {@link #delegate} by {@link #applyPendingCommands()}.
+   */
+  private static class SubscriptionCommand {
+    private final Runnable action;
+    private final boolean waitedFor;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    SubscriptionCommand(Runnable action, boolean waitedFor) {
+      this.action = action;
+      this.waitedFor = waitedFor;
+    }
+  }
+
+  /**
+   * Run the given subscription change against {@link #delegate}, either synchronized on this consumer, or as a queued
+   * command if {@link #queuedCommandsEnabled} is true.
+   *
+   * @param waitForCompletion whether to wait for a queued command to be applied, and rethrow its failure if any.
+   */
+  private void runSubscriptionCommand(Runnable action, boolean waitForCompletion) {
+    if (!queuedCommandsEnabled) {
+      synchronized (this) {
+        action.run();
+      }
+      return;
+    }
+
+    SubscriptionCommand command = new SubscriptionCommand(action, waitForCompletion);
+    pendingCommands.add(command);
+    tryApplyPendingCommands();
+    if (!waitForCompletion) {
+      return;
+    }
+    try {
+      command.completion.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new VeniceException("Failed to apply the subscription command", cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VeniceException("Interrupted while waiting for the subscription command to be applied", e);
+    }
+  }
+
+  /**
+   * Apply the pending commands in place if nobody else owns {@link #delegate}. Otherwise, the owner will apply them
+   * when releasing {@link #delegateLock}, and since the commands are queued before trying the lock, none of them could
+   * be missed by both threads.
+   */
+  private void tryApplyPendingCommands() {
+    while (!pendingCommands.isEmpty() && delegateLock.tryLock()) {
+      try {
+        applyPendingCommands();
+      } finally {
+        delegateLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * N.B. The caller must hold {@link #delegateLock}.
+   */
+  private void applyPendingCommands() {
+    SubscriptionCommand command;
+    while ((command = pendingCommands.poll()) != null) {
+      try {
+        command.action.run();
+        command.completion.complete(null);
+      } catch (Exception e) {
+        if (!command.waitedFor) {
+          LOGGER.error("Failed to apply the subscription command which nobody waits for", e);
+        }
+        command.completion.completeExceptionally(e);
+      }
+    }
+  }
+
   protected synchronized void updateCurrentAssignment(Set<TopicPartition> newAssignment) {
     final long updateCurrentAssignmentStartTime = System.currentTimeMillis();
     currentAssignmentSize.set(newAssignment.size());
@@ -118,7 +243,11 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
         this.getClass().getSimpleName() + " does not support subscribe without specifying a version-topic.");
   }
 
-  synchronized void subscribe(String versionTopic, TopicPartition topicPartitionToSubscribe, long lastReadOffset) {
+  void subscribe(String versionTopic, TopicPartition topicPartitionToSubscribe, long lastReadOffset) {
+    runSubscriptionCommand(() -> subscribeInternal(versionTopic, topicPartitionToSubscribe, lastReadOffset), true);
+  }
+
+  private void subscribeInternal(String versionTopic, TopicPartition topicPartitionToSubscribe, long lastReadOffset) {
     long delegateSubscribeStartTime = System.currentTimeMillis();
     this.delegate.subscribe(topicPartitionToSubscribe.topic(), topicPartitionToSubscribe.partition(), lastReadOffset);
     String previousVersionTopic = subscribedTopicPartitionToVersionTopic.put(topicPartitionToSubscribe, versionTopic);
@@ -139,22 +268,34 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
    * invocation of {@link SharedKafkaConsumer#poll(long)} achieves the above objective.
    */
   @Override
-  public synchronized void unSubscribe(String topic, int partition) {
-    unSubscribeAction(() -> {
+  public void unSubscribe(String topic, int partition) {
+    unSubscribeAndWaitForHandover(topic, partition);
+  }
+
+  /**
+   * Same as {@link #unSubscribe(String, int)}.
+   *
+   * @return whether the records polled for the topic-partition before the unsubscription are confirmed to have been
+   *         handed over, which is not the case if the wait for the next poll timed out or got interrupted.
+   */
+  boolean unSubscribeAndWaitForHandover(String topic, int partition) {
+    return unSubscribeAction(() -> {
       this.delegate.unSubscribe(topic, partition);
       TopicPartition topicPartition = new TopicPartition(topic, partition);
       subscribedTopicPartitionToVersionTopic.remove(topicPartition);
+      pausedTopicPartitions.remove(topicPartition);
       unsubscriptionListener.call(this, topicPartition);
       return 1;
     });
   }
 
   @Override
-  public synchronized void batchUnsubscribe(Set<TopicPartition> topicPartitionSet) {
+  public void batchUnsubscribe(Set<TopicPartition> topicPartitionSet) {
     unSubscribeAction(() -> {
       this.delegate.batchUnsubscribe(topicPartitionSet);
       for (TopicPartition topicPartition: topicPartitionSet) {
         subscribedTopicPartitionToVersionTopic.remove(topicPartition);
+        pausedTopicPartitions.remove(topicPartition);
         unsubscriptionListener.call(this, topicPartition);
       }
       return topicPartitionSet.size();
@@ -166,23 +307,36 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
    * unsubscribing some partition(s).
    *
    * @param action which performs the unsubscription and returns the number of partitions which were unsubscribed
+   * @return whether the next poll happened in time, see {@link #waitAfterUnsubscribe(long)}
    */
-  protected synchronized void unSubscribeAction(IntSupplier action) {
-    long currentPollTimes = pollTimes;
-    long startTime = System.currentTimeMillis();
-    int numberOfUnsubbedPartitions = action.getAsInt();
-    long elapsedTime = System.currentTimeMillis() - startTime;
-
-    LOGGER.info(
-        "Shared consumer {} unsubscribed {} partition(s) in {} ms.",
-        this.getClass().getSimpleName(),
-        numberOfUnsubbedPartitions,
-        elapsedTime);
-    updateCurrentAssignment(delegate.getAssignment());
-    waitAfterUnsubscribe(currentPollTimes);
+  protected boolean unSubscribeAction(IntSupplier action) {
+    /**
+     * The poll times are captured when the unsubscription is actually applied, which could be later than now if the
+     * command is queued.
+     */
+    AtomicLong currentPollTimes = new AtomicLong();
+    runSubscriptionCommand(() -> {
+      currentPollTimes.set(pollTimes);
+      long startTime = System.currentTimeMillis();
+      int numberOfUnsubbedPartitions = action.getAsInt();
+      long elapsedTime = System.currentTimeMillis() - startTime;
+
+      LOGGER.info(
+          "Shared consumer {} unsubscribed {} partition(s) in {} ms.",
+          this.getClass().getSimpleName(),
+          numberOfUnsubbedPartitions,
+          elapsedTime);
+      updateCurrentAssignment(delegate.getAssignment());
+    }, true);
+    synchronized (this) {
+      return waitAfterUnsubscribe(currentPollTimes.get());
+    }
   }
 
-  protected void waitAfterUnsubscribe(long currentPollTimes) {
+  /**
+   * @return whether the next poll happened before the timeout
+   */
+  protected boolean waitAfterUnsubscribe(long currentPollTimes) {
     currentPollTimes++;
     waitingForPoll.set(true);
     // Wait for the next poll or maximum 10 seconds. Interestingly wait api does not provide any indication if wait
@@ -197,52 +351,102 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
         }
         wait(waitMs);
       }
-      // no action to take actually, just return;
     } catch (InterruptedException e) {
       LOGGER.info("Wait for poll request in `unsubscribe` function got interrupted.");
       Thread.currentThread().interrupt();
     }
+    return currentPollTimes <= pollTimes;
   }
 
   @Override
-  public synchronized void resetOffset(String topic, int partition) throws UnsubscribedTopicPartitionException {
-    this.delegate.resetOffset(topic, partition);
+  public void resetOffset(String topic, int partition) throws UnsubscribedTopicPartitionException {
+    runSubscriptionCommand(() -> this.delegate.resetOffset(topic, partition), true);
   }
 
   @Override
-  public synchronized void close() {
-    this.delegate.close();
-    updateCurrentAssignment(Collections.emptySet());
+  public void close() {
+    if (!queuedCommandsEnabled) {
+      synchronized (this) {
+        this.delegate.close();
+        updateCurrentAssignment(Collections.emptySet());
+      }
+      return;
+    }
+    delegateLock.lock();
+    try {
+      applyPendingCommands();
+      this.delegate.close();
+      updateCurrentAssignment(Collections.emptySet());
+    } finally {
+      delegateLock.unlock();
+    }
   }
 
   @Override
-  public synchronized ConsumerRecords<KafkaKey, KafkaMessageEnvelope> poll(long timeoutMs) {
-    /**
-     * Always invoke this method no matter whether the consumer have subscription or not. Therefore we could notify any
-     * waiter who might be waiting for a invocation of poll to happen even if the consumer does not have subscription
-     * after calling {@link SharedKafkaConsumer#unSubscribe(String, int)}.
-     */
+  public ConsumerRecords<KafkaKey, KafkaMessageEnvelope> poll(long timeoutMs) {
+    if (queuedCommandsEnabled) {
+      return pollWithQueuedCommands(timeoutMs);
+    }
+    synchronized (this) {
+      /**
+       * Always invoke this method no matter whether the consumer have subscription or not. Therefore we could notify
+       * any waiter who might be waiting for a invocation of poll to happen even if the consumer does not have
+       * subscription after calling {@link SharedKafkaConsumer#unSubscribe(String, int)}.
+       */
+      notifyPollWaiters();
+
+      /**
+       * If the consumer does not have subscription, sleep the specified timeout and return.
+       */
+      if (!hasAnySubscription()) {
+        // TODO: removing this sleep inside the poll with synchronization, this sleep should be added by the logic
+        // calling this poll method.
+        sleepWithoutSubscription(timeoutMs);
+        return ConsumerRecords.empty();
+      }
+
+      return this.delegate.poll(timeoutMs);
+    }
+  }
+
+  /**
+   * The pending commands are applied both before and after polling {@link #delegate}, so that the commands queued
+   * during the poll don't need to wait for the next one. Notably, the records returned by the poll are still handed
+   * over before the next poll, which is what {@link #waitAfterUnsubscribe(long)} relies on.
+   */
+  private ConsumerRecords<KafkaKey, KafkaMessageEnvelope> pollWithQueuedCommands(long timeoutMs) {
+    delegateLock.lock();
+    try {
+      applyPendingCommands();
+      notifyPollWaiters();
+      if (hasAnySubscription()) {
+        ConsumerRecords<KafkaKey, KafkaMessageEnvelope> records = this.delegate.poll(timeoutMs);
+        applyPendingCommands();
+        return records;
+      }
+    } finally {
+      delegateLock.unlock();
+      tryApplyPendingCommands();
+    }
+    // The lock isn't held while sleeping, so that the subscriptions could be applied in place in the meantime.
+    sleepWithoutSubscription(timeoutMs);
+    return ConsumerRecords.empty();
+  }
+
+  private synchronized void notifyPollWaiters() {
     pollTimes++;
     if (waitingForPoll.get()) {
       waitingForPoll.set(false);
       notifyAll();
     }
+  }
 
-    /**
-     * If the consumer does not have subscription, sleep the specified timeout and return.
-     */
+  private void sleepWithoutSubscription(long timeoutMs) {
     try {
-      if (!hasAnySubscription()) {
-        // TODO: removing this sleep inside the poll with synchronization, this sleep should be added by the logic
-        // calling this poll method.
-        Thread.sleep(timeoutMs);
-        return ConsumerRecords.empty();
-      }
+      Thread.sleep(timeoutMs);
     } catch (InterruptedException e) {
       throw new VeniceException("Shared Consumer poll sleep got interrupted", e);
     }
-
-    return this.delegate.poll(timeoutMs);
   }
 
   @Override
@@ -269,13 +473,19 @@ class SharedKafkaConsumer implements KafkaConsumerWrapper {
   }
 
   @Override
-  public synchronized void pause(String topic, int partition) {
-    this.delegate.pause(topic, partition);
+  public void pause(String topic, int partition) {
+    pausedTopicPartitions.add(new TopicPartition(topic, partition));
+    runSubscriptionCommand(() -> this.delegate.pause(topic, partition), false);
   }
 
   @Override
-  public synchronized void resume(String topic, int partition) {
-    this.delegate.resume(topic, partition);
+  public void resume(String topic, int partition) {
+    pausedTopicPartitions.remove(new TopicPartition(topic, partition));
+    runSubscriptionCommand(() -> this.delegate.resume(topic, partition), false);
+  }
+
+  boolean isPaused(TopicPartition topicPartition) {
+    return pausedTopicPartitions.contains(topicPartition);
   }
 
   @Override
@@ -10,6 +10,7 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.utils.DaemonThreadFactory;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.logging.log4j.LogManager;
@@ -36,7 +38,12 @@ import org.apache.logging.log4j.Logger;
  * 2. For each {@link StoreBufferDrainer}, there is a corresponding {@link BlockingQueue}, which will buffer {@link QueueNode};
  * 3. All the records belonging to the same topic+partition will be allocated to the same drainer thread, otherwise DIV will fail;
  * 4. The logic to assign topic+partition to drainer, please check {@link #getDrainerIndexForConsumerRecord(ConsumerRecord, int)};
- * 5. There is still a thread executing {@link StoreIngestionTask} for each topic, which will handle admin actions, such
+ * in the adaptive assignment mode, a topic+partition could be moved to another drainer when none of its records is in
+ * flight, please check {@link #maybeReassignDrainer(TopicPartition, PartitionDrainerAssignment)};
+ * 5. The records of each topic+partition in flight, which are put into the buffer but not persisted yet, are counted,
+ * so that {@link #drainBufferedRecordsFromTopicPartition(String, int)} could wait for the records taken out of the
+ * buffer by the drainer as well;
+ * 6. There is still a thread executing {@link StoreIngestionTask} for each topic, which will handle admin actions, such
  * as subscribe, unsubscribe, kill and so on, and also poll consumer records from Kafka and put them into {@link #blockingQueueArr}
  * maintained by {@link StoreBufferService};
  *
@@ -57,16 +64,22 @@ public class StoreBufferService extends AbstractStoreBufferService {
     private final StoreIngestionTask ingestionTask;
     private final String kafkaUrl;
     private final long beforeProcessingRecordTimestamp;
+    /**
+     * The drainer assignment of the topic+partition, which counts this record as pending until it is persisted.
+     */
+    private final PartitionDrainerAssignment drainerAssignment;
 
     public QueueNode(
         ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord,
         StoreIngestionTask ingestionTask,
         String kafkaUrl,
-        long beforeProcessingRecordTimestamp) {
+        long beforeProcessingRecordTimestamp,
+        PartitionDrainerAssignment drainerAssignment) {
       this.consumerRecord = consumerRecord;
       this.ingestionTask = ingestionTask;
       this.kafkaUrl = kafkaUrl;
       this.beforeProcessingRecordTimestamp = beforeProcessingRecordTimestamp;
+      this.drainerAssignment = drainerAssignment;
     }
 
     public ConsumerRecord<KafkaKey, KafkaMessageEnvelope> getConsumerRecord() {
@@ -93,25 +106,8 @@ public class StoreBufferService extends AbstractStoreBufferService {
       return this.beforeProcessingRecordTimestamp;
     }
 
-    /**
-     * This function is being used by {@link BlockingQueue#contains(Object)}.
-     * The goal is to find out whether the buffered queue still has any records belonging to the specified topic+partition.
-     * @param o
-     * @return
-     */
-    @Override
-    public boolean equals(Object o) {
-      if (this == o)
-        return true;
-      if (o == null)
-        return false;
-      if (getClass() != o.getClass())
-        return false;
-
-      QueueNode node = (QueueNode) o;
-      return this.consumerRecord.topic().equals(node.consumerRecord.topic())
-          && this.consumerRecord.partition() == node.consumerRecord.partition();
-
+    public PartitionDrainerAssignment getDrainerAssignment() {
+      return this.drainerAssignment;
     }
 
     @Override
@@ -136,8 +132,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
         StoreIngestionTask ingestionTask,
         String kafkaUrl,
         long beforeProcessingRecordTimestamp,
+        PartitionDrainerAssignment drainerAssignment,
         CompletableFuture<Void> queuedRecordPersistedFuture) {
-      super(consumerRecord, ingestionTask, kafkaUrl, beforeProcessingRecordTimestamp);
+      super(consumerRecord, ingestionTask, kafkaUrl, beforeProcessingRecordTimestamp, drainerAssignment);
       this.queuedRecordPersistedFuture = queuedRecordPersistedFuture;
     }
 
@@ -155,8 +152,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
         StoreIngestionTask ingestionTask,
         String kafkaUrl,
         long beforeProcessingRecordTimestamp,
+        PartitionDrainerAssignment drainerAssignment,
         LeaderProducedRecordContext leaderProducedRecordContext) {
-      super(consumerRecord, ingestionTask, kafkaUrl, beforeProcessingRecordTimestamp);
+      super(consumerRecord, ingestionTask, kafkaUrl, beforeProcessingRecordTimestamp, drainerAssignment);
       this.leaderProducedRecordContext = leaderProducedRecordContext;
     }
 
@@ -166,20 +164,136 @@ public class StoreBufferService extends AbstractStoreBufferService {
     }
   }
 
+  /**
+   * The time spent recently, which decays by half every half-life, so that it reflects the current load without
+   * being reset periodically.
+   */
+  private static class RecentTimeSpent {
+    private final long halfLifeInMs;
+    private double timeSpentInMs = 0;
+    private long lastUpdateTimeInMs = 0;
+
+    RecentTimeSpent(long halfLifeInMs) {
+      this.halfLifeInMs = halfLifeInMs;
+    }
+
+    synchronized void record(long currentTimeInMs, double timeSpentInMs) {
+      decay(currentTimeInMs);
+      this.timeSpentInMs = Math.max(0, this.timeSpentInMs + timeSpentInMs);
+    }
+
+    synchronized double get(long currentTimeInMs) {
+      decay(currentTimeInMs);
+      return timeSpentInMs;
+    }
+
+    private void decay(long currentTimeInMs) {
+      if (currentTimeInMs > lastUpdateTimeInMs) {
+        if (timeSpentInMs > 0) {
+          timeSpentInMs *= Math.pow(0.5, (double) (currentTimeInMs - lastUpdateTimeInMs) / halfLifeInMs);
+        }
+        lastUpdateTimeInMs = currentTimeInMs;
+      }
+    }
+  }
+
+  /**
+   * The drainer currently assigned to a topic+partition, and the number of its pending records, which are the records
+   * put into the buffer but not completely processed by the drainer yet, including the ones whose writes are still
+   * buffered in the write batch of the drainer.
+   *
+   * In the adaptive assignment mode, the assignment could only be changed while holding the monitor of this object and
+   * when there is no pending record of the topic+partition, so that the records of the same topic+partition are never
+   * processed by two drainers at the same time, and they are still processed in order.
+   */
+  private static class PartitionDrainerAssignment {
+    private volatile int drainerIndex;
+    private final AtomicInteger pendingRecordCount = new AtomicInteger();
+    private final RecentTimeSpent recentTimeSpent;
+    private long lastReassignmentTimeInMs = 0;
+    /**
+     * Whether it is removed from {@link #partitionToDrainerAssignment}, so it must not be used by the new records.
+     */
+    private boolean removed = false;
+
+    PartitionDrainerAssignment(int drainerIndex, long halfLifeInMs) {
+      this.drainerIndex = drainerIndex;
+      this.recentTimeSpent = new RecentTimeSpent(halfLifeInMs);
+    }
+  }
+
+  /**
+   * The records of the same topic+partition, which are drained in the same batch by {@link StoreBufferDrainer}.
+   */
+  private static class PartitionBatch {
+    private final StoreIngestionTask ingestionTask;
+    private final String topic;
+    private final int partition;
+    private final PartitionDrainerAssignment drainerAssignment;
+    /**
+     * The processed records, whose writes are buffered in the write batch, and whose persisted futures will be
+     * completed once the write batch is committed.
+     */
+    private final List<QueueNode> uncommittedNodes = new ArrayList<>();
+    private boolean writeBatchStarted = false;
+    private long timeSpentInMs = 0;
+
+    PartitionBatch(
+        StoreIngestionTask ingestionTask,
+        String topic,
+        int partition,
+        PartitionDrainerAssignment drainerAssignment) {
+      this.ingestionTask = ingestionTask;
+      this.topic = topic;
+      this.partition = partition;
+      this.drainerAssignment = drainerAssignment;
+    }
+
+    boolean contains(ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord) {
+      return this.partition == consumerRecord.partition() && this.topic.equals(consumerRecord.topic());
+    }
+  }
+
   /**
    * Worker thread, which will invoke {@link StoreIngestionTask#processConsumerRecord(ConsumerRecord, LeaderProducedRecordContext, String, long)} to process
    * each {@link ConsumerRecord} buffered in {@link BlockingQueue}.
+   *
+   * In the batch mode, the drainer takes up to {@link #batchMaxRecords} records or {@link #batchMaxSizeInBytes} bytes
+   * from the queue at once, and the writes of the data records consumed by followers are buffered in a write batch per
+   * partition, which is committed to the storage engine once the whole batch is processed, so that the per-record
+   * overhead of the storage engine is amortized. The persisted futures of these records are completed in order after
+   * the commit.
+   * The records produced by leaders are processed one by one as before, since they could be looked up by the
+   * leader from {@link PartitionConsumptionState#getTransientRecord} only until they are persisted, and the control
+   * messages are processed one by one as well, since they could change the ingestion mode of the partition.
    */
   private static class StoreBufferDrainer implements Runnable {
     private static final Logger LOGGER = LogManager.getLogger(StoreBufferDrainer.class);
     private final BlockingQueue<QueueNode> blockingQueue;
     private final AtomicBoolean isRunning = new AtomicBoolean(true);
     private final int drainerIndex;
+    private final int batchMaxRecords;
+    private final long batchMaxSizeInBytes;
     private final ConcurrentMap<TopicPartition, Long> topicToTimeSpent = new ConcurrentHashMap<>();
-
-    public StoreBufferDrainer(BlockingQueue<QueueNode> blockingQueue, int drainerIndex) {
+    /**
+     * The recent time spent by this drainer, which is only tracked in the adaptive assignment mode, otherwise null.
+     */
+    private final RecentTimeSpent recentTimeSpent;
+    // The following two lists are only accessed by the drainer thread, and they are reused across the batches.
+    private final List<QueueNode> batch = new ArrayList<>();
+    private final List<PartitionBatch> partitionBatches = new ArrayList<>();
+
+    public StoreBufferDrainer(
+        BlockingQueue<QueueNode> blockingQueue,
+        int drainerIndex,
+        int batchMaxRecords,
+        long batchMaxSizeInBytes,
+        RecentTimeSpent recentTimeSpent) {
       this.blockingQueue = blockingQueue;
       this.drainerIndex = drainerIndex;
+      this.batchMaxRecords = batchMaxRecords;
+      this.batchMaxSizeInBytes = batchMaxSizeInBytes;
+      this.recentTimeSpent = recentTimeSpent;
     }
 
     public void stop() {
@@ -189,111 +303,349 @@ public class StoreBufferService extends AbstractStoreBufferService {
     @Override
     public void run() {
       LOGGER.info("Starting StoreBufferDrainer Thread for drainer: {}....", drainerIndex);
-      QueueNode node = null;
-      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord = null;
-      LeaderProducedRecordContext leaderProducedRecordContext = null;
-      StoreIngestionTask ingestionTask = null;
-      CompletableFuture<Void> recordPersistedFuture = null;
-      long beforeProcessingRecordTimestamp = -1L;
+      if (batchMaxRecords > 1) {
+        LOGGER.info(
+            "Drainer {} will drain up to {} records or {} bytes per batch",
+            drainerIndex,
+            batchMaxRecords,
+            batchMaxSizeInBytes);
+        while (isRunning.get()) {
+          if (!drainBatch()) {
+            break;
+          }
+        }
+        LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
+        return;
+      }
       while (isRunning.get()) {
+        QueueNode node = null;
         try {
           node = blockingQueue.take();
-
-          consumerRecord = node.getConsumerRecord();
-          leaderProducedRecordContext = node.getLeaderProducedRecordContext();
-          ingestionTask = node.getIngestionTask();
-          recordPersistedFuture = node.getQueuedRecordPersistedFuture();
-          beforeProcessingRecordTimestamp = node.getBeforeProcessingRecordTimestamp();
-
           long startTime = System.currentTimeMillis();
+          processRecord(node);
+          completePersistedFutures(node);
 
-          ingestionTask.processConsumerRecord(
-              consumerRecord,
-              leaderProducedRecordContext,
-              node.getKafkaUrl(),
-              beforeProcessingRecordTimestamp);
-
-          // complete the leaderProducedRecordContext future as processing for this leaderProducedRecordContext is done
-          // here.
-          if (leaderProducedRecordContext != null) {
-            leaderProducedRecordContext.completePersistedToDBFuture(null);
-          }
-
-          /**
-           * Complete {@link QueueNode#queuedRecordPersistedFuture} since the processing for the current record is done.
-           */
-          if (recordPersistedFuture != null) {
-            recordPersistedFuture.complete(null);
-          }
-
+          ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord = node.getConsumerRecord();
           TopicPartition topicPartition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
-          topicToTimeSpent
-              .compute(topicPartition, (K, V) -> (V == null ? 0 : V) + System.currentTimeMillis() - startTime);
+          recordTimeSpent(topicPartition, node.getDrainerAssignment(), System.currentTimeMillis() - startTime);
         } catch (Throwable e) {
-          if (e instanceof InterruptedException) {
-            LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+          if (!handleThrowable(node, e)) {
             break;
           }
-          StringBuilder logBuilder = new StringBuilder().append("Drainer ").append(drainerIndex);
-          if (consumerRecord == null) {
-            logBuilder.append(" received throwable: ");
-          } else {
-            String consumerRecordString = consumerRecord.toString();
-            if (consumerRecordString.length() > 1024) {
-              // Careful not to flood the logs with too much content...
-              consumerRecordString = consumerRecordString.substring(0, 1024);
-              logBuilder
-                  .append(" received throwable while processing consumer record (truncated at 1024 characters): ");
-            } else {
-              logBuilder.append(" received throwable while processing consumer record: ");
-            }
-            logBuilder.append(consumerRecordString);
-          }
-          LOGGER.error(logBuilder.toString(), e);
-
-          /**
-           * Catch all the thrown exception and store it in {@link StoreIngestionTask#lastWorkerException}.
-           */
-          if (e instanceof Exception) {
-            Exception processConsumerRecordException = (Exception) e;
-            if (ingestionTask != null) {
-              try {
-                ingestionTask.offerDrainerException(processConsumerRecordException, consumerRecord.partition());
-              } catch (VeniceException offerToQueueException) {
-                ingestionTask.setLastStoreIngestionException(offerToQueueException);
-              }
-              if (e instanceof VeniceChecksumException) {
-                ingestionTask.recordChecksumVerificationFailure();
+        }
+      }
+      LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
+    }
+
+    /**
+     * @return false if the drainer should stop.
+     */
+    private boolean drainBatch() {
+      batch.clear();
+      partitionBatches.clear();
+      try {
+        QueueNode node = blockingQueue.take();
+        long batchSize = 0;
+        do {
+          batch.add(node);
+          batchSize += node.getSize();
+        } while (batch.size() < batchMaxRecords && batchSize < batchMaxSizeInBytes
+            && (node = blockingQueue.poll()) != null);
+      } catch (InterruptedException e) {
+        LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+        return false;
+      }
+
+      try {
+        for (QueueNode node: batch) {
+          PartitionBatch partitionBatch = getPartitionBatch(node);
+          long startTime = System.currentTimeMillis();
+          try {
+            if (node.getLeaderProducedRecordContext() == null && !node.getConsumerRecord().key().isControlMessage()) {
+              if (!partitionBatch.writeBatchStarted) {
+                partitionBatch.ingestionTask.beginWriteBatch(partitionBatch.partition);
+                partitionBatch.writeBatchStarted = true;
               }
+              processRecord(node);
+              partitionBatch.uncommittedNodes.add(node);
+            } else {
+              // The records buffered so far need to be persisted before processing this record in order.
+              commitWriteBatch(partitionBatch);
+              processRecord(node);
+              completePersistedFutures(node);
             }
-            if (leaderProducedRecordContext != null) {
-              leaderProducedRecordContext.completePersistedToDBFuture(processConsumerRecordException);
-            }
-            if (recordPersistedFuture != null) {
-              recordPersistedFuture.completeExceptionally(processConsumerRecordException);
+          } catch (Throwable e) {
+            // The records processed before the failed one are still valid, so they are persisted anyway.
+            commitWriteBatch(partitionBatch);
+            if (!handleThrowable(node, e)) {
+              return false;
             }
-          } else {
-            break;
+          } finally {
+            partitionBatch.timeSpentInMs += System.currentTimeMillis() - startTime;
           }
         }
+      } finally {
+        for (PartitionBatch partitionBatch: partitionBatches) {
+          long startTime = System.currentTimeMillis();
+          commitWriteBatch(partitionBatch);
+          recordTimeSpent(
+              new TopicPartition(partitionBatch.topic, partitionBatch.partition),
+              partitionBatch.drainerAssignment,
+              partitionBatch.timeSpentInMs + System.currentTimeMillis() - startTime);
+        }
+      }
+      return true;
+    }
+
+    private PartitionBatch getPartitionBatch(QueueNode node) {
+      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord = node.getConsumerRecord();
+      // The number of partitions in a batch is small, so a linear search is cheaper than hashing every record.
+      for (PartitionBatch partitionBatch: partitionBatches) {
+        if (partitionBatch.contains(consumerRecord)) {
+          return partitionBatch;
+        }
+      }
+      PartitionBatch partitionBatch = new PartitionBatch(
+          node.getIngestionTask(),
+          consumerRecord.topic(),
+          consumerRecord.partition(),
+          node.getDrainerAssignment());
+      partitionBatches.add(partitionBatch);
+      return partitionBatch;
+    }
+
+    private void recordTimeSpent(
+        TopicPartition topicPartition,
+        PartitionDrainerAssignment drainerAssignment,
+        long timeSpentInMs) {
+      topicToTimeSpent.compute(topicPartition, (K, V) -> (V == null ? 0 : V) + timeSpentInMs);
+      if (recentTimeSpent != null) {
+        long currentTimeInMs = System.currentTimeMillis();
+        recentTimeSpent.record(currentTimeInMs, timeSpentInMs);
+        drainerAssignment.recentTimeSpent.record(currentTimeInMs, timeSpentInMs);
       }
-      LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
+    }
+
+    /**
+     * Persist the buffered writes of the given partition, and complete the persisted futures of the corresponding
+     * records in order, or complete them exceptionally if the writes fail to be persisted.
+     */
+    private void commitWriteBatch(PartitionBatch partitionBatch) {
+      if (!partitionBatch.writeBatchStarted) {
+        return;
+      }
+      partitionBatch.writeBatchStarted = false;
+      try {
+        partitionBatch.ingestionTask.commitWriteBatch(partitionBatch.partition);
+      } catch (Exception e) {
+        LOGGER.error(
+            "Drainer {} failed to commit the write batch of {} records for topic: {} partition: {}",
+            drainerIndex,
+            partitionBatch.uncommittedNodes.size(),
+            partitionBatch.topic,
+            partitionBatch.partition,
+            e);
+        try {
+          partitionBatch.ingestionTask.offerDrainerException(e, partitionBatch.partition);
+        } catch (VeniceException offerToQueueException) {
+          partitionBatch.ingestionTask.setLastStoreIngestionException(offerToQueueException);
+        }
+        for (QueueNode node: partitionBatch.uncommittedNodes) {
+          completePersistedFuturesExceptionally(node, e);
+        }
+        partitionBatch.uncommittedNodes.clear();
+        return;
+      }
+      for (QueueNode node: partitionBatch.uncommittedNodes) {
+        completePersistedFutures(node);
+      }
+      partitionBatch.uncommittedNodes.clear();
+    }
+
+    private void processRecord(QueueNode node) throws InterruptedException {
+      node.getIngestionTask()
+          .processConsumerRecord(
+              node.getConsumerRecord(),
+              node.getLeaderProducedRecordContext(),
+              node.getKafkaUrl(),
+              node.getBeforeProcessingRecordTimestamp());
+    }
+
+    private void completePersistedFutures(QueueNode node) {
+      // complete the leaderProducedRecordContext future as processing for this leaderProducedRecordContext is done
+      // here.
+      LeaderProducedRecordContext leaderProducedRecordContext = node.getLeaderProducedRecordContext();
+      if (leaderProducedRecordContext != null) {
+        leaderProducedRecordContext.completePersistedToDBFuture(null);
+      }
+
+      /**
+       * Complete {@link QueueNode#queuedRecordPersistedFuture} since the processing for the current record is done.
+       */
+      CompletableFuture<Void> recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+      if (recordPersistedFuture != null) {
+        recordPersistedFuture.complete(null);
+      }
+      releaseDrainerAssignment(node);
+    }
+
+    private void completePersistedFuturesExceptionally(QueueNode node, Exception e) {
+      LeaderProducedRecordContext leaderProducedRecordContext = node.getLeaderProducedRecordContext();
+      if (leaderProducedRecordContext != null) {
+        leaderProducedRecordContext.completePersistedToDBFuture(e);
+      }
+      CompletableFuture<Void> recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+      if (recordPersistedFuture != null) {
+        recordPersistedFuture.completeExceptionally(e);
+      }
+      releaseDrainerAssignment(node);
+    }
+
+    /**
+     * The record is not pending anymore once it is completely processed, so that the topic+partition could be drained,
+     * or moved to another drainer if there is no other pending record of it.
+     */
+    private void releaseDrainerAssignment(QueueNode node) {
+      node.getDrainerAssignment().pendingRecordCount.decrementAndGet();
+    }
+
+    /**
+     * @return false if the drainer should stop.
+     */
+    private boolean handleThrowable(QueueNode node, Throwable e) {
+      if (e instanceof InterruptedException) {
+        LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+        return false;
+      }
+      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord = node == null ? null : node.getConsumerRecord();
+      StringBuilder logBuilder = new StringBuilder().append("Drainer ").append(drainerIndex);
+      if (consumerRecord == null) {
+        logBuilder.append(" received throwable: ");
+      } else {
+        String consumerRecordString = consumerRecord.toString();
+        if (consumerRecordString.length() > 1024) {
+          // Careful not to flood the logs with too much content...
+          consumerRecordString = consumerRecordString.substring(0, 1024);
+          logBuilder.append(" received throwable while processing consumer record (truncated at 1024 characters): ");
+        } else {
+          logBuilder.append(" received throwable while processing consumer record: ");
+        }
+        logBuilder.append(consumerRecordString);
+      }
+      LOGGER.error(logBuilder.toString(), e);
+
+      if (!(e instanceof Exception)) {
+        return false;
+      }
+      if (node == null) {
+        return true;
+      }
+      /**
+       * Catch all the thrown exception and store it in {@link StoreIngestionTask#lastWorkerException}.
+       */
+      Exception processConsumerRecordException = (Exception) e;
+      StoreIngestionTask ingestionTask = node.getIngestionTask();
+      if (ingestionTask != null) {
+        try {
+          ingestionTask.offerDrainerException(processConsumerRecordException, consumerRecord.partition());
+        } catch (VeniceException offerToQueueException) {
+          ingestionTask.setLastStoreIngestionException(offerToQueueException);
+        }
+        if (e instanceof VeniceChecksumException) {
+          ingestionTask.recordChecksumVerificationFailure();
+        }
+      }
+      completePersistedFuturesExceptionally(node, processConsumerRecordException);
+      return true;
     }
   }
 
   private static final Logger LOGGER = LogManager.getLogger(StoreBufferService.class);
   private final int drainerNum;
-  private final ArrayList<MemoryBoundBlockingQueue<QueueNode>> blockingQueueArr;
+  private final ArrayList<MemoryBoundQueue<QueueNode>> blockingQueueArr;
   private ExecutorService executorService;
   private final List<StoreBufferDrainer> drainerList = new ArrayList<>();
   private final long bufferCapacityPerDrainer;
+  private final int batchMaxRecords;
+  private final long batchMaxSizeInBytes;
+  private final boolean adaptiveDrainerAssignmentEnabled;
+  private final long adaptiveDrainerAssignmentIntervalInMs;
+  private final RecentTimeSpent[] drainerRecentTimeSpent;
+  /**
+   * The drainer assignments of the topic+partitions with pending records, or which haven't been drained since their
+   * last record.
+   */
+  private final Map<TopicPartition, PartitionDrainerAssignment> partitionToDrainerAssignment =
+      new VeniceConcurrentHashMap<>();
 
   public StoreBufferService(int drainerNum, long bufferCapacityPerDrainer, long bufferNotifyDelta) {
+    this(drainerNum, bufferCapacityPerDrainer, bufferNotifyDelta, 1, 0);
+  }
+
+  public StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      int batchMaxRecords,
+      long batchMaxSizeInBytes) {
+    this(drainerNum, bufferCapacityPerDrainer, bufferNotifyDelta, batchMaxRecords, batchMaxSizeInBytes, false, 0);
+  }
+
+  public StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      int batchMaxRecords,
+      long batchMaxSizeInBytes,
+      boolean adaptiveDrainerAssignmentEnabled,
+      long adaptiveDrainerAssignmentIntervalInMs) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        batchMaxRecords,
+        batchMaxSizeInBytes,
+        adaptiveDrainerAssignmentEnabled,
+        adaptiveDrainerAssignmentIntervalInMs,
+        false);
+  }
+
+  /**
+   * @param batchMaxRecords the max number of records each drainer processes per batch, and the batch mode is disabled
+   *                        if it is not bigger than 1.
+   * @param batchMaxSizeInBytes the max size of the records each drainer processes per batch.
+   * @param adaptiveDrainerAssignmentEnabled whether to move the topic+partitions from the drainers lagging behind to
+   *                                         the less loaded ones.
+   * @param adaptiveDrainerAssignmentIntervalInMs the min interval between two moves of the same topic+partition, which
+   *                                              is also the half-life of the time spent to measure the load.
+   * @param lockFreeQueueEnabled whether to buffer the records of each drainer in {@link MpscMemoryBoundBlockingQueue}
+   *                             instead of {@link MemoryBoundBlockingQueue}.
+   */
+  public StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      int batchMaxRecords,
+      long batchMaxSizeInBytes,
+      boolean adaptiveDrainerAssignmentEnabled,
+      long adaptiveDrainerAssignmentIntervalInMs,
+      boolean lockFreeQueueEnabled) {
     this.drainerNum = drainerNum;
     this.blockingQueueArr = new ArrayList<>();
     this.bufferCapacityPerDrainer = bufferCapacityPerDrainer;
+    this.batchMaxRecords = batchMaxRecords;
+    this.batchMaxSizeInBytes = batchMaxSizeInBytes;
+    this.adaptiveDrainerAssignmentEnabled = adaptiveDrainerAssignmentEnabled;
+    this.adaptiveDrainerAssignmentIntervalInMs = adaptiveDrainerAssignmentIntervalInMs;
+    this.drainerRecentTimeSpent = new RecentTimeSpent[drainerNum];
     for (int cur = 0; cur < drainerNum; ++cur) {
-      this.blockingQueueArr.add(new MemoryBoundBlockingQueue<>(bufferCapacityPerDrainer, bufferNotifyDelta));
+      this.blockingQueueArr.add(
+          lockFreeQueueEnabled
+              ? new MpscMemoryBoundBlockingQueue<>(bufferCapacityPerDrainer, bufferNotifyDelta)
+              : new MemoryBoundBlockingQueue<>(bufferCapacityPerDrainer, bufferNotifyDelta));
+      if (adaptiveDrainerAssignmentEnabled) {
+        this.drainerRecentTimeSpent[cur] = new RecentTimeSpent(adaptiveDrainerAssignmentIntervalInMs);
+      }
     }
   }
 
@@ -310,6 +662,124 @@ public class StoreBufferService extends AbstractStoreBufferService {
     return Math.abs((topicHash + subPartition) % this.drainerNum);
   }
 
+  /**
+   * Get the drainer assignment of the topic+partition, which is initially assigned by
+   * {@link #getDrainerIndexForConsumerRecord(ConsumerRecord, int)}, and count the record as pending, which must be
+   * released by the drainer once the record is processed.
+   */
+  private PartitionDrainerAssignment acquireDrainerAssignment(
+      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord,
+      int subPartition) {
+    TopicPartition topicPartition = new TopicPartition(consumerRecord.topic(), subPartition);
+    while (true) {
+      PartitionDrainerAssignment drainerAssignment = partitionToDrainerAssignment.computeIfAbsent(
+          topicPartition,
+          k -> new PartitionDrainerAssignment(
+              getDrainerIndexForConsumerRecord(consumerRecord, subPartition),
+              adaptiveDrainerAssignmentIntervalInMs));
+      synchronized (drainerAssignment) {
+        if (drainerAssignment.removed) {
+          continue;
+        }
+        if (adaptiveDrainerAssignmentEnabled && drainerAssignment.pendingRecordCount.get() == 0) {
+          maybeReassignDrainer(topicPartition, drainerAssignment);
+        }
+        drainerAssignment.pendingRecordCount.incrementAndGet();
+        return drainerAssignment;
+      }
+    }
+  }
+
+  /**
+   * Move the topic+partition to the drainer with the least recent time spent, only if its current drainer is lagging
+   * behind, i.e. its queue is not empty, and the move reduces the load of the busiest one of both drainers, so that
+   * the topic+partitions won't bounce between the drainers.
+   *
+   * This must be called while holding the monitor of the assignment, and when there is no pending record of the
+   * topic+partition.
+   */
+  private void maybeReassignDrainer(TopicPartition topicPartition, PartitionDrainerAssignment drainerAssignment) {
+    long currentTimeInMs = System.currentTimeMillis();
+    if (currentTimeInMs - drainerAssignment.lastReassignmentTimeInMs < adaptiveDrainerAssignmentIntervalInMs) {
+      return;
+    }
+    int currentIndex = drainerAssignment.drainerIndex;
+    long currentQueueMemoryUsage = blockingQueueArr.get(currentIndex).getMemoryUsage();
+    if (currentQueueMemoryUsage == 0) {
+      return;
+    }
+    int targetIndex = -1;
+    double targetTimeSpentInMs = 0;
+    for (int index = 0; index < drainerNum; index++) {
+      if (index == currentIndex) {
+        continue;
+      }
+      double timeSpentInMs = drainerRecentTimeSpent[index].get(currentTimeInMs);
+      if (targetIndex == -1 || timeSpentInMs < targetTimeSpentInMs) {
+        targetIndex = index;
+        targetTimeSpentInMs = timeSpentInMs;
+      }
+    }
+    if (targetIndex == -1) {
+      return;
+    }
+    double currentTimeSpentInMs = drainerRecentTimeSpent[currentIndex].get(currentTimeInMs);
+    double partitionTimeSpentInMs = drainerAssignment.recentTimeSpent.get(currentTimeInMs);
+    if (targetTimeSpentInMs + partitionTimeSpentInMs >= currentTimeSpentInMs
+        || blockingQueueArr.get(targetIndex).getMemoryUsage() >= currentQueueMemoryUsage) {
+      return;
+    }
+    drainerAssignment.drainerIndex = targetIndex;
+    drainerAssignment.lastReassignmentTimeInMs = currentTimeInMs;
+    // Move the load right away, so that the following decisions won't pick the same drainer for too many partitions.
+    drainerRecentTimeSpent[currentIndex].record(currentTimeInMs, -partitionTimeSpentInMs);
+    drainerRecentTimeSpent[targetIndex].record(currentTimeInMs, partitionTimeSpentInMs);
+    LOGGER.info(
+        "Moved topic: {} partition: {} from drainer {} to drainer {}, recent time spent of the partition: {} ms,"
+            + " drainer {}: {} ms, drainer {}: {} ms",
+        topicPartition.topic(),
+        topicPartition.partition(),
+        currentIndex,
+        targetIndex,
+        (long) partitionTimeSpentInMs,
+        currentIndex,
+        (long) currentTimeSpentInMs,
+        targetIndex,
+        (long) targetTimeSpentInMs);
+  }
+
+  /**
+   * Remove the drainer assignment of the topic+partition if there is no pending record of it, so that the assignment
+   * of the unsubscribed topic+partitions won't be kept. The topic+partition will be assigned by
+   * {@link #getDrainerIndexForConsumerRecord(ConsumerRecord, int)} again when its next record is put.
+   */
+  private void removeDrainerAssignment(TopicPartition topicPartition) {
+    PartitionDrainerAssignment drainerAssignment = partitionToDrainerAssignment.get(topicPartition);
+    if (drainerAssignment == null) {
+      return;
+    }
+    synchronized (drainerAssignment) {
+      if (drainerAssignment.pendingRecordCount.get() == 0) {
+        drainerAssignment.removed = true;
+        partitionToDrainerAssignment.remove(topicPartition, drainerAssignment);
+      }
+    }
+  }
+
+  /**
+   * @return the index of the drainer currently assigned to the topic+partition.
+   */
+  int getDrainerIndexForTopicPartition(String topic, int partition) {
+    if (adaptiveDrainerAssignmentEnabled) {
+      PartitionDrainerAssignment drainerAssignment =
+          partitionToDrainerAssignment.get(new TopicPartition(topic, partition));
+      if (drainerAssignment != null) {
+        return drainerAssignment.drainerIndex;
+      }
+    }
+    return getDrainerIndexForConsumerRecord(new ConsumerRecord<>(topic, partition, -1, null, null), partition);
+  }
+
   @Override
   public void putConsumerRecord(
       ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord,
@@ -318,8 +788,30 @@ public class StoreBufferService extends AbstractStoreBufferService {
       int subPartition,
       String kafkaUrl,
       long beforeProcessingRecordTimestamp) throws InterruptedException {
-    int drainerIndex = getDrainerIndexForConsumerRecord(consumerRecord, subPartition);
-    MemoryBoundBlockingQueue<QueueNode> queue = blockingQueueArr.get(drainerIndex);
+    PartitionDrainerAssignment drainerAssignment = acquireDrainerAssignment(consumerRecord, subPartition);
+    try {
+      putConsumerRecord(
+          blockingQueueArr.get(drainerAssignment.drainerIndex),
+          consumerRecord,
+          ingestionTask,
+          leaderProducedRecordContext,
+          kafkaUrl,
+          beforeProcessingRecordTimestamp,
+          drainerAssignment);
+    } catch (Throwable e) {
+      drainerAssignment.pendingRecordCount.decrementAndGet();
+      throw e;
+    }
+  }
+
+  private void putConsumerRecord(
+      MemoryBoundQueue<QueueNode> queue,
+      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord,
+      StoreIngestionTask ingestionTask,
+      LeaderProducedRecordContext leaderProducedRecordContext,
+      String kafkaUrl,
+      long beforeProcessingRecordTimestamp,
+      PartitionDrainerAssignment drainerAssignment) throws InterruptedException {
     if (leaderProducedRecordContext == null) {
       /**
        * The last queued record persisted future will only be setup when {@param leaderProducedRecordContext} is 'null',
@@ -333,6 +825,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
               ingestionTask,
               kafkaUrl,
               beforeProcessingRecordTimestamp,
+              drainerAssignment,
               recordFuture));
 
       // Setup the last queued record's future
@@ -348,12 +841,14 @@ public class StoreBufferService extends AbstractStoreBufferService {
               ingestionTask,
               kafkaUrl,
               beforeProcessingRecordTimestamp,
+              drainerAssignment,
               leaderProducedRecordContext));
     }
   }
 
   /**
-   * This function is used to drain all the records for the specified topic + partition.
+   * This function is used to drain all the records for the specified topic + partition, which returns once all the
+   * records put into the buffer so far are persisted, including the ones buffered in the write batch of the drainer.
    * The reason is that we don't want overlap Kafka messages between two different subscriptions,
    * which could introduce complicate dependencies in {@link StoreIngestionTask}.
    * @param topic
@@ -371,29 +866,32 @@ public class StoreBufferService extends AbstractStoreBufferService {
       int partition,
       int retryNum,
       int sleepIntervalInMS) throws InterruptedException {
-    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> fakeRecord = new ConsumerRecord<>(topic, partition, -1, null, null);
-    int workerIndex = getDrainerIndexForConsumerRecord(fakeRecord, partition);
-    BlockingQueue<QueueNode> blockingQueue = blockingQueueArr.get(workerIndex);
+    TopicPartition topicPartition = new TopicPartition(topic, partition);
+    int workerIndex = getDrainerIndexForTopicPartition(topic, partition);
     if (!drainerList.get(workerIndex).isRunning.get()) {
       throw new VeniceException(
           "Drainer thread " + workerIndex + " has stopped running, cannot drain the topic " + topic);
     }
 
-    QueueNode fakeNode = new QueueNode(fakeRecord, null, "dummyKafkaUrl", 0);
-
     int cur = 0;
     while (cur++ < retryNum) {
-      if (!blockingQueue.contains(fakeNode)) {
+      /**
+       * The queue alone is not enough to tell, since the records taken out of it by the drainer could still be in its
+       * current batch, whose writes are not committed yet.
+       */
+      PartitionDrainerAssignment drainerAssignment = partitionToDrainerAssignment.get(topicPartition);
+      if (drainerAssignment == null || drainerAssignment.pendingRecordCount.get() == 0) {
         LOGGER.info(
-            "The blocking queue of store writer thread: {} doesn't contain any record for topic: {} partition: {}",
+            "Store writer thread: {} doesn't have any pending record for topic: {} partition: {}",
             workerIndex,
             topic,
             partition);
+        removeDrainerAssignment(topicPartition);
         return;
       }
       Thread.sleep(sleepIntervalInMS);
     }
-    String errorMessage = "There are still some records left in the blocking queue of store writer thread: "
+    String errorMessage = "There are still some pending records of store writer thread: "
         + workerIndex + " for topic: " + topic + " partition after retry for " + retryNum + " times";
     LOGGER.error(errorMessage);
     throw new VeniceException(errorMessage);
@@ -405,7 +903,12 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
     // Submit all the buffer drainers
     for (int cur = 0; cur < drainerNum; ++cur) {
-      StoreBufferDrainer drainer = new StoreBufferDrainer(this.blockingQueueArr.get(cur), cur);
+      StoreBufferDrainer drainer = new StoreBufferDrainer(
+          this.blockingQueueArr.get(cur),
+          cur,
+          batchMaxRecords,
+          batchMaxSizeInBytes,
+          drainerRecentTimeSpent[cur]);
       this.executorService.submit(drainer);
       drainerList.add(drainer);
     }
@@ -436,7 +939,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getTotalMemoryUsage() {
     long totalUsage = 0;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       totalUsage += queue.getMemoryUsage();
     }
     return totalUsage;
@@ -445,7 +948,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getTotalRemainingMemory() {
     long totalRemaining = 0;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       totalRemaining += queue.remainingMemoryCapacityInByte();
     }
     return totalRemaining;
@@ -456,7 +959,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
     long maxUsage = 0;
     boolean slowDrainerExists = false;
 
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       maxUsage = Math.max(maxUsage, queue.getMemoryUsage());
       if (queue.getMemoryUsage() > 0.8 * bufferCapacityPerDrainer) {
         slowDrainerExists = true;
@@ -467,7 +970,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreBufferDrainer drainer = drainerList.get(index);
       // print drainer info when there is a slow drainer.
       if (slowDrainerExists) {
-        MemoryBoundBlockingQueue<QueueNode> queue = blockingQueueArr.get(index);
+        MemoryBoundQueue<QueueNode> queue = blockingQueueArr.get(index);
         int count = queue.getMemoryUsage() > 0.8 * bufferCapacityPerDrainer ? 5 : 1;
         List<Map.Entry<TopicPartition, Long>> slowestEntries = drainer.topicToTimeSpent.entrySet()
             .stream()
@@ -503,7 +1006,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getMinMemoryUsagePerDrainer() {
     long minUsage = Long.MAX_VALUE;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       minUsage = Math.min(minUsage, queue.getMemoryUsage());
     }
     return minUsage;
@@ -103,6 +103,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -361,6 +362,14 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
   protected final StorageEngineBackedCompressorFactory compressorFactory;
   protected final Lazy<VeniceCompressor> compressor;
   protected final boolean isChunked;
+  /**
+   * The pool of the off-heap memory of the transient records, or null if they are kept on heap.
+   */
+  private final TransientRecordMemoryPool transientRecordMemoryPool;
+  /**
+   * The leader topics of the partitions, whose consumption has been paused by {@link #checkTransientRecordMemory()}.
+   */
+  private final Map<Integer, String> transientRecordMemoryPausedTopics = new HashMap<>();
 
   public StoreIngestionTask(
       StoreIngestionTaskFactory.Builder builder,
@@ -505,6 +514,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     this.compressorFactory = builder.getCompressorFactory();
     this.compressor = Lazy.of(() -> compressorFactory.getCompressor(compressionStrategy, kafkaVersionTopic));
     this.isChunked = version.isChunkingEnabled();
+    this.transientRecordMemoryPool = builder.getTransientRecordMemoryPool();
   }
 
   /** Package-private on purpose, only intended for tests. Do not use for production use cases. */
@@ -644,7 +654,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
      */
     if (serverConfig.isDatabaseChecksumVerificationEnabled() && partitionConsumptionState.isDeferredWrite()
         && !serverConfig.getRocksDBServerConfig().isRocksDBPlainTableFormatEnabled()) {
-      partitionConsumptionState.initializeExpectedChecksum();
+      partitionConsumptionState
+          .initializeExpectedChecksum(serverConfig.getRocksDBServerConfig().getSstFileCheckSumType());
       partitionChecksumSupplier = Optional.of(() -> {
         byte[] checksum = partitionConsumptionState.getExpectedChecksum();
         partitionConsumptionState.resetExpectedChecksum();
@@ -1436,6 +1447,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         processConsumerActions(store);
         checkLongRunningTaskState();
         checkLongRunningDBCompaction();
+        checkTransientRecordMemory();
         processMessages(store);
       }
 
@@ -1530,6 +1542,45 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     }
   }
 
+  /**
+   * Pause the consumption of the leaders of this task while the host level memory budget of the transient records is
+   * exhausted, so that they won't keep piling up the transient records on heap, and resume it once the drainers have
+   * released enough memory.
+   */
+  void checkTransientRecordMemory() {
+    if (transientRecordMemoryPool == null) {
+      return;
+    }
+    if (transientRecordMemoryPool.isExhausted()) {
+      for (PartitionConsumptionState pcs: partitionConsumptionStateMap.values()) {
+        int partition = pcs.getPartition();
+        String leaderTopic = pcs.getOffsetRecord().getLeaderTopic();
+        if (pcs.getLeaderFollowerState().equals(LeaderFollowerStateType.LEADER) && leaderTopic != null
+            && !transientRecordMemoryPausedTopics.containsKey(partition)) {
+          pauseConsumption(leaderTopic, pcs.getSourceTopicPartition(leaderTopic));
+          transientRecordMemoryPausedTopics.put(partition, leaderTopic);
+          LOGGER.info(
+              "Paused the consumption of topic: {}, partition: {} since the transient record memory is exhausted",
+              leaderTopic,
+              partition);
+        }
+      }
+    } else if (!transientRecordMemoryPausedTopics.isEmpty()) {
+      for (Map.Entry<Integer, String> entry: transientRecordMemoryPausedTopics.entrySet()) {
+        int partition = entry.getKey();
+        PartitionConsumptionState pcs = partitionConsumptionStateMap.get(partition);
+        // The partition paused by the storage quota enforcement will be resumed by it
+        if (pcs != null && !storageUtilizationManager.isPartitionPausedIngestion(partition)) {
+          resumeConsumption(entry.getValue(), pcs.getSourceTopicPartition(entry.getValue()));
+        }
+      }
+      LOGGER.info(
+          "Resumed the consumption of partitions: {} since the transient record memory is available",
+          transientRecordMemoryPausedTopics.keySet());
+      transientRecordMemoryPausedTopics.clear();
+    }
+  }
+
   /**
    * This function is used to check whether the long-running db compaction is done or not.
    * Once it is done, it will try to resume the consumption if the current consumer is still subscribing the corresponding
@@ -1644,6 +1695,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     LOGGER.info("Detached Kafka consumer(s) for version topic: {}", kafkaVersionTopic);
     try {
       partitionConsumptionStateMap.values().parallelStream().forEach(PartitionConsumptionState::unsubscribe);
+      partitionConsumptionStateMap.values().forEach(PartitionConsumptionState::clearTransientRecords);
       partitionConsumptionStateMap.clear();
     } catch (Exception e) {
       LOGGER.error("{} Error while unsubscribing topic.", consumerTaskId, e);
@@ -1841,8 +1893,12 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         OffsetRecord offsetRecord = storageMetadataService.getLastOffset(topic, partition);
 
         // First let's try to restore the state retrieved from the OffsetManager
-        PartitionConsumptionState newPartitionConsumptionState =
-            new PartitionConsumptionState(partition, amplificationFactor, offsetRecord, hybridStoreConfig.isPresent());
+        PartitionConsumptionState newPartitionConsumptionState = new PartitionConsumptionState(
+            partition,
+            amplificationFactor,
+            offsetRecord,
+            hybridStoreConfig.isPresent(),
+            transientRecordMemoryPool);
 
         newPartitionConsumptionState.setLeaderFollowerState(leaderState);
 
@@ -1924,6 +1980,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
          * two variables to avoid the race condition.
          */
         partitionConsumptionStateMap.remove(partition);
+        if (consumptionState != null) {
+          consumptionState.clearTransientRecords();
+        }
         storageUtilizationManager.removePartition(partition);
         kafkaDataIntegrityValidator.clearPartition(partition);
 
@@ -1966,7 +2025,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
                   partition,
                   amplificationFactor,
                   new OffsetRecord(partitionStateSerializer),
-                  hybridStoreConfig.isPresent()));
+                  hybridStoreConfig.isPresent(),
+                  transientRecordMemoryPool));
+          partitionConsumptionState.clearTransientRecords();
           storageUtilizationManager.initPartition(partition);
         } else {
           LOGGER.info(
@@ -2311,7 +2372,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
           partition);
       return;
     }
-    // Flush data partition
+    // Persist data partition, by flushing the memtable, or only syncing the WAL in the WAL based checkpoint mode
     Map<String, String> dbCheckpointingInfo = storageEngineReloadedFromRepo.sync(partition);
     storageUtilizationManager.notifyFlushToDisk(pcs);
 
@@ -2351,6 +2412,19 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     }
   }
 
+  /**
+   * This function will be invoked in {@link StoreBufferService} before processing a batch of buffered records of the
+   * given partition, so that the writes of the whole batch could be persisted at once by
+   * {@link #commitWriteBatch(int)}.
+   */
+  public void beginWriteBatch(int partition) {
+    storageEngine.beginWriteBatch(partition);
+  }
+
+  public void commitWriteBatch(int partition) {
+    storageEngine.commitWriteBatch(partition);
+  }
+
   public void offerDrainerException(Exception e, int partitionId) {
     offerExceptionToQueue(e, partitionId, drainerExceptions);
   }
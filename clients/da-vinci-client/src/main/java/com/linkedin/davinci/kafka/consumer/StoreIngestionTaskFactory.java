@@ -118,6 +118,7 @@ public class StoreIngestionTaskFactory {
     private RemoteIngestionRepairService remoteIngestionRepairService;
     private MetaStoreWriter metaStoreWriter;
     private StorageEngineBackedCompressorFactory compressorFactory;
+    private TransientRecordMemoryPool transientRecordMemoryPool;
 
     private interface Setter {
       void apply();
@@ -352,5 +353,16 @@ public class StoreIngestionTaskFactory {
     public Builder setCompressorFactory(StorageEngineBackedCompressorFactory compressorFactory) {
       return set(() -> this.compressorFactory = compressorFactory);
     }
+
+    /**
+     * @return the pool of the off-heap memory of the transient records, or null if they are kept on heap.
+     */
+    public TransientRecordMemoryPool getTransientRecordMemoryPool() {
+      return transientRecordMemoryPool;
+    }
+
+    public Builder setTransientRecordMemoryPool(TransientRecordMemoryPool transientRecordMemoryPool) {
+      return set(() -> this.transientRecordMemoryPool = transientRecordMemoryPool);
+    }
   }
 }
@@ -46,6 +46,7 @@ public class TopicWiseKafkaConsumerService extends KafkaConsumerService {
       final long sharedConsumerNonExistingTopicCleanupDelayMS,
       final TopicExistenceChecker topicExistenceChecker,
       final boolean liveConfigBasedKafkaThrottlingEnabled,
+      final boolean queuedSubscriptionCommandsEnabled,
       final Time time,
       final KafkaConsumerServiceStats stats) {
     super(
@@ -61,6 +62,7 @@ public class TopicWiseKafkaConsumerService extends KafkaConsumerService {
         sharedConsumerNonExistingTopicCleanupDelayMS,
         topicExistenceChecker,
         liveConfigBasedKafkaThrottlingEnabled,
+        queuedSubscriptionCommandsEnabled,
         time,
         stats);
     LOGGER = LogManager.getLogger(TopicWiseKafkaConsumerService.class + " [" + kafkaUrl + "]");
@@ -89,7 +91,13 @@ public class TopicWiseKafkaConsumerService extends KafkaConsumerService {
 
       boolean freshConsumer = false;
       int minAssignmentPerConsumer = Integer.MAX_VALUE;
-      for (SharedKafkaConsumer consumer: consumerToConsumptionTask.keySet()) {
+      int activeConsumerCount = getActiveConsumerCount();
+      for (int i = 0; i < consumerToConsumptionTask.size(); i++) {
+        if (i == activeConsumerCount && chosenConsumer != null) {
+          // Only fall back to the idle consumers if none of the active ones is eligible
+          break;
+        }
+        SharedKafkaConsumer consumer = getConsumerByIndex(i);
         /**
          * A Venice server host may consume from 2 version topics that belongs to the same store because each store has 2
          * versions. We need to make sure multiple store versions won't share the same consumer. Because for Hybrid stores,
@@ -139,6 +147,7 @@ public class TopicWiseKafkaConsumerService extends KafkaConsumerService {
             topicPartition);
       }
     }
+    activateConsumer(chosenConsumer);
     assignVersionTopicToConsumer(versionTopic, chosenConsumer);
     return chosenConsumer;
   }
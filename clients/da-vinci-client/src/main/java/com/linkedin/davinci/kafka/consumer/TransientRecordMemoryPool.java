@@ -0,0 +1,100 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * This class allocates the off-heap (direct) memory of the transient records in {@link PartitionConsumptionState},
+ * which hold the records produced by the leaders until they are persisted by the drainers, from a host level budget.
+ *
+ * The allocation never blocks the shared consumer thread: when the budget is exhausted, it fails right away, and the
+ * caller is expected to keep the record on heap instead. The pool stays {@link #isExhausted()} until the drainers have
+ * released enough memory, during which the ingestion tasks pause the consumption of their leaders, so that only the
+ * records polled before the pause are kept on heap.
+ */
+public class TransientRecordMemoryPool {
+  /**
+   * The pool is no longer exhausted once the usage drops below this ratio of the budget, so that the paused leaders
+   * won't be resumed and paused again for every released record.
+   */
+  static final double RESUME_USAGE_RATIO = 0.9;
+
+  private final ByteBufAllocator allocator;
+  private final long memoryBudgetInBytes;
+  private final HostLevelIngestionStats hostLevelIngestionStats;
+  private final AtomicLong usedMemoryInBytes = new AtomicLong();
+  private volatile boolean exhausted = false;
+
+  public TransientRecordMemoryPool(long memoryBudgetInBytes, HostLevelIngestionStats hostLevelIngestionStats) {
+    this(PooledByteBufAllocator.DEFAULT, memoryBudgetInBytes, hostLevelIngestionStats);
+  }
+
+  TransientRecordMemoryPool(
+      ByteBufAllocator allocator,
+      long memoryBudgetInBytes,
+      HostLevelIngestionStats hostLevelIngestionStats) {
+    this.allocator = allocator;
+    this.memoryBudgetInBytes = memoryBudgetInBytes;
+    this.hostLevelIngestionStats = hostLevelIngestionStats;
+    hostLevelIngestionStats.registerTransientRecordOffHeapMemoryUsage(this::getUsedMemoryInBytes);
+  }
+
+  /**
+   * @return a direct buffer with the given capacity, or null if the budget isn't available at the moment.
+   */
+  public ByteBuf allocate(int size) {
+    if (!tryReserve(size)) {
+      exhausted = true;
+      hostLevelIngestionStats.recordTransientRecordOffHeapMemoryExhausted();
+      return null;
+    }
+    try {
+      return allocator.directBuffer(size, size);
+    } catch (Throwable e) {
+      usedMemoryInBytes.getAndAdd(-size);
+      throw e;
+    }
+  }
+
+  /**
+   * Release the buffer returned by {@link #allocate(int)}, which must not be accessed afterwards.
+   */
+  public void release(ByteBuf buffer) {
+    int size = buffer.capacity();
+    buffer.release();
+    usedMemoryInBytes.getAndAdd(-size);
+  }
+
+  /**
+   * @return whether an allocation has failed since the usage was last below {@link #RESUME_USAGE_RATIO} of the budget.
+   */
+  public boolean isExhausted() {
+    if (exhausted && usedMemoryInBytes.get() < memoryBudgetInBytes * RESUME_USAGE_RATIO) {
+      exhausted = false;
+    }
+    return exhausted;
+  }
+
+  public long getUsedMemoryInBytes() {
+    return usedMemoryInBytes.get();
+  }
+
+  public long getMemoryBudgetInBytes() {
+    return memoryBudgetInBytes;
+  }
+
+  private boolean tryReserve(int size) {
+    long usedMemory;
+    do {
+      usedMemory = usedMemoryInBytes.get();
+      if (usedMemory + size > memoryBudgetInBytes) {
+        return false;
+      }
+    } while (!usedMemoryInBytes.compareAndSet(usedMemory, usedMemory + size));
+    return true;
+  }
+}
@@ -155,6 +155,22 @@ public abstract class ReadResponse {
     return multiChunkLargeValueCount;
   }
 
+  /**
+   * Accumulates the lookup and compute metrics of the given response, which was produced by one chunk of a request
+   * executed in parallel, into this response.
+   */
+  public void mergeStats(ReadResponse other) {
+    databaseLookupLatency += other.databaseLookupLatency;
+    readComputeLatency += other.readComputeLatency;
+    readComputeDeserializationLatency += other.readComputeDeserializationLatency;
+    readComputeSerializationLatency += other.readComputeSerializationLatency;
+    multiChunkLargeValueCount += other.multiChunkLargeValueCount;
+    dotProductCount += other.dotProductCount;
+    cosineSimilarityCount += other.cosineSimilarityCount;
+    hadamardProductCount += other.hadamardProductCount;
+    countOperatorCount += other.countOperatorCount;
+  }
+
   public boolean isFound() {
     return true;
   }
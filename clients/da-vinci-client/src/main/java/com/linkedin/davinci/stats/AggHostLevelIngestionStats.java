@@ -27,6 +27,10 @@ public class AggHostLevelIngestionStats extends AbstractVeniceAggStoreStats<Host
         unregisterMetricForDeletedStoreEnabled);
   }
 
+  public HostLevelIngestionStats getTotalStats() {
+    return totalStats;
+  }
+
   static class HostLevelStoreIngestionStatsSupplier implements StatsSupplier<HostLevelIngestionStats> {
     private final VeniceServerConfig serverConfig;
     private final Map<String, StoreIngestionTask> ingestionTaskMap;
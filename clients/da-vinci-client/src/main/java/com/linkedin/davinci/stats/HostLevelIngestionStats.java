@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 
@@ -156,6 +157,11 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
 
   private final Sensor totalLeaderDelegateRealTimeRecordLatencySensor;
 
+  /**
+   * Measure the count of the transient records kept on heap since the off-heap memory budget is exhausted.
+   */
+  private final Sensor totalTransientRecordOffHeapMemoryExhaustedSensor;
+
   private Sensor registerPerStoreAndTotal(
       String sensorName,
       HostLevelIngestionStats totalStats,
@@ -261,6 +267,12 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
         () -> totalStats.totalLeaderDelegateRealTimeRecordLatencySensor,
         newAvgAndMax());
 
+    this.totalTransientRecordOffHeapMemoryExhaustedSensor = registerOnlyTotal(
+        "transient_record_off_heap_memory_exhausted",
+        totalStats,
+        () -> totalStats.totalTransientRecordOffHeapMemoryExhaustedSensor,
+        new Rate());
+
     Int2ObjectMap<String> kafkaClusterIdToAliasMap = serverConfig.getKafkaClusterIdToAliasMap();
     int listSize = kafkaClusterIdToAliasMap.isEmpty() ? 0 : Collections.max(kafkaClusterIdToAliasMap.keySet()) + 1;
     Sensor[] tmpTotalHybridBytesConsumedByRegionId = new Sensor[listSize];
@@ -652,6 +664,18 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
     totalLeaderDelegateRealTimeRecordLatencySensor.record(latency);
   }
 
+  public void recordTransientRecordOffHeapMemoryExhausted() {
+    totalTransientRecordOffHeapMemoryExhaustedSensor.record();
+  }
+
+  /**
+   * The off-heap memory of the transient records is allocated from a host level budget, so the usage is only reported
+   * by the total stats.
+   */
+  public void registerTransientRecordOffHeapMemoryUsage(LongSupplier usedMemoryInBytes) {
+    registerSensor("transient_record_off_heap_memory_usage", new Gauge(() -> usedMemoryInBytes.getAsLong()));
+  }
+
   private MeasurableStat[] newAvgAndMax() {
     return new MeasurableStat[] { new Avg(), new Max() };
   }
@@ -30,6 +30,11 @@ public class KafkaConsumerServiceStats extends AbstractVeniceStats {
   private final Sensor getOffsetLagIsPresentSensor;
   private final Sensor getLatestOffsetIsAbsentSensor;
   private final Sensor getLatestOffsetIsPresentSensor;
+  private final Sensor activeConsumerCountSensor;
+  private final Sensor avgPollFullnessSensor;
+  private final Sensor consumerPoolGrowthSensor;
+  private final Sensor consumerPoolShrinkSensor;
+  private final Sensor movedTopicPartitionNumSensor;
 
   public KafkaConsumerServiceStats(
       MetricsRepository metricsRepository,
@@ -81,6 +86,13 @@ public class KafkaConsumerServiceStats extends AbstractVeniceStats {
     this.getLatestOffsetIsPresentSensor =
         registerSensor("getLatestOffsetIsPresent", null, latestOffsetParent, new OccurrenceRate());
 
+    // To monitor the elastic consumer pool
+    activeConsumerCountSensor = registerSensor("active_consumer_count", new Gauge());
+    // The ratio of the polled records to the max poll records, averaged across the active consumers
+    avgPollFullnessSensor = registerSensor("avg_poll_fullness", new Gauge());
+    consumerPoolGrowthSensor = registerSensor("consumer_pool_growth", new Count());
+    consumerPoolShrinkSensor = registerSensor("consumer_pool_shrink", new Count());
+    movedTopicPartitionNumSensor = registerSensor("moved_topic_partition_num", new Total());
   }
 
   public void recordPollRequestLatency(double latency) {
@@ -147,4 +159,24 @@ public class KafkaConsumerServiceStats extends AbstractVeniceStats {
   public void recordLatestOffsetIsPresent() {
     getLatestOffsetIsPresentSensor.record();
   }
+
+  public void recordActiveConsumerCount(int count) {
+    activeConsumerCountSensor.record(count);
+  }
+
+  public void recordAvgPollFullness(double pollFullness) {
+    avgPollFullnessSensor.record(pollFullness);
+  }
+
+  public void recordConsumerPoolGrowth() {
+    consumerPoolGrowthSensor.record();
+  }
+
+  public void recordConsumerPoolShrink() {
+    consumerPoolShrinkSensor.record();
+  }
+
+  public void recordMovedTopicPartitionNum(int count) {
+    movedTopicPartitionNumSensor.record(count);
+  }
 }
@@ -231,6 +231,38 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
         compressor);
   }
 
+  /**
+   * Deserializes a value whose top-level bytes have already been fetched via
+   * {@link ChunkingUtils#multiGetTopLevelValues}, and re-assembles it first if it is chunked.
+   */
+  public T getFromPrefetchedValue(
+      String storeName,
+      AbstractStorageEngine store,
+      int partition,
+      byte[] prefetchedValue,
+      T reusedValue,
+      BinaryDecoder reusedDecoder,
+      CompressionStrategy compressionStrategy,
+      boolean fastAvroEnabled,
+      ReadOnlySchemaRepository schemaRepo,
+      ReadResponse response,
+      VeniceCompressor compressor) {
+    return ChunkingUtils.getFromPrefetchedValue(
+        this,
+        store,
+        schemaRepo.getSupersetOrLatestValueSchema(storeName).getId(),
+        partition,
+        prefetchedValue,
+        response,
+        reusedValue,
+        reusedDecoder,
+        compressionStrategy,
+        fastAvroEnabled,
+        schemaRepo,
+        storeName,
+        compressor);
+  }
+
   public T get(
       String storeName,
       AbstractStorageEngine store,
@@ -6,6 +6,8 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -68,4 +70,38 @@ public class BatchGetChunkingAdapter implements ChunkingAdapter<ByteBuffer, Mult
     }
     return ChunkingUtils.getFromStorage(BATCH_GET_CHUNKING_ADAPTER, store, partition, key, response);
   }
+
+  /**
+   * Batched counterpart of {@link #get(AbstractStorageEngine, int, ByteBuffer, boolean, ReadResponse)} for keys which
+   * belong to the same partition.
+   *
+   * @return a list with the same size and order as the given keys, which contains null for the keys not found.
+   */
+  public static List<MultiGetResponseRecordV1> multiGet(
+      AbstractStorageEngine store,
+      int partition,
+      List<ByteBuffer> keys,
+      boolean isChunked,
+      ReadResponse response) {
+    List<byte[]> values = ChunkingUtils.multiGetTopLevelValues(store, partition, keys, isChunked, response);
+    List<MultiGetResponseRecordV1> records = new ArrayList<>(values.size());
+    for (byte[] value: values) {
+      records.add(
+          ChunkingUtils.getFromPrefetchedValue(
+              BATCH_GET_CHUNKING_ADAPTER,
+              store,
+              -1,
+              partition,
+              value,
+              response,
+              null,
+              null,
+              null,
+              false,
+              null,
+              null,
+              null));
+    }
+    return records;
+  }
 }
@@ -19,6 +19,8 @@ import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.writer.VeniceWriter;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 
@@ -129,6 +131,73 @@ public class ChunkingUtils {
         false);
   }
 
+  /**
+   * Looks up the top-level values of all the given keys, which belong to the same partition, with a single
+   * {@link AbstractStorageEngine#multiGet(int, List, boolean)} call. The returned values still need to go through
+   * {@link #getFromPrefetchedValue} in order to re-assemble the chunked ones.
+   *
+   * @return a list with the same size and order as the given keys, which contains null for the keys not found.
+   */
+  public static List<byte[]> multiGetTopLevelValues(
+      AbstractStorageEngine store,
+      int partition,
+      List<ByteBuffer> keyBuffers,
+      boolean isChunked,
+      ReadResponse response) {
+    long databaseLookupStartTimeInNS = (response != null) ? System.nanoTime() : 0;
+    List<ByteBuffer> topLevelKeys = keyBuffers;
+    if (isChunked) {
+      topLevelKeys = new ArrayList<>(keyBuffers.size());
+      for (ByteBuffer key: keyBuffers) {
+        topLevelKeys.add(ByteBuffer.wrap(KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key)));
+      }
+    }
+    List<byte[]> values = store.multiGet(partition, topLevelKeys, false);
+    if (response != null) {
+      response.addDatabaseLookupLatency(LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS));
+    }
+    return values;
+  }
+
+  /**
+   * Same as {@link #getFromStorage(ChunkingAdapter, AbstractStorageEngine, int, int, ByteBuffer, ReadResponse, Object, BinaryDecoder, CompressionStrategy, boolean, ReadOnlySchemaRepository, String, VeniceCompressor, boolean)},
+   * except that the top-level value has already been fetched, by {@link #multiGetTopLevelValues} for example.
+   */
+  static <VALUE, CHUNKS_CONTAINER> VALUE getFromPrefetchedValue(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      AbstractStorageEngine store,
+      int readerSchemaID,
+      int partition,
+      byte[] value,
+      ReadResponse response,
+      VALUE reusedValue,
+      BinaryDecoder reusedDecoder,
+      CompressionStrategy compressionStrategy,
+      boolean fastAvroEnabled,
+      ReadOnlySchemaRepository schemaRepo,
+      String storeName,
+      VeniceCompressor compressor) {
+    // The lookup of the top-level value has been accounted for already, so only the chunk lookups, if any, are measured.
+    long databaseLookupStartTimeInNS = (response != null) ? System.nanoTime() : 0;
+    return getFromStorage(
+        value,
+        (value == null ? 0 : value.length),
+        databaseLookupStartTimeInNS,
+        adapter,
+        store,
+        readerSchemaID,
+        partition,
+        response,
+        reusedValue,
+        reusedDecoder,
+        compressionStrategy,
+        fastAvroEnabled,
+        schemaRepo,
+        storeName,
+        compressor,
+        false);
+  }
+
   static <CHUNKS_CONTAINER, VALUE> void getFromStorageByPartialKey(
       ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
       AbstractStorageEngine store,
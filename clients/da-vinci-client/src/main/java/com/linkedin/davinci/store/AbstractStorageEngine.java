@@ -381,6 +381,27 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     }
   }
 
+  /**
+   * Buffer the subsequent writes to the given partition, refer to {@link AbstractStoragePartition#beginWriteBatch()}.
+   * This is a no-op if the partition doesn't exist, and the subsequent writes will fail as usual.
+   */
+  public void beginWriteBatch(int partitionId) {
+    AbstractStoragePartition partition = partitionList.get(partitionId);
+    if (partition != null) {
+      partition.beginWriteBatch();
+    }
+  }
+
+  /**
+   * Apply the buffered writes to the given partition, refer to {@link AbstractStoragePartition#commitWriteBatch()}.
+   */
+  public void commitWriteBatch(int partitionId) {
+    AbstractStoragePartition partition = partitionList.get(partitionId);
+    if (partition != null) {
+      partition.commitWriteBatch();
+    }
+  }
+
   public void put(int partitionId, byte[] key, byte[] value) throws VeniceException {
     AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
     partition.put(key, value);
@@ -418,6 +439,11 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     return partition.get(keyBuffer, skipCache);
   }
 
+  public List<byte[]> multiGet(int partitionId, List<ByteBuffer> keys, boolean skipCache) throws VeniceException {
+    AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
+    return partition.multiGet(keys, skipCache);
+  }
+
   public void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback) {
     AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
     partition.getByKeyPrefix(partialKey, bytesStreamingCallback);
@@ -439,6 +465,11 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     return partition.getReplicationMetadata(key);
   }
 
+  public List<byte[]> multiGetReplicationMetadata(int partitionId, List<byte[]> keys) {
+    AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
+    return partition.multiGetReplicationMetadata(keys);
+  }
+
   /**
    * Put the offset associated with the partitionId into the metadata partition.
    */
@@ -4,6 +4,8 @@ import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.store.rocksdb.ReplicationMetadataRocksDBStoragePartition;
 import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -66,6 +68,21 @@ public abstract class AbstractStoragePartition {
 
   public abstract byte[] get(ByteBuffer key, boolean skipCache);
 
+  /**
+   * Get the values of a batch of keys from the partition database.
+   * @param keys keys to be retrieved
+   * @param skipCache
+   * @return a list with the same size and order as the given keys, which contains null for the keys not found.
+   */
+  public List<byte[]> multiGet(List<ByteBuffer> keys, boolean skipCache) {
+    // Naive default impl is not optimized... only storage engines that support batched lookup implement it.
+    List<byte[]> values = new ArrayList<>(keys.size());
+    for (ByteBuffer key: keys) {
+      values.add(get(key, skipCache));
+    }
+    return values;
+  }
+
   /**
    * Populate provided callback with key-value pairs from the partition database where the keys have provided prefix.
    * If prefix is null, callback will be populated will all key-value pairs from the partition database.
@@ -115,6 +132,24 @@ public abstract class AbstractStoragePartition {
   public void endBatchWrite() {
   }
 
+  /**
+   * Start buffering the subsequent puts and deletes in memory, so that they could be applied to the partition database
+   * at once by {@link #commitWriteBatch()}, which amortizes the per-write overhead of the storage engine.
+   *
+   * The buffered writes are not visible to the reads until they are committed, and any other operation, which relies
+   * on the persisted data, such as {@link #sync()}, will commit the buffered writes first.
+   *
+   * By default, this is a no-op, and the writes are applied immediately.
+   */
+  public void beginWriteBatch() {
+  }
+
+  /**
+   * Apply the writes buffered since {@link #beginWriteBatch()}, and stop buffering.
+   */
+  public void commitWriteBatch() {
+  }
+
   /**
    * Get the partition database size in bytes
    * @return partition database size
@@ -168,6 +203,15 @@ public abstract class AbstractStoragePartition {
     throw new VeniceUnsupportedOperationException("getReplicationMetadata");
   }
 
+  /**
+   * This API retrieves replication metadata of a batch of keys from replicationMetadataColumnFamily.
+   * Only {@link ReplicationMetadataRocksDBStoragePartition} will execute this method,
+   * other storage partition implementation will VeniceUnsupportedOperationException.
+   */
+  public List<byte[]> multiGetReplicationMetadata(List<byte[]> keys) {
+    throw new VeniceUnsupportedOperationException("multiGetReplicationMetadata");
+  }
+
   /**
    * This API deletes a record from RocksDB but updates the metadata in ByteBuffer format and puts it into RocksDB.
    * Only {@link ReplicationMetadataRocksDBStoragePartition} will execute this method,
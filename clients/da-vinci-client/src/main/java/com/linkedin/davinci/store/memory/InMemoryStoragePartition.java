@@ -5,8 +5,11 @@ import com.linkedin.davinci.store.AbstractStoragePartition;
 import com.linkedin.davinci.store.StoragePartitionConfig;
 import com.linkedin.venice.exceptions.PersistenceFailureException;
 import com.linkedin.venice.utils.ByteArray;
+import com.linkedin.venice.utils.ByteUtils;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -72,6 +75,16 @@ public class InMemoryStoragePartition extends AbstractStoragePartition {
     throw new UnsupportedOperationException("Method not implemented!!");
   }
 
+  @Override
+  public List<byte[]> multiGet(List<ByteBuffer> keys, boolean skipCache) {
+    List<byte[]> values = new ArrayList<>(keys.size());
+    for (ByteBuffer key: keys) {
+      ByteArray v = partitionDb.get(new ByteArray(ByteUtils.extractByteArray(key)));
+      values.add(v == null ? null : v.get());
+    }
+    return values;
+  }
+
   @Override
   public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
     for (Map.Entry<ByteArray, ByteArray> entry: partitionDb.entrySet()) {
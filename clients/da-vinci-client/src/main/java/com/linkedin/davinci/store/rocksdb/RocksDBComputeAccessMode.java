@@ -1,7 +1,7 @@
 package com.linkedin.davinci.store.rocksdb;
 
 public enum RocksDBComputeAccessMode {
-  SINGLE_GET(0), SINGLE_GET_WITH_REUSE(1);
+  SINGLE_GET(0), SINGLE_GET_WITH_REUSE(1), MULTI_GET(2);
 
   private int value;
 
@@ -1,6 +1,8 @@
 package com.linkedin.davinci.store.rocksdb;
 
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.validation.checksum.CheckSum;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.util.Arrays;
 import org.rocksdb.CompactionStyle;
@@ -189,6 +191,19 @@ public class RocksDBServerConfig {
 
   public static final String ROCKSDB_PUT_REUSE_BYTE_BUFFER = "rocksdb.put.reuse.byte.buffer";
 
+  /**
+   * The checksum type to verify the SST files written during batch ingestion against the records consumed. Both
+   * checksums are computed by the same server, so the type could be changed at any time.
+   */
+  public static final String ROCKSDB_SST_FILE_CHECKSUM_TYPE = "rocksdb.sst.file.checksum.type";
+
+  /**
+   * The number of threads shared by all the partitions to build the SST files during batch ingestion, so that the SST
+   * files of different partitions are built in parallel, off the threads processing the records. The SST files are
+   * built synchronously by the store writer threads when it is 0.
+   */
+  public static final String ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE = "rocksdb.sst.file.writer.thread.pool.size";
+
   /**
    * Every time, when RocksDB tries to open a database, it will spin up multiple threads to load the file metadata
    * in parallel, and the application could hit the thread limit issue if there are many RocksDB open operations
@@ -207,6 +222,14 @@ public class RocksDBServerConfig {
   public static final String ROCKSDB_ATOMIC_FLUSH_ENABLED = "rocksdb.atomic.flush.enabled";
   public static final String ROCKSDB_SEPRATE_RMD_CACHE_ENABLED = "rocksdb.separate.rmd.cache.enabled";
 
+  /**
+   * Whether to write the WAL for the data partitions in the non-deferred-write mode, so that the offset checkpoint
+   * only needs to sync the WAL to disk, instead of flushing the memtable, which creates a small level-0 SST file for
+   * every checkpoint. The memtables are then only flushed when they are full, at the cost of writing every record to
+   * the WAL as well, and the checkpoints could be more frequent to shorten the offset rewind after restart.
+   */
+  public static final String ROCKSDB_WAL_BASED_CHECKPOINT_ENABLED = "rocksdb.wal.based.checkpoint.enabled";
+
   private final boolean rocksDBUseDirectReads;
 
   private final int rocksDBEnvFlushPoolSize;
@@ -262,8 +285,11 @@ public class RocksDBServerConfig {
   private final int level0SlowdownWritesTriggerWriteOnlyVersion;
   private final int level0StopWritesTriggerWriteOnlyVersion;
   private final boolean putReuseByteBufferEnabled;
+  private final CheckSumType sstFileCheckSumType;
+  private final int sstFileWriterThreadPoolSize;
   private final boolean atomicFlushEnabled;
   private final boolean separateRMDCacheEnabled;
+  private final boolean walBasedCheckpointEnabled;
 
   private final RocksDBComputeAccessMode serverStorageOperation;
 
@@ -370,8 +396,15 @@ public class RocksDBServerConfig {
         props.getInt(ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER_WRITE_ONLY_VERSION, 160);
 
     this.putReuseByteBufferEnabled = props.getBoolean(ROCKSDB_PUT_REUSE_BYTE_BUFFER, false);
+    this.sstFileCheckSumType =
+        CheckSumType.valueOf(props.getString(ROCKSDB_SST_FILE_CHECKSUM_TYPE, CheckSumType.MD5.name()));
+    if (!CheckSum.getInstance(sstFileCheckSumType).isPresent()) {
+      throw new VeniceException("Unsupported " + ROCKSDB_SST_FILE_CHECKSUM_TYPE + ": " + sstFileCheckSumType);
+    }
+    this.sstFileWriterThreadPoolSize = props.getInt(ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE, 0);
     this.atomicFlushEnabled = props.getBoolean(ROCKSDB_ATOMIC_FLUSH_ENABLED, true);
     this.separateRMDCacheEnabled = props.getBoolean(ROCKSDB_SEPRATE_RMD_CACHE_ENABLED, false);
+    this.walBasedCheckpointEnabled = props.getBoolean(ROCKSDB_WAL_BASED_CHECKPOINT_ENABLED, false);
 
     String rocksDBOperationType =
         props.getString(ROCKSDB_COMPUTE_ACCESS_MODE, RocksDBComputeAccessMode.SINGLE_GET.name());
@@ -551,10 +584,22 @@ public class RocksDBServerConfig {
     return putReuseByteBufferEnabled;
   }
 
+  public CheckSumType getSstFileCheckSumType() {
+    return sstFileCheckSumType;
+  }
+
+  public int getSstFileWriterThreadPoolSize() {
+    return sstFileWriterThreadPoolSize;
+  }
+
   public boolean isAtomicFlushEnabled() {
     return atomicFlushEnabled;
   }
 
+  public boolean isWalBasedCheckpointEnabled() {
+    return walBasedCheckpointEnabled;
+  }
+
   public boolean isUseSeparateRMDCacheEnabled() {
     return separateRMDCacheEnabled;
   }
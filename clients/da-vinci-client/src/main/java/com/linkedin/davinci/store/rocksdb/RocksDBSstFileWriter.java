@@ -12,12 +12,17 @@ import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,8 +38,27 @@ import org.rocksdb.SstFileReaderIterator;
 import org.rocksdb.SstFileWriter;
 
 
+/**
+ * This class writes the records of a partition in 'deferredWrite' mode into rolling SST files, which are finished and
+ * verified against the expected checksum by each {@link #sync()}, so that the ingestion could resume from the last
+ * finished SST file after a restart, and ingested into the database at the end of the batch push.
+ *
+ * When a shared SST file writer executor is provided, the records are handed over to the executor in chunks, so that
+ * the SST files of different partitions are built in parallel, instead of on the thread processing the records. The
+ * chunks of the same partition are still written in order, one at a time, and {@link #sync()} waits for all of them
+ * before finishing the current SST file.
+ */
 public class RocksDBSstFileWriter {
   private static final Logger LOGGER = LogManager.getLogger(RocksDBSstFileWriter.class);
+  /**
+   * The size of the records handed over to the SST file writer executor at once.
+   */
+  private static final int ASYNC_WRITE_CHUNK_SIZE_IN_BYTES = 1024 * 1024;
+  /**
+   * The max number of chunks written or waiting to be written per partition, which bounds the memory used by the
+   * records not written yet.
+   */
+  private static final int MAX_IN_FLIGHT_ASYNC_WRITE_CHUNKS = 2;
 
   /**
    * This class will be used in {@link #put(byte[], ByteBuffer)} to improve GC.
@@ -81,6 +105,19 @@ public class RocksDBSstFileWriter {
   private final boolean isRMD;
   private final RocksDBServerConfig rocksDBServerConfig;
   private final String lastCheckPointedSSTFileNum;
+  /**
+   * The shared executor to write the SST files asynchronously, or null if the records are written synchronously.
+   */
+  private final ExecutorService sstFileWriterExecutor;
+  // The following fields are only used when writing asynchronously.
+  private List<byte[]> asyncWriteChunk = new ArrayList<>();
+  private long asyncWriteChunkSizeInBytes = 0;
+  private final Deque<CompletableFuture<Void>> inFlightAsyncWrites = new ArrayDeque<>();
+  /**
+   * The failure of an asynchronous write, which fails all the following writes until the SST file writer is reopened,
+   * since the current SST file misses some records.
+   */
+  private VeniceException asyncWriteFailure = null;
 
   public RocksDBSstFileWriter(
       String storeName,
@@ -91,6 +128,28 @@ public class RocksDBSstFileWriter {
       String fullPathForTempSSTFileDir,
       boolean isRMD,
       RocksDBServerConfig rocksDBServerConfig) {
+    this(
+        storeName,
+        partitionId,
+        dbDir,
+        envOptions,
+        options,
+        fullPathForTempSSTFileDir,
+        isRMD,
+        rocksDBServerConfig,
+        null);
+  }
+
+  public RocksDBSstFileWriter(
+      String storeName,
+      int partitionId,
+      String dbDir,
+      EnvOptions envOptions,
+      Options options,
+      String fullPathForTempSSTFileDir,
+      boolean isRMD,
+      RocksDBServerConfig rocksDBServerConfig,
+      ExecutorService sstFileWriterExecutor) {
     this.storeName = storeName;
     this.partitionId = partitionId;
     this.envOptions = envOptions;
@@ -99,6 +158,7 @@ public class RocksDBSstFileWriter {
     this.isRMD = isRMD;
     this.lastCheckPointedSSTFileNum = isRMD ? ROCKSDB_LAST_FINISHED_RMD_SST_FILE_NO : ROCKSDB_LAST_FINISHED_SST_FILE_NO;
     this.rocksDBServerConfig = rocksDBServerConfig;
+    this.sstFileWriterExecutor = sstFileWriterExecutor;
   }
 
   public void put(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
@@ -107,6 +167,29 @@ public class RocksDBSstFileWriter {
           "currentSSTFileWriter is null for store: " + storeName + ", partition id: " + partitionId
               + ", 'beginBatchWrite' should be invoked before any write");
     }
+    if (sstFileWriterExecutor != null) {
+      if (asyncWriteFailure != null) {
+        throw asyncWriteFailure;
+      }
+      /**
+       * The key and value are copied, since the caller could reuse their buffers once this function returns.
+       */
+      byte[] value = new byte[valueBuffer.remaining()];
+      valueBuffer.duplicate().get(value);
+      asyncWriteChunk.add(Arrays.copyOf(key, key.length));
+      asyncWriteChunk.add(value);
+      asyncWriteChunkSizeInBytes += key.length + value.length;
+      ++recordNumInCurrentSSTFile;
+      if (asyncWriteChunkSizeInBytes >= ASYNC_WRITE_CHUNK_SIZE_IN_BYTES) {
+        submitAsyncWriteChunk();
+      }
+      return;
+    }
+    putToCurrentSSTFile(key, valueBuffer);
+    ++recordNumInCurrentSSTFile;
+  }
+
+  private void putToCurrentSSTFile(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
     if (rocksDBServerConfig.isPutReuseByteBufferEnabled()) {
       ReusableObjects reusableObjects = threadLocalReusableObjects.get();
       reusableObjects.directKeyBuffer.clear();
@@ -127,7 +210,89 @@ public class RocksDBSstFileWriter {
     } else {
       currentSSTFileWriter.put(key, ByteUtils.extractByteArray(valueBuffer));
     }
-    ++recordNumInCurrentSSTFile;
+  }
+
+  /**
+   * Hand over the records buffered so far to {@link #sstFileWriterExecutor}, after waiting for the oldest chunks to be
+   * written if there are too many in flight, and rethrow the failure of any previous chunk.
+   */
+  private void submitAsyncWriteChunk() {
+    if (asyncWriteChunk.isEmpty()) {
+      return;
+    }
+    while (inFlightAsyncWrites.size() >= MAX_IN_FLIGHT_ASYNC_WRITE_CHUNKS) {
+      waitForAsyncWrite(inFlightAsyncWrites.pollFirst());
+    }
+    List<byte[]> chunk = asyncWriteChunk;
+    asyncWriteChunk = new ArrayList<>();
+    asyncWriteChunkSizeInBytes = 0;
+    CompletableFuture<Void> previousWrite = inFlightAsyncWrites.peekLast();
+    if (previousWrite == null) {
+      previousWrite = CompletableFuture.completedFuture(null);
+    }
+    // The chunks are chained, so that they are written in order, one at a time.
+    inFlightAsyncWrites.addLast(previousWrite.thenRunAsync(() -> {
+      try {
+        for (int i = 0; i < chunk.size(); i += 2) {
+          putToCurrentSSTFile(chunk.get(i), ByteBuffer.wrap(chunk.get(i + 1)));
+        }
+      } catch (RocksDBException e) {
+        throw new VeniceException(
+            "Failed to write to sst file for store: " + storeName + ", partition id: " + partitionId,
+            e);
+      }
+    }, sstFileWriterExecutor));
+  }
+
+  /**
+   * Write all the buffered records to the current SST file, and wait for the writes.
+   */
+  private void flushAsyncWrites() {
+    if (sstFileWriterExecutor == null) {
+      return;
+    }
+    if (asyncWriteFailure != null) {
+      throw asyncWriteFailure;
+    }
+    submitAsyncWriteChunk();
+    while (!inFlightAsyncWrites.isEmpty()) {
+      waitForAsyncWrite(inFlightAsyncWrites.pollFirst());
+    }
+  }
+
+  private void waitForAsyncWrite(CompletableFuture<Void> asyncWrite) {
+    try {
+      asyncWrite.join();
+    } catch (CompletionException e) {
+      // Drop the remaining writes, which are chained to the failed one, and have failed as well.
+      inFlightAsyncWrites.clear();
+      Throwable cause = e.getCause();
+      if (cause instanceof VeniceException) {
+        asyncWriteFailure = (VeniceException) cause;
+      } else {
+        asyncWriteFailure = new VeniceException(
+            "Failed to write to sst file for store: " + storeName + ", partition id: " + partitionId,
+            cause);
+      }
+      throw asyncWriteFailure;
+    }
+  }
+
+  /**
+   * Drop the buffered records, and wait for the in-flight writes, so that the current SST file writer could be closed
+   * or replaced safely.
+   */
+  private void abortAsyncWrites() {
+    asyncWriteChunk = new ArrayList<>();
+    asyncWriteChunkSizeInBytes = 0;
+    asyncWriteFailure = null;
+    while (!inFlightAsyncWrites.isEmpty()) {
+      try {
+        inFlightAsyncWrites.pollFirst().join();
+      } catch (CompletionException e) {
+        LOGGER.warn("Dropped the failed sst file write for store: {}, partition id: {}", storeName, partitionId, e);
+      }
+    }
   }
 
   public void open(Map<String, String> checkpointedInfo, Optional<Supplier<byte[]>> expectedChecksumSupplier) {
@@ -136,6 +301,7 @@ public class RocksDBSstFileWriter {
         storeName,
         partitionId,
         checkpointedInfo);
+    abortAsyncWrites();
     // Create temp SST file dir if it doesn't exist
     File tempSSTFileDir = new File(fullPathForTempSSTFileDir);
     if (!tempSSTFileDir.exists()) {
@@ -174,12 +340,14 @@ public class RocksDBSstFileWriter {
   }
 
   public void close() {
+    abortAsyncWrites();
     if (currentSSTFileWriter != null) {
       currentSSTFileWriter.close();
     }
   }
 
   public Map<String, String> sync() {
+    flushAsyncWrites();
     try {
       /**
        * {@link SstFileWriter#finish()} will throw exception if the current SST file is empty.
@@ -302,7 +470,7 @@ public class RocksDBSstFileWriter {
       }
 
       long recordCount = 0;
-      Optional<CheckSum> sstFileFinalCheckSum = CheckSum.getInstance(CheckSumType.MD5);
+      Optional<CheckSum> sstFileFinalCheckSum = CheckSum.getInstance(rocksDBServerConfig.getSstFileCheckSumType());
       sstFileReaderIterator = sstFileReader.newIterator(readOptions);
       sstFileReaderIterator.seekToFirst();
       while (sstFileReaderIterator.isValid()) {
@@ -16,6 +16,7 @@ import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
 import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import java.io.File;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -24,6 +25,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.rocksdb.Cache;
@@ -92,6 +95,12 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
   private final InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer;
   private final InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer;
 
+  /**
+   * Executor shared across all the databases to build the SST files during batch ingestion, which is null if the SST
+   * files are built synchronously.
+   */
+  private final ExecutorService sstFileWriterExecutor;
+
   public RocksDBStorageEngineFactory(VeniceServerConfig serverConfig) {
     this(
         serverConfig,
@@ -172,6 +181,13 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
         DEFAULT_FAIRNESS,
         DEFAULT_MODE,
         rocksDBServerConfig.isAutoTunedRateLimiterEnabled());
+    if (rocksDBServerConfig.getSstFileWriterThreadPoolSize() > 0) {
+      this.sstFileWriterExecutor = Executors.newFixedThreadPool(
+          rocksDBServerConfig.getSstFileWriterThreadPoolSize(),
+          new DaemonThreadFactory("RocksDB-SST-file-writer"));
+    } else {
+      this.sstFileWriterExecutor = null;
+    }
   }
 
   public Optional<Statistics> getAggStatistics() {
@@ -194,6 +210,10 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
     return env;
   }
 
+  public ExecutorService getSstFileWriterExecutor() {
+    return sstFileWriterExecutor;
+  }
+
   public Cache getSharedCache(boolean isRMD) {
     return rocksDBServerConfig.isUseSeparateRMDCacheEnabled() && isRMD ? sharedRMDCache : sharedCache;
   }
@@ -251,6 +271,9 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
       storageEngine.close();
     });
     storageEngineMap.clear();
+    if (sstFileWriterExecutor != null) {
+      sstFileWriterExecutor.shutdownNow();
+    }
     sharedCache.close();
     if (sharedRMDCache != null) {
       sharedRMDCache.close();
@@ -8,6 +8,7 @@ import com.linkedin.davinci.store.AbstractStoragePartition;
 import com.linkedin.davinci.store.StoragePartitionConfig;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.io.File;
 import java.nio.ByteBuffer;
@@ -42,6 +43,7 @@ import org.rocksdb.RocksIterator;
 import org.rocksdb.Slice;
 import org.rocksdb.SstFileWriter;
 import org.rocksdb.Statistics;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
 
@@ -64,9 +66,14 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
 
   /**
    * Here RocksDB disables WAL, but relies on the 'flush', which will be invoked through {@link #sync()}
-   * to avoid data loss during recovery.
+   * to avoid data loss during recovery, unless {@link #walBasedCheckpointEnabled} is true.
    */
   protected final WriteOptions writeOptions;
+  /**
+   * Whether the writes go through the WAL, so that {@link #sync()} only needs to sync the WAL to disk instead of
+   * flushing the memtable, see {@link RocksDBServerConfig#ROCKSDB_WAL_BASED_CHECKPOINT_ENABLED}.
+   */
+  private final boolean walBasedCheckpointEnabled;
   private final String fullPathForTempSSTFileDir;
 
   private final EnvOptions envOptions;
@@ -133,6 +140,13 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
 
   private RocksDBSstFileWriter rocksDBSstFileWritter;
 
+  /**
+   * The writes buffered between {@link #beginWriteBatch()} and {@link #commitWriteBatch()}, and it is null when the
+   * partition is not buffering the writes. The batch is not used in 'deferredWrite' mode, since the SST file writer
+   * is already buffering the writes.
+   */
+  protected WriteBatch writeBatch = null;
+
   protected RocksDBStoragePartition(
       StoragePartitionConfig storagePartitionConfig,
       RocksDBStorageEngineFactory factory,
@@ -155,7 +169,10 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     // If writing to offset metadata partition METADATA_PARTITION_ID enable WAL write to sync up offset on server
     // restart,
     // if WAL is disabled then all ingestion progress made would be lost in case of non-graceful shutdown of server.
-    this.writeOptions = new WriteOptions().setDisableWAL(this.partitionId != METADATA_PARTITION_ID);
+    this.walBasedCheckpointEnabled =
+        this.partitionId != METADATA_PARTITION_ID && rocksDBServerConfig.isWalBasedCheckpointEnabled();
+    this.writeOptions =
+        new WriteOptions().setDisableWAL(this.partitionId != METADATA_PARTITION_ID && !walBasedCheckpointEnabled);
 
     // For multiple column family enable atomic flush
     if (columnFamilyNameList.size() > 1 && rocksDBServerConfig.isAtomicFlushEnabled()) {
@@ -190,7 +207,8 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
           options,
           fullPathForTempSSTFileDir,
           false,
-          rocksDBServerConfig);
+          rocksDBServerConfig,
+          factory.getSstFileWriterExecutor());
     }
 
     try {
@@ -397,6 +415,8 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     try {
       if (deferredWrite) {
         rocksDBSstFileWritter.put(key, valueBuffer);
+      } else if (writeBatch != null) {
+        writeBatch.put(key, ByteUtils.extractByteArray(valueBuffer));
       } else {
         rocksDB.put(
             writeOptions,
@@ -480,6 +500,62 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     }
   }
 
+  /**
+   * All the keys are looked up with a single RocksDB MultiGet call instead of one JNI call per key, and the keys are
+   * sorted before being passed down since the batched lookup in RocksDB is more efficient with sorted input.
+   */
+  @Override
+  public List<byte[]> multiGet(List<ByteBuffer> keys, boolean skipCache) {
+    List<byte[]> keyList = new ArrayList<>(keys.size());
+    for (ByteBuffer key: keys) {
+      keyList.add(ByteUtils.extractByteArray(key));
+    }
+    // Values are always stored in the DEFAULT column family, which is the first one in the handle list.
+    return multiGetInSortedOrder(0, getReadOptions(skipCache), keyList);
+  }
+
+  /**
+   * Sorts the given keys, looks them up in the column family at the given index of {@link #columnFamilyHandleList} via
+   * RocksDB MultiGet, and returns the values in the original key order.
+   */
+  protected List<byte[]> multiGetInSortedOrder(
+      int columnFamilyIndex,
+      ReadOptions readOptions,
+      List<byte[]> keys) {
+    int keyCount = keys.size();
+    if (keyCount == 0) {
+      return Collections.emptyList();
+    }
+    Integer[] sortedPositions = new Integer[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      sortedPositions[i] = i;
+    }
+    Arrays.sort(sortedPositions, (p1, p2) -> ByteUtils.compare(keys.get(p1), keys.get(p2)));
+    List<byte[]> sortedKeys = new ArrayList<>(keyCount);
+    for (Integer position: sortedPositions) {
+      sortedKeys.add(keys.get(position));
+    }
+
+    readCloseRWLock.readLock().lock();
+    try {
+      makeSureRocksDBIsStillOpen();
+      List<ColumnFamilyHandle> columnFamilyHandles =
+          Collections.nCopies(keyCount, columnFamilyHandleList.get(columnFamilyIndex));
+      List<byte[]> sortedValues = rocksDB.multiGetAsList(readOptions, columnFamilyHandles, sortedKeys);
+      byte[][] values = new byte[keyCount][];
+      for (int i = 0; i < keyCount; i++) {
+        values[sortedPositions[i]] = sortedValues.get(i);
+      }
+      return Arrays.asList(values);
+    } catch (RocksDBException e) {
+      throw new VeniceException(
+          "Failed to multi-get values from store: " + storeName + ", partition id: " + partitionId,
+          e);
+    } finally {
+      readCloseRWLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
     if (keyPrefix != null && rocksDBServerConfig.isRocksDBPlainTableFormatEnabled()) {
@@ -552,6 +628,8 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     try {
       if (deferredWrite) {
         throw new VeniceException("Deletion is unexpected in 'deferredWrite' mode");
+      } else if (writeBatch != null) {
+        writeBatch.delete(key);
       } else {
         rocksDB.delete(key);
       }
@@ -562,9 +640,40 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     }
   }
 
+  @Override
+  public synchronized void beginWriteBatch() {
+    makeSureRocksDBIsStillOpen();
+    if (deferredWrite || readOnly || writeBatch != null) {
+      return;
+    }
+    writeBatch = new WriteBatch();
+  }
+
+  @Override
+  public synchronized void commitWriteBatch() {
+    if (writeBatch == null) {
+      return;
+    }
+    try {
+      makeSureRocksDBIsStillOpen();
+      if (writeBatch.count() > 0) {
+        rocksDB.write(writeOptions, writeBatch);
+      }
+    } catch (RocksDBException e) {
+      throw new VeniceException(
+          "Failed to commit write batch to store: " + storeName + ", partition id: " + partitionId,
+          e);
+    } finally {
+      writeBatch.close();
+      writeBatch = null;
+    }
+  }
+
   @Override
   public synchronized Map<String, String> sync() {
     makeSureRocksDBIsStillOpen();
+    // The buffered writes need to be persisted before checkpointing
+    commitWriteBatch();
     if (!deferredWrite) {
       LOGGER.debug("Flush memtable to disk for store: {}, partition id: {}", storeName, partitionId);
 
@@ -578,6 +687,15 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
          * 2. If there is no data being writen before sync, the 'sync' will do nothing.
          */
         LOGGER.debug("Unexpected sync in RocksDB read-only mode");
+      } else if (walBasedCheckpointEnabled) {
+        try {
+          // The memtable could be recovered from the WAL, so it only needs to be persisted with the WAL synced
+          rocksDB.flushWal(true);
+        } catch (RocksDBException e) {
+          throw new VeniceException(
+              "Failed to sync WAL to disk for store: " + storeName + ", partition id: " + partitionId,
+              e);
+        }
       } else {
         try {
           // Since Venice RocksDB database disables WAL, flush will be triggered for every 'sync' to avoid data loss
@@ -653,6 +771,11 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     if (isClosed) {
       return;
     }
+    if (writeBatch != null) {
+      // The buffered writes are not checkpointed yet, so they will be re-ingested after the partition is re-opened.
+      writeBatch.close();
+      writeBatch = null;
+    }
     long startTimeInMs = System.currentTimeMillis();
     /**
      * The following operations are used to free up memory.
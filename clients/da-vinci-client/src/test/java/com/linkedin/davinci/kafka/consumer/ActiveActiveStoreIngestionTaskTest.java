@@ -0,0 +1,334 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import static com.linkedin.venice.schema.rmd.RmdConstants.REPLICATION_CHECKPOINT_VECTOR_FIELD;
+import static com.linkedin.venice.schema.rmd.RmdConstants.TIMESTAMP_FIELD_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.replication.RmdWithValueSchemaId;
+import com.linkedin.davinci.stats.AggHostLevelIngestionStats;
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
+import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.davinci.store.record.ValueRecord;
+import com.linkedin.davinci.utils.ByteArrayKey;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.meta.ReadOnlySchemaRepository;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.meta.VersionStatus;
+import com.linkedin.venice.offsets.OffsetRecord;
+import com.linkedin.venice.schema.SchemaEntry;
+import com.linkedin.venice.schema.rmd.RmdSchemaEntry;
+import com.linkedin.venice.schema.rmd.RmdSchemaGenerator;
+import com.linkedin.venice.serialization.KeyWithChunkingSuffixSerializer;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.VeniceAvroKafkaSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.DataProviderUtils;
+import com.linkedin.venice.utils.VeniceProperties;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class ActiveActiveStoreIngestionTaskTest {
+  private static final String STORE_NAME = "testStore";
+  private static final String VERSION_TOPIC = Version.composeKafkaTopic(STORE_NAME, 1);
+  private static final String REAL_TIME_TOPIC = Version.composeRealTimeTopic(STORE_NAME);
+  private static final int PARTITION = 0;
+  private static final int VALUE_SCHEMA_ID = 1;
+  private static final int RMD_VERSION_ID = 1;
+  private static final Schema VALUE_SCHEMA = Schema.create(Schema.Type.STRING);
+  private static final Schema RMD_SCHEMA = RmdSchemaGenerator.generateMetadataSchema(VALUE_SCHEMA, RMD_VERSION_ID);
+  private static final KeyWithChunkingSuffixSerializer KEY_WITH_CHUNKING_SUFFIX_SERIALIZER =
+      new KeyWithChunkingSuffixSerializer();
+
+  private StorageEngineBackedCompressorFactory compressorFactory;
+
+  @BeforeClass
+  public void setUp() {
+    compressorFactory = new StorageEngineBackedCompressorFactory(mock(StorageMetadataService.class));
+  }
+
+  @AfterClass
+  public void cleanUp() throws Exception {
+    compressorFactory.close();
+  }
+
+  private static byte[] prependSchemaId(int schemaId, byte[] bytes) {
+    return ByteBuffer.allocate(ValueRecord.SCHEMA_HEADER_LENGTH + bytes.length).putInt(schemaId).put(bytes).array();
+  }
+
+  private static byte[] createRmdWithValueSchemaId(long timestamp) {
+    GenericRecord rmdRecord = new GenericData.Record(RMD_SCHEMA);
+    rmdRecord.put(TIMESTAMP_FIELD_NAME, timestamp);
+    rmdRecord.put(REPLICATION_CHECKPOINT_VECTOR_FIELD, Collections.singletonList(timestamp));
+    byte[] rmdBytes = SerializerDeserializerFactory.getAvroGenericSerializer(RMD_SCHEMA).serialize(rmdRecord);
+    return prependSchemaId(VALUE_SCHEMA_ID, rmdBytes);
+  }
+
+  private static ConsumerRecord<KafkaKey, KafkaMessageEnvelope> createRealTimeRecord(long offset, byte[] key) {
+    return new ConsumerRecord<>(REAL_TIME_TOPIC, PARTITION, offset, new KafkaKey(MessageType.PUT, key), null);
+  }
+
+  private ActiveActiveStoreIngestionTask createTask(
+      AbstractStorageEngine storageEngine,
+      boolean prefetchEnabled,
+      boolean chunked) {
+    StoreIngestionTaskFactory.Builder builder = mock(StoreIngestionTaskFactory.Builder.class);
+    StorageEngineRepository storageEngineRepository = mock(StorageEngineRepository.class);
+    doReturn(storageEngine).when(storageEngineRepository).getLocalStorageEngine(VERSION_TOPIC);
+    doReturn(storageEngineRepository).when(builder).getStorageEngineRepository();
+    VeniceServerConfig serverConfig = mock(VeniceServerConfig.class);
+    doReturn(new VeniceProperties()).when(serverConfig).getKafkaConsumerConfigsForLocalConsumption();
+    doReturn(new VeniceProperties()).when(serverConfig).getKafkaConsumerConfigsForRemoteConsumption();
+    doReturn(Object2IntMaps.emptyMap()).when(serverConfig).getKafkaClusterUrlToIdMap();
+    doReturn(Int2ObjectMaps.emptyMap()).when(serverConfig).getKafkaClusterIdToUrlMap();
+    doReturn(prefetchEnabled).when(serverConfig).isActiveActiveLookupPrefetchEnabled();
+    doReturn(serverConfig).when(builder).getServerConfig();
+    doReturn(mock(ReadOnlyStoreRepository.class)).when(builder).getMetadataRepo();
+    ReadOnlySchemaRepository schemaRepository = mock(ReadOnlySchemaRepository.class);
+    doReturn(new SchemaEntry(VALUE_SCHEMA_ID, VALUE_SCHEMA)).when(schemaRepository)
+        .getSupersetOrLatestValueSchema(STORE_NAME);
+    doReturn(new RmdSchemaEntry(VALUE_SCHEMA_ID, RMD_VERSION_ID, RMD_SCHEMA)).when(schemaRepository)
+        .getReplicationMetadataSchema(STORE_NAME, VALUE_SCHEMA_ID, RMD_VERSION_ID);
+    doReturn(schemaRepository).when(builder).getSchemaRepo();
+    doReturn(mock(AggKafkaConsumerService.class)).when(builder).getAggKafkaConsumerService();
+    AggHostLevelIngestionStats ingestionStats = mock(AggHostLevelIngestionStats.class);
+    doReturn(mock(HostLevelIngestionStats.class)).when(ingestionStats).getStoreStats(anyString());
+    doReturn(ingestionStats).when(builder).getIngestionStats();
+    doReturn(compressorFactory).when(builder).getCompressorFactory();
+
+    Version version = mock(Version.class);
+    doReturn(1).when(version).getPartitionCount();
+    doReturn(null).when(version).getPartitionerConfig();
+    doReturn(VersionStatus.ONLINE).when(version).getStatus();
+    doReturn(true).when(version).isNativeReplicationEnabled();
+    doReturn(true).when(version).isActiveActiveReplicationEnabled();
+    doReturn(RMD_VERSION_ID).when(version).getRmdVersionId();
+    doReturn(chunked).when(version).isChunkingEnabled();
+    doReturn(CompressionStrategy.NO_OP).when(version).getCompressionStrategy();
+    doReturn("localhost").when(version).getPushStreamSourceAddress();
+
+    Store store = mock(Store.class);
+    doReturn(Optional.of(version)).when(store).getVersion(eq(1));
+
+    VeniceStoreVersionConfig storeConfig = mock(VeniceStoreVersionConfig.class);
+    doReturn(VERSION_TOPIC).when(storeConfig).getStoreVersionName();
+    return new ActiveActiveStoreIngestionTask(
+        builder,
+        store,
+        version,
+        mock(Properties.class),
+        mock(BooleanSupplier.class),
+        storeConfig,
+        -1,
+        false,
+        Optional.empty());
+  }
+
+  private static PartitionConsumptionState createPartitionConsumptionState(boolean endOfPushReceived) {
+    OffsetRecord offsetRecord = mock(OffsetRecord.class);
+    doReturn(endOfPushReceived).when(offsetRecord).isEndOfPushReceived();
+    return new PartitionConsumptionState(PARTITION, 1, offsetRecord, true);
+  }
+
+  @Test
+  public void testShouldPrefetchLookup() {
+    AbstractStorageEngine storageEngine = mock(AbstractStorageEngine.class);
+    PartitionConsumptionState partitionConsumptionState = createPartitionConsumptionState(true);
+    TopicPartition realTimeTopicPartition = new TopicPartition(REAL_TIME_TOPIC, PARTITION);
+
+    ActiveActiveStoreIngestionTask ingestionTask = createTask(storageEngine, false, false);
+    Assert.assertFalse(ingestionTask.shouldPrefetchLookup(realTimeTopicPartition, partitionConsumptionState));
+
+    ingestionTask = createTask(storageEngine, true, false);
+    Assert.assertTrue(ingestionTask.shouldPrefetchLookup(realTimeTopicPartition, partitionConsumptionState));
+    // The records of the version topic, or before the end of push, don't go through the conflict resolution
+    Assert.assertFalse(
+        ingestionTask.shouldPrefetchLookup(new TopicPartition(VERSION_TOPIC, PARTITION), partitionConsumptionState));
+    Assert.assertFalse(
+        ingestionTask.shouldPrefetchLookup(realTimeTopicPartition, createPartitionConsumptionState(false)));
+    Assert.assertFalse(ingestionTask.shouldPrefetchLookup(realTimeTopicPartition, null));
+  }
+
+  @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testPrefetchLookup(boolean chunked) {
+    byte[] existingKey = "existingKey".getBytes(StandardCharsets.UTF_8);
+    byte[] missingKey = "missingKey".getBytes(StandardCharsets.UTF_8);
+    byte[] notPrefetchedKey = "notPrefetchedKey".getBytes(StandardCharsets.UTF_8);
+    byte[] serializedValue = new VeniceAvroKafkaSerializer(VALUE_SCHEMA).serialize(null, "existingValue");
+    byte[] existingRmd = createRmdWithValueSchemaId(10L);
+
+    AbstractStorageEngine storageEngine = mock(AbstractStorageEngine.class);
+    List<ByteBuffer> topLevelKeys = new ArrayList<>();
+    for (byte[] key: Arrays.asList(existingKey, missingKey)) {
+      byte[] topLevelKey = chunked ? KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key) : key;
+      topLevelKeys.add(ByteBuffer.wrap(topLevelKey));
+    }
+    byte[] topLevelValue;
+    List<byte[]> chunkKeys = new ArrayList<>();
+    if (chunked) {
+      // The value is split into two chunks, which are only looked up when the prefetched manifest is read
+      int cutOff = serializedValue.length / 2;
+      ChunkedValueManifest chunkedValueManifest = new ChunkedValueManifest();
+      chunkedValueManifest.keysWithChunkIdSuffix = new ArrayList<>(2);
+      chunkedValueManifest.schemaId = VALUE_SCHEMA_ID;
+      chunkedValueManifest.size = serializedValue.length;
+      for (int i = 0; i < 2; i++) {
+        byte[] chunkKey = ("existingKeyChunk" + i).getBytes(StandardCharsets.UTF_8);
+        byte[] chunk = i == 0
+            ? Arrays.copyOfRange(serializedValue, 0, cutOff)
+            : Arrays.copyOfRange(serializedValue, cutOff, serializedValue.length);
+        chunkedValueManifest.keysWithChunkIdSuffix.add(ByteBuffer.wrap(chunkKey));
+        chunkKeys.add(chunkKey);
+        doReturn(prependSchemaId(AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), chunk)).when(storageEngine)
+            .get(eq(PARTITION), eq(chunkKey), anyBoolean());
+      }
+      topLevelValue = prependSchemaId(
+          AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion(),
+          SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$)
+              .serialize(chunkedValueManifest));
+    } else {
+      topLevelValue = prependSchemaId(VALUE_SCHEMA_ID, serializedValue);
+    }
+    doReturn(Arrays.asList(topLevelValue, null)).when(storageEngine)
+        .multiGet(eq(PARTITION), eq(topLevelKeys), eq(false));
+    doReturn(Arrays.asList(existingRmd, null)).when(storageEngine)
+        .multiGetReplicationMetadata(eq(PARTITION), anyList());
+
+    ActiveActiveStoreIngestionTask ingestionTask = createTask(storageEngine, true, chunked);
+    PartitionConsumptionState partitionConsumptionState = createPartitionConsumptionState(true);
+    Assert.assertTrue(
+        ingestionTask.shouldPrefetchLookup(new TopicPartition(REAL_TIME_TOPIC, PARTITION), partitionConsumptionState));
+    // The duplicate key is only looked up once
+    Map<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> prefetchedRecords = ingestionTask.prefetchLookup(
+        Arrays.asList(
+            createRealTimeRecord(0, existingKey),
+            createRealTimeRecord(1, missingKey),
+            createRealTimeRecord(2, existingKey)),
+        PARTITION,
+        partitionConsumptionState);
+    Assert.assertEquals(prefetchedRecords.size(), 2);
+    Assert.assertEquals(partitionConsumptionState.getPrefetchedRecordMapSize(), 2);
+
+    // Hit
+    Optional<RmdWithValueSchemaId> rmdWithValueSchemaId =
+        ingestionTask.getReplicationMetadataAndSchemaId(partitionConsumptionState, null, existingKey, PARTITION);
+    Assert.assertTrue(rmdWithValueSchemaId.isPresent());
+    Assert.assertEquals(rmdWithValueSchemaId.get().getValueSchemaId(), VALUE_SCHEMA_ID);
+    Assert.assertEquals(rmdWithValueSchemaId.get().getRmdRecord().get(TIMESTAMP_FIELD_NAME), 10L);
+    ByteBuffer value =
+        ingestionTask.getValueBytesForKey(partitionConsumptionState, null, existingKey, REAL_TIME_TOPIC, PARTITION);
+    Assert.assertEquals(ByteUtils.extractByteArray(value), serializedValue);
+    for (byte[] chunkKey: chunkKeys) {
+      verify(storageEngine).get(eq(PARTITION), eq(chunkKey), anyBoolean());
+    }
+
+    // The key not found by the prefetch doesn't hit the storage engine again
+    Assert.assertFalse(
+        ingestionTask.getReplicationMetadataAndSchemaId(partitionConsumptionState, null, missingKey, PARTITION)
+            .isPresent());
+    Assert.assertNull(
+        ingestionTask.getValueBytesForKey(partitionConsumptionState, null, missingKey, REAL_TIME_TOPIC, PARTITION));
+    verify(storageEngine, never()).getReplicationMetadata(anyInt(), any());
+    verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class), anyBoolean());
+
+    // Miss, for the keys which are not part of the batch
+    Assert.assertFalse(
+        ingestionTask.getReplicationMetadataAndSchemaId(partitionConsumptionState, null, notPrefetchedKey, PARTITION)
+            .isPresent());
+    verify(storageEngine).getReplicationMetadata(PARTITION, notPrefetchedKey);
+    Assert.assertNull(
+        ingestionTask
+            .getValueBytesForKey(partitionConsumptionState, null, notPrefetchedKey, REAL_TIME_TOPIC, PARTITION));
+    verify(storageEngine).get(eq(PARTITION), any(ByteBuffer.class), anyBoolean());
+
+    for (Map.Entry<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> entry: prefetchedRecords.entrySet()) {
+      partitionConsumptionState.removePrefetchedRecord(entry.getKey(), entry.getValue());
+    }
+    Assert.assertEquals(partitionConsumptionState.getPrefetchedRecordMapSize(), 0);
+    Assert.assertNull(partitionConsumptionState.getPrefetchedRecord(existingKey));
+  }
+
+  @Test
+  public void testPrefetchedRecordInvalidation() {
+    byte[] transientKey = "transientKey".getBytes(StandardCharsets.UTF_8);
+    byte[] prefetchedKey = "prefetchedKey".getBytes(StandardCharsets.UTF_8);
+    byte[] serializedValue = new VeniceAvroKafkaSerializer(VALUE_SCHEMA).serialize(null, "prefetchedValue");
+
+    AbstractStorageEngine storageEngine = mock(AbstractStorageEngine.class);
+    doReturn(Collections.singletonList(prependSchemaId(VALUE_SCHEMA_ID, serializedValue))).when(storageEngine)
+        .multiGet(eq(PARTITION), eq(Collections.singletonList(ByteBuffer.wrap(prefetchedKey))), eq(false));
+    doReturn(Collections.singletonList(createRmdWithValueSchemaId(10L))).when(storageEngine)
+        .multiGetReplicationMetadata(eq(PARTITION), anyList());
+
+    ActiveActiveStoreIngestionTask ingestionTask = createTask(storageEngine, true, false);
+    PartitionConsumptionState partitionConsumptionState = createPartitionConsumptionState(true);
+    // The key with a transient record is newer in the transient record cache than in the storage engine
+    partitionConsumptionState.setTransientRecord(-1, 0, transientKey, VALUE_SCHEMA_ID, null);
+    Map<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> prefetchedRecords = ingestionTask.prefetchLookup(
+        Arrays.asList(createRealTimeRecord(1, transientKey), createRealTimeRecord(2, prefetchedKey)),
+        PARTITION,
+        partitionConsumptionState);
+    Assert.assertEquals(prefetchedRecords.size(), 1);
+    Assert.assertTrue(prefetchedRecords.containsKey(ByteArrayKey.wrap(prefetchedKey)));
+    Assert.assertNull(partitionConsumptionState.getPrefetchedRecord(transientKey));
+    Assert.assertNotNull(partitionConsumptionState.getPrefetchedRecord(prefetchedKey));
+
+    // Overwriting the prefetched key invalidates its prefetched record, so the lookups go to the storage engine
+    partitionConsumptionState.setTransientRecord(-1, 3, prefetchedKey, VALUE_SCHEMA_ID, null);
+    Assert.assertNull(partitionConsumptionState.getPrefetchedRecord(prefetchedKey));
+    Assert.assertEquals(partitionConsumptionState.getPrefetchedRecordMapSize(), 0);
+    Assert.assertFalse(
+        ingestionTask.getReplicationMetadataAndSchemaId(partitionConsumptionState, null, prefetchedKey, PARTITION)
+            .isPresent());
+    verify(storageEngine).getReplicationMetadata(PARTITION, prefetchedKey);
+    Assert.assertNull(
+        ingestionTask.getValueBytesForKey(partitionConsumptionState, null, prefetchedKey, REAL_TIME_TOPIC, PARTITION));
+    verify(storageEngine).get(eq(PARTITION), eq(ByteBuffer.wrap(prefetchedKey)), anyBoolean());
+
+    // Releasing the invalidated record doesn't remove anything else
+    for (Map.Entry<ByteArrayKey, PartitionConsumptionState.PrefetchedRecord> entry: prefetchedRecords.entrySet()) {
+      partitionConsumptionState.removePrefetchedRecord(entry.getKey(), entry.getValue());
+    }
+    Assert.assertEquals(partitionConsumptionState.getPrefetchedRecordMapSize(), 0);
+  }
+}
@@ -2,13 +2,20 @@ package com.linkedin.davinci.kafka.consumer;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.linkedin.davinci.ingestion.consumption.ConsumedDataReceiver;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.KafkaClientFactory;
 import com.linkedin.venice.kafka.consumer.KafkaConsumerWrapper;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.throttle.EventThrottler;
 import com.linkedin.venice.utils.SystemTime;
@@ -16,10 +23,14 @@ import com.linkedin.venice.utils.Utils;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -68,6 +79,7 @@ public class KafkaConsumerServiceTest {
         TimeUnit.MINUTES.toMillis(1),
         mock(TopicExistenceChecker.class),
         false,
+        false,
         SystemTime.INSTANCE,
         null);
     consumerService.start();
@@ -145,6 +157,7 @@ public class KafkaConsumerServiceTest {
         TimeUnit.MINUTES.toMillis(1),
         mock(TopicExistenceChecker.class),
         false,
+        false,
         SystemTime.INSTANCE,
         null);
     consumerService.start();
@@ -231,6 +244,7 @@ public class KafkaConsumerServiceTest {
         TimeUnit.MINUTES.toMillis(1),
         mock(TopicExistenceChecker.class),
         false,
+        false,
         SystemTime.INSTANCE,
         null);
     consumerService.start();
@@ -252,4 +266,142 @@ public class KafkaConsumerServiceTest {
     Assert.assertEquals(consumerForT1P0, consumerForT1P2);
     Assert.assertEquals(consumerForT1P3, consumerForT2P1);
   }
+
+  @Test
+  public void testPartitionWiseElasticConsumerPool() throws Exception {
+    SharedKafkaConsumer consumer1 = mock(SharedKafkaConsumer.class);
+    SharedKafkaConsumer consumer2 = mock(SharedKafkaConsumer.class);
+    KafkaClientFactory factory = mock(KafkaClientFactory.class);
+    when(factory.getConsumer(any())).thenReturn(consumer1, consumer2);
+
+    Properties properties = new Properties();
+    properties.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, "test_kafka_url");
+
+    MetricsRepository mockMetricsRepository = mock(MetricsRepository.class);
+    final Sensor mockSensor = mock(Sensor.class);
+    doReturn(mockSensor).when(mockMetricsRepository).sensor(anyString(), any());
+    PartitionWiseKafkaConsumerService consumerService = new PartitionWiseKafkaConsumerService(
+        factory,
+        properties,
+        1000l,
+        2,
+        mock(EventThrottler.class),
+        mock(EventThrottler.class),
+        mock(KafkaClusterBasedRecordThrottler.class),
+        mockMetricsRepository,
+        "test_kafka_cluster_alias",
+        TimeUnit.MINUTES.toMillis(1),
+        mock(TopicExistenceChecker.class),
+        false,
+        false,
+        SystemTime.INSTANCE,
+        null);
+    consumerService.setActiveConsumerCount(1);
+    Assert.assertThrows(IllegalArgumentException.class, () -> consumerService.setActiveConsumerCount(3));
+    consumerService.start();
+
+    String storeName = Utils.getUniqueString("test_consumer_service");
+    String versionTopic1 = Version.composeKafkaTopic(storeName, 1);
+    String versionTopic2 = Version.composeKafkaTopic(storeName, 2);
+    String realTimeTopic = Version.composeRealTimeTopic(storeName);
+    Assert.assertEquals(
+        consumerService.assignConsumerFor(versionTopic1, new TopicPartition(versionTopic1, 0)),
+        consumer1);
+    Assert.assertEquals(
+        consumerService.assignConsumerFor(versionTopic1, new TopicPartition(versionTopic1, 1)),
+        consumer1);
+    Assert.assertEquals(consumerService.getActiveConsumerCount(), 1);
+
+    // The idle consumer is activated when none of the active ones could take the real-time topic-partition
+    Assert.assertEquals(
+        consumerService.assignConsumerFor(versionTopic1, new TopicPartition(realTimeTopic, 0)),
+        consumer1);
+    Assert.assertEquals(
+        consumerService.assignConsumerFor(versionTopic2, new TopicPartition(realTimeTopic, 0)),
+        consumer2);
+    Assert.assertEquals(consumerService.getActiveConsumerCount(), 2);
+
+    // Underutilized, since the mocked consumers never poll anything
+    consumerService.resizeConsumerPool(1, 0.8, 0.2, 0);
+    Assert.assertEquals(consumerService.getActiveConsumerCount(), 1);
+    // Never below the min active consumer count
+    consumerService.resizeConsumerPool(1, 0.8, 0.2, 0);
+    Assert.assertEquals(consumerService.getActiveConsumerCount(), 1);
+
+    // Saturated with a zero threshold
+    consumerService.resizeConsumerPool(1, 0.0, -1.0, 0);
+    Assert.assertEquals(consumerService.getActiveConsumerCount(), 2);
+    // Never above the pool size
+    consumerService.resizeConsumerPool(1, 0.0, -1.0, 0);
+    Assert.assertEquals(consumerService.getActiveConsumerCount(), 2);
+    consumerService.stop();
+  }
+
+  @Test(timeOut = 30000)
+  public void testPartitionWiseMoveTopicPartition() throws Exception {
+    SharedKafkaConsumer consumer1 = mock(SharedKafkaConsumer.class);
+    SharedKafkaConsumer consumer2 = mock(SharedKafkaConsumer.class);
+    KafkaClientFactory factory = mock(KafkaClientFactory.class);
+    when(factory.getConsumer(any())).thenReturn(consumer1, consumer2);
+
+    Properties properties = new Properties();
+    properties.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, "test_kafka_url");
+
+    MetricsRepository mockMetricsRepository = mock(MetricsRepository.class);
+    final Sensor mockSensor = mock(Sensor.class);
+    doReturn(mockSensor).when(mockMetricsRepository).sensor(anyString(), any());
+    PartitionWiseKafkaConsumerService consumerService = new PartitionWiseKafkaConsumerService(
+        factory,
+        properties,
+        1000l,
+        2,
+        mock(EventThrottler.class),
+        mock(EventThrottler.class),
+        mock(KafkaClusterBasedRecordThrottler.class),
+        mockMetricsRepository,
+        "test_kafka_cluster_alias",
+        TimeUnit.MINUTES.toMillis(1),
+        mock(TopicExistenceChecker.class),
+        false,
+        false,
+        SystemTime.INSTANCE,
+        null);
+
+    String versionTopic = Version.composeKafkaTopic(Utils.getUniqueString("test_consumer_service"), 1);
+    TopicPartition topicPartition = new TopicPartition(versionTopic, 0);
+    ConsumedDataReceiver<List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> dataReceiver =
+        mock(ConsumedDataReceiver.class);
+    when(dataReceiver.destinationIdentifier()).thenReturn(versionTopic);
+    consumerService.startConsumptionIntoDataReceiver(topicPartition, 5, dataReceiver);
+    SharedKafkaConsumer source =
+        consumerService.getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition);
+    SharedKafkaConsumer target = source == consumer1 ? consumer2 : consumer1;
+    verify(source).subscribe(versionTopic, topicPartition, 5);
+
+    // The other changes of the topic-partition wait for the move, which doesn't hold the mapping in the meantime
+    AtomicReference<CompletableFuture<Void>> pauseFuture = new AtomicReference<>();
+    doAnswer(invocation -> {
+      pauseFuture.set(
+          CompletableFuture.runAsync(
+              () -> consumerService
+                  .applyToAssignedConsumer(versionTopic, topicPartition, c -> c.pause(versionTopic, 0))));
+      Thread.sleep(100);
+      Assert.assertFalse(pauseFuture.get().isDone());
+      return true;
+    }).when(source).unSubscribeAndWaitForHandover(versionTopic, 0);
+    Assert.assertTrue(consumerService.moveTopicPartition(versionTopic, topicPartition, source, target));
+    Assert.assertSame(consumerService.getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition), target);
+    verify(target).subscribe(versionTopic, topicPartition, 5);
+    // The waiting change is applied to the new consumer
+    pauseFuture.get().get(10, TimeUnit.SECONDS);
+    verify(target).pause(versionTopic, 0);
+    verify(source, never()).pause(versionTopic, 0);
+
+    // The move is aborted if the hand-over isn't confirmed, and the original consumer is resubscribed
+    when(target.unSubscribeAndWaitForHandover(versionTopic, 0)).thenReturn(false);
+    Assert.assertFalse(consumerService.moveTopicPartition(versionTopic, topicPartition, target, source));
+    Assert.assertSame(consumerService.getConsumerAssignedToVersionTopicPartition(versionTopic, topicPartition), target);
+    verify(target, times(2)).subscribe(versionTopic, topicPartition, 5);
+    verify(source, times(1)).subscribe(versionTopic, topicPartition, 5);
+  }
 }
@@ -75,6 +75,26 @@ public class MemoryBoundBlockingQueueTest {
     }
   }
 
+  @Test
+  public void testPoll() throws InterruptedException {
+    int memoryCap = 5000;
+    MemoryBoundBlockingQueue<MeasurableObject> queue = new MemoryBoundBlockingQueue<>(memoryCap, 100);
+    Assert.assertNull(queue.poll());
+    int objectCnt = 10;
+    for (int i = 0; i < objectCnt; ++i) {
+      queue.put(new MeasurableObject());
+    }
+    Assert.assertEquals(
+        queue.getMemoryUsage(),
+        objectCnt * (MemoryBoundBlockingQueue.LINKED_QUEUE_NODE_OVERHEAD_IN_BYTE + MeasurableObject.SIZE));
+    for (int i = 0; i < objectCnt; ++i) {
+      Assert.assertNotNull(queue.poll());
+    }
+    Assert.assertNull(queue.poll());
+    // The freed memory is released in the unit of the notify delta
+    Assert.assertTrue(queue.getMemoryUsage() < 100);
+  }
+
   @Test
   public void testThrottling() throws InterruptedException {
     int memoryCap = 5000;
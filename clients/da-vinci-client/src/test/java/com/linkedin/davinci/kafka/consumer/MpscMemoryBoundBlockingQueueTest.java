@@ -0,0 +1,193 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.venice.common.Measurable;
+import com.linkedin.venice.utils.TestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class MpscMemoryBoundBlockingQueueTest {
+  private static class MeasurableObject implements Measurable {
+    public static final int SIZE = 10;
+    private final int producerId;
+    private final int sequence;
+
+    MeasurableObject() {
+      this(0, 0);
+    }
+
+    MeasurableObject(int producerId, int sequence) {
+      this.producerId = producerId;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int getSize() {
+      return SIZE;
+    }
+  }
+
+  private static final int OBJECT_SIZE =
+      MpscMemoryBoundBlockingQueue.RING_BUFFER_SLOT_OVERHEAD_IN_BYTE + MeasurableObject.SIZE;
+
+  @Test
+  public void testPutBoundByMemory() throws InterruptedException {
+    int memoryCap = 5000;
+    MpscMemoryBoundBlockingQueue<MeasurableObject> queue = new MpscMemoryBoundBlockingQueue<>(memoryCap, 1000, 1024);
+    int objectCntAtMost = memoryCap / OBJECT_SIZE;
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.put(new MeasurableObject());
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), objectCntAtMost);
+      });
+      Assert.assertEquals(queue.getMemoryUsage(), objectCntAtMost * OBJECT_SIZE);
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+    // The interrupted put gives back its reserved memory
+    Assert.assertEquals(queue.getMemoryUsage(), objectCntAtMost * OBJECT_SIZE);
+  }
+
+  @Test
+  public void testPutBoundBySlots() throws InterruptedException {
+    MpscMemoryBoundBlockingQueue<MeasurableObject> queue = new MpscMemoryBoundBlockingQueue<>(5000, 100, 10);
+    Assert.assertEquals(queue.getSlotCount(), 16);
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.put(new MeasurableObject());
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), 16);
+        // Including the memory reserved by the producer blocked on the slots
+        Assert.assertEquals(queue.getMemoryUsage(), 17 * OBJECT_SIZE);
+      });
+      // Taking one object frees one slot for the blocked producer
+      Assert.assertNotNull(queue.take());
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), 16);
+      });
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
+
+  @Test
+  public void testTake() throws InterruptedException {
+    int memoryCap = 5000;
+    MpscMemoryBoundBlockingQueue<MeasurableObject> queue = new MpscMemoryBoundBlockingQueue<>(memoryCap, 1000, 1024);
+    int objectCntAtMost = memoryCap / OBJECT_SIZE;
+    for (int i = 0; i < objectCntAtMost; ++i) {
+      queue.put(new MeasurableObject());
+    }
+    AtomicInteger objectTakenNum = new AtomicInteger(0);
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.take();
+          objectTakenNum.addAndGet(1);
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertEquals(objectTakenNum.get(), objectCntAtMost);
+        Assert.assertEquals(queue.size(), 0);
+      });
+      // The consumer parked on the empty queue is woken up by the next put
+      queue.put(new MeasurableObject());
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(objectTakenNum.get(), objectCntAtMost + 1);
+      });
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
+
+  @Test
+  public void testPoll() throws InterruptedException {
+    MpscMemoryBoundBlockingQueue<MeasurableObject> queue = new MpscMemoryBoundBlockingQueue<>(5000, 100, 1024);
+    Assert.assertNull(queue.poll());
+    int objectCnt = 10;
+    List<MeasurableObject> objects = new ArrayList<>();
+    for (int i = 0; i < objectCnt; ++i) {
+      MeasurableObject object = new MeasurableObject();
+      objects.add(object);
+      queue.put(object);
+    }
+    Assert.assertEquals(queue.getMemoryUsage(), objectCnt * OBJECT_SIZE);
+    Assert.assertTrue(queue.contains(objects.get(objectCnt - 1)));
+    for (int i = 0; i < objectCnt; ++i) {
+      Assert.assertSame(queue.poll(), objects.get(i));
+    }
+    Assert.assertNull(queue.poll());
+    Assert.assertFalse(queue.contains(objects.get(objectCnt - 1)));
+    Assert.assertTrue(queue.isEmpty());
+    // The freed memory is released in the unit of the notify delta
+    Assert.assertTrue(queue.getMemoryUsage() < 100);
+  }
+
+  @Test(timeOut = 60 * 1000)
+  public void testMultipleProducers() throws InterruptedException {
+    int producerCnt = 4;
+    int objectCntPerProducer = 100000;
+    // Small enough to exercise the blocking of both the producers and the consumer
+    MpscMemoryBoundBlockingQueue<MeasurableObject> queue = new MpscMemoryBoundBlockingQueue<>(500, 100, 16);
+    List<Thread> producers = new ArrayList<>();
+    for (int i = 0; i < producerCnt; ++i) {
+      int producerId = i;
+      Thread producer = new Thread(() -> {
+        for (int j = 0; j < objectCntPerProducer; ++j) {
+          try {
+            queue.put(new MeasurableObject(producerId, j));
+          } catch (InterruptedException e) {
+            break;
+          }
+        }
+      });
+      producer.start();
+      producers.add(producer);
+    }
+
+    // The objects of each producer are taken in the order they are put
+    int[] nextSequences = new int[producerCnt];
+    for (int i = 0; i < producerCnt * objectCntPerProducer; ++i) {
+      MeasurableObject object = queue.take();
+      Assert.assertEquals(object.sequence, nextSequences[object.producerId]++);
+    }
+    for (Thread producer: producers) {
+      producer.join();
+    }
+    Assert.assertNull(queue.poll());
+    for (int i = 0; i < producerCnt; ++i) {
+      Assert.assertEquals(nextSequences[i], objectCntPerProducer);
+    }
+  }
+}
@@ -2,8 +2,11 @@ package com.linkedin.davinci.kafka.consumer;
 
 import static org.mockito.Mockito.mock;
 
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
+import com.linkedin.davinci.utils.ByteArrayKey;
 import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.schema.rmd.RmdSchemaGenerator;
+import java.nio.ByteBuffer;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -61,4 +64,145 @@ public class PartitionConsumptionStateTest {
     Assert.assertEquals(pcs.getTransientRecordMapSize(), 1);
 
   }
+
+  /**
+   * Test that a prefetched record is only visible once it is completed, and it is invalidated by any transient record.
+   */
+  @Test
+  public void testPrefetchedRecordMap() {
+    PartitionConsumptionState pcs = new PartitionConsumptionState(0, 1, mock(OffsetRecord.class), false);
+
+    byte[] key1 = new byte[] { 65, 66, 67, 68 };
+    byte[] key2 = new byte[] { 65, 66, 67, 69 };
+    byte[] value = new byte[] { 97, 98, 99 };
+    byte[] rmd = new byte[] { 0, 0, 0, 1 };
+
+    PartitionConsumptionState.PrefetchedRecord prefetchedRecord1 = new PartitionConsumptionState.PrefetchedRecord();
+    Assert.assertTrue(pcs.reservePrefetchedRecord(ByteArrayKey.wrap(key1), prefetchedRecord1));
+    // Not visible before the lookup completes
+    Assert.assertNull(pcs.getPrefetchedRecord(key1));
+    prefetchedRecord1.complete(value, rmd);
+    PartitionConsumptionState.PrefetchedRecord result = pcs.getPrefetchedRecord(key1.clone());
+    Assert.assertSame(result, prefetchedRecord1);
+    Assert.assertEquals(result.getValue(), value);
+    Assert.assertEquals(result.getReplicationMetadataWithValueSchemaId(), rmd);
+
+    // A key not found in the DB is prefetched as well
+    PartitionConsumptionState.PrefetchedRecord prefetchedRecord2 = new PartitionConsumptionState.PrefetchedRecord();
+    Assert.assertTrue(pcs.reservePrefetchedRecord(ByteArrayKey.wrap(key2), prefetchedRecord2));
+    prefetchedRecord2.complete(null, null);
+    Assert.assertNotNull(pcs.getPrefetchedRecord(key2));
+    Assert.assertEquals(pcs.getPrefetchedRecordMapSize(), 2);
+
+    // Any newer write invalidates the prefetched record
+    pcs.setTransientRecord(-1, 1, key1, 5, null);
+    Assert.assertNull(pcs.getPrefetchedRecord(key1));
+    Assert.assertEquals(pcs.getPrefetchedRecordMapSize(), 1);
+
+    // A key with a transient record can't be reserved
+    Assert.assertFalse(
+        pcs.reservePrefetchedRecord(ByteArrayKey.wrap(key1), new PartitionConsumptionState.PrefetchedRecord()));
+    Assert.assertEquals(pcs.getPrefetchedRecordMapSize(), 1);
+    pcs.mayRemoveTransientRecord(-1, 1, key1);
+    Assert.assertTrue(
+        pcs.reservePrefetchedRecord(ByteArrayKey.wrap(key1), new PartitionConsumptionState.PrefetchedRecord()));
+
+    // The removal only applies to the same reservation
+    pcs.removePrefetchedRecord(ByteArrayKey.wrap(key1), prefetchedRecord1);
+    Assert.assertEquals(pcs.getPrefetchedRecordMapSize(), 2);
+    pcs.removePrefetchedRecord(ByteArrayKey.wrap(key2), prefetchedRecord2);
+    Assert.assertEquals(pcs.getPrefetchedRecordMapSize(), 1);
+  }
+
+  /**
+   * Test that the transient records are kept off heap when there is a memory pool, and released once removed.
+   */
+  @Test
+  public void testOffHeapTransientRecordMap() {
+    TransientRecordMemoryPool pool = new TransientRecordMemoryPool(1024, mock(HostLevelIngestionStats.class));
+    PartitionConsumptionState pcs = new PartitionConsumptionState(0, 1, mock(OffsetRecord.class), false, pool);
+
+    byte[] key1 = new byte[] { 65, 66, 67, 68 };
+    byte[] key2 = new byte[] { 65, 66, 67, 69 };
+    byte[] value = new byte[] { 0, 0, 97, 98, 99 };
+    byte[] rmd = new byte[] { 1, 2, 3 };
+    GenericRecord rmdRecord = new GenericData.Record(RmdSchemaGenerator.generateMetadataSchema("\"string\"", 1));
+
+    pcs.setTransientRecord(-1, 1, key1, value, 2, 3, 5, rmdRecord, ByteBuffer.wrap(rmd));
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 6);
+    PartitionConsumptionState.TransientRecord tr = pcs.getTransientRecord(key1);
+    Assert.assertEquals(
+        ByteBuffer.wrap(tr.getValue(), tr.getValueOffset(), tr.getValueLen()),
+        ByteBuffer.wrap(value, 2, 3));
+    Assert.assertEquals(tr.getValueSchemaId(), 5);
+    Assert.assertNull(tr.getReplicationMetadataRecord());
+    ByteBuffer rmdBytes = tr.getReplicationMetadataBytes();
+    Assert.assertEquals(rmdBytes, ByteBuffer.wrap(rmd));
+    // The RMD is a read-only view of the off-heap memory instead of a copy
+    Assert.assertTrue(rmdBytes.isDirect());
+    Assert.assertTrue(rmdBytes.isReadOnly());
+    // The deserialized RMD is never kept with the off-heap record
+    PartitionConsumptionState.TransientRecord sameRecord = pcs.getTransientRecord(key1);
+    Assert.assertNull(sameRecord.getReplicationMetadataRecord());
+    sameRecord.release();
+    tr.release();
+
+    // A tombstone without RMD has nothing to keep off heap
+    pcs.setTransientRecord(-1, 2, key2, -1, null);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 6);
+    tr = pcs.getTransientRecord(key2);
+    Assert.assertNull(tr.getValue());
+    Assert.assertEquals(tr.getValueLen(), -1);
+    tr.release();
+
+    // Replacing the record releases the previous one
+    pcs.setTransientRecord(-1, 3, key1, value, 0, value.length, 5, null);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), value.length);
+    Assert.assertNotNull(pcs.mayRemoveTransientRecord(-1, 1, key1));
+    Assert.assertNull(pcs.mayRemoveTransientRecord(-1, 3, key1));
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 0);
+
+    // The records still in the map are released when the partition is dropped
+    pcs.setTransientRecord(-1, 4, key1, value, 0, value.length, 5, null);
+    Assert.assertEquals(pcs.getTransientRecordMapSize(), 2);
+    pcs.clearTransientRecords();
+    Assert.assertEquals(pcs.getTransientRecordMapSize(), 0);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 0);
+  }
+
+  /**
+   * Test that the off-heap memory of a transient record isn't freed while it is still read, and that the new records
+   * are kept on heap instead of waiting when the memory budget is exhausted.
+   */
+  @Test
+  public void testOffHeapTransientRecordReferenceCount() {
+    byte[] key = new byte[] { 65, 66, 67, 68 };
+    byte[] value = new byte[] { 97, 98, 99 };
+    TransientRecordMemoryPool pool = new TransientRecordMemoryPool(value.length, mock(HostLevelIngestionStats.class));
+    PartitionConsumptionState pcs = new PartitionConsumptionState(0, 1, mock(OffsetRecord.class), false, pool);
+
+    pcs.setTransientRecord(-1, 1, key, value, 0, value.length, 5, null);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), value.length);
+    PartitionConsumptionState.TransientRecord tr = pcs.getTransientRecord(key);
+
+    // The record is persisted while being read
+    Assert.assertNull(pcs.mayRemoveTransientRecord(-1, 1, key));
+    Assert.assertNull(pcs.getTransientRecord(key));
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), value.length);
+    Assert.assertEquals(tr.getValue(), value);
+
+    // The budget is still held by the reader, so the new record is kept on heap, and the leader should be paused
+    Assert.assertFalse(pool.isExhausted());
+    pcs.setTransientRecord(-1, 2, key, value, 0, value.length, 5, null);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), value.length);
+    Assert.assertTrue(pool.isExhausted());
+    PartitionConsumptionState.TransientRecord onHeapRecord = pcs.getTransientRecord(key);
+    Assert.assertSame(onHeapRecord.getValue(), value);
+    onHeapRecord.release();
+
+    tr.release();
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 0);
+    Assert.assertFalse(tr.retain());
+    Assert.assertFalse(pool.isExhausted());
+  }
 }
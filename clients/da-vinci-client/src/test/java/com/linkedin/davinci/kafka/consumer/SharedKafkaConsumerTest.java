@@ -1,8 +1,10 @@
 package com.linkedin.davinci.kafka.consumer;
 
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,9 +19,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.common.TopicPartition;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -60,4 +66,56 @@ public class SharedKafkaConsumerTest {
     sharedConsumer.poll(1000);
     verify(consumer, times(1)).poll(1000);
   }
+
+  @Test(timeOut = 30000)
+  public void testQueuedSubscriptionCommandsAppliedAtPollBoundary() throws Exception {
+    String topic = "test_topic_v1";
+    TopicPartition topicPartition1 = new TopicPartition(topic, 1);
+    TopicPartition topicPartition2 = new TopicPartition(topic, 2);
+    SharedKafkaConsumer sharedConsumer =
+        new SharedKafkaConsumer(consumer, consumerServiceStats, () -> {}, (c, tp) -> {}, true);
+
+    // The delegate is idle, so the subscription is applied in place
+    when(consumer.getAssignment()).thenReturn(Collections.singleton(topicPartition1));
+    sharedConsumer.subscribe(topic, topicPartition1, -1);
+    verify(consumer).subscribe(topic, 1, -1);
+    Assert.assertTrue(sharedConsumer.hasSubscription(topic, 1));
+
+    CountDownLatch pollStarted = new CountDownLatch(1);
+    CountDownLatch pollReleased = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      pollStarted.countDown();
+      pollReleased.await();
+      return new ConsumerRecords<>(Collections.emptyMap());
+    }).when(consumer).poll(anyLong());
+    CompletableFuture<ConsumerRecords<KafkaKey, KafkaMessageEnvelope>> pollFuture =
+        CompletableFuture.supplyAsync(() -> sharedConsumer.poll(1000));
+    pollStarted.await();
+
+    // The commands issued during the poll are queued, instead of blocking on the consumer
+    sharedConsumer.pause(topic, 1);
+    Set<TopicPartition> newAssignment = new HashSet<>();
+    newAssignment.add(topicPartition1);
+    newAssignment.add(topicPartition2);
+    when(consumer.getAssignment()).thenReturn(newAssignment);
+    CompletableFuture<Void> subscribeFuture =
+        CompletableFuture.runAsync(() -> sharedConsumer.subscribe(topic, topicPartition2, 10));
+    Thread.sleep(100);
+    Assert.assertFalse(subscribeFuture.isDone());
+    verify(consumer, never()).pause(topic, 1);
+    verify(consumer, never()).subscribe(topic, 2, 10);
+
+    // The queued commands are applied right after the poll
+    pollReleased.countDown();
+    pollFuture.get(10, TimeUnit.SECONDS);
+    subscribeFuture.get(10, TimeUnit.SECONDS);
+    verify(consumer).pause(topic, 1);
+    verify(consumer).subscribe(topic, 2, 10);
+    Assert.assertEquals(sharedConsumer.getAssignmentSize(), 2);
+
+    // The failure of a queued command is rethrown to the caller
+    Assert.assertThrows(
+        IllegalStateException.class,
+        () -> sharedConsumer.subscribe("another_topic_v1", topicPartition2, 10));
+  }
 }
@@ -1,18 +1,36 @@
 package com.linkedin.davinci.kafka.consumer;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.venice.exceptions.VeniceChecksumException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.utils.DataProviderUtils;
+import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -20,9 +38,9 @@ import org.testng.annotations.Test;
 public class StoreBufferServiceTest {
   private static int TIMEOUT_IN_MS = 1000;
 
-  @Test
-  public void testRun() throws Exception {
-    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000);
+  @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testRun(boolean lockFreeQueueEnabled) throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, 1, 0, false, 0, lockFreeQueueEnabled);
     StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
     String topic = Utils.getUniqueString("test_topic");
     int partition1 = 1;
@@ -184,4 +202,198 @@ public class StoreBufferServiceTest {
     bufferService.stop();
   }
 
+  @Test
+  public void testRunInBatchMode() throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, 10, 10000);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    PartitionConsumptionState mockState = mock(PartitionConsumptionState.class);
+    doReturn(mockState).when(mockTask).getPartitionConsumptionState(anyInt());
+    String topic = Utils.getUniqueString("test_topic");
+    int partition1 = 1;
+    int partition2 = 2;
+    String kafkaUrl = "blah";
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr1 = createRecord(topic, partition1, 0, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr2 = createRecord(topic, partition1, 1, MessageType.DELETE);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr3 = createRecord(topic, partition2, 0, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr4 =
+        createRecord(topic, partition1, 2, MessageType.CONTROL_MESSAGE);
+
+    // All the records are buffered before the drainer starts, so that they are drained in the same batch
+    List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> records = Arrays.asList(cr1, cr2, cr3, cr4);
+    for (ConsumerRecord<KafkaKey, KafkaMessageEnvelope> record: records) {
+      bufferService.putConsumerRecord(record, mockTask, null, record.partition(), kafkaUrl, 0L);
+    }
+    ArgumentCaptor<CompletableFuture<Void>> futureCaptor = ArgumentCaptor.forClass(CompletableFuture.class);
+    verify(mockState, times(records.size())).setLastQueuedRecordPersistedFuture(futureCaptor.capture());
+    List<CompletableFuture<Void>> futures = futureCaptor.getAllValues();
+
+    // The persisted futures of the batched records should only be completed after the write batch is committed
+    AtomicBoolean completedBeforeCommit = new AtomicBoolean(false);
+    doAnswer(invocation -> {
+      completedBeforeCommit.compareAndSet(false, futures.get(0).isDone() || futures.get(1).isDone());
+      return null;
+    }).when(mockTask).commitWriteBatch(partition1);
+
+    bufferService.start();
+    for (CompletableFuture<Void> future: futures) {
+      future.get(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+    }
+    Assert.assertFalse(completedBeforeCommit.get());
+
+    InOrder inOrder = inOrder(mockTask);
+    inOrder.verify(mockTask).beginWriteBatch(partition1);
+    inOrder.verify(mockTask).processConsumerRecord(cr1, null, kafkaUrl, 0L);
+    inOrder.verify(mockTask).processConsumerRecord(cr2, null, kafkaUrl, 0L);
+    // The control message is not batched, and the records before it are committed first
+    inOrder.verify(mockTask).commitWriteBatch(partition1);
+    inOrder.verify(mockTask).processConsumerRecord(cr4, null, kafkaUrl, 0L);
+    verify(mockTask).beginWriteBatch(partition1);
+    verify(mockTask).beginWriteBatch(partition2);
+    verify(mockTask).commitWriteBatch(partition2);
+    verify(mockTask).processConsumerRecord(cr3, null, kafkaUrl, 0L);
+    bufferService.stop();
+  }
+
+  @Test
+  public void testRunInBatchModeWhenThrowException() throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, 10, 10000);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    PartitionConsumptionState mockState = mock(PartitionConsumptionState.class);
+    doReturn(mockState).when(mockTask).getPartitionConsumptionState(anyInt());
+    String topic = Utils.getUniqueString("test_topic");
+    int partition = 1;
+    String kafkaUrl = "blah";
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr1 = createRecord(topic, partition, 0, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr2 = createRecord(topic, partition, 1, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr3 = createRecord(topic, partition, 2, MessageType.PUT);
+    Exception e = new VeniceException("test_exception");
+    doThrow(e).when(mockTask).processConsumerRecord(cr2, null, kafkaUrl, 0L);
+
+    for (ConsumerRecord<KafkaKey, KafkaMessageEnvelope> record: Arrays.asList(cr1, cr2, cr3)) {
+      bufferService.putConsumerRecord(record, mockTask, null, partition, kafkaUrl, 0L);
+    }
+    ArgumentCaptor<CompletableFuture<Void>> futureCaptor = ArgumentCaptor.forClass(CompletableFuture.class);
+    verify(mockState, times(3)).setLastQueuedRecordPersistedFuture(futureCaptor.capture());
+    List<CompletableFuture<Void>> futures = futureCaptor.getAllValues();
+
+    bufferService.start();
+    futures.get(0).get(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+    Assert.assertThrows(ExecutionException.class, () -> futures.get(1).get(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS));
+    futures.get(2).get(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+
+    // The records processed before the failed one are still committed before reporting the failure
+    InOrder inOrder = inOrder(mockTask);
+    inOrder.verify(mockTask).processConsumerRecord(cr1, null, kafkaUrl, 0L);
+    inOrder.verify(mockTask).commitWriteBatch(partition);
+    inOrder.verify(mockTask).offerDrainerException(e, partition);
+    inOrder.verify(mockTask).beginWriteBatch(partition);
+    inOrder.verify(mockTask).processConsumerRecord(cr3, null, kafkaUrl, 0L);
+    inOrder.verify(mockTask).commitWriteBatch(partition);
+    bufferService.stop();
+  }
+
+  @Test
+  public void testDrainBufferedRecordsWithUncommittedWriteBatch() throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, 10, 10000);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic");
+    int partition = 1;
+    String kafkaUrl = "blah";
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr1 = createRecord(topic, partition, 0, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr2 = createRecord(topic, partition, 1, MessageType.PUT);
+    CountDownLatch commitLatch = new CountDownLatch(1);
+    AtomicBoolean committed = new AtomicBoolean(false);
+    doAnswer(invocation -> {
+      commitLatch.await();
+      committed.set(true);
+      return null;
+    }).when(mockTask).commitWriteBatch(partition);
+
+    bufferService.putConsumerRecord(cr1, mockTask, null, partition, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr2, mockTask, null, partition, kafkaUrl, 0L);
+    bufferService.start();
+    // Both records are taken out of the queue, but their writes are not committed yet
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr2, null, kafkaUrl, 0L);
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).commitWriteBatch(partition);
+
+    CompletableFuture<Void> drainFuture = CompletableFuture.runAsync(() -> {
+      try {
+        bufferService.internalDrainBufferedRecordsFromTopicPartition(topic, partition, 100, 10);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(200);
+    Assert.assertFalse(drainFuture.isDone());
+
+    commitLatch.countDown();
+    drainFuture.get(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+    Assert.assertTrue(committed.get());
+    bufferService.stop();
+  }
+
+  @Test
+  public void testAdaptiveDrainerAssignment() throws Exception {
+    StoreBufferService bufferService =
+        new StoreBufferService(2, 10000, 1000, 1, 0, true, TimeUnit.MINUTES.toMillis(1));
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic");
+    String kafkaUrl = "blah";
+    // Both partitions are initially assigned to the same drainer
+    int hotPartition = 1;
+    int coldPartition = 3;
+    int hotDrainerIndex = bufferService.getDrainerIndexForTopicPartition(topic, hotPartition);
+    Assert.assertEquals(bufferService.getDrainerIndexForTopicPartition(topic, coldPartition), hotDrainerIndex);
+
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr1 = createRecord(topic, hotPartition, 0, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr2 = createRecord(topic, hotPartition, 1, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr3 = createRecord(topic, hotPartition, 2, MessageType.PUT);
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> cr4 = createRecord(topic, coldPartition, 0, MessageType.PUT);
+    CountDownLatch latch = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      Thread.sleep(100);
+      return null;
+    }).when(mockTask).processConsumerRecord(cr1, null, kafkaUrl, 0L);
+    doAnswer(invocation -> {
+      latch.await();
+      return null;
+    }).when(mockTask).processConsumerRecord(cr2, null, kafkaUrl, 0L);
+
+    bufferService.start();
+    // The drainer spends time on the hot partition
+    bufferService.putConsumerRecord(cr1, mockTask, null, hotPartition, kafkaUrl, 0L);
+    TestUtils.waitForNonDeterministicAssertion(
+        TIMEOUT_IN_MS,
+        TimeUnit.MILLISECONDS,
+        () -> Assert.assertTrue(
+            bufferService.getTopicToTimeSpentMap(hotDrainerIndex)
+                .containsKey(new TopicPartition(topic, hotPartition))));
+
+    // The drainer is blocked by the hot partition, and lags behind
+    bufferService.putConsumerRecord(cr2, mockTask, null, hotPartition, kafkaUrl, 0L);
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr2, null, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr3, mockTask, null, hotPartition, kafkaUrl, 0L);
+
+    // The cold partition has no pending record, so it is moved to the other drainer
+    bufferService.putConsumerRecord(cr4, mockTask, null, coldPartition, kafkaUrl, 0L);
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr4, null, kafkaUrl, 0L);
+    Assert.assertEquals(bufferService.getDrainerIndexForTopicPartition(topic, coldPartition), 1 - hotDrainerIndex);
+    // The hot partition has pending records, so it stays with the same drainer to keep the order
+    Assert.assertEquals(bufferService.getDrainerIndexForTopicPartition(topic, hotPartition), hotDrainerIndex);
+    verify(mockTask, never()).processConsumerRecord(cr3, null, kafkaUrl, 0L);
+
+    latch.countDown();
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr3, null, kafkaUrl, 0L);
+    bufferService.internalDrainBufferedRecordsFromTopicPartition(topic, hotPartition, 3, 50);
+    bufferService.stop();
+  }
+
+  private static ConsumerRecord<KafkaKey, KafkaMessageEnvelope> createRecord(
+      String topic,
+      int partition,
+      long offset,
+      MessageType messageType) {
+    KafkaKey key = new KafkaKey(messageType, ("key_" + offset).getBytes());
+    return new ConsumerRecord<>(topic, partition, offset, key, null);
+  }
 }
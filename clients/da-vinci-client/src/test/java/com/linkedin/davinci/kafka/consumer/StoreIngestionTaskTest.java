@@ -156,6 +156,7 @@ import com.linkedin.venice.writer.KafkaProducerWrapper;
 import com.linkedin.venice.writer.VeniceWriter;
 import com.linkedin.venice.writer.VeniceWriterFactory;
 import com.linkedin.venice.writer.VeniceWriterOptions;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
 import it.unimi.dsi.fastutil.objects.Object2IntMaps;
@@ -757,6 +758,7 @@ public abstract class StoreIngestionTaskTest {
         1000,
         mock(TopicExistenceChecker.class),
         isLiveConfigEnabled,
+        false,
         SystemTime.INSTANCE,
         kafkaConsumerServiceStats);
     localKafkaConsumerService.start();
@@ -777,6 +779,7 @@ public abstract class StoreIngestionTaskTest {
         1000,
         mock(TopicExistenceChecker.class),
         isLiveConfigEnabled,
+        false,
         SystemTime.INSTANCE,
         kafkaConsumerServiceStats);
     remoteKafkaConsumerService.start();
@@ -3030,6 +3033,81 @@ public abstract class StoreIngestionTaskTest {
         .consumerSubscribe(anyString(), anyInt(), eq(remoteVersionTopicOffset), anyString());
   }
 
+  @Test
+  public void testPauseLeadersWhenTransientRecordMemoryExhausted() {
+    StoreIngestionTaskFactory.Builder builder = mock(StoreIngestionTaskFactory.Builder.class);
+    StorageEngineRepository mockStorageEngineRepository = mock(StorageEngineRepository.class);
+    doReturn(new DeepCopyStorageEngine(mockAbstractStorageEngine)).when(mockStorageEngineRepository)
+        .getLocalStorageEngine(anyString());
+    doReturn(mockStorageEngineRepository).when(builder).getStorageEngineRepository();
+    VeniceServerConfig veniceServerConfig = mock(VeniceServerConfig.class);
+    doReturn(new VeniceProperties()).when(veniceServerConfig).getKafkaConsumerConfigsForLocalConsumption();
+    doReturn(new VeniceProperties()).when(veniceServerConfig).getKafkaConsumerConfigsForRemoteConsumption();
+    doReturn(Object2IntMaps.emptyMap()).when(veniceServerConfig).getKafkaClusterUrlToIdMap();
+    doReturn(veniceServerConfig).when(builder).getServerConfig();
+    doReturn(mock(ReadOnlyStoreRepository.class)).when(builder).getMetadataRepo();
+    doReturn(mock(ReadOnlySchemaRepository.class)).when(builder).getSchemaRepo();
+    AggKafkaConsumerService aggKafkaConsumerService = mock(AggKafkaConsumerService.class);
+    doReturn(aggKafkaConsumerService).when(builder).getAggKafkaConsumerService();
+    doReturn(mockAggStoreIngestionStats).when(builder).getIngestionStats();
+    TransientRecordMemoryPool pool =
+        new TransientRecordMemoryPool(new UnpooledByteBufAllocator(true), 10, mock(HostLevelIngestionStats.class));
+    doReturn(pool).when(builder).getTransientRecordMemoryPool();
+
+    Version version = mock(Version.class);
+    doReturn(2).when(version).getPartitionCount();
+    doReturn(null).when(version).getPartitionerConfig();
+    doReturn(VersionStatus.ONLINE).when(version).getStatus();
+
+    Store store = mock(Store.class);
+    doReturn(Optional.of(version)).when(store).getVersion(eq(1));
+
+    String versionTopic = "testStore_v1";
+    VeniceStoreVersionConfig storeConfig = mock(VeniceStoreVersionConfig.class);
+    doReturn(versionTopic).when(storeConfig).getStoreVersionName();
+    LeaderFollowerStoreIngestionTask ingestionTask = new LeaderFollowerStoreIngestionTask(
+        builder,
+        store,
+        version,
+        mock(Properties.class),
+        mock(BooleanSupplier.class),
+        storeConfig,
+        -1,
+        false,
+        Optional.empty());
+
+    OffsetRecord offsetRecord = mock(OffsetRecord.class);
+    doReturn(versionTopic).when(offsetRecord).getLeaderTopic();
+    PartitionConsumptionState leaderPcs = new PartitionConsumptionState(0, 1, offsetRecord, false, pool);
+    leaderPcs.setLeaderFollowerState(LEADER);
+    PartitionConsumptionState followerPcs = new PartitionConsumptionState(1, 1, offsetRecord, false, pool);
+    ingestionTask.partitionConsumptionStateMap.put(0, leaderPcs);
+    ingestionTask.partitionConsumptionStateMap.put(1, followerPcs);
+
+    ingestionTask.checkTransientRecordMemory();
+    verify(aggKafkaConsumerService, never()).pauseConsumerFor(anyString(), anyString(), anyInt());
+
+    // The record which doesn't fit into the budget is kept on heap, and the leader gets paused till it is released
+    byte[] key1 = new byte[] { 1 };
+    byte[] key2 = new byte[] { 2 };
+    leaderPcs.setTransientRecord(-1, 1, key1, new byte[10], 0, 10, 1, null);
+    leaderPcs.setTransientRecord(-1, 2, key2, new byte[10], 0, 10, 1, null);
+    ingestionTask.checkTransientRecordMemory();
+    ingestionTask.checkTransientRecordMemory();
+    verify(aggKafkaConsumerService, times(1)).pauseConsumerFor(versionTopic, versionTopic, 0);
+    verify(aggKafkaConsumerService, never()).pauseConsumerFor(versionTopic, versionTopic, 1);
+    verify(aggKafkaConsumerService, never()).resumeConsumerFor(anyString(), anyString(), anyInt());
+
+    // Persisting the on-heap record doesn't release any budget
+    Assert.assertNull(leaderPcs.mayRemoveTransientRecord(-1, 2, key2));
+    ingestionTask.checkTransientRecordMemory();
+    verify(aggKafkaConsumerService, never()).resumeConsumerFor(anyString(), anyString(), anyInt());
+    Assert.assertNull(leaderPcs.mayRemoveTransientRecord(-1, 1, key1));
+    ingestionTask.checkTransientRecordMemory();
+    ingestionTask.checkTransientRecordMemory();
+    verify(aggKafkaConsumerService, times(1)).resumeConsumerFor(versionTopic, versionTopic, 0);
+  }
+
   private static class MockStoreVersionConfigs {
     Store store;
     Version version;
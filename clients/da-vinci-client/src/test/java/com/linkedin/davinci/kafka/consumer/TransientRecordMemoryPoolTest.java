@@ -0,0 +1,75 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.davinci.stats.HostLevelIngestionStats;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TransientRecordMemoryPoolTest {
+  private static TransientRecordMemoryPool createPool(long memoryBudgetInBytes, HostLevelIngestionStats stats) {
+    return new TransientRecordMemoryPool(new UnpooledByteBufAllocator(true), memoryBudgetInBytes, stats);
+  }
+
+  @Test
+  public void testAllocateWithinBudget() {
+    HostLevelIngestionStats stats = mock(HostLevelIngestionStats.class);
+    TransientRecordMemoryPool pool = createPool(100, stats);
+    verify(stats).registerTransientRecordOffHeapMemoryUsage(any());
+
+    ByteBuf buffer1 = pool.allocate(60);
+    Assert.assertNotNull(buffer1);
+    Assert.assertTrue(buffer1.isDirect());
+    Assert.assertEquals(buffer1.capacity(), 60);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 60);
+
+    // Exceeding the budget fails right away instead of waiting for the release
+    Assert.assertNull(pool.allocate(50));
+    // Exceeding the whole budget
+    Assert.assertNull(pool.allocate(101));
+    verify(stats, times(2)).recordTransientRecordOffHeapMemoryExhausted();
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 60);
+
+    ByteBuf buffer2 = pool.allocate(40);
+    Assert.assertNotNull(buffer2);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 100);
+
+    pool.release(buffer1);
+    pool.release(buffer2);
+    Assert.assertEquals(buffer1.refCnt(), 0);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 0);
+
+    // The budget is available again once released
+    ByteBuf buffer3 = pool.allocate(100);
+    Assert.assertNotNull(buffer3);
+    pool.release(buffer3);
+  }
+
+  @Test
+  public void testExhaustion() {
+    TransientRecordMemoryPool pool = createPool(100, mock(HostLevelIngestionStats.class));
+    ByteBuf buffer1 = pool.allocate(80);
+    ByteBuf buffer2 = pool.allocate(15);
+    Assert.assertFalse(pool.isExhausted());
+
+    Assert.assertNull(pool.allocate(10));
+    Assert.assertTrue(pool.isExhausted());
+
+    // Still exhausted until the usage drops below the resume ratio of the budget
+    ByteBuf buffer3 = pool.allocate(5);
+    Assert.assertNotNull(buffer3);
+    pool.release(buffer3);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 95);
+    Assert.assertTrue(pool.isExhausted());
+    pool.release(buffer2);
+    Assert.assertEquals(pool.getUsedMemoryInBytes(), 80);
+    Assert.assertFalse(pool.isExhausted());
+    pool.release(buffer1);
+  }
+}
@@ -8,6 +8,9 @@ import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEV
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER_WRITE_ONLY_VERSION;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_PLAIN_TABLE_FORMAT_ENABLED;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_SST_FILE_CHECKSUM_TYPE;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_WAL_BASED_CHECKPOINT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
 
 import com.linkedin.davinci.config.VeniceServerConfig;
@@ -21,7 +24,10 @@ import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -32,6 +38,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.rocksdb.ComparatorOptions;
 import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
 import org.rocksdb.util.BytewiseComparator;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -386,6 +393,81 @@ public class RocksDBStoragePartitionTest {
     removeDir(storeDir);
   }
 
+  @Test
+  public void testIngestionWithSstFileWriterThreadPool() {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(true);
+    Properties properties = new Properties();
+    properties.put(ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE, "2");
+    properties.put(ROCKSDB_SST_FILE_CHECKSUM_TYPE, CheckSumType.XXHASH64.name());
+    VeniceProperties veniceServerProperties =
+        AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    Assert.assertNotNull(factory.getSstFileWriterExecutor());
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    CheckSum runningChecksum = CheckSum.getInstance(rocksDBServerConfig.getSstFileCheckSumType()).get();
+    Optional<Supplier<byte[]>> checksumSupplier = Optional.of(() -> {
+      byte[] checksum = runningChecksum.getCheckSum();
+      runningChecksum.reset();
+      return checksum;
+    });
+    storagePartition.beginBatchWrite(new HashMap<>(), checksumSupplier);
+
+    // The records of each SST file are bigger than a chunk written asynchronously
+    List<Map.Entry<String, String>> inputRecords = new ArrayList<>(generateInput(300, true, 8 * 1024).entrySet());
+    final int syncPerRecords = 100;
+    final int interruptedRecord = 150;
+    boolean interrupted = false;
+    Map<String, String> checkpointingInfo = new HashMap<>();
+    for (int i = 0; i < inputRecords.size(); i++) {
+      Map.Entry<String, String> entry = inputRecords.get(i);
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+      runningChecksum.update(entry.getKey().getBytes());
+      runningChecksum.update(entry.getValue().getBytes());
+      if ((i + 1) % syncPerRecords == 0) {
+        checkpointingInfo = storagePartition.sync();
+        Assert.assertEquals(
+            checkpointingInfo.get(RocksDBSstFileWriter.ROCKSDB_LAST_FINISHED_SST_FILE_NO),
+            String.valueOf(i / syncPerRecords));
+      }
+      if (i + 1 == interruptedRecord && !interrupted) {
+        // Restart from the last checkpoint, and drop the records written asynchronously since then
+        storagePartition.close();
+        storagePartition = new RocksDBStoragePartition(
+            partitionConfig,
+            factory,
+            DATA_BASE_DIR,
+            null,
+            ROCKSDB_THROTTLER,
+            rocksDBServerConfig);
+        storagePartition.beginBatchWrite(checkpointingInfo, checksumSupplier);
+        runningChecksum.reset();
+        interrupted = true;
+        i = syncPerRecords - 1;
+      }
+    }
+    storagePartition.endBatchWrite();
+    Assert.assertTrue(storagePartition.validateBatchIngestion());
+
+    for (Map.Entry<String, String> entry: inputRecords) {
+      Assert.assertEquals(storagePartition.get(entry.getKey().getBytes(), false), entry.getValue().getBytes());
+    }
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
   @Test
   public void testChecksumVerificationFailure() {
     String storeName = "test_store_c1";
@@ -452,6 +534,160 @@ public class RocksDBStoragePartitionTest {
     removeDir(storeDir);
   }
 
+  @Test
+  public void testMultiGet() {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(false);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    Map<String, String> inputRecords = generateInput(100, false, 0);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+    }
+
+    // Keys in descending order mixed with non-existing ones, to make sure the values come back in the request order
+    List<ByteBuffer> keys = new ArrayList<>();
+    for (int i = 120; i >= 0; i -= 3) {
+      keys.add(ByteBuffer.wrap((KEY_PREFIX + i).getBytes()));
+    }
+    List<byte[]> values = storagePartition.multiGet(keys, false);
+    Assert.assertEquals(values.size(), keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      String key = new String(keys.get(i).array());
+      String expectedValue = inputRecords.get(key);
+      if (expectedValue == null) {
+        Assert.assertNull(values.get(i), "Value for non-existing key: " + key + " should be null");
+      } else {
+        Assert.assertEquals(new String(values.get(i)), expectedValue);
+      }
+    }
+    Assert.assertTrue(storagePartition.multiGet(Collections.emptyList(), false).isEmpty());
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testWriteBatch() {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(false);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    byte[] deletedKey = (KEY_PREFIX + "deleted").getBytes();
+    storagePartition.put(deletedKey, "value".getBytes());
+
+    Map<String, String> inputRecords = generateInput(100, false, 0);
+    storagePartition.beginWriteBatch();
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), ByteBuffer.wrap(entry.getValue().getBytes()));
+    }
+    storagePartition.delete(deletedKey);
+    // The buffered writes are not visible until committed
+    for (String key: inputRecords.keySet()) {
+      Assert.assertNull(storagePartition.get(key.getBytes(), false));
+    }
+    Assert.assertNotNull(storagePartition.get(deletedKey, false));
+
+    storagePartition.commitWriteBatch();
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      Assert.assertEquals(new String(storagePartition.get(entry.getKey().getBytes(), false)), entry.getValue());
+    }
+    Assert.assertNull(storagePartition.get(deletedKey, false));
+    // Committing again is a no-op
+    storagePartition.commitWriteBatch();
+
+    // Sync should persist the buffered writes as well
+    byte[] key = (KEY_PREFIX + "synced").getBytes();
+    storagePartition.beginWriteBatch();
+    storagePartition.put(key, "synced_value".getBytes());
+    Assert.assertNull(storagePartition.get(key, false));
+    storagePartition.sync();
+    Assert.assertEquals(new String(storagePartition.get(key, false)), "synced_value");
+    // The writes after sync are applied immediately
+    storagePartition.put(deletedKey, "new_value".getBytes());
+    Assert.assertEquals(new String(storagePartition.get(deletedKey, false)), "new_value");
+    storagePartition.commitWriteBatch();
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testWalBasedCheckpoint() throws RocksDBException {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(false);
+    Properties properties = new Properties();
+    properties.put(ROCKSDB_WAL_BASED_CHECKPOINT_ENABLED, "true");
+    VeniceProperties veniceServerProperties =
+        AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    Map<String, String> inputRecords = generateInput(100, false, 0);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+    }
+    // Sync should only persist the WAL without flushing the memtable into a new SST file
+    storagePartition.sync();
+    Assert.assertEquals(storagePartition.rocksDB.getProperty("rocksdb.num-files-at-level0"), "0");
+    Assert.assertEquals(storagePartition.rocksDB.getProperty("rocksdb.num-entries-active-mem-table"), "100");
+    storagePartition.close();
+
+    // The synced writes should be recovered from the WAL after re-opening
+    storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      Assert.assertEquals(new String(storagePartition.get(entry.getKey().getBytes(), false)), entry.getValue());
+    }
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
   @Test
   public void testPlainTableCompactionTriggerSetting() {
     String storeName = Utils.getUniqueString("test_store");
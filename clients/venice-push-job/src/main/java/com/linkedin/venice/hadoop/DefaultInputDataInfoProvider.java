@@ -53,6 +53,9 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
   public static final int DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SIZE = 200 * BYTES_PER_MB; // 200MB
   /** Maximum final dictionary size TODO add more details about the current limits */
   public static final String COMPRESSION_DICTIONARY_SIZE_LIMIT = "compression.dictionary.size.limit";
+  /** Sample size to retain for the compression benchmark, which is a subset of the dictionary training samples */
+  public static final String COMPRESSION_BENCHMARK_SAMPLE_SIZE = "compression.benchmark.sample.size";
+  public static final int DEFAULT_COMPRESSION_BENCHMARK_SAMPLE_SIZE = 10 * BYTES_PER_MB; // 10MB
 
   /**
    * Config to control the thread pool size for HDFS operations.
@@ -71,6 +74,7 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
   protected final VenicePushJob.StoreSetting storeSetting;
   protected final VenicePushJob.PushJobSetting pushJobSetting;
   protected PushJobZstdConfig pushJobZstdConfig;
+  protected PushJobCompressionBenchmark compressionBenchmark;
   protected final VeniceProperties props;
   /**
    * Thread pool for Hadoop File System operations: Lazy initialization as this
@@ -211,6 +215,18 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
     pushJobZstdConfig = new PushJobZstdConfig(props, numFiles);
   }
 
+  public void initCompressionBenchmark() {
+    if (compressionBenchmark != null) {
+      return;
+    }
+    compressionBenchmark = new PushJobCompressionBenchmark(
+        props.getInt(COMPRESSION_BENCHMARK_SAMPLE_SIZE, DEFAULT_COMPRESSION_BENCHMARK_SAMPLE_SIZE));
+  }
+
+  public PushJobCompressionBenchmark getCompressionBenchmark() {
+    return compressionBenchmark;
+  }
+
   // Vson-based file store key / value schema string as separated properties in file header
   private Pair<VsonSchema, VsonSchema> checkVsonSchemaConsistency(
       FileSystem fs,
@@ -347,6 +363,10 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
         LOGGER.debug(maxSamplesReadErrorMsg);
         return;
       }
+      if (compressionBenchmark != null) {
+        // The benchmark keeps the samples until its own limit is reached, which doesn't stop the dictionary training
+        compressionBenchmark.addSample(data);
+      }
       fileSampleSize += data.length;
       this.pushJobZstdConfig.setFilledSize(this.pushJobZstdConfig.getFilledSize() + fileSampleSize);
     }
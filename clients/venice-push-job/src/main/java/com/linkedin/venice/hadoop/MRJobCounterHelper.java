@@ -1,5 +1,6 @@
 package com.linkedin.venice.hadoop;
 
+import com.linkedin.venice.compression.CompressionStrategy;
 import org.apache.hadoop.mapred.Counters;
 import org.apache.hadoop.mapred.Reporter;
 
@@ -39,6 +40,12 @@ public class MRJobCounterHelper {
   private static final String MAPPER_SCHEMA_INCONSISTENCY_FAILURE = "Mapper schema inconsistency failure";
   private static final String MAPPER_ZSTD_DICT_TRAIN_FAILURE = "Mapper Zstd dict train failure";
 
+  private static final String COUNTER_GROUP_COMPRESSION_BENCHMARK = "Compression benchmark";
+  private static final String COMPRESSION_BENCHMARK_SAMPLE_COUNT = "sample count";
+  private static final String COMPRESSION_BENCHMARK_SAMPLE_SIZE = "sample size";
+  private static final String COMPRESSION_BENCHMARK_COMPRESSED_SIZE_SUFFIX = " compressed size";
+  private static final String COMPRESSION_BENCHMARK_DECOMPRESSION_TIME_SUFFIX = " decompression time in ns";
+
   private static final String COUNTER_GROUP_KAFKA_INPUT_FORMAT = "KafkaInputFormat";
   private static final String COUNTER_PUT_OR_DELETE_RECORDS = "put or delete records";
 
@@ -78,6 +85,12 @@ public class MRJobCounterHelper {
   static final GroupAndCounterNames TOTAL_PUT_OR_DELETE_COUNT_GROUP_COUNTER_NAME =
       new GroupAndCounterNames(COUNTER_GROUP_KAFKA_INPUT_FORMAT, COUNTER_PUT_OR_DELETE_RECORDS);
 
+  static final GroupAndCounterNames COMPRESSION_BENCHMARK_SAMPLE_COUNT_GROUP_COUNTER_NAME =
+      new GroupAndCounterNames(COUNTER_GROUP_COMPRESSION_BENCHMARK, COMPRESSION_BENCHMARK_SAMPLE_COUNT);
+
+  static final GroupAndCounterNames COMPRESSION_BENCHMARK_SAMPLE_SIZE_GROUP_COUNTER_NAME =
+      new GroupAndCounterNames(COUNTER_GROUP_COMPRESSION_BENCHMARK, COMPRESSION_BENCHMARK_SAMPLE_SIZE);
+
   static final GroupAndCounterNames MAPPER_ERROR_DATA_MODIFIED_DURING_PUSH_JOB_GROUP_COUNTER_NAME =
       new GroupAndCounterNames(MR_JOB_STATUS, MAPPER_ERROR_DATA_MODIFIED_DURING_PUSH_JOB);
 
@@ -295,6 +308,64 @@ public class MRJobCounterHelper {
     return getCountFromCounters(counters, MAPPER_NUM_RECORDS_SUCCESSFULLY_PROCESSED_GROUP_COUNTER_NAME);
   }
 
+  static void incrCompressionBenchmarkSampleCount(Reporter reporter, long amount) {
+    incrAmountWithGroupCounterName(reporter, COMPRESSION_BENCHMARK_SAMPLE_COUNT_GROUP_COUNTER_NAME, amount);
+  }
+
+  static long getCompressionBenchmarkSampleCount(Counters counters) {
+    return getCountFromCounters(counters, COMPRESSION_BENCHMARK_SAMPLE_COUNT_GROUP_COUNTER_NAME);
+  }
+
+  static void incrCompressionBenchmarkSampleSize(Reporter reporter, long amount) {
+    incrAmountWithGroupCounterName(reporter, COMPRESSION_BENCHMARK_SAMPLE_SIZE_GROUP_COUNTER_NAME, amount);
+  }
+
+  static long getCompressionBenchmarkSampleSize(Counters counters) {
+    return getCountFromCounters(counters, COMPRESSION_BENCHMARK_SAMPLE_SIZE_GROUP_COUNTER_NAME);
+  }
+
+  static void incrCompressionBenchmarkCompressedSize(
+      Reporter reporter,
+      CompressionStrategy compressionStrategy,
+      long amount) {
+    incrAmountWithGroupCounterName(
+        reporter,
+        getCompressionBenchmarkCompressedSizeCounterName(compressionStrategy),
+        amount);
+  }
+
+  static long getCompressionBenchmarkCompressedSize(Counters counters, CompressionStrategy compressionStrategy) {
+    return getCountFromCounters(counters, getCompressionBenchmarkCompressedSizeCounterName(compressionStrategy));
+  }
+
+  static void incrCompressionBenchmarkDecompressionTimeInNs(
+      Reporter reporter,
+      CompressionStrategy compressionStrategy,
+      long amount) {
+    incrAmountWithGroupCounterName(
+        reporter,
+        getCompressionBenchmarkDecompressionTimeCounterName(compressionStrategy),
+        amount);
+  }
+
+  static long getCompressionBenchmarkDecompressionTimeInNs(Counters counters, CompressionStrategy compressionStrategy) {
+    return getCountFromCounters(counters, getCompressionBenchmarkDecompressionTimeCounterName(compressionStrategy));
+  }
+
+  private static GroupAndCounterNames getCompressionBenchmarkCompressedSizeCounterName(
+      CompressionStrategy compressionStrategy) {
+    return new GroupAndCounterNames(
+        COUNTER_GROUP_COMPRESSION_BENCHMARK,
+        compressionStrategy.name() + COMPRESSION_BENCHMARK_COMPRESSED_SIZE_SUFFIX);
+  }
+
+  private static GroupAndCounterNames getCompressionBenchmarkDecompressionTimeCounterName(
+      CompressionStrategy compressionStrategy) {
+    return new GroupAndCounterNames(
+        COUNTER_GROUP_COMPRESSION_BENCHMARK,
+        compressionStrategy.name() + COMPRESSION_BENCHMARK_DECOMPRESSION_TIME_SUFFIX);
+  }
+
   /**
    * Bundle counter group name and counter name in this POJO
    */
@@ -0,0 +1,175 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.Utils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * This class evaluates the compression strategies against the value samples collected from the push job input, and
+ * measures the compressed size and the decompression time of each of them, so that the store owner could choose the
+ * compression strategy based on the tradeoff between the storage footprint and the read latency of their own data.
+ *
+ * The samples are retained in memory, so they are capped by a separate limit from the one of the samples used to train
+ * the Zstd dictionary, which are usually much larger.
+ */
+public class PushJobCompressionBenchmark {
+  /**
+   * {@link CompressionStrategy#ZSTD_WITH_DICT} is only evaluated when a dictionary is available.
+   */
+  public static final List<CompressionStrategy> EVALUATED_STRATEGIES = Collections.unmodifiableList(
+      Arrays.asList(
+          CompressionStrategy.NO_OP,
+          CompressionStrategy.GZIP,
+          CompressionStrategy.LZ4,
+          CompressionStrategy.ZSTD_WITH_DICT));
+  /**
+   * The decompression is timed over a few rounds after a warm-up round, so that the result is not dominated by the
+   * class loading and the JIT compilation.
+   */
+  private static final int DECOMPRESSION_ROUNDS = 3;
+  /**
+   * When recommending a strategy, the strategies whose compressed size is within this ratio of the smallest one are
+   * considered as good as the smallest one, and the one with the fastest decompression among them is recommended.
+   */
+  private static final double COMPRESSED_SIZE_TOLERANCE = 1.2;
+
+  private final int maxSampleSize;
+  private final List<byte[]> samples = new ArrayList<>();
+  private long filledSize = 0;
+
+  public PushJobCompressionBenchmark(int maxSampleSize) {
+    this.maxSampleSize = maxSampleSize;
+  }
+
+  /**
+   * @return false if the sample doesn't fit in the limit anymore, and it is not retained.
+   */
+  public synchronized boolean addSample(byte[] data) {
+    if (filledSize + data.length > maxSampleSize) {
+      return false;
+    }
+    samples.add(data);
+    filledSize += data.length;
+    return true;
+  }
+
+  public synchronized int getSampleCount() {
+    return samples.size();
+  }
+
+  public synchronized long getSampleSize() {
+    return filledSize;
+  }
+
+  public synchronized List<Result> evaluate(Optional<byte[]> dictionary, int zstdCompressionLevel) throws IOException {
+    List<Result> results = new ArrayList<>(EVALUATED_STRATEGIES.size());
+    try (CompressorFactory compressorFactory = new CompressorFactory()) {
+      for (CompressionStrategy strategy: EVALUATED_STRATEGIES) {
+        if (strategy == CompressionStrategy.ZSTD_WITH_DICT) {
+          if (!dictionary.isPresent()) {
+            continue;
+          }
+          VeniceCompressor compressor =
+              compressorFactory.createCompressorWithDictionary(dictionary.get(), zstdCompressionLevel);
+          try {
+            results.add(evaluate(compressor));
+          } finally {
+            Utils.closeQuietlyWithErrorLogged(compressor);
+          }
+        } else {
+          results.add(evaluate(compressorFactory.getCompressor(strategy)));
+        }
+      }
+    }
+    return results;
+  }
+
+  private Result evaluate(VeniceCompressor compressor) throws IOException {
+    List<byte[]> compressedSamples = new ArrayList<>(samples.size());
+    long compressedSize = 0;
+    for (byte[] sample: samples) {
+      byte[] compressed = compressor.compress(sample);
+      compressedSamples.add(compressed);
+      compressedSize += compressed.length;
+    }
+
+    long decompressedSize = 0;
+    long decompressionTimeInNs = 0;
+    for (int round = 0; round <= DECOMPRESSION_ROUNDS; round++) {
+      long startTimeInNs = System.nanoTime();
+      for (byte[] compressed: compressedSamples) {
+        decompressedSize += compressor.decompress(compressed, 0, compressed.length).remaining();
+      }
+      // The first round is the warm-up round
+      if (round > 0) {
+        decompressionTimeInNs += System.nanoTime() - startTimeInNs;
+      }
+    }
+    if (decompressedSize != filledSize * (DECOMPRESSION_ROUNDS + 1)) {
+      throw new VeniceException(
+          "The decompressed size doesn't match the sample size with compression strategy: "
+              + compressor.getCompressionStrategy());
+    }
+    return new Result(
+        compressor.getCompressionStrategy(),
+        compressedSize,
+        decompressionTimeInNs / DECOMPRESSION_ROUNDS);
+  }
+
+  /**
+   * @return the strategy with the fastest decompression among the ones which compress nearly as well as the best one.
+   */
+  public static Optional<CompressionStrategy> recommend(List<Result> results) {
+    long minCompressedSize = Long.MAX_VALUE;
+    for (Result result: results) {
+      minCompressedSize = Math.min(minCompressedSize, result.getCompressedSize());
+    }
+    Result recommended = null;
+    for (Result result: results) {
+      if (result.getCompressedSize() <= minCompressedSize * COMPRESSED_SIZE_TOLERANCE && (recommended == null
+          || result.getDecompressionTimeInNs() < recommended.getDecompressionTimeInNs())) {
+        recommended = result;
+      }
+    }
+    return recommended == null ? Optional.empty() : Optional.of(recommended.getCompressionStrategy());
+  }
+
+  public static class Result {
+    private final CompressionStrategy compressionStrategy;
+    private final long compressedSize;
+    private final long decompressionTimeInNs;
+
+    public Result(CompressionStrategy compressionStrategy, long compressedSize, long decompressionTimeInNs) {
+      this.compressionStrategy = compressionStrategy;
+      this.compressedSize = compressedSize;
+      this.decompressionTimeInNs = decompressionTimeInNs;
+    }
+
+    public CompressionStrategy getCompressionStrategy() {
+      return compressionStrategy;
+    }
+
+    /**
+     * @return the total compressed size of all the samples.
+     */
+    public long getCompressedSize() {
+      return compressedSize;
+    }
+
+    /**
+     * @return the time to decompress all the samples once.
+     */
+    public long getDecompressionTimeInNs() {
+      return decompressionTimeInNs;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.linkedin.venice.hadoop;
 
+import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_BENCHMARK_ENABLED;
 import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_METRIC_COLLECTION_ENABLED;
 import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_STRATEGY;
 import static com.linkedin.venice.hadoop.VenicePushJob.ETL_VALUE_SCHEMA_TRANSFORMATION;
@@ -10,13 +11,17 @@ import static com.linkedin.venice.hadoop.VenicePushJob.PushJobSetting;
 import static com.linkedin.venice.hadoop.VenicePushJob.StoreSetting;
 import static com.linkedin.venice.hadoop.VenicePushJob.USE_MAPPER_TO_BUILD_DICTIONARY;
 import static com.linkedin.venice.hadoop.VenicePushJob.VENICE_STORE_NAME_PROP;
+import static com.linkedin.venice.hadoop.VenicePushJob.ZSTD_COMPRESSION_LEVEL;
 
+import com.github.luben.zstd.Zstd;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.etl.ETLValueSchemaTransformation;
 import com.linkedin.venice.schema.vson.VsonSchema;
 import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 import org.apache.avro.Schema;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
@@ -53,6 +58,7 @@ public class ValidateSchemaAndBuildDictMapper extends AbstractMapReduceTask
   private FileSystem fileSystem = null;
   private long inputModificationTime;
   protected String inputDirectory;
+  private int zstdCompressionLevel;
 
   @Override
   public void map(
@@ -77,6 +83,7 @@ public class ValidateSchemaAndBuildDictMapper extends AbstractMapReduceTask
    *  1.1. validate this file's schema against the first file's schema
    *  1.2. Collect sample for dictionary from this file if enabled
    * 2. Builds dictionary from the collected samples if enabled
+   *  2.1. Evaluates all the compression strategies against the collected samples if the benchmark is enabled
    *
    * @param inputIdx File Index or MAPPER_BUILD_DICTIONARY_KEY to build dictionary
    * @param reporter
@@ -158,6 +165,9 @@ public class ValidateSchemaAndBuildDictMapper extends AbstractMapReduceTask
             return false;
           }
           LOGGER.info("Zstd compression dictionary size = {} bytes", dict.length);
+          if (pushJobSetting.compressionBenchmarkEnabled) {
+            runCompressionBenchmark(inputDataInfoProvider.getCompressionBenchmark(), dict, reporter);
+          }
         } else {
           LOGGER.info("No compression dictionary is generated as the input data doesn't contain any records");
         }
@@ -171,6 +181,41 @@ public class ValidateSchemaAndBuildDictMapper extends AbstractMapReduceTask
     return true;
   }
 
+  /**
+   * The benchmark is only informational, so its failure doesn't fail the push job.
+   */
+  private void runCompressionBenchmark(PushJobCompressionBenchmark benchmark, byte[] dict, Reporter reporter) {
+    if (benchmark == null || benchmark.getSampleCount() == 0) {
+      LOGGER.warn("Skipping the compression benchmark as there is no sample");
+      return;
+    }
+    List<PushJobCompressionBenchmark.Result> results;
+    try {
+      results = benchmark.evaluate(Optional.of(dict), zstdCompressionLevel);
+    } catch (Exception e) {
+      LOGGER.warn("Failed to run the compression benchmark", e);
+      return;
+    }
+    MRJobCounterHelper.incrCompressionBenchmarkSampleCount(reporter, benchmark.getSampleCount());
+    MRJobCounterHelper.incrCompressionBenchmarkSampleSize(reporter, benchmark.getSampleSize());
+    for (PushJobCompressionBenchmark.Result result: results) {
+      LOGGER.info(
+          "Compression benchmark with strategy: {}, compressed size: {} bytes of {} bytes, decompression time: {} ns",
+          result.getCompressionStrategy(),
+          result.getCompressedSize(),
+          benchmark.getSampleSize(),
+          result.getDecompressionTimeInNs());
+      MRJobCounterHelper.incrCompressionBenchmarkCompressedSize(
+          reporter,
+          result.getCompressionStrategy(),
+          result.getCompressedSize());
+      MRJobCounterHelper.incrCompressionBenchmarkDecompressionTimeInNs(
+          reporter,
+          result.getCompressionStrategy(),
+          result.getDecompressionTimeInNs());
+    }
+  }
+
   protected void checkLastModificationTimeAndLogError(Exception e, String errorString) throws IOException {
     checkLastModificationTimeAndLogError(e, errorString, null);
   }
@@ -210,6 +255,9 @@ public class ValidateSchemaAndBuildDictMapper extends AbstractMapReduceTask
 
     if (buildDictionary) {
       inputDataInfoProvider.initZstdConfig(inputDataInfo.getNumInputFiles());
+      if (pushJobSetting.compressionBenchmarkEnabled) {
+        ((DefaultInputDataInfoProvider) inputDataInfoProvider).initCompressionBenchmark();
+      }
     }
 
     try {
@@ -235,9 +283,11 @@ public class ValidateSchemaAndBuildDictMapper extends AbstractMapReduceTask
     pushJobSetting.isIncrementalPush = props.getBoolean(INCREMENTAL_PUSH);
     pushJobSetting.compressionMetricCollectionEnabled = props.getBoolean(COMPRESSION_METRIC_COLLECTION_ENABLED);
     pushJobSetting.useMapperToBuildDict = props.getBoolean(USE_MAPPER_TO_BUILD_DICTIONARY);
+    pushJobSetting.compressionBenchmarkEnabled = props.getBoolean(COMPRESSION_BENCHMARK_ENABLED, false);
     pushJobSetting.etlValueSchemaTransformation = ETLValueSchemaTransformation
         .valueOf(props.getString(ETL_VALUE_SCHEMA_TRANSFORMATION, ETLValueSchemaTransformation.NONE.name()));
     storeSetting.compressionStrategy = CompressionStrategy.valueOf(props.getString(COMPRESSION_STRATEGY));
+    zstdCompressionLevel = props.getInt(ZSTD_COMPRESSION_LEVEL, Zstd.maxCompressionLevel());
     // Getting the original modified time from driver
     inputModificationTime = props.getLong(INPUT_PATH_LAST_MODIFIED_TIME);
 
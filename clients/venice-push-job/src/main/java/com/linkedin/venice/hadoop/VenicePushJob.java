@@ -158,6 +158,15 @@ public class VenicePushJob implements AutoCloseable {
   public static final String COMPRESSION_METRIC_COLLECTION_ENABLED = "compression.metric.collection.enabled";
   public static final boolean DEFAULT_COMPRESSION_METRIC_COLLECTION_ENABLED = false;
 
+  /**
+   * Enabling/Disabling the mode to evaluate all the compression strategies against a sample of the input values, which
+   * reports the compressed size and the decompression time of each strategy, so as to help choosing the compression
+   * strategy of the store. This only works with {@link #USE_MAPPER_TO_BUILD_DICTIONARY} enabled, and the retained
+   * samples are capped by {@link DefaultInputDataInfoProvider#COMPRESSION_BENCHMARK_SAMPLE_SIZE}.
+   */
+  public static final String COMPRESSION_BENCHMARK_ENABLED = "compression.benchmark.enabled";
+  public static final boolean DEFAULT_COMPRESSION_BENCHMARK_ENABLED = false;
+
   /**
    * Temporary flag to enable/disable the code changes until the flow of using mapper
    * to validate schema and build dictionary is stable.
@@ -417,6 +426,7 @@ public class VenicePushJob implements AutoCloseable {
     boolean deferVersionSwap;
     boolean extendedSchemaValidityCheckEnabled;
     boolean compressionMetricCollectionEnabled;
+    boolean compressionBenchmarkEnabled;
     // temporary flag to host the code to use mapper to validate schema and build dictionary
     boolean useMapperToBuildDict;
     // specify ttl time to drop stale records. Only works for repush
@@ -725,6 +735,15 @@ public class VenicePushJob implements AutoCloseable {
         props.getBoolean(COMPRESSION_METRIC_COLLECTION_ENABLED, DEFAULT_COMPRESSION_METRIC_COLLECTION_ENABLED);
     pushJobSettingToReturn.useMapperToBuildDict =
         props.getBoolean(USE_MAPPER_TO_BUILD_DICTIONARY, DEFAULT_USE_MAPPER_TO_BUILD_DICTIONARY);
+    pushJobSettingToReturn.compressionBenchmarkEnabled =
+        props.getBoolean(COMPRESSION_BENCHMARK_ENABLED, DEFAULT_COMPRESSION_BENCHMARK_ENABLED);
+    if (pushJobSettingToReturn.compressionBenchmarkEnabled && !pushJobSettingToReturn.useMapperToBuildDict) {
+      LOGGER.warn(
+          "{} is ignored since it only works with {} enabled",
+          COMPRESSION_BENCHMARK_ENABLED,
+          USE_MAPPER_TO_BUILD_DICTIONARY);
+      pushJobSettingToReturn.compressionBenchmarkEnabled = false;
+    }
     return pushJobSettingToReturn;
   }
 
@@ -1283,9 +1302,51 @@ public class VenicePushJob implements AutoCloseable {
     updatePushJobDetailsWithCheckpoint(PushJobCheckpoints.START_VALIDATE_SCHEMA_AND_BUILD_DICT_MAP_JOB);
     runningJob = runJobWithConfig(jobConf);
     validateCountersAfterValidateSchemaAndBuildDict();
+    if (pushJobSetting.compressionBenchmarkEnabled) {
+      logCompressionBenchmarkReport();
+    }
     updatePushJobDetailsWithCheckpoint(PushJobCheckpoints.VALIDATE_SCHEMA_AND_BUILD_DICT_MAP_JOB_COMPLETED);
   }
 
+  /**
+   * Report the result of the compression benchmark, which is collected by {@link ValidateSchemaAndBuildDictMapper}
+   * through the MR job counters.
+   */
+  private void logCompressionBenchmarkReport() throws IOException {
+    Counters counters = runningJob.getCounters();
+    long sampleCount = MRJobCounterHelper.getCompressionBenchmarkSampleCount(counters);
+    long sampleSize = MRJobCounterHelper.getCompressionBenchmarkSampleSize(counters);
+    if (sampleCount == 0 || sampleSize == 0) {
+      LOGGER.warn("No compression benchmark result is available for store: {}", pushJobSetting.storeName);
+      return;
+    }
+    List<PushJobCompressionBenchmark.Result> results = new ArrayList<>();
+    for (CompressionStrategy strategy: PushJobCompressionBenchmark.EVALUATED_STRATEGIES) {
+      long compressedSize = MRJobCounterHelper.getCompressionBenchmarkCompressedSize(counters, strategy);
+      if (compressedSize == 0) {
+        // Not evaluated, e.g. the dictionary training failed
+        continue;
+      }
+      long decompressionTimeInNs = MRJobCounterHelper.getCompressionBenchmarkDecompressionTimeInNs(counters, strategy);
+      results.add(new PushJobCompressionBenchmark.Result(strategy, compressedSize, decompressionTimeInNs));
+      LOGGER.info(
+          "Compression benchmark for store: {}, strategy: {}, compression ratio: {}, "
+              + "avg decompression time: {} ns per value",
+          pushJobSetting.storeName,
+          strategy,
+          String.format("%.2f", (double) sampleSize / compressedSize),
+          decompressionTimeInNs / sampleCount);
+    }
+    LOGGER.info(
+        "Compression benchmark for store: {} is done with {} values of {}, current strategy: {}, "
+            + "recommended strategy: {}",
+        pushJobSetting.storeName,
+        sampleCount,
+        generateHumanReadableByteCountString(sampleSize),
+        storeSetting.compressionStrategy,
+        PushJobCompressionBenchmark.recommend(results).map(Enum::name).orElse("N/A"));
+  }
+
   private void checkLastModificationTimeAndLog() throws IOException {
     checkLastModificationTimeAndLog(false);
   }
@@ -1304,7 +1365,7 @@ public class VenicePushJob implements AutoCloseable {
   }
 
   protected static boolean shouldBuildDictionary(PushJobSetting pushJobSetting, StoreSetting storeSetting) {
-    if (pushJobSetting.compressionMetricCollectionEnabled
+    if (pushJobSetting.compressionMetricCollectionEnabled || pushJobSetting.compressionBenchmarkEnabled
         || storeSetting.compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT) {
       if (pushJobSetting.isIncrementalPush) {
         LOGGER.info("No compression dictionary will be generated as it is incremental push");
@@ -1385,7 +1446,7 @@ public class VenicePushJob implements AutoCloseable {
       } else if (numRecordsProcessed == inputNumFiles) {
         if (zstdDictTrainFailure == 1) {
           if (storeSetting.compressionStrategy != CompressionStrategy.ZSTD_WITH_DICT) {
-            // Tried creating dictionary due to compressionMetricCollectionEnabled
+            // Tried creating dictionary due to compressionMetricCollectionEnabled or compressionBenchmarkEnabled
             LOGGER.warn(
                 "Training ZStd dictionary failed: Maybe the sample size is too small or the content is not "
                     + "suitable for creating dictionary. But as this job's configured compression type don't "
@@ -2701,6 +2762,15 @@ public class VenicePushJob implements AutoCloseable {
     conf.set(COMPRESSION_STRATEGY, storeSetting.compressionStrategy.toString());
     conf.setBoolean(COMPRESSION_METRIC_COLLECTION_ENABLED, pushJobSetting.compressionMetricCollectionEnabled);
     conf.setBoolean(USE_MAPPER_TO_BUILD_DICTIONARY, pushJobSetting.useMapperToBuildDict);
+    conf.setBoolean(COMPRESSION_BENCHMARK_ENABLED, pushJobSetting.compressionBenchmarkEnabled);
+    conf.setInt(
+        DefaultInputDataInfoProvider.COMPRESSION_BENCHMARK_SAMPLE_SIZE,
+        props.getInt(
+            DefaultInputDataInfoProvider.COMPRESSION_BENCHMARK_SAMPLE_SIZE,
+            DefaultInputDataInfoProvider.DEFAULT_COMPRESSION_BENCHMARK_SAMPLE_SIZE));
+    conf.set(
+        ZSTD_COMPRESSION_LEVEL,
+        props.getString(ZSTD_COMPRESSION_LEVEL, String.valueOf(Zstd.maxCompressionLevel())));
 
     /** adding below for AbstractMapReduceTask.configure() to not crash: Doesn't affect this flow */
     conf.setBoolean(VeniceWriter.ENABLE_CHUNKING, false);
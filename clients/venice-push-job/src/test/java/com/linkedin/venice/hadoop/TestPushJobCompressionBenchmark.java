@@ -0,0 +1,81 @@
+package com.linkedin.venice.hadoop;
+
+import com.github.luben.zstd.Zstd;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.ZstdWithDictCompressor;
+import com.linkedin.venice.hadoop.PushJobCompressionBenchmark.Result;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestPushJobCompressionBenchmark {
+  private static byte[] createValue(int index) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      builder.append("value_").append(index).append("_field_").append(i);
+    }
+    return builder.toString().getBytes();
+  }
+
+  @Test
+  public void testSampleSizeLimit() {
+    byte[] value = createValue(0);
+    PushJobCompressionBenchmark benchmark = new PushJobCompressionBenchmark(value.length * 2 + 1);
+    Assert.assertTrue(benchmark.addSample(value));
+    Assert.assertTrue(benchmark.addSample(value));
+    Assert.assertFalse(benchmark.addSample(value));
+    Assert.assertEquals(benchmark.getSampleCount(), 2);
+    Assert.assertEquals(benchmark.getSampleSize(), value.length * 2);
+  }
+
+  @Test
+  public void testEvaluate() throws IOException {
+    PushJobCompressionBenchmark benchmark = new PushJobCompressionBenchmark(1024 * 1024);
+    for (int i = 0; i < 100; i++) {
+      Assert.assertTrue(benchmark.addSample(createValue(i)));
+    }
+
+    List<Result> results = benchmark.evaluate(Optional.empty(), 1);
+    Assert.assertEquals(
+        results.stream().map(Result::getCompressionStrategy).collect(Collectors.toList()),
+        Arrays.asList(CompressionStrategy.NO_OP, CompressionStrategy.GZIP, CompressionStrategy.LZ4));
+    Assert.assertEquals(results.get(0).getCompressedSize(), benchmark.getSampleSize());
+    Assert.assertTrue(results.get(1).getCompressedSize() < benchmark.getSampleSize());
+    Assert.assertTrue(results.get(2).getCompressedSize() < benchmark.getSampleSize());
+
+    results = benchmark
+        .evaluate(Optional.of(ZstdWithDictCompressor.buildDictionaryOnSyntheticAvroData()), Zstd.maxCompressionLevel());
+    Assert.assertEquals(results.size(), 4);
+    Assert.assertEquals(results.get(3).getCompressionStrategy(), CompressionStrategy.ZSTD_WITH_DICT);
+    Assert.assertTrue(results.get(3).getCompressedSize() < benchmark.getSampleSize());
+  }
+
+  @Test
+  public void testRecommend() {
+    Assert.assertEquals(PushJobCompressionBenchmark.recommend(Arrays.asList()), Optional.empty());
+
+    Result noOp = new Result(CompressionStrategy.NO_OP, 1000, 1);
+    Result gzip = new Result(CompressionStrategy.GZIP, 300, 500);
+    Result lz4 = new Result(CompressionStrategy.LZ4, 350, 50);
+    Result zstd = new Result(CompressionStrategy.ZSTD_WITH_DICT, 200, 200);
+
+    // LZ4 is the fastest among the ones which compress nearly as well as GZIP
+    Assert.assertEquals(
+        PushJobCompressionBenchmark.recommend(Arrays.asList(noOp, gzip, lz4)),
+        Optional.of(CompressionStrategy.LZ4));
+    // Zstd with dictionary compresses much better than the others
+    Assert.assertEquals(
+        PushJobCompressionBenchmark.recommend(Arrays.asList(noOp, gzip, lz4, zstd)),
+        Optional.of(CompressionStrategy.ZSTD_WITH_DICT));
+    // Incompressible data shouldn't be compressed
+    Result incompressibleLz4 = new Result(CompressionStrategy.LZ4, 1004, 50);
+    Assert.assertEquals(
+        PushJobCompressionBenchmark.recommend(Arrays.asList(noOp, incompressibleLz4)),
+        Optional.of(CompressionStrategy.NO_OP));
+  }
+}
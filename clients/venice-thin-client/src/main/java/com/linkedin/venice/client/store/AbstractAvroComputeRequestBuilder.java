@@ -9,21 +9,31 @@ import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperatio
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.stats.ClientStats;
+import com.linkedin.venice.client.store.predicate.AndPredicate;
+import com.linkedin.venice.client.store.predicate.EqualsRelationalOperator;
+import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.client.store.streaming.ComputeAggregationStreamingCallback;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.streaming.VeniceResponseCompletableFuture;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMapImpl;
+import com.linkedin.venice.compute.ComputeAggregator;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.EqualsFilter;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import com.linkedin.venice.utils.ComputeUtils;
 import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.utils.Time;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -91,6 +101,14 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
   protected List<DotProduct> dotProducts = new LinkedList<>();
   protected List<CosineSimilarity> cosineSimilarities = new LinkedList<>();
 
+  /**
+   * Request-level aggregations, which are pushed down to the backend when the compute request version supports them,
+   * and the partial results from the backend are merged by {@link ComputeAggregationStreamingCallback}.
+   */
+  private Optional<Predicate> filter = Optional.empty();
+  private Optional<String> topKScoreFieldName = Optional.empty();
+  private int topK;
+
   public AbstractAvroComputeRequestBuilder(
       Schema latestValueSchema,
       AvroGenericReadComputeStoreClient storeClient,
@@ -327,6 +345,32 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
     return resultFuture;
   }
 
+  @Override
+  public ComputeRequestBuilder<K> filter(Predicate predicate) {
+    if (predicate == null) {
+      throw new VeniceClientException("Filter predicate should not be null");
+    }
+    this.filter = Optional.of(predicate);
+    return this;
+  }
+
+  @Override
+  public ComputeRequestBuilder<K> topK(String scoreFieldName, int k) {
+    if (scoreFieldName == null) {
+      throw new VeniceClientException("Top-K score field name should not be null");
+    }
+    if (k <= 0) {
+      throw new VeniceClientException("Top-K should be positive, but got: " + k);
+    }
+    this.topKScoreFieldName = Optional.of(scoreFieldName);
+    this.topK = k;
+    return this;
+  }
+
+  protected boolean hasAggregations() {
+    return filter.isPresent() || topKScoreFieldName.isPresent();
+  }
+
   @Override
   public CompletableFuture<VeniceResponseMap<K, GenericRecord>> streamingExecute(Set<K> keys) {
     Map<K, GenericRecord> resultMap = new VeniceConcurrentHashMap<>(keys.size());
@@ -336,7 +380,7 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
             () -> new VeniceResponseMapImpl(resultMap, nonExistingKeyList, false),
             keys.size(),
             streamingStats);
-    streamingExecute(keys, new StreamingCallback<K, GenericRecord>() {
+    StreamingCallback<K, GenericRecord> callback = new StreamingCallback<K, GenericRecord>() {
       @Override
       public void onRecordReceived(K key, GenericRecord value) {
         if (value != null) {
@@ -354,21 +398,43 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
         if (exception.isPresent()) {
           resultFuture.completeExceptionally(exception.get());
         } else {
-          boolean isFullResponse = resultMap.size() + nonExistingKeyList.size() == keys.size();
+          /**
+           * With aggregations, the backend only returns the qualified records, so the response is complete as long as
+           * the request succeeds.
+           */
+          boolean isFullResponse = hasAggregations() || resultMap.size() + nonExistingKeyList.size() == keys.size();
           resultFuture.complete(new VeniceResponseMapImpl(resultMap, nonExistingKeyList, isFullResponse));
         }
       }
-    });
+    };
+
+    executeCompute(keys, callback);
 
     return resultFuture;
   }
 
   @Override
   public void streamingExecute(Set<K> keys, StreamingCallback<K, GenericRecord> callback) throws VeniceClientException {
+    executeCompute(keys, callback);
+  }
+
+  private void executeCompute(Set<K> keys, StreamingCallback<K, GenericRecord> callback) {
     long preRequestTimeInNS = time.nanoseconds();
     Pair<Schema, String> resultSchema = getResultSchema();
+    if (topKScoreFieldName.isPresent() && resultSchema.getFirst().getField(topKScoreFieldName.get()) == null) {
+      throw new VeniceClientException(
+          "Top-K score field: " + topKScoreFieldName.get() + " is neither a projected field nor a result field");
+    }
     // Generate ComputeRequest object
     ComputeRequestWrapper computeRequestWrapper = generateComputeRequest(resultSchema.getSecond());
+    if (hasAggregations()) {
+      boolean isFilterPushedDown = pushDownAggregations(computeRequestWrapper, resultSchema.getFirst());
+      callback = new ComputeAggregationStreamingCallback<>(
+          callback,
+          isFilterPushedDown ? Optional.empty() : filter,
+          topKScoreFieldName,
+          topK);
+    }
 
     if (reuseObjects) {
       storeClient.compute(
@@ -384,6 +450,65 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
     }
   }
 
+  /**
+   * Attaches the aggregations to the compute request if its version could carry them, so that the backend drops the
+   * disqualified compute results before sending them back. The filter could only be pushed down if it only consists
+   * of {@link AndPredicate} and {@link EqualsRelationalOperator} on comparable result fields, and otherwise neither
+   * the filter nor the top-K is pushed down, since the top-K of the unfiltered results might miss some winners.
+   *
+   * @return whether the filter, if any, will be applied by the backend
+   */
+  private boolean pushDownAggregations(ComputeRequestWrapper computeRequestWrapper, Schema resultSchema) {
+    if (!computeRequestWrapper.isAggregationSupported()) {
+      return false;
+    }
+    if (filter.isPresent()) {
+      List<EqualsFilter> equalsFilters = new ArrayList<>();
+      if (!collectEqualsFilters(filter.get(), resultSchema, equalsFilters)) {
+        return false;
+      }
+      computeRequestWrapper.setEqualsFilters(equalsFilters);
+    }
+    if (topKScoreFieldName.isPresent()) {
+      TopK topKSpec = new TopK();
+      topKSpec.scoreFieldName = topKScoreFieldName.get();
+      topKSpec.k = topK;
+      computeRequestWrapper.setTopK(topKSpec);
+    }
+    return true;
+  }
+
+  private boolean collectEqualsFilters(Predicate predicate, Schema resultSchema, List<EqualsFilter> equalsFilters) {
+    if (predicate instanceof AndPredicate) {
+      for (Predicate childPredicate: ((AndPredicate) predicate).getChildPredicates()) {
+        if (!collectEqualsFilters(childPredicate, resultSchema, equalsFilters)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (!(predicate instanceof EqualsRelationalOperator)) {
+      return false;
+    }
+    EqualsRelationalOperator equalsPredicate = (EqualsRelationalOperator) predicate;
+    Schema.Field field = resultSchema.getField(equalsPredicate.getFieldName());
+    if (field == null || !ComputeAggregator.isComparable(field.schema())) {
+      return false;
+    }
+    EqualsFilter equalsFilter = new EqualsFilter();
+    equalsFilter.field = field.name();
+    try {
+      equalsFilter.expectedValue = ByteBuffer.wrap(
+          SerializerDeserializerFactory.getAvroGenericSerializer(field.schema())
+              .serialize(equalsPredicate.getExpectedValue()));
+    } catch (Exception e) {
+      // The expected value doesn't fit the field schema, which could only be evaluated on the client side.
+      return false;
+    }
+    equalsFilters.add(equalsFilter);
+    return true;
+  }
+
   protected void checkComputeFieldValidity(
       String computeFieldName,
       String resultFieldName,
@@ -3,6 +3,7 @@ package com.linkedin.venice.client.store;
 import static com.linkedin.venice.HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID;
 import static com.linkedin.venice.HttpConstants.VENICE_KEY_COUNT;
 import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V2;
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V4;
 import static com.linkedin.venice.streaming.StreamingConstants.KEY_ID_FOR_STREAMING_FOOTER;
 
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
@@ -86,8 +87,10 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
   private static final Map<String, String> MULTI_GET_HEADER_MAP_FOR_STREAMING;
   private static final Map<String, String> COMPUTE_HEADER_MAP_V2 = new HashMap<>();
   private static final Map<String, String> COMPUTE_HEADER_MAP_V3 = new HashMap<>();
+  private static final Map<String, String> COMPUTE_HEADER_MAP_V4 = new HashMap<>();
   protected static final Map<String, String> COMPUTE_HEADER_MAP_FOR_STREAMING_V2;
   protected static final Map<String, String> COMPUTE_HEADER_MAP_FOR_STREAMING_V3;
+  protected static final Map<String, String> COMPUTE_HEADER_MAP_FOR_STREAMING_V4;
 
   static {
     /**
@@ -119,6 +122,10 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
         HttpConstants.VENICE_API_VERSION,
         Integer.toString(ReadAvroProtocolDefinition.COMPUTE_REQUEST_V3.getProtocolVersion()));
 
+    COMPUTE_HEADER_MAP_V4.put(
+        HttpConstants.VENICE_API_VERSION,
+        Integer.toString(ReadAvroProtocolDefinition.COMPUTE_REQUEST_V4.getProtocolVersion()));
+
     MULTI_GET_HEADER_MAP_FOR_STREAMING = new HashMap<>(MULTI_GET_HEADER_MAP);
     MULTI_GET_HEADER_MAP_FOR_STREAMING.put(HttpConstants.VENICE_STREAMING, "1");
 
@@ -128,6 +135,9 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
     COMPUTE_HEADER_MAP_FOR_STREAMING_V3 = new HashMap<>(COMPUTE_HEADER_MAP_V3);
     COMPUTE_HEADER_MAP_FOR_STREAMING_V3.put(HttpConstants.VENICE_STREAMING, "1");
 
+    COMPUTE_HEADER_MAP_FOR_STREAMING_V4 = new HashMap<>(COMPUTE_HEADER_MAP_V4);
+    COMPUTE_HEADER_MAP_FOR_STREAMING_V4.put(HttpConstants.VENICE_STREAMING, "1");
+
     AvroVersion version = AvroCompatibilityHelper.getRuntimeAvroVersion();
     LOGGER.info("Detected: {} on the classpath.", version);
   }
@@ -602,7 +612,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
       final long preRequestTimeInNS) {
     if (reuseObjectsForSerialization) {
       AvroSerializer.ReusableObjects reusableObjects = AvroSerializer.REUSE.get();
-      return new AvroComputeRequestBuilderV3<>(
+      return new AvroComputeRequestBuilderV4<>(
           getLatestValueSchema(),
           computeStoreClient,
           stats,
@@ -611,8 +621,17 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
           reusableObjects.getBinaryEncoder(),
           reusableObjects.getByteArrayOutputStream());
     } else {
-      return new AvroComputeRequestBuilderV3<>(getLatestValueSchema(), computeStoreClient, stats, streamingStats);
+      return new AvroComputeRequestBuilderV4<>(getLatestValueSchema(), computeStoreClient, stats, streamingStats);
+    }
+  }
+
+  protected static Map<String, String> getComputeHeaderMapForStreaming(int computeRequestVersion) {
+    if (computeRequestVersion == COMPUTE_REQUEST_VERSION_V2) {
+      return COMPUTE_HEADER_MAP_FOR_STREAMING_V2;
+    } else if (computeRequestVersion == COMPUTE_REQUEST_VERSION_V4) {
+      return COMPUTE_HEADER_MAP_FOR_STREAMING_V4;
     }
+    return COMPUTE_HEADER_MAP_FOR_STREAMING_V3;
   }
 
   private byte[] serializeComputeRequest(List<K> keyList, byte[] serializedComputeRequest) {
@@ -1082,9 +1101,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
         stats -> stats.recordRequestSerializationTime(LatencyUtils.getLatencyInMS(preRequestSerializationNS)));
 
     final Map<String, String> headerMap =
-        (computeRequestWrapper.getComputeRequestVersion() == COMPUTE_REQUEST_VERSION_V2)
-            ? new HashMap<>(COMPUTE_HEADER_MAP_FOR_STREAMING_V2)
-            : new HashMap<>(COMPUTE_HEADER_MAP_FOR_STREAMING_V3);
+        new HashMap<>(getComputeHeaderMapForStreaming(computeRequestWrapper.getComputeRequestVersion()));
     int schemaId = getSchemaReader().getValueSchemaId(computeRequestWrapper.getValueSchema());
     headerMap.put(VENICE_KEY_COUNT, Integer.toString(keyList.size()));
     headerMap.put(VENICE_COMPUTE_VALUE_SCHEMA_ID, Integer.toString(schemaId));
@@ -1,7 +1,5 @@
 package com.linkedin.venice.client.store;
 
-import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V2;
-
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.streaming.TrackingStreamingCallback;
@@ -70,9 +68,7 @@ public class AvroBlackHoleResponseStoreClientImpl<K, V> extends AvroGenericStore
         : serializeComputeRequest(keys, serializedComputeRequest);
 
     final Map<String, String> headerMap =
-        (computeRequestWrapper.getComputeRequestVersion() == COMPUTE_REQUEST_VERSION_V2)
-            ? COMPUTE_HEADER_MAP_FOR_STREAMING_V2
-            : COMPUTE_HEADER_MAP_FOR_STREAMING_V3;
+        getComputeHeaderMapForStreaming(computeRequestWrapper.getComputeRequestVersion());
 
     getTransportClient().streamPost(
         getComputeRequestPath(),
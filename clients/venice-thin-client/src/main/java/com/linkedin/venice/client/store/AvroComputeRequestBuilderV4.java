@@ -1,5 +1,6 @@
 package com.linkedin.venice.client.store;
 
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V3;
 import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V4;
 import static org.apache.avro.Schema.Type.RECORD;
 
@@ -31,6 +32,11 @@ import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryEncoder;
 
 
+/**
+ * This class adds the request-level aggregations, i.e. filter and top-K, to the compute request, so that they could be
+ * evaluated by the backend. Compute requests without aggregations are still sent as version 3, so they keep working
+ * against the routers and servers which don't support version 4 yet.
+ */
 public class AvroComputeRequestBuilderV4<K> extends AvroComputeRequestBuilderV3<K> {
   private static final int COMPUTE_REQUEST_VERSION = COMPUTE_REQUEST_VERSION_V4;
 
@@ -42,6 +48,25 @@ public class AvroComputeRequestBuilderV4<K> extends AvroComputeRequestBuilderV3<
     this(latestValueSchema, storeClient, stats, streamingStats, new SystemTime(), false, null, null);
   }
 
+  public AvroComputeRequestBuilderV4(
+      Schema latestValueSchema,
+      AvroGenericReadComputeStoreClient storeClient,
+      Optional<ClientStats> stats,
+      Optional<ClientStats> streamingStats,
+      boolean reuseObjects,
+      BinaryEncoder reusedEncoder,
+      ByteArrayOutputStream reusedOutputStream) {
+    this(
+        latestValueSchema,
+        storeClient,
+        stats,
+        streamingStats,
+        new SystemTime(),
+        reuseObjects,
+        reusedEncoder,
+        reusedOutputStream);
+  }
+
   public AvroComputeRequestBuilderV4(
       Schema latestValueSchema,
       AvroGenericReadComputeStoreClient storeClient,
@@ -57,7 +82,8 @@ public class AvroComputeRequestBuilderV4<K> extends AvroComputeRequestBuilderV3<
   @Override
   protected ComputeRequestWrapper generateComputeRequest(String resultSchemaStr) {
     // Generate ComputeRequestWrapper object
-    ComputeRequestWrapper computeRequestWrapper = new ComputeRequestWrapper(COMPUTE_REQUEST_VERSION);
+    ComputeRequestWrapper computeRequestWrapper =
+        new ComputeRequestWrapper(hasAggregations() ? COMPUTE_REQUEST_VERSION : COMPUTE_REQUEST_VERSION_V3);
     computeRequestWrapper.setResultSchemaStr(resultSchemaStr);
     computeRequestWrapper.setOperations(getComputeRequestOperations());
     computeRequestWrapper.setValueSchema(latestValueSchema);
@@ -69,6 +69,40 @@ public interface ComputeRequestBuilder<K> {
       List<Float> hadamardProductParam,
       String resultFieldName);
 
+  /**
+   * Only keep the compute results which satisfy the given predicate, which is evaluated against the compute result
+   * record, so it could refer to both the projected fields and the computed result fields.
+   *
+   * A predicate of AND and EQUALS operators on fields without maps is evaluated by the storage nodes, so the
+   * disqualified records won't be sent back; any other predicate is evaluated on the client side. Requests with a
+   * filter or top-K use compute request version 4, so routers and servers must be upgraded before the clients use it.
+   *
+   * This experimental feature is subject to backwards-incompatible changes in the future.
+   *
+   * @param predicate : predicate which the returned compute result records should satisfy
+   * @return
+   */
+  @Experimental
+  default ComputeRequestBuilder<K> filter(Predicate predicate) {
+    throw new VeniceClientException("Filter is not supported by " + getClass().getSimpleName());
+  }
+
+  /**
+   * Only keep the K compute results with the highest score in the given result field, which will be returned
+   * in descending order of the score once all the candidate records have been computed. Records without a numeric
+   * score will be skipped. Each storage node only returns its own top-K, which are merged by the client.
+   *
+   * This experimental feature is subject to backwards-incompatible changes in the future.
+   *
+   * @param scoreFieldName : projected or computed result field, whose value is used as the score
+   * @param k : number of compute results to keep
+   * @return
+   */
+  @Experimental
+  default ComputeRequestBuilder<K> topK(String scoreFieldName, int k) {
+    throw new VeniceClientException("Top-K is not supported by " + getClass().getSimpleName());
+  }
+
   /**
    * Send compute request to Venice, and this should be the last step of the compute specification.
    * @param keys : keys for the candidate records
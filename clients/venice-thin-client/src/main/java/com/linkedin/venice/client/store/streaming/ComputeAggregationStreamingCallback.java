@@ -0,0 +1,81 @@
+package com.linkedin.venice.client.store.streaming;
+
+import com.linkedin.venice.annotation.Experimental;
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.compute.ComputeAggregator;
+import com.linkedin.venice.utils.Pair;
+import java.util.Optional;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * This class applies the request-level aggregations of a compute request to the compute results before handing them
+ * over to the inner {@link StreamingCallback}:
+ * 1. The predicate filter drops the compute results which don't satisfy the given {@link Predicate}, which is
+ *    evaluated against the compute result record, so it could refer to both projected fields and computed results.
+ * 2. The top-K selection only keeps the K compute results with the highest score in the given result field, which
+ *    are passed to the inner callback in descending order of the score once all the results have been received.
+ *
+ * When the aggregations are pushed down to the backend, the filter has already been applied, and this class only
+ * merges the partial top-K results returned by different storage nodes into the global top-K.
+ * The top-K selection is done by {@link ComputeAggregator}, the same as in the backend, so that the results are ranked
+ * in the same way.
+ *
+ * Non-existing keys are passed through as they are, so that the inner callback could still tell them apart.
+ */
+@Experimental
+public class ComputeAggregationStreamingCallback<K> extends StreamingCallback<K, GenericRecord> {
+  private final StreamingCallback<K, GenericRecord> inner;
+  private final Optional<Predicate> filter;
+  /**
+   * The top-K selection of the key and compute result pairs, or null if there is no top-K.
+   */
+  private final ComputeAggregator<Pair<K, GenericRecord>> topKMerger;
+
+  public ComputeAggregationStreamingCallback(
+      StreamingCallback<K, GenericRecord> inner,
+      Optional<Predicate> filter,
+      Optional<String> topKScoreFieldName,
+      int topK) {
+    if (topKScoreFieldName.isPresent() && topK <= 0) {
+      throw new VeniceClientException("Top-K should be positive, but got: " + topK);
+    }
+    this.inner = inner;
+    this.filter = filter;
+    this.topKMerger = topKScoreFieldName.isPresent()
+        ? ComputeAggregator.createTopKMerger(topKScoreFieldName.get(), topK)
+        : null;
+  }
+
+  @Override
+  public void onRecordReceived(K key, GenericRecord value) {
+    if (value == null) {
+      inner.onRecordReceived(key, null);
+      return;
+    }
+    if (filter.isPresent() && !filter.get().evaluate(value)) {
+      return;
+    }
+    if (topKMerger == null) {
+      inner.onRecordReceived(key, value);
+      return;
+    }
+    // The score could be null if the computation failed for this record, which won't be ranked.
+    Double score = topKMerger.getScore(value);
+    if (score != null) {
+      // Records could be received in parallel, which is handled by the aggregator.
+      topKMerger.offer(score, Pair.create(key, value));
+    }
+  }
+
+  @Override
+  public void onCompletion(Optional<Exception> exception) {
+    if (topKMerger != null && !exception.isPresent()) {
+      for (Pair<K, GenericRecord> winner: topKMerger.drainTopK()) {
+        inner.onRecordReceived(winner.getFirst(), winner.getSecond());
+      }
+    }
+    inner.onCompletion(exception);
+  }
+}
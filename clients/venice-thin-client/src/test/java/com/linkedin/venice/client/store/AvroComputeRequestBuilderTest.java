@@ -5,10 +5,10 @@ import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V4;
 import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
 import static com.linkedin.venice.client.store.predicate.PredicateBuilder.and;
 import static com.linkedin.venice.client.store.predicate.PredicateBuilder.equalTo;
-import static com.linkedin.venice.compute.ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COSINE_SIMILARITY;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.DOT_PRODUCT;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.HADAMARD_PRODUCT;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -20,8 +20,10 @@ import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.EqualsFilter;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import com.linkedin.venice.utils.Utils;
@@ -227,10 +229,10 @@ public class AvroComputeRequestBuilderTest {
     Assert.assertEquals(capturedComputeRequest.getResultSchemaStr().toString(), expectedSchema);
     Assert.assertEquals(capturedComputeRequest.getOperations().size(), 3);
     /**
-     * Compute request version should be {@link LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST}
+     * Compute request version should be {@link COMPUTE_REQUEST_VERSION_V3}
      * if {@link AvroComputeRequestBuilderV3#hadamardProduct(String, List, String)} is invoked.
      */
-    Assert.assertEquals(capturedComputeRequest.getComputeRequestVersion(), LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST);
+    Assert.assertEquals(capturedComputeRequest.getComputeRequestVersion(), COMPUTE_REQUEST_VERSION_V3);
 
     // Verify hadamard-product parameter
     List<Float> expectedHadamardProductParam = new ArrayList<>();
@@ -393,6 +395,80 @@ public class AvroComputeRequestBuilderTest {
     computeRequestBuilder.execute(keys);
   }
 
+  @Test(expectedExceptions = VeniceClientException.class, expectedExceptionsMessageRegExp = "Top-K should be positive.*")
+  public void testTopKWithNonPositiveK() {
+    AbstractAvroStoreClient mockClient = getMockClient();
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3(VALID_RECORD_SCHEMA, mockClient, Optional.empty(), Optional.empty());
+    computeRequestBuilder.topK("int_field", 0);
+  }
+
+  @Test(expectedExceptions = VeniceClientException.class, expectedExceptionsMessageRegExp = "Top-K score field: float_field is neither.*")
+  public void testTopKAgainstNonResultField() {
+    AbstractAvroStoreClient mockClient = getMockClient();
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3(VALID_RECORD_SCHEMA, mockClient, Optional.empty(), Optional.empty());
+    computeRequestBuilder.project("int_field")
+        .dotProduct("float_array_field1", dotProductParam, "dot_product_result")
+        .topK("float_field", 10);
+    computeRequestBuilder.execute(keys);
+  }
+
+  @Test
+  public void testAggregationsArePushedDown() {
+    AbstractAvroStoreClient mockClient = getMockClient();
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    new AvroComputeRequestBuilderV4<String>(VALID_RECORD_SCHEMA, mockClient, Optional.empty(), Optional.empty())
+        .project("int_field")
+        .dotProduct("float_array_field1", dotProductParam, "dot_product_result")
+        .filter(and(equalTo("int_field", 3)))
+        .topK("dot_product_result", 10)
+        .streamingExecute(keys, mock(StreamingCallback.class));
+    verify(mockClient)
+        .compute(computeRequestCaptor.capture(), any(), resultSchemaCaptor.capture(), any(), Mockito.anyLong());
+
+    ComputeRequestWrapper computeRequest = computeRequestCaptor.getValue();
+    Assert.assertEquals(computeRequest.getComputeRequestVersion(), COMPUTE_REQUEST_VERSION_V4);
+    Assert.assertEquals(computeRequest.getEqualsFilters().size(), 1);
+    EqualsFilter equalsFilter = computeRequest.getEqualsFilters().get(0);
+    Assert.assertEquals(equalsFilter.field.toString(), "int_field");
+    RecordDeserializer<Object> expectedValueDeserializer = SerializerDeserializerFactory
+        .getAvroGenericDeserializer(resultSchemaCaptor.getValue().getField("int_field").schema());
+    Assert.assertEquals(expectedValueDeserializer.deserialize(equalsFilter.expectedValue), 3);
+    Assert.assertEquals(computeRequest.getTopK().scoreFieldName.toString(), "dot_product_result");
+    Assert.assertEquals(computeRequest.getTopK().k, 10);
+  }
+
+  @Test
+  public void testAggregationsAreNotPushedDownWithUnsupportedPredicate() {
+    AbstractAvroStoreClient mockClient = getMockClient();
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    new AvroComputeRequestBuilderV4<String>(VALID_RECORD_SCHEMA, mockClient, Optional.empty(), Optional.empty())
+        .project("int_field")
+        .dotProduct("float_array_field1", dotProductParam, "dot_product_result")
+        .filter(record -> ((Integer) record.get("int_field")) > 3)
+        .topK("dot_product_result", 10)
+        .streamingExecute(keys, mock(StreamingCallback.class));
+    verify(mockClient).compute(computeRequestCaptor.capture(), any(), any(), any(), Mockito.anyLong());
+
+    // The top-K of the unfiltered results might miss some winners, so it is not pushed down either
+    ComputeRequestWrapper computeRequest = computeRequestCaptor.getValue();
+    Assert.assertNull(computeRequest.getEqualsFilters());
+    Assert.assertNull(computeRequest.getTopK());
+  }
+
+  @Test
+  public void testComputeRequestWithoutAggregationsUsesV3() {
+    AbstractAvroStoreClient mockClient = getMockClient();
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    new AvroComputeRequestBuilderV4<String>(VALID_RECORD_SCHEMA, mockClient, Optional.empty(), Optional.empty())
+        .project("int_field")
+        .streamingExecute(keys, mock(StreamingCallback.class));
+    verify(mockClient).compute(computeRequestCaptor.capture(), any(), any(), any(), Mockito.anyLong());
+    Assert.assertEquals(computeRequestCaptor.getValue().getComputeRequestVersion(), COMPUTE_REQUEST_VERSION_V3);
+  }
+
   @Test
   public void testFilterExtractPrefixBytes() {
     AbstractAvroStoreClient mockClient = getMockClient();
@@ -0,0 +1,117 @@
+package com.linkedin.venice.client.store.streaming;
+
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.client.store.predicate.PredicateBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ComputeAggregationStreamingCallbackTest {
+  private static final Schema RESULT_SCHEMA = new Schema.Parser().parse(
+      "{\"type\":\"record\",\"name\":\"test_VeniceComputeResult\",\"fields\":["
+          + "{\"name\":\"category\",\"type\":\"string\"},"
+          + "{\"name\":\"score\",\"type\":[\"null\",\"float\"],\"default\":null}]}");
+
+  private static class CollectingCallback extends StreamingCallback<String, GenericRecord> {
+    private final List<String> keys = new ArrayList<>();
+    private final List<String> nonExistingKeys = new ArrayList<>();
+    private Optional<Exception> completion = null;
+
+    @Override
+    public void onRecordReceived(String key, GenericRecord value) {
+      if (value == null) {
+        nonExistingKeys.add(key);
+      } else {
+        keys.add(key);
+      }
+    }
+
+    @Override
+    public void onCompletion(Optional<Exception> exception) {
+      completion = exception;
+    }
+  }
+
+  private static GenericRecord createRecord(String category, Float score) {
+    GenericRecord record = new GenericData.Record(RESULT_SCHEMA);
+    record.put("category", category);
+    record.put("score", score);
+    return record;
+  }
+
+  private static void sendRecords(StreamingCallback<String, GenericRecord> callback) {
+    callback.onRecordReceived("key_1", createRecord("a", 1.0f));
+    callback.onRecordReceived("key_2", createRecord("b", 5.0f));
+    callback.onRecordReceived("key_3", null);
+    callback.onRecordReceived("key_4", createRecord("a", 3.0f));
+    callback.onRecordReceived("key_5", createRecord("a", null));
+    callback.onRecordReceived("key_6", createRecord("b", 4.0f));
+    callback.onRecordReceived("key_7", createRecord("a", 2.0f));
+  }
+
+  @Test
+  public void testFilter() {
+    CollectingCallback inner = new CollectingCallback();
+    ComputeAggregationStreamingCallback<String> callback = new ComputeAggregationStreamingCallback<>(
+        inner,
+        Optional.of(PredicateBuilder.equalTo("category", "a")),
+        Optional.empty(),
+        0);
+    sendRecords(callback);
+    // Filtered records should be passed through right away
+    Assert.assertEquals(inner.keys, Arrays.asList("key_1", "key_4", "key_5", "key_7"));
+    Assert.assertEquals(inner.nonExistingKeys, Arrays.asList("key_3"));
+    callback.onCompletion(Optional.empty());
+    Assert.assertEquals(inner.completion, Optional.empty());
+  }
+
+  @Test
+  public void testTopK() {
+    CollectingCallback inner = new CollectingCallback();
+    ComputeAggregationStreamingCallback<String> callback =
+        new ComputeAggregationStreamingCallback<>(inner, Optional.empty(), Optional.of("score"), 3);
+    sendRecords(callback);
+    Assert.assertTrue(inner.keys.isEmpty());
+    Assert.assertEquals(inner.nonExistingKeys, Arrays.asList("key_3"));
+    callback.onCompletion(Optional.empty());
+    Assert.assertEquals(inner.keys, Arrays.asList("key_2", "key_6", "key_4"));
+    Assert.assertEquals(inner.completion, Optional.empty());
+  }
+
+  @Test
+  public void testFilterWithTopK() {
+    CollectingCallback inner = new CollectingCallback();
+    ComputeAggregationStreamingCallback<String> callback = new ComputeAggregationStreamingCallback<>(
+        inner,
+        Optional.of(PredicateBuilder.equalTo("category", "a")),
+        Optional.of("score"),
+        2);
+    sendRecords(callback);
+    callback.onCompletion(Optional.empty());
+    Assert.assertEquals(inner.keys, Arrays.asList("key_4", "key_7"));
+  }
+
+  @Test
+  public void testTopKNotEmittedOnFailure() {
+    CollectingCallback inner = new CollectingCallback();
+    ComputeAggregationStreamingCallback<String> callback =
+        new ComputeAggregationStreamingCallback<>(inner, Optional.empty(), Optional.of("score"), 3);
+    sendRecords(callback);
+    Exception exception = new VeniceClientException("test");
+    callback.onCompletion(Optional.of(exception));
+    Assert.assertTrue(inner.keys.isEmpty());
+    Assert.assertEquals(inner.completion, Optional.of(exception));
+  }
+
+  @Test(expectedExceptions = VeniceClientException.class)
+  public void testInvalidTopK() {
+    new ComputeAggregationStreamingCallback<>(new CollectingCallback(), Optional.empty(), Optional.of("score"), 0);
+  }
+}
@@ -42,4 +42,12 @@ public interface ResourcePath<K> {
    */
   default void setRetryRequest() {
   }
+
+  /**
+   * Same as {@link #setRetryRequest()}, and tells whether the retry is triggered by the long-tail timeout of the
+   * original request, or by its error response.
+   */
+  default void setRetryRequest(boolean longTailRetry) {
+    setRetryRequest();
+  }
 }
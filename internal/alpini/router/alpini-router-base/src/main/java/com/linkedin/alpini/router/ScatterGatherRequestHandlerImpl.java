@@ -679,8 +679,8 @@ public abstract class ScatterGatherRequestHandlerImpl<H, P extends ResourcePath<
         // Indicates if the request could be retried
         boolean isRequestRetriable = isRequestRetriable(path, role, retryStatus);
 
-        // Indicate the current request is a retry request
-        path.setRetryRequest();
+        // Indicate the current request is a retry request, and a long-tail retry unless it is the last attempt
+        path.setRetryRequest(!lastAttempt);
 
         HostHealthMonitor<H> healthMonitor =
             _scatterGatherHelper.isEnableRetryRequestAlwaysUseADifferentHost() ? (H host, String partName) ->
@@ -792,7 +792,7 @@ public abstract class ScatterGatherRequestHandlerImpl<H, P extends ResourcePath<
                 for (ScatterGatherRequest<H, K> part: scatter.getOnlineRequests()) {
                   final P partPath = scatter.pathFor(part);
                   // Mark this as a retry request
-                  partPath.setRetryRequest();
+                  partPath.setRetryRequest(!lastAttempt);
 
                   AsyncPromise<H> retryHostFuture = AsyncFuture.deferred(false);
 
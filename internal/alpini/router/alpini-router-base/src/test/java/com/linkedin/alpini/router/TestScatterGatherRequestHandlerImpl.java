@@ -331,7 +331,7 @@ public class TestScatterGatherRequestHandlerImpl {
     AsyncPromise mockResponseFuture = mock(AsyncPromise.class);
     setupTestRetryFailure(mockRetryPath, mockResponseFuture)
         .operationComplete(AsyncFuture.success(Status.GATEWAY_TIMEOUT));
-    verify(mockRetryPath).setRetryRequest();
+    verify(mockRetryPath).setRetryRequest(true);
     verify(mockResponseFuture, never()).setSuccess(any());
   }
 
@@ -341,7 +341,7 @@ public class TestScatterGatherRequestHandlerImpl {
     AsyncPromise mockResponseFuture = mock(AsyncPromise.class);
     setupTestRetryFailure(mockRetryPath, mockResponseFuture)
         .operationComplete(AsyncFuture.failed(new NullPointerException()));
-    verify(mockRetryPath).setRetryRequest();
+    verify(mockRetryPath).setRetryRequest(false);
     verify(mockResponseFuture, never()).setSuccess(any());
   }
 
@@ -357,7 +357,7 @@ public class TestScatterGatherRequestHandlerImpl {
                 Status.GATEWAY_TIMEOUT._code,
                 Status.GATEWAY_TIMEOUT.name(),
                 false)));
-    verify(mockRetryPath).setRetryRequest();
+    verify(mockRetryPath).setRetryRequest(true);
     verify(mockResponseFuture, never()).setSuccess(any());
   }
 
@@ -391,7 +391,7 @@ public class TestScatterGatherRequestHandlerImpl {
 
     // hostFuture should be set as we retry the request
     verify(hostFuture).isSuccess();
-    verify(mockRetryPath).setRetryRequest();
+    verify(mockRetryPath).setRetryRequest(false);
     verify(mockResponseFuture, never()).setSuccess(any());
   }
 
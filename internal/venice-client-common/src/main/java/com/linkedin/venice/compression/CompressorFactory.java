@@ -14,6 +14,7 @@ public class CompressorFactory implements Closeable, AutoCloseable {
   private static final Logger LOGGER = LogManager.getLogger(CompressorFactory.class);
   private static final VeniceCompressor NO_OP_COMPRESSOR = new NoopCompressor();
   private static final VeniceCompressor GZIP_COMPRESSOR = new GzipCompressor();
+  private static final VeniceCompressor LZ4_COMPRESSOR = new Lz4Compressor();
   private final Map<String, VeniceCompressor> versionSpecificCompressorMap = new VeniceConcurrentHashMap<>();
 
   public VeniceCompressor getCompressor(CompressionStrategy compressionStrategy) {
@@ -22,6 +23,8 @@ public class CompressorFactory implements Closeable, AutoCloseable {
         return NO_OP_COMPRESSOR;
       case GZIP:
         return GZIP_COMPRESSOR;
+      case LZ4:
+        return LZ4_COMPRESSOR;
       case ZSTD_WITH_DICT:
         throw new IllegalArgumentException(
             "For " + CompressionStrategy.ZSTD_WITH_DICT + ", please call createVersionSpecificCompressorIfNotExist.");
@@ -74,6 +77,7 @@ public class CompressorFactory implements Closeable, AutoCloseable {
   public void close() {
     IOUtils.closeQuietly(NO_OP_COMPRESSOR, LOGGER::error);
     IOUtils.closeQuietly(GZIP_COMPRESSOR, LOGGER::error);
+    IOUtils.closeQuietly(LZ4_COMPRESSOR, LOGGER::error);
 
     for (String topic: versionSpecificCompressorMap.keySet()) {
       removeVersionSpecificCompressor(topic);
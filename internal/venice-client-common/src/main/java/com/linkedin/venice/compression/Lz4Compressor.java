@@ -0,0 +1,98 @@
+package com.linkedin.venice.compression;
+
+import com.linkedin.venice.utils.ByteUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.apache.commons.io.IOUtils;
+
+
+/**
+ * LZ4 trades some compression ratio for a much cheaper decompression than GZIP, and it doesn't need a dictionary, so
+ * it fits the stores with small and hot values, whose read latency is dominated by the decompression.
+ *
+ * Each value is compressed as a single LZ4 block, which is prefixed by the decompressed size as a 4-byte int, so that
+ * the decompression could allocate the exact output buffer upfront:
+ * | decompressed size (4 bytes) | LZ4 block |
+ *
+ * Both the compressor and the decompressor are stateless, so this class is thread-safe.
+ */
+public class Lz4Compressor extends VeniceCompressor {
+  private static final int SIZE_PREFIX_LENGTH = Integer.BYTES;
+
+  private final LZ4Compressor compressor;
+  private final LZ4SafeDecompressor decompressor;
+
+  public Lz4Compressor() {
+    super(CompressionStrategy.LZ4);
+    LZ4Factory factory = LZ4Factory.fastestInstance();
+    this.compressor = factory.fastCompressor();
+    this.decompressor = factory.safeDecompressor();
+  }
+
+  @Override
+  public byte[] compress(byte[] data) {
+    int maxCompressedLength = compressor.maxCompressedLength(data.length);
+    byte[] compressed = new byte[SIZE_PREFIX_LENGTH + maxCompressedLength];
+    ByteUtils.writeInt(compressed, data.length, 0);
+    int compressedLength =
+        compressor.compress(data, 0, data.length, compressed, SIZE_PREFIX_LENGTH, maxCompressedLength);
+    return Arrays.copyOf(compressed, SIZE_PREFIX_LENGTH + compressedLength);
+  }
+
+  @Override
+  public ByteBuffer compress(ByteBuffer data) {
+    return ByteBuffer.wrap(compress(ByteUtils.extractByteArray(data)));
+  }
+
+  @Override
+  public ByteBuffer decompress(ByteBuffer data) throws IOException {
+    if (!data.hasRemaining()) {
+      return data;
+    }
+    return decompress(data.array(), data.arrayOffset() + data.position(), data.remaining());
+  }
+
+  @Override
+  public ByteBuffer decompress(byte[] data, int offset, int length) throws IOException {
+    if (length < SIZE_PREFIX_LENGTH) {
+      throw new IOException(
+          "LZ4 compressed data should have at least " + SIZE_PREFIX_LENGTH + " bytes, but got: " + length);
+    }
+    int decompressedLength = ByteUtils.readInt(data, offset);
+    if (decompressedLength < 0) {
+      throw new IOException("Invalid decompressed size of LZ4 compressed data: " + decompressedLength);
+    }
+    byte[] decompressed = new byte[decompressedLength];
+    int actualLength;
+    try {
+      actualLength = decompressor.decompress(
+          data,
+          offset + SIZE_PREFIX_LENGTH,
+          length - SIZE_PREFIX_LENGTH,
+          decompressed,
+          0,
+          decompressedLength);
+    } catch (LZ4Exception e) {
+      throw new IOException("Failed to decompress LZ4 compressed data", e);
+    }
+    if (actualLength != decompressedLength) {
+      throw new IOException(
+          "Decompressed size: " + actualLength + " doesn't match the expected size: " + decompressedLength);
+    }
+    return ByteBuffer.wrap(decompressed);
+  }
+
+  @Override
+  public InputStream decompress(InputStream inputStream) throws IOException {
+    // The values are small, so it is cheaper to decompress the whole block at once than to go through a block stream.
+    byte[] data = IOUtils.toByteArray(inputStream);
+    return new ByteArrayInputStream(decompress(data, 0, data.length).array());
+  }
+}
@@ -3,18 +3,26 @@ package com.linkedin.venice.compression;
 import static com.linkedin.venice.utils.ByteUtils.BYTES_PER_KB;
 import static com.linkedin.venice.utils.ByteUtils.BYTES_PER_MB;
 
+import com.github.luben.zstd.Zstd;
 import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdDictDecompress;
 import com.github.luben.zstd.ZstdDictTrainer;
 import com.github.luben.zstd.ZstdInputStream;
 import com.linkedin.venice.compression.protocol.FakeCompressingSchema;
 import com.linkedin.venice.serializer.AvroSerializer;
 import com.linkedin.venice.utils.ByteUtils;
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.io.IOUtils;
@@ -23,11 +31,30 @@ import org.apache.commons.io.IOUtils;
 public class ZstdWithDictCompressor extends VeniceCompressor {
   private ZstdCompressCtx compressor;
   private byte[] dictionary;
+  /**
+   * The dictionary is digested only once, and shared by all the decompression contexts.
+   */
+  private final ZstdDictDecompress decompressDictionary;
+  /**
+   * Decompression contexts are costly to create and to load a dictionary into, and they are not thread-safe, so they
+   * are pooled and each decompression borrows one for its duration. The pool grows up to the max number of concurrent
+   * decompressions.
+   */
+  private final Queue<ZstdDecompressCtx> decompressContextPool = new ConcurrentLinkedQueue<>();
+  /**
+   * The number of the borrowed contexts and the open decompression streams, which reference the dictionary. The
+   * contexts borrowed at the time of {@link #close()} are closed when they are returned, and the dictionary is closed
+   * once the last context is back and the last stream is closed.
+   */
+  private final AtomicInteger dictionaryUserCount = new AtomicInteger();
+  private final AtomicBoolean decompressDictionaryClosed = new AtomicBoolean();
+  private volatile boolean closed = false;
 
   public ZstdWithDictCompressor(final byte[] dictionary, int level) {
     super(CompressionStrategy.ZSTD_WITH_DICT);
     this.dictionary = dictionary;
     compressor = new ZstdCompressCtx().loadDict(this.dictionary).setLevel(level);
+    decompressDictionary = new ZstdDictDecompress(this.dictionary);
   }
 
   @Override
@@ -49,25 +76,116 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
 
   @Override
   public ByteBuffer decompress(ByteBuffer data) throws IOException {
-    return data.hasRemaining() ? decompress(data.array(), data.position(), data.remaining()) : data;
+    return data.hasRemaining()
+        ? decompress(data.array(), data.arrayOffset() + data.position(), data.remaining())
+        : data;
   }
 
   @Override
   public ByteBuffer decompress(byte[] data, int offset, int length) throws IOException {
-    // TODO: Investigate using ZstdDirectBufferDecompressingStream instead of copying data.
-    try (InputStream zis = decompress(new ByteArrayInputStream(data, offset, length))) {
-      return ByteBuffer.wrap(IOUtils.toByteArray(zis));
+    long decompressedSize = Zstd.decompressedSize(data, offset, length);
+    if (decompressedSize <= 0 || decompressedSize > Integer.MAX_VALUE) {
+      // The frame doesn't carry the content size, e.g. it was produced by a streaming compressor.
+      try (InputStream zis = decompress(new ByteArrayInputStream(data, offset, length))) {
+        return ByteBuffer.wrap(IOUtils.toByteArray(zis));
+      }
+    }
+    byte[] output = new byte[(int) decompressedSize];
+    ZstdDecompressCtx decompressContext = borrowDecompressContext();
+    try {
+      decompressContext.decompressByteArray(output, 0, output.length, data, offset, length);
+    } catch (RuntimeException e) {
+      throw new IOException("Failed to decompress " + length + " bytes with zstd dictionary", e);
+    } finally {
+      returnDecompressContext(decompressContext);
+    }
+    return ByteBuffer.wrap(output);
+  }
+
+  private ZstdDecompressCtx borrowDecompressContext() {
+    acquireDictionary();
+    ZstdDecompressCtx decompressContext = decompressContextPool.poll();
+    return decompressContext != null ? decompressContext : new ZstdDecompressCtx().loadDict(decompressDictionary);
+  }
+
+  /**
+   * A context returned after {@link #close()} is closed right away rather than kept in the pool, since nobody else
+   * would close it.
+   */
+  private void returnDecompressContext(ZstdDecompressCtx decompressContext) {
+    decompressContextPool.offer(decompressContext);
+    releaseDictionary();
+  }
+
+  private void acquireDictionary() {
+    dictionaryUserCount.incrementAndGet();
+    if (closed) {
+      dictionaryUserCount.decrementAndGet();
+      closeIdleResources();
+      throw new IllegalStateException("The zstd compressor has already been closed");
+    }
+  }
+
+  private void releaseDictionary() {
+    dictionaryUserCount.decrementAndGet();
+    if (closed) {
+      closeIdleResources();
+    }
+  }
+
+  /**
+   * Closes the pooled contexts, and the dictionary once no context referencing it is borrowed anymore. Polling makes
+   * sure each context is closed by a single thread, even if the last borrowers return their contexts concurrently.
+   */
+  private void closeIdleResources() {
+    ZstdDecompressCtx decompressContext;
+    while ((decompressContext = decompressContextPool.poll()) != null) {
+      decompressContext.close();
+    }
+    if (dictionaryUserCount.get() == 0 && decompressDictionaryClosed.compareAndSet(false, true)) {
+      decompressDictionary.close();
     }
   }
 
   @Override
   public InputStream decompress(InputStream inputStream) throws IOException {
-    return new ZstdInputStream(inputStream).setDict(this.dictionary);
+    acquireDictionary();
+    try {
+      return new DictionaryReleasingInputStream(new ZstdInputStream(inputStream).setDict(decompressDictionary));
+    } catch (IOException | RuntimeException e) {
+      releaseDictionary();
+      throw e;
+    }
+  }
+
+  /**
+   * The decompression stream keeps the shared dictionary alive until it is closed, even if the compressor is closed
+   * in the meantime.
+   */
+  private class DictionaryReleasingInputStream extends FilterInputStream {
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    DictionaryReleasingInputStream(InputStream zstdInputStream) {
+      super(zstdInputStream);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (released.compareAndSet(false, true)) {
+          releaseDictionary();
+        }
+      }
+    }
   }
 
   @Override
   public void close() throws IOException {
     compressor.close();
+    closed = true;
+    closeIdleResources();
   }
 
   /**
@@ -0,0 +1,190 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.EqualsFilter;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.utils.Pair;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * This class applies the request-level aggregations carried by a {@link ComputeRequestWrapper} to the compute results
+ * where they are computed, i.e. in the storage node or in Da Vinci, so that only the qualified results are returned:
+ * 1. The equality filters drop the compute results which don't match all the expected values.
+ * 2. The top-K selection only keeps the K compute results with the highest score, which are drained in descending
+ *    order of the score once all the results of the request have been offered.
+ *
+ * Each backend only selects the top-K among the keys it serves, so the client still needs to merge them, which is done
+ * by the aggregator created by {@link #createTopKMerger(String, int)}.
+ * This class is thread-safe, so the same instance could be shared by all the threads working on the same request.
+ *
+ * @param <T> the type of the compute results kept by the top-K selection
+ */
+public class ComputeAggregator<T> {
+  private final List<Pair<Schema.Field, Object>> equalsFilters;
+  private final String scoreFieldName;
+  private final int topK;
+  private final Comparator<Pair<Double, T>> scoreComparator = Comparator.comparingDouble(Pair::getFirst);
+  /**
+   * A min-heap of the top-K results offered so far, so the head is the first one to be evicted.
+   */
+  private final PriorityQueue<Pair<Double, T>> topKHeap;
+
+  private ComputeAggregator(List<Pair<Schema.Field, Object>> equalsFilters, String scoreFieldName, int topK) {
+    this.equalsFilters = equalsFilters;
+    this.scoreFieldName = scoreFieldName;
+    this.topK = topK;
+    this.topKHeap = scoreFieldName == null ? null : new PriorityQueue<>(topK, scoreComparator);
+  }
+
+  /**
+   * @return an aggregator of the given compute request, or null if the request doesn't carry any aggregation
+   */
+  public static <T> ComputeAggregator<T> create(ComputeRequestWrapper computeRequestWrapper, Schema resultSchema) {
+    List<EqualsFilter> filters = computeRequestWrapper.getEqualsFilters();
+    TopK topKSpec = computeRequestWrapper.getTopK();
+    if (filters == null && topKSpec == null) {
+      return null;
+    }
+
+    List<Pair<Schema.Field, Object>> equalsFilters = new ArrayList<>();
+    if (filters != null) {
+      for (EqualsFilter filter: filters) {
+        Schema.Field field = getResultField(resultSchema, filter.field.toString());
+        if (!isComparable(field.schema())) {
+          throw new VeniceException("Filter field: " + field.name() + " is not comparable");
+        }
+        Object expectedValue =
+            SerializerDeserializerFactory.getAvroGenericDeserializer(field.schema()).deserialize(filter.expectedValue);
+        equalsFilters.add(Pair.create(field, expectedValue));
+      }
+    }
+
+    String scoreFieldName = null;
+    int k = 0;
+    if (topKSpec != null) {
+      validateTopK(topKSpec.k);
+      scoreFieldName = getResultField(resultSchema, topKSpec.scoreFieldName.toString()).name();
+      k = topKSpec.k;
+    }
+    return new ComputeAggregator<>(equalsFilters, scoreFieldName, k);
+  }
+
+  /**
+   * @return an aggregator without any filter, which merges the top-K results selected by different backends into the
+   *         global top-K by the score in the given result field
+   */
+  public static <T> ComputeAggregator<T> createTopKMerger(String scoreFieldName, int topK) {
+    validateTopK(topK);
+    return new ComputeAggregator<>(Collections.emptyList(), scoreFieldName, topK);
+  }
+
+  private static void validateTopK(int topK) {
+    if (topK <= 0) {
+      throw new VeniceException("Top-K should be positive, but got: " + topK);
+    }
+  }
+
+  private static Schema.Field getResultField(Schema resultSchema, String fieldName) {
+    Schema.Field field = resultSchema.getField(fieldName);
+    if (field == null) {
+      throw new VeniceException("Field: " + fieldName + " doesn't exist in the compute result schema");
+    }
+    return field;
+  }
+
+  /**
+   * {@link GenericData#compare} can't compare maps, so the fields containing maps can't be filtered on.
+   */
+  public static boolean isComparable(Schema schema) {
+    switch (schema.getType()) {
+      case MAP:
+        return false;
+      case ARRAY:
+        return isComparable(schema.getElementType());
+      case UNION:
+        for (Schema type: schema.getTypes()) {
+          if (!isComparable(type)) {
+            return false;
+          }
+        }
+        return true;
+      case RECORD:
+        for (Schema.Field field: schema.getFields()) {
+          if (field.order() != Schema.Field.Order.IGNORE && !isComparable(field.schema())) {
+            return false;
+          }
+        }
+        return true;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * @return whether the compute result matches all the equality filters
+   */
+  public boolean matches(GenericRecord result) {
+    for (Pair<Schema.Field, Object> filter: equalsFilters) {
+      Schema.Field field = filter.getFirst();
+      if (GenericData.get().compare(result.get(field.pos()), filter.getSecond(), field.schema()) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean hasTopK() {
+    return topKHeap != null;
+  }
+
+  /**
+   * @return the score of the compute result, or null if it can't be ranked, e.g. the computation failed for it
+   */
+  public Double getScore(GenericRecord result) {
+    Object score = result.get(scoreFieldName);
+    return score instanceof Number ? ((Number) score).doubleValue() : null;
+  }
+
+  /**
+   * @return whether a compute result with the given score would be kept by the top-K selection at this moment, which
+   *         lets the caller skip the work of preparing the results which will be dropped anyway
+   */
+  public synchronized boolean isTopKCandidate(double score) {
+    return topKHeap.size() < topK || topKHeap.peek().getFirst() < score;
+  }
+
+  public synchronized void offer(double score, T result) {
+    if (topKHeap.size() < topK) {
+      topKHeap.add(Pair.create(score, result));
+    } else if (topKHeap.peek().getFirst() < score) {
+      topKHeap.poll();
+      topKHeap.add(Pair.create(score, result));
+    }
+  }
+
+  /**
+   * @return the top-K results in descending order of the score, and the selection is reset afterwards
+   */
+  public List<T> drainTopK() {
+    List<Pair<Double, T>> winners;
+    synchronized (this) {
+      winners = new ArrayList<>(topKHeap);
+      topKHeap.clear();
+    }
+    winners.sort(scoreComparator.reversed());
+    List<T> results = new ArrayList<>(winners.size());
+    for (Pair<Double, T> winner: winners) {
+      results.add(winner.getSecond());
+    }
+    return results;
+  }
+}
@@ -4,7 +4,9 @@ import com.linkedin.avro.api.PrimitiveFloatList;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.utils.CollectionUtils;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.avro.Schema;
@@ -17,37 +19,55 @@ import org.apache.avro.generic.GenericRecord;
  */
 public class ComputeOperationUtils {
   public static final String CACHED_SQUARED_L2_NORM_KEY = "CACHED_SQUARED_L2_NORM_KEY";
+  public static final String CACHED_PRIMITIVE_FLOAT_ARRAY_KEY = "CACHED_PRIMITIVE_FLOAT_ARRAY_KEY";
 
   public static float dotProduct(List<Float> list1, List<Float> list2) {
     if (list1.size() != list2.size()) {
       throw new VeniceException("Two lists are with different dimensions: " + list1.size() + ", and " + list2.size());
     }
-    if (list1 instanceof PrimitiveFloatList && list2 instanceof PrimitiveFloatList) {
-      PrimitiveFloatList primitiveFloatList1 = (PrimitiveFloatList) list1;
-      PrimitiveFloatList primitiveFloatList2 = (PrimitiveFloatList) list2;
-      return dotProduct(list1.size(), primitiveFloatList1::getPrimitive, primitiveFloatList2::getPrimitive);
-    } else {
-      return dotProduct(list1.size(), list1::get, list2::get);
+    return dotProduct(list1.size(), toFloatSupplier(list1), toFloatSupplier(list2));
+  }
+
+  /**
+   * Computes the dot product between a primitive parameter vector and a value vector, without boxing the elements
+   * of the value vector if it is a {@link PrimitiveFloatList}.
+   */
+  public static float dotProduct(float[] array, List<Float> list) {
+    if (array.length != list.size()) {
+      throw new VeniceException("Two lists are with different dimensions: " + array.length + ", and " + list.size());
     }
+    return dotProduct(array.length, index -> array[index], toFloatSupplier(list));
   }
 
   public static List<Float> hadamardProduct(List<Float> list1, List<Float> list2) {
     if (list1.size() != list2.size()) {
       throw new VeniceException("Two lists are with different dimensions: " + list1.size() + ", and " + list2.size());
     }
-    if (list1 instanceof PrimitiveFloatList && list2 instanceof PrimitiveFloatList) {
-      PrimitiveFloatList primitiveFloatList1 = (PrimitiveFloatList) list1;
-      PrimitiveFloatList primitiveFloatList2 = (PrimitiveFloatList) list2;
-      return hadamardProduct(list1.size(), primitiveFloatList1::getPrimitive, primitiveFloatList2::getPrimitive);
-    } else {
-      return hadamardProduct(list1.size(), list1::get, list2::get);
+    return hadamardProduct(list1.size(), toFloatSupplier(list1), toFloatSupplier(list2));
+  }
+
+  public static List<Float> hadamardProduct(float[] array, List<Float> list) {
+    if (array.length != list.size()) {
+      throw new VeniceException("Two lists are with different dimensions: " + array.length + ", and " + list.size());
     }
+    return hadamardProduct(array.length, index -> array[index], toFloatSupplier(list));
   }
 
   private interface FloatSupplierByIndex {
     float get(int index);
   }
 
+  /**
+   * Each side is handled on its own, so that a {@link PrimitiveFloatList} is accessed without boxing even if the
+   * other side of the operation is a regular list.
+   */
+  private static FloatSupplierByIndex toFloatSupplier(List<Float> list) {
+    if (list instanceof PrimitiveFloatList) {
+      return ((PrimitiveFloatList) list)::getPrimitive;
+    }
+    return list::get;
+  }
+
   private static float dotProduct(int size, FloatSupplierByIndex floatSupplier1, FloatSupplierByIndex floatSupplier2) {
     float dotProductResult = 0.0f;
 
@@ -100,16 +120,50 @@ public class ComputeOperationUtils {
   }
 
   public static float squaredL2Norm(List<Float> list) {
-    if (list instanceof PrimitiveFloatList) {
-      PrimitiveFloatList primitiveFloatList = (PrimitiveFloatList) list;
-      int size = primitiveFloatList.size();
-      FloatSupplierByIndex floatSupplierByIndex = primitiveFloatList::getPrimitive;
-      return dotProduct(size, floatSupplierByIndex, floatSupplierByIndex);
-    } else {
-      int size = list.size();
-      FloatSupplierByIndex floatSupplierByIndex = list::get;
-      return dotProduct(size, floatSupplierByIndex, floatSupplierByIndex);
+    FloatSupplierByIndex floatSupplierByIndex = toFloatSupplier(list);
+    return dotProduct(list.size(), floatSupplierByIndex, floatSupplierByIndex);
+  }
+
+  public static float squaredL2Norm(float[] array) {
+    FloatSupplierByIndex floatSupplierByIndex = index -> array[index];
+    return dotProduct(array.length, floatSupplierByIndex, floatSupplierByIndex);
+  }
+
+  public static float[] toPrimitiveFloatArray(List<Float> list) {
+    float[] array = new float[list.size()];
+    FloatSupplierByIndex floatSupplierByIndex = toFloatSupplier(list);
+    for (int i = 0; i < array.length; i++) {
+      array[i] = floatSupplierByIndex.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * Compute parameters are shared by all the records of a request, so they are only unboxed once per request and
+   * cached in the given context. The caching is assuming the float vector is immutable, which is the case for compute.
+   *
+   * @return the primitive copy of the given compute parameter.
+   */
+  public static float[] getPrimitiveFloatArray(List<Float> param, Map<String, Object> context) {
+    if (context == null) {
+      return toPrimitiveFloatArray(param);
+    }
+    IdentityHashMap<List<Float>, float[]> cachedPrimitiveFloatArray = (IdentityHashMap<List<Float>, float[]>) context
+        .computeIfAbsent(CACHED_PRIMITIVE_FLOAT_ARRAY_KEY, k -> new IdentityHashMap<List<Float>, float[]>());
+    return cachedPrimitiveFloatArray.computeIfAbsent(param, ComputeOperationUtils::toPrimitiveFloatArray);
+  }
+
+  /**
+   * @return the squared L2 norm of the given compute parameter, which is only computed once per request and cached in
+   *         the given context.
+   */
+  public static float getSquaredL2Norm(List<Float> param, float[] primitiveParam, Map<String, Object> context) {
+    if (context == null) {
+      return squaredL2Norm(primitiveParam);
     }
+    IdentityHashMap<List<Float>, Float> cachedSquaredL2Norm = (IdentityHashMap<List<Float>, Float>) context
+        .computeIfAbsent(CACHED_SQUARED_L2_NORM_KEY, k -> new IdentityHashMap<List<Float>, Float>());
+    return cachedSquaredL2Norm.computeIfAbsent(param, k -> squaredL2Norm(primitiveParam));
   }
 
   /**
@@ -5,6 +5,8 @@ import com.linkedin.venice.compute.protocol.request.ComputeRequestV1;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV2;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV4;
+import com.linkedin.venice.compute.protocol.request.EqualsFilter;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
@@ -29,7 +31,11 @@ import org.apache.avro.specific.SpecificRecord;
  * schema.
  */
 public class ComputeRequestWrapper {
-  public static int LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST = 3;
+  /**
+   * Version 4 adds the request-level aggregations, so routers and servers need to be upgraded before the clients
+   * start sending compute requests with filter or top-K.
+   */
+  public static int LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST = 4;
 
   private static final Map<Integer, Schema> SCHEMA_MAP = new HashMap<Integer, Schema>() {
     {
@@ -187,4 +193,47 @@ public class ComputeRequestWrapper {
         throw new VeniceException("Compute request version " + version + " is not support yet.");
     }
   }
+
+  /**
+   * Whether this compute request version could carry the request-level aggregations, i.e. filter and top-K.
+   */
+  public boolean isAggregationSupported() {
+    return version >= 4;
+  }
+
+  /**
+   * @return the equality conditions which must all be satisfied by the compute results, or null if there is no filter
+   */
+  public List<EqualsFilter> getEqualsFilters() {
+    if (!isAggregationSupported()) {
+      return null;
+    }
+    return ((ComputeRequestV4) computeRequest).equalsFilters;
+  }
+
+  public void setEqualsFilters(List<EqualsFilter> equalsFilters) {
+    checkAggregationSupported();
+    ((ComputeRequestV4) computeRequest).equalsFilters = equalsFilters;
+  }
+
+  /**
+   * @return the top-K selection of the compute results, or null if all the compute results should be returned
+   */
+  public TopK getTopK() {
+    if (!isAggregationSupported()) {
+      return null;
+    }
+    return ((ComputeRequestV4) computeRequest).topK;
+  }
+
+  public void setTopK(TopK topK) {
+    checkAggregationSupported();
+    ((ComputeRequestV4) computeRequest).topK = topK;
+  }
+
+  private void checkAggregationSupported() {
+    if (!isAggregationSupported()) {
+      throw new VeniceException("Compute request version " + version + " doesn't support filter or top-K.");
+    }
+  }
 }
@@ -1,10 +1,7 @@
 package com.linkedin.venice.compute;
 
-import static com.linkedin.venice.compute.ComputeOperationUtils.CACHED_SQUARED_L2_NORM_KEY;
-
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.avro.generic.GenericRecord;
@@ -38,26 +35,11 @@ public class CosineSimilarityOperator implements ReadComputeOperator {
         return;
       }
 
-      float dotProductResult = ComputeOperationUtils.dotProduct(cosSimilarityParam, valueVector);
+      float[] primitiveCosSimilarityParam = ComputeOperationUtils.getPrimitiveFloatArray(cosSimilarityParam, context);
+      float dotProductResult = ComputeOperationUtils.dotProduct(primitiveCosSimilarityParam, valueVector);
       float valueVectorSquaredL2Norm = ComputeOperationUtils.squaredL2Norm(valueVector);
-      float cosSimilarityParamSquaredL2Norm;
-      // Build the context as we go though all the computations
-      // The following caching is assuming the float vector is immutable, which is the case for compute.
-      IdentityHashMap<List<Float>, Float> cachedSquareL2Norm =
-          (IdentityHashMap<List<Float>, Float>) context.get(CACHED_SQUARED_L2_NORM_KEY);
-      if (cachedSquareL2Norm == null) {
-        // Build the cached identity map
-        cachedSquareL2Norm = new IdentityHashMap<>();
-        context.put(CACHED_SQUARED_L2_NORM_KEY, cachedSquareL2Norm);
-      }
-      Float cachedResult = cachedSquareL2Norm.get(cosSimilarityParam);
-      if (cachedResult != null) {
-        cosSimilarityParamSquaredL2Norm = cachedResult;
-      } else {
-        // Cache the computed result
-        cosSimilarityParamSquaredL2Norm = ComputeOperationUtils.squaredL2Norm(cosSimilarityParam);
-        cachedSquareL2Norm.put(cosSimilarityParam, cosSimilarityParamSquaredL2Norm);
-      }
+      float cosSimilarityParamSquaredL2Norm =
+          ComputeOperationUtils.getSquaredL2Norm(cosSimilarityParam, primitiveCosSimilarityParam, context);
 
       // write to result record
       double cosineSimilarityResult =
@@ -34,7 +34,8 @@ public class DotProductOperator implements ReadComputeOperator {
         return;
       }
 
-      float dotProductResult = ComputeOperationUtils.dotProduct(dotProductParam, valueVector);
+      float[] primitiveDotProductParam = ComputeOperationUtils.getPrimitiveFloatArray(dotProductParam, context);
+      float dotProductResult = ComputeOperationUtils.dotProduct(primitiveDotProductParam, valueVector);
       /**
        * Up-casting float to double for V1 users because of backward-compatibility support;
        * V1 users don't require the extra precision in double and it's on purpose that
@@ -35,7 +35,8 @@ public class HadamardProductOperator implements ReadComputeOperator {
         return;
       }
 
-      List<Float> hadamardProductResult = ComputeOperationUtils.hadamardProduct(dotProductParam, valueVector);
+      List<Float> hadamardProductResult = ComputeOperationUtils
+          .hadamardProduct(ComputeOperationUtils.getPrimitiveFloatArray(dotProductParam, context), valueVector);
       resultRecord.put(hadamardProduct.resultFieldName.toString(), hadamardProductResult);
     } catch (Exception e) {
       resultRecord.put(hadamardProduct.resultFieldName.toString(), null);
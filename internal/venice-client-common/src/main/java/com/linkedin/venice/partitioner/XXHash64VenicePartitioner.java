@@ -0,0 +1,60 @@
+package com.linkedin.venice.partitioner;
+
+import com.linkedin.venice.utils.VeniceProperties;
+import java.nio.ByteBuffer;
+import net.jpountz.xxhash.XXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+import org.apache.avro.Schema;
+
+
+/**
+ * A {@link VenicePartitioner} based on the non-cryptographic xxHash64, which is much cheaper to compute than the MD5
+ * digest of {@link DefaultVenicePartitioner}, while still distributing the keys uniformly. The hash is computed over
+ * the key bytes in place, so there is no allocation and no thread-local state per call.
+ *
+ * N.B.: The partitioner class can't be changed for a store which already has data, since the keys would be mapped to
+ *       different partitions, so this partitioner is meant to be chosen when creating a store.
+ */
+public class XXHash64VenicePartitioner extends VenicePartitioner {
+  /**
+   * The seed is part of the partitioning scheme, so it should never be changed.
+   */
+  private static final long SEED = 0L;
+  /**
+   * The pure Java implementation is preferred over the JNI one, since the JNI call overhead dominates for small keys.
+   */
+  private static final XXHash64 HASH = XXHashFactory.fastestJavaInstance().hash64();
+
+  public XXHash64VenicePartitioner() {
+    super();
+  }
+
+  public XXHash64VenicePartitioner(VeniceProperties props) {
+    this(props, null);
+  }
+
+  public XXHash64VenicePartitioner(VeniceProperties props, Schema schema) {
+    super(props, schema);
+  }
+
+  @Override
+  public int getPartitionId(byte[] keyBytes, int offset, int length, int numPartitions) {
+    return getPartitionId(HASH.hash(keyBytes, offset, length, SEED), numPartitions);
+  }
+
+  @Override
+  public int getPartitionId(byte[] keyBytes, int numPartitions) {
+    return getPartitionId(keyBytes, 0, keyBytes.length, numPartitions);
+  }
+
+  @Override
+  public int getPartitionId(ByteBuffer keyByteBuffer, int numPartitions) {
+    return getPartitionId(
+        HASH.hash(keyByteBuffer, keyByteBuffer.position(), keyByteBuffer.remaining(), SEED),
+        numPartitions);
+  }
+
+  private static int getPartitionId(long hash, int numPartitions) {
+    return (int) Long.remainderUnsigned(hash, numPartitions);
+  }
+}
@@ -72,7 +72,8 @@ public enum ReadAvroProtocolDefinition {
   COMPUTE_REQUEST_V3(3, Optional.of(ComputeRequestV3.class), Optional.of(ComputeRequestV3.SCHEMA$)),
 
   /**
-   * Compute request v4. It includes support for Execute with Filter
+   * Compute request v4. It includes support for Execute with Filter, and the request-level equality filters and
+   * top-K which are evaluated by the storage nodes.
    */
   COMPUTE_REQUEST_V4(4, Optional.of(ComputeRequestV4.class), Optional.of(ComputeRequestV4.SCHEMA$)),
 
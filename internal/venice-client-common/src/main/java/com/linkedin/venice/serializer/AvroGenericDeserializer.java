@@ -5,11 +5,13 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
+import org.apache.avro.util.ByteBufferInputStream;
 
 
 public class AvroGenericDeserializer<V> implements RecordDeserializer<V> {
@@ -51,11 +53,24 @@ public class AvroGenericDeserializer<V> implements RecordDeserializer<V> {
     return deserialize(null, byteBuffer, null);
   }
 
+  /**
+   * The buffers without an accessible array, e.g. the direct or read-only ones, are decoded as a stream, so that they
+   * don't need to be copied on heap first.
+   */
   @Override
   public V deserialize(V reuse, ByteBuffer byteBuffer, BinaryDecoder reusedDecoder)
       throws VeniceSerializationException {
-    BinaryDecoder decoder = AvroCompatibilityHelper
-        .newBinaryDecoder(byteBuffer.array(), byteBuffer.position(), byteBuffer.remaining(), reusedDecoder);
+    BinaryDecoder decoder;
+    if (byteBuffer.hasArray()) {
+      decoder = AvroCompatibilityHelper.newBinaryDecoder(
+          byteBuffer.array(),
+          byteBuffer.arrayOffset() + byteBuffer.position(),
+          byteBuffer.remaining(),
+          reusedDecoder);
+    } else {
+      InputStream in = new ByteBufferInputStream(Collections.singletonList(byteBuffer.duplicate()));
+      decoder = AvroCompatibilityHelper.newBinaryDecoder(in, BUFFERED_AVRO_DECODER, reusedDecoder);
+    }
     return deserialize(reuse, decoder);
   }
 
@@ -0,0 +1,64 @@
+package com.linkedin.venice.compression;
+
+import com.linkedin.venice.utils.ByteUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class Lz4CompressorTest {
+  private final VeniceCompressor compressor = new CompressorFactory().getCompressor(CompressionStrategy.LZ4);
+
+  private static byte[] createData(int index) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      builder.append(index).append("_name_").append(i);
+    }
+    return builder.toString().getBytes();
+  }
+
+  @Test
+  public void testCompressAndDecompress() throws IOException {
+    Assert.assertEquals(compressor.getCompressionStrategy(), CompressionStrategy.LZ4);
+    byte[] data = createData(1);
+    byte[] compressed = compressor.compress(data);
+    Assert.assertTrue(compressed.length < data.length);
+    Assert.assertEquals(ByteUtils.extractByteArray(compressor.decompress(compressed, 0, compressed.length)), data);
+
+    // The compressed data could sit in the middle of a larger buffer
+    byte[] paddedCompressed = new byte[compressed.length + 10];
+    System.arraycopy(compressed, 0, paddedCompressed, 5, compressed.length);
+    ByteBuffer slice = ByteBuffer.wrap(paddedCompressed, 3, compressed.length + 2).slice();
+    slice.position(2);
+    Assert.assertEquals(ByteUtils.extractByteArray(compressor.decompress(slice)), data);
+
+    try (InputStream inputStream = compressor.decompress(new ByteArrayInputStream(compressed))) {
+      Assert.assertEquals(IOUtils.toByteArray(inputStream), data);
+    }
+
+    ByteBuffer compressedBuffer = compressor.compress(ByteBuffer.wrap(data));
+    Assert.assertEquals(ByteUtils.extractByteArray(compressor.decompress(compressedBuffer)), data);
+  }
+
+  @Test
+  public void testEmptyValue() throws IOException {
+    byte[] compressed = compressor.compress(new byte[0]);
+    Assert.assertEquals(compressor.decompress(compressed, 0, compressed.length).remaining(), 0);
+  }
+
+  @Test
+  public void testDecompressCorruptedData() throws IOException {
+    byte[] compressed = compressor.compress(createData(2));
+    Assert.assertThrows(IOException.class, () -> compressor.decompress(compressed, 0, 3));
+    // A wrong decompressed size in the prefix should be detected
+    byte[] corrupted = compressed.clone();
+    ByteUtils.writeInt(corrupted, ByteUtils.readInt(compressed, 0) + 1, 0);
+    Assert.assertThrows(IOException.class, () -> compressor.decompress(corrupted, 0, corrupted.length));
+    ByteUtils.writeInt(corrupted, -1, 0);
+    Assert.assertThrows(IOException.class, () -> compressor.decompress(corrupted, 0, corrupted.length));
+  }
+}
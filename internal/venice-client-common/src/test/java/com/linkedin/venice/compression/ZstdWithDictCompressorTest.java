@@ -0,0 +1,154 @@
+package com.linkedin.venice.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.linkedin.venice.utils.ByteUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class ZstdWithDictCompressorTest {
+  private byte[] dictionary;
+  private ZstdWithDictCompressor compressor;
+
+  @BeforeClass
+  public void setUp() {
+    dictionary = ZstdWithDictCompressor.buildDictionaryOnSyntheticAvroData();
+    compressor = new ZstdWithDictCompressor(dictionary, 3);
+  }
+
+  @AfterClass
+  public void cleanUp() throws IOException {
+    compressor.close();
+  }
+
+  private static byte[] createData(int index) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      builder.append(index).append("_name_").append(i);
+    }
+    return builder.toString().getBytes();
+  }
+
+  @Test
+  public void testDecompress() throws IOException {
+    byte[] data = createData(1);
+    byte[] compressed = compressor.compress(data);
+    Assert.assertEquals(ByteUtils.extractByteArray(compressor.decompress(compressed, 0, compressed.length)), data);
+
+    // The compressed data could sit in the middle of a larger buffer
+    byte[] paddedCompressed = new byte[compressed.length + 10];
+    System.arraycopy(compressed, 0, paddedCompressed, 5, compressed.length);
+    ByteBuffer slice = ByteBuffer.wrap(paddedCompressed, 3, compressed.length + 2).slice();
+    slice.position(2);
+    Assert.assertEquals(ByteUtils.extractByteArray(compressor.decompress(slice)), data);
+  }
+
+  @Test
+  public void testDecompressStreamingFrame() throws IOException {
+    // A frame produced by a streaming compressor doesn't carry the content size
+    byte[] data = createData(2);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ZstdOutputStream zstdOutputStream = new ZstdOutputStream(outputStream).setDict(dictionary)) {
+      zstdOutputStream.write(data);
+    }
+    byte[] compressed = outputStream.toByteArray();
+    Assert.assertEquals(ByteUtils.extractByteArray(compressor.decompress(compressed, 0, compressed.length)), data);
+  }
+
+  @Test
+  public void testCloseWhileDecompressingStream() throws IOException {
+    ZstdWithDictCompressor closingCompressor = new ZstdWithDictCompressor(dictionary, 3);
+    byte[] data = createData(4);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ZstdOutputStream zstdOutputStream = new ZstdOutputStream(outputStream).setDict(dictionary)) {
+      zstdOutputStream.write(data);
+    }
+    byte[] compressed = outputStream.toByteArray();
+
+    try (InputStream decompressedStream = closingCompressor.decompress(new ByteArrayInputStream(compressed))) {
+      // The open stream still reads with the dictionary after the compressor is closed
+      closingCompressor.close();
+      Assert.assertEquals(IOUtils.toByteArray(decompressedStream), data);
+    }
+    Assert.assertThrows(
+        IllegalStateException.class,
+        () -> closingCompressor.decompress(new ByteArrayInputStream(compressed)));
+  }
+
+  @Test
+  public void testConcurrentDecompress() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        final byte[] data = createData(i);
+        final byte[] compressed = compressor.compress(data);
+        futures.add(executor.submit(() -> {
+          ByteBuffer decompressed = compressor.decompress(compressed, 0, compressed.length);
+          return ByteBuffer.wrap(data).equals(decompressed);
+        }));
+      }
+      for (Future<Boolean> future: futures) {
+        Assert.assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void testCloseWhileDecompressing() throws Exception {
+    ZstdWithDictCompressor closingCompressor = new ZstdWithDictCompressor(dictionary, 3);
+    byte[] data = createData(3);
+    byte[] compressed = closingCompressor.compress(data);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch decompressionStarted = new CountDownLatch(4);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          decompressionStarted.countDown();
+          int decompressionCount = 0;
+          try {
+            while (true) {
+              Assert.assertEquals(
+                  ByteUtils.extractByteArray(closingCompressor.decompress(compressed, 0, compressed.length)),
+                  data);
+              decompressionCount++;
+            }
+          } catch (IllegalStateException e) {
+            // The decompressions after close are rejected, while the ones in flight complete with their contexts.
+            return decompressionCount;
+          }
+        }));
+      }
+      decompressionStarted.await();
+      closingCompressor.close();
+      for (Future<Integer> future: futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+      Assert.assertThrows(
+          IllegalStateException.class,
+          () -> closingCompressor.decompress(compressed, 0, compressed.length));
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
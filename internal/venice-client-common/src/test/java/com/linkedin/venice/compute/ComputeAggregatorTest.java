@@ -0,0 +1,101 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.EqualsFilter;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ComputeAggregatorTest {
+  private static final Schema RESULT_SCHEMA = Schema.parse(
+      "{\"type\": \"record\", \"name\": \"ComputeResult\", \"fields\": ["
+          + "{\"name\": \"name\", \"type\": \"string\"},"
+          + "{\"name\": \"score\", \"type\": [\"null\", \"float\"], \"default\": null},"
+          + "{\"name\": \"errors\", \"type\": {\"type\": \"map\", \"values\": \"string\"}}]}");
+
+  private static GenericRecord createResult(String name, Float score) {
+    GenericRecord result = new GenericData.Record(RESULT_SCHEMA);
+    result.put("name", new Utf8(name));
+    result.put("score", score);
+    result.put("errors", Collections.emptyMap());
+    return result;
+  }
+
+  private static ComputeRequestWrapper createComputeRequest(String expectedName, Integer topK) {
+    ComputeRequestWrapper computeRequestWrapper = new ComputeRequestWrapper(4);
+    if (expectedName != null) {
+      EqualsFilter equalsFilter = new EqualsFilter();
+      equalsFilter.field = "name";
+      equalsFilter.expectedValue = ByteBuffer.wrap(
+          SerializerDeserializerFactory.getAvroGenericSerializer(RESULT_SCHEMA.getField("name").schema())
+              .serialize(expectedName));
+      computeRequestWrapper.setEqualsFilters(Collections.singletonList(equalsFilter));
+    }
+    if (topK != null) {
+      TopK topKSpec = new TopK();
+      topKSpec.scoreFieldName = "score";
+      topKSpec.k = topK;
+      computeRequestWrapper.setTopK(topKSpec);
+    }
+    return computeRequestWrapper;
+  }
+
+  @Test
+  public void testNoAggregations() {
+    Assert.assertNull(ComputeAggregator.create(createComputeRequest(null, null), RESULT_SCHEMA));
+    Assert.assertNull(ComputeAggregator.create(new ComputeRequestWrapper(3), RESULT_SCHEMA));
+  }
+
+  @Test
+  public void testEqualsFilter() {
+    ComputeAggregator<String> aggregator = ComputeAggregator.create(createComputeRequest("apple", null), RESULT_SCHEMA);
+    Assert.assertTrue(aggregator.matches(createResult("apple", 1.0f)));
+    Assert.assertFalse(aggregator.matches(createResult("banana", 1.0f)));
+    Assert.assertFalse(aggregator.hasTopK());
+  }
+
+  @Test
+  public void testTopK() {
+    ComputeAggregator<String> aggregator = ComputeAggregator.create(createComputeRequest(null, 2), RESULT_SCHEMA);
+    Assert.assertTrue(aggregator.hasTopK());
+    Assert.assertNull(aggregator.getScore(createResult("failed", null)));
+    for (String name: Arrays.asList("a", "b", "c", "d")) {
+      GenericRecord result = createResult(name, (float) name.charAt(0));
+      aggregator.offer(aggregator.getScore(result), name);
+    }
+    Assert.assertFalse(aggregator.isTopKCandidate('b'));
+    Assert.assertTrue(aggregator.isTopKCandidate('e'));
+    Assert.assertEquals(aggregator.drainTopK(), Arrays.asList("d", "c"));
+    Assert.assertTrue(aggregator.drainTopK().isEmpty());
+  }
+
+  @Test
+  public void testTopKMerger() {
+    ComputeAggregator<String> merger = ComputeAggregator.createTopKMerger("score", 2);
+    Assert.assertTrue(merger.hasTopK());
+    Assert.assertNull(merger.getScore(createResult("failed", null)));
+    for (String name: Arrays.asList("c", "a", "d", "b")) {
+      GenericRecord result = createResult(name, (float) name.charAt(0));
+      merger.offer(merger.getScore(result), name);
+    }
+    Assert.assertEquals(merger.drainTopK(), Arrays.asList("d", "c"));
+    Assert.assertThrows(VeniceException.class, () -> ComputeAggregator.createTopKMerger("score", 0));
+  }
+
+  @Test
+  public void testIsComparable() {
+    Assert.assertTrue(ComputeAggregator.isComparable(RESULT_SCHEMA.getField("name").schema()));
+    Assert.assertTrue(ComputeAggregator.isComparable(RESULT_SCHEMA.getField("score").schema()));
+    Assert.assertFalse(ComputeAggregator.isComparable(RESULT_SCHEMA.getField("errors").schema()));
+    Assert.assertFalse(ComputeAggregator.isComparable(RESULT_SCHEMA));
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ComputeOperationUtilsTest {
+  private static final float DELTA = 0.0001f;
+
+  @Test
+  public void testPrimitiveDotProduct() {
+    List<Float> list1 = Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f);
+    List<Float> list2 = Arrays.asList(0.5f, -1.0f, 2.0f, 0.0f, 3.0f);
+    float expected = ComputeOperationUtils.dotProduct(list1, list2);
+    Assert.assertEquals(expected, 19.5f, DELTA);
+    Assert.assertEquals(
+        ComputeOperationUtils.dotProduct(ComputeOperationUtils.toPrimitiveFloatArray(list1), list2),
+        expected,
+        DELTA);
+    Assert.assertThrows(
+        VeniceException.class,
+        () -> ComputeOperationUtils.dotProduct(new float[] { 1.0f }, Arrays.asList(1.0f, 2.0f)));
+  }
+
+  @Test
+  public void testPrimitiveHadamardProduct() {
+    List<Float> list1 = Arrays.asList(1.0f, 2.0f, 3.0f);
+    List<Float> list2 = Arrays.asList(2.0f, 3.0f, 4.0f);
+    Assert.assertEquals(
+        ComputeOperationUtils.hadamardProduct(ComputeOperationUtils.toPrimitiveFloatArray(list1), list2),
+        Arrays.asList(2.0f, 6.0f, 12.0f));
+  }
+
+  @Test
+  public void testCachedPrimitiveParam() {
+    List<Float> param = Arrays.asList(3.0f, 4.0f);
+    Map<String, Object> context = new HashMap<>();
+    float[] primitiveParam = ComputeOperationUtils.getPrimitiveFloatArray(param, context);
+    Assert.assertTrue(Arrays.equals(primitiveParam, new float[] { 3.0f, 4.0f }));
+    // The same param should be converted only once per context
+    Assert.assertSame(ComputeOperationUtils.getPrimitiveFloatArray(param, context), primitiveParam);
+    // An equal but different param instance is not shared
+    Assert.assertNotSame(
+        ComputeOperationUtils.getPrimitiveFloatArray(Arrays.asList(3.0f, 4.0f), context),
+        primitiveParam);
+
+    Assert.assertEquals(ComputeOperationUtils.getSquaredL2Norm(param, primitiveParam, context), 25.0f, DELTA);
+    Assert.assertEquals(ComputeOperationUtils.getSquaredL2Norm(param, primitiveParam, null), 25.0f, DELTA);
+    Assert.assertTrue(Arrays.equals(ComputeOperationUtils.getPrimitiveFloatArray(param, null), primitiveParam));
+  }
+}
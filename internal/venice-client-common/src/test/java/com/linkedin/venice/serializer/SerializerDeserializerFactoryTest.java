@@ -4,6 +4,7 @@ import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.store.schemas.TestValueRecord;
 import com.linkedin.venice.client.store.schemas.TestValueRecordWithMoreFields;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.testng.Assert;
@@ -48,6 +49,31 @@ public class SerializerDeserializerFactoryTest {
     Assert.assertTrue(anotherDeserializer == deserializer);
   }
 
+  @Test
+  public void testDeserializeByteBuffer() {
+    Schema schema = TestValueRecord.SCHEMA$;
+    GenericData.Record record = new GenericData.Record(schema);
+    record.put("long_field", 1000L);
+    record.put("string_field", "abc");
+    byte[] serializedValue = SerializerDeserializerFactory.getAvroGenericSerializer(schema).serialize(record);
+    RecordDeserializer<GenericData.Record> deserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(schema, schema);
+
+    byte[] paddedValue = new byte[serializedValue.length + 2];
+    System.arraycopy(serializedValue, 0, paddedValue, 2, serializedValue.length);
+    ByteBuffer slicedBuffer = ((ByteBuffer) ByteBuffer.wrap(paddedValue).position(2)).slice();
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(serializedValue.length);
+    directBuffer.put(serializedValue).flip();
+    for (ByteBuffer buffer: new ByteBuffer[] { ByteBuffer.wrap(paddedValue, 2, serializedValue.length), slicedBuffer,
+        directBuffer, directBuffer.asReadOnlyBuffer() }) {
+      GenericData.Record deserializedRecord = deserializer.deserialize(buffer);
+      Assert.assertEquals(deserializedRecord.get("long_field"), 1000L);
+      Assert.assertEquals(deserializedRecord.get("string_field").toString(), "abc");
+      // The buffer is not consumed
+      Assert.assertEquals(buffer.remaining(), serializedValue.length);
+    }
+  }
+
   @Test
   public void getAvroSpecificDeserializerTest() throws IOException, VeniceClientException {
     Schema actualSchema = TestValueRecord.SCHEMA$;
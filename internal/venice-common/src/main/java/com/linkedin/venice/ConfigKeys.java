@@ -128,6 +128,17 @@ public class ConfigKeys {
   public static final String ENABLE_NATIVE_REPLICATION_AS_DEFAULT_FOR_BATCH_ONLY =
       "enable.native.replication.as.default.for.batch.only";
 
+  /**
+   * Cluster-level config of the partitioner class for new user stores. The partitioner of an existing store is not
+   * affected, since the keys of its existing data would be mapped to different partitions.
+   *
+   * The new stores keep the default partitioner when it is not set. In a multi-region deployment, the parent controller
+   * propagates its value to the child regions along with the store creation, but it should still be set to the same
+   * value in all the regions, including the parent one.
+   */
+  public static final String PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES =
+      "partitioner.class.as.default.for.new.stores";
+
   /**
    * Cluster-level config to enable native replication for new incremental push stores.
    */
@@ -194,6 +205,14 @@ public class ConfigKeys {
    */
   public static final String CONTROLLER_SCHEMA_VALIDATION_ENABLED = "controller.schema.validation.enabled";
 
+  /**
+   * Whether update-store requests could switch a store in this cluster to the LZ4 compression strategy. Every
+   * component reading the data of the store has to understand LZ4 before any version gets compressed with it, so this
+   * should only be enabled once the servers, the Da Vinci clients, the fast clients and then the routers (which
+   * decompress LZ4 responses for the thin clients) of the cluster have all been upgraded, in that order.
+   */
+  public static final String CONTROLLER_LZ4_COMPRESSION_ENABLED = "controller.lz4.compression.enabled";
+
   /**
    * Fallback to remain compatible with the old config spelling.
    *
@@ -356,6 +375,33 @@ public class ConfigKeys {
   public static final String UNSORTED_INPUT_DRAINER_SIZE = "unsorted.input.drainer.size";
   public static final String STORE_WRITER_BUFFER_MEMORY_CAPACITY = "store.writer.buffer.memory.capacity";
   public static final String STORE_WRITER_BUFFER_NOTIFY_DELTA = "store.writer.buffer.notify.delta";
+  /**
+   * The max number of records, which a store writer will drain from its buffer and persist through a single storage
+   * engine write batch per partition. The batch mode is disabled when it is not bigger than 1.
+   */
+  public static final String STORE_WRITER_BATCH_MAX_RECORDS = "store.writer.batch.max.records";
+  /**
+   * The max size of the records, which a store writer will drain from its buffer at once in the batch mode.
+   */
+  public static final String STORE_WRITER_BATCH_MAX_SIZE_IN_BYTES = "store.writer.batch.max.size.in.bytes";
+  /**
+   * Whether to move the partitions from the store writers lagging behind to the less loaded ones, instead of always
+   * assigning a partition to the same store writer by hashing. A partition is only moved when none of its records is
+   * buffered or being processed, so that its records are still processed in order.
+   */
+  public static final String STORE_WRITER_ADAPTIVE_ASSIGNMENT_ENABLED = "store.writer.adaptive.assignment.enabled";
+  /**
+   * The min interval between two moves of the same partition in the adaptive store writer assignment, which is also the
+   * half-life of the time spent by the store writers and partitions to measure their load.
+   */
+  public static final String STORE_WRITER_ADAPTIVE_ASSIGNMENT_INTERVAL_MS =
+      "store.writer.adaptive.assignment.interval.ms";
+  /**
+   * Whether to buffer the records for each store writer in a lock-free ring buffer, which only blocks the consumer
+   * threads when the buffer memory is exhausted, instead of the lock based memory bound queue.
+   */
+  public static final String STORE_WRITER_BUFFER_LOCK_FREE_QUEUE_ENABLED =
+      "store.writer.buffer.lock.free.queue.enabled";
   public static final String SERVER_REST_SERVICE_STORAGE_THREAD_NUM = "server.rest.service.storage.thread.num";
   public static final String SERVER_NETTY_IDLE_TIME_SECONDS = "server.netty.idle.time.seconds";
   public static final String SERVER_MAX_REQUEST_SIZE = "server.max.request.size";
@@ -495,6 +541,34 @@ public class ConfigKeys {
    */
   public static final String SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE = "server.parallel.batch.get.chunk.size";
 
+  /**
+   * Whether to enable parallel execution for read compute.
+   */
+  public static final String SERVER_ENABLE_PARALLEL_COMPUTE = "server.enable.parallel.compute";
+
+  /**
+   * Chunk size of each task for parallel execution of read compute.
+   */
+  public static final String SERVER_PARALLEL_COMPUTE_CHUNK_SIZE = "server.parallel.compute.chunk.size";
+
+  /**
+   * Whether to look up the keys of a batch-get request belonging to the same partition with a single batched
+   * storage engine lookup (RocksDB MultiGet) instead of one lookup per key.
+   */
+  public static final String SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED = "server.batch.get.storage.multi.get.enabled";
+
+  /**
+   * Whether to stream the records of batch-get and compute responses back in HTTP chunks as soon as they are read,
+   * instead of accumulating the whole response in memory before sending it out.
+   */
+  public static final String SERVER_CHUNKED_STREAMING_RESPONSE_ENABLED = "server.chunked.streaming.response.enabled";
+
+  /**
+   * Number of records flushed per HTTP chunk when {@link #SERVER_CHUNKED_STREAMING_RESPONSE_ENABLED} is on.
+   */
+  public static final String SERVER_CHUNKED_STREAMING_RESPONSE_BATCH_SIZE =
+      "server.chunked.streaming.response.batch.size";
+
   /**
    * The request early termination threshold map:
    * The key will be store name, and the value will be the actual threshold.
@@ -538,6 +612,46 @@ public class ConfigKeys {
   public static final String SERVER_CONSUMER_POOL_SIZE_PER_KAFKA_CLUSTER =
       "server.consumer.pool.size.per.kafka.cluster";
 
+  /**
+   * Whether to grow and shrink the active consumers of the consumer pool per Kafka cluster between
+   * {@link #SERVER_CONSUMER_POOL_MIN_SIZE_PER_KAFKA_CLUSTER} and {@link #SERVER_CONSUMER_POOL_SIZE_PER_KAFKA_CLUSTER},
+   * based on the poll fullness and the offset lag of the consumers. The idle consumers don't get any new subscription,
+   * so they release their broker connections after they are idle for long enough.
+   */
+  public static final String SERVER_CONSUMER_POOL_ELASTIC_ENABLED = "server.consumer.pool.elastic.enabled";
+
+  /**
+   * The minimum number of active consumers per Kafka cluster when the elastic consumer pool is enabled.
+   */
+  public static final String SERVER_CONSUMER_POOL_MIN_SIZE_PER_KAFKA_CLUSTER =
+      "server.consumer.pool.min.size.per.kafka.cluster";
+
+  /**
+   * How often to decide whether to resize the elastic consumer pool, which grows or shrinks by one consumer at a time.
+   */
+  public static final String SERVER_CONSUMER_POOL_RESIZE_INTERVAL_MS = "server.consumer.pool.resize.interval.ms";
+
+  /**
+   * The elastic consumer pool grows when the ratio of the polled records to the max poll records of any active consumer
+   * reaches this threshold, and its offset lag reaches {@link #SERVER_CONSUMER_POOL_GROW_OFFSET_LAG_THRESHOLD}.
+   */
+  public static final String SERVER_CONSUMER_POOL_GROW_POLL_FULLNESS_THRESHOLD =
+      "server.consumer.pool.grow.poll.fullness.threshold";
+
+  /**
+   * The total offset lag of the subscriptions of a consumer, which is needed to grow the elastic consumer pool besides
+   * {@link #SERVER_CONSUMER_POOL_GROW_POLL_FULLNESS_THRESHOLD}. 0 means that the poll fullness alone decides.
+   */
+  public static final String SERVER_CONSUMER_POOL_GROW_OFFSET_LAG_THRESHOLD =
+      "server.consumer.pool.grow.offset.lag.threshold";
+
+  /**
+   * The elastic consumer pool shrinks when the poll fullness of all the active consumers is below this threshold,
+   * which also covers the idle consumers, since their empty polls count as 0.
+   */
+  public static final String SERVER_CONSUMER_POOL_SHRINK_POLL_FULLNESS_THRESHOLD =
+      "server.consumer.pool.shrink.poll.fullness.threshold";
+
   /**
    * Whether to enable partition wise balanced shared consumer assignment.
    */
@@ -679,6 +793,14 @@ public class ConfigKeys {
   public static final String SERVER_SHARED_CONSUMER_NON_EXISTING_TOPIC_CLEANUP_DELAY_MS =
       "server.shared.cosnumer.non.existing.topic.cleanup.delay.ms";
 
+  /**
+   * Whether the shared consumers should queue the subscription changes (subscribe, unsubscribe, pause, resume, etc.),
+   * and apply them at the poll boundaries, instead of having the callers contend with the consumption thread on the
+   * consumer monitor, which is held during the whole poll.
+   */
+  public static final String SERVER_SHARED_CONSUMER_QUEUED_SUBSCRIPTION_COMMANDS_ENABLED =
+      "server.shared.consumer.queued.subscription.commands.enabled";
+
   /**
    * This config is used to control whether Storage Node should enable auto compaction for Samza Reprocessing Job or not.
    * Default: true
@@ -808,6 +930,94 @@ public class ConfigKeys {
   public static final String ROUTER_LONG_TAIL_RETRY_MAX_ROUTE_FOR_MULTI_KEYS_REQ =
       "router.long.tail.retry.max.route.for.multi.keys.req";
 
+  /**
+   * Whether to derive the long-tail retry threshold from the recent latency of each store and request type, instead of
+   * the static {@link #ROUTER_LONG_TAIL_RETRY_FOR_SINGLE_GET_THRESHOLD_MS} and
+   * {@link #ROUTER_LONG_TAIL_RETRY_FOR_BATCH_GET_THRESHOLD_MS}, which are still used before enough latency samples
+   * are collected.
+   * The static thresholds either retry too much when the whole cluster is slow or too little when a single storage
+   * node degrades, while the adaptive threshold follows the latency distribution, and the retries are capped by
+   * {@link #ROUTER_ADAPTIVE_LONG_TAIL_RETRY_BUDGET_RATIO} to avoid retry storms.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED = "router.adaptive.long.tail.retry.enabled";
+
+  /**
+   * The latency percentile of the previous window, at which the adaptive long-tail retry is triggered.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE = "router.adaptive.long.tail.retry.percentile";
+
+  /**
+   * The maximum ratio of the long-tail retry requests to the requests of each store and request type in the adaptive
+   * long-tail retry mode, and the long-tail retry requests beyond the budget will be aborted. The retries of the
+   * failed requests are not limited by this budget.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_BUDGET_RATIO =
+      "router.adaptive.long.tail.retry.budget.ratio";
+
+  /**
+   * The length of the window to collect the latency samples and the request counts for the adaptive long-tail retry.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_WINDOW_MS = "router.adaptive.long.tail.retry.window.ms";
+
+  /**
+   * The minimum number of the latency samples in the previous window to use the adaptive long-tail retry threshold,
+   * otherwise the static threshold will be used.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_SAMPLE_COUNT =
+      "router.adaptive.long.tail.retry.min.sample.count";
+
+  /**
+   * The number of the long-tail retries of each store and request type allowed in every window regardless of
+   * {@link #ROUTER_ADAPTIVE_LONG_TAIL_RETRY_BUDGET_RATIO}, so that the low-traffic stores could still retry.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_RETRIES_PER_WINDOW =
+      "router.adaptive.long.tail.retry.min.retries.per.window";
+
+  /**
+   * Whether to cache the single-get responses of the hot keys in Router for the batch-only stores, whose values can't
+   * change within a store version. The values are kept off-heap, and the cache of a store will be invalidated once
+   * Router starts serving a new current version of the store.
+   */
+  public static final String ROUTER_HOT_KEY_CACHE_ENABLED = "router.hot.key.cache.enabled";
+
+  /**
+   * The comma separated list of the stores to enable the hot key cache for, and all the batch-only stores will be
+   * cached if it is empty.
+   */
+  public static final String ROUTER_HOT_KEY_CACHE_STORE_ALLOWLIST = "router.hot.key.cache.store.allowlist";
+
+  /**
+   * The maximum off-heap memory used by the hot key caches of all the stores in Router, which is shared evenly by the
+   * stores being cached, and the oldest entries of each store will be evicted beyond its share.
+   */
+  public static final String ROUTER_HOT_KEY_CACHE_SIZE_IN_BYTES = "router.hot.key.cache.size.in.bytes";
+
+  /**
+   * The maximum off-heap memory used by the hot key cache of each store, and the oldest entries will be evicted
+   * beyond it or beyond the share of the store in {@link #ROUTER_HOT_KEY_CACHE_SIZE_IN_BYTES}.
+   */
+  public static final String ROUTER_HOT_KEY_CACHE_SIZE_PER_STORE_IN_BYTES =
+      "router.hot.key.cache.size.per.store.in.bytes";
+
+  /**
+   * The number of the recent requests of a key before it is admitted into the hot key cache, so that the keys only
+   * read once won't evict the hot ones.
+   */
+  public static final String ROUTER_HOT_KEY_CACHE_ADMISSION_THRESHOLD = "router.hot.key.cache.admission.threshold";
+
+  /**
+   * Whether to coalesce the concurrent single-get requests for the same key of the same store version in Router, so
+   * that they will share one storage node request instead of fanning out the same request to the storage nodes.
+   */
+  public static final String ROUTER_REQUEST_COALESCING_ENABLED = "router.request.coalescing.enabled";
+
+  /**
+   * The maximum number of the distinct keys with in-flight coalesced requests, and the requests beyond it will be
+   * sent to the storage nodes directly.
+   */
+  public static final String ROUTER_REQUEST_COALESCING_MAX_IN_FLIGHT_KEYS =
+      "router.request.coalescing.max.in.flight.keys";
+
   /**
    * The max key count allowed in one multi-get request.
    * For now, it is configured in host level, and we could consider to configure it in store level.
@@ -1775,6 +1985,22 @@ public class ConfigKeys {
   public static final String SERVER_INGESTION_CHECKPOINT_DURING_GRACEFUL_SHUTDOWN_ENABLED =
       "server.ingestion.checkpoint.during.graceful.shutdown.enabled";
 
+  /**
+   * Whether the leaders of Active/Active stores should look up the old values and the replication metadata of all the
+   * keys in a batch of records polled from the real-time topics at once, before resolving the conflicts of the records
+   * one by one, instead of looking them up per record.
+   */
+  public static final String SERVER_ACTIVE_ACTIVE_LOOKUP_PREFETCH_ENABLED =
+      "server.active.active.lookup.prefetch.enabled";
+
+  /**
+   * The host level budget of the off-heap memory to keep the transient records, which are produced by the leaders but
+   * not persisted by the drainers yet, out of the JVM heap. 0 means the transient records are kept on heap. When the
+   * budget is exhausted, the new transient records are kept on heap until the drainers release some memory.
+   */
+  public static final String SERVER_TRANSIENT_RECORD_OFF_HEAP_MEMORY_BUDGET_IN_BYTES =
+      "server.transient.record.off.heap.memory.budget.in.bytes";
+
   /**
    * A config to control which status store to use for fetching incremental push job status from the controller. This config
    * should be removed once the migration of push status to push status system store is complete.
@@ -0,0 +1,188 @@
+package com.linkedin.venice.kafka.validation.checksum;
+
+import com.linkedin.venice.utils.ByteUtils;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.zip.Checksum;
+
+
+/**
+ * Running checksum implementation based on CRC32C (Castagnoli), which is computed with the hardware instructions by
+ * the intrinsic of {@code java.util.zip.CRC32C} on JDK 9+, and falls back to a table-driven implementation on JDK 8.
+ *
+ * Neither implementation can be resumed from a running value, so the checksum restored from an encoded state is
+ * combined with the checksum of the data fed afterwards, as zlib's crc32_combine does.
+ */
+public class CRC32CCheckSum extends CheckSum {
+  /** The reversed Castagnoli polynomial */
+  private static final int POLYNOMIAL = 0x82F63B78;
+  private static final MethodHandle JDK_CRC32C_CONSTRUCTOR = getJdkCrc32cConstructor();
+
+  private final Checksum checkSumGenerator;
+  /** The checksum of the data before the encoded state was restored, if any */
+  private boolean restored;
+  private int restoredCheckSum;
+  private long lengthSinceRestored;
+
+  public CRC32CCheckSum() {
+    checkSumGenerator = newCheckSumGenerator();
+  }
+
+  public CRC32CCheckSum(byte[] encodedState) {
+    this();
+    restored = true;
+    restoredCheckSum = ByteUtils.readInt(encodedState, 0);
+  }
+
+  @Override
+  public byte[] getFinalCheckSum() {
+    return getEncodedState();
+  }
+
+  @Override
+  public void updateChecksum(byte[] input, int startIndex, int length) {
+    checkSumGenerator.update(input, startIndex, length);
+    lengthSinceRestored += length;
+  }
+
+  @Override
+  public void resetInternal() {
+    checkSumGenerator.reset();
+    restored = false;
+    restoredCheckSum = 0;
+    lengthSinceRestored = 0;
+  }
+
+  @Override
+  public CheckSumType getType() {
+    return CheckSumType.CRC32C;
+  }
+
+  @Override
+  public byte[] getEncodedState() {
+    int checkSum = (int) checkSumGenerator.getValue();
+    if (restored) {
+      checkSum = combine(restoredCheckSum, checkSum, lengthSinceRestored);
+    }
+    byte[] encodedState = new byte[ByteUtils.SIZE_OF_INT];
+    ByteUtils.writeInt(encodedState, checkSum, 0);
+    return encodedState;
+  }
+
+  private static MethodHandle getJdkCrc32cConstructor() {
+    try {
+      return MethodHandles.publicLookup()
+          .findConstructor(Class.forName("java.util.zip.CRC32C"), MethodType.methodType(void.class))
+          .asType(MethodType.methodType(Checksum.class));
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  static Checksum newCheckSumGenerator() {
+    if (JDK_CRC32C_CONSTRUCTOR != null) {
+      try {
+        return (Checksum) JDK_CRC32C_CONSTRUCTOR.invokeExact();
+      } catch (Throwable e) {
+        // Fall back to the table-driven implementation
+      }
+    }
+    return new TableDrivenCRC32C();
+  }
+
+  /**
+   * @return the checksum of the concatenation of two blocks of data, given the checksums of both blocks, and the
+   *         length of the second one.
+   */
+  static int combine(int checkSum1, int checkSum2, long length2) {
+    if (length2 <= 0) {
+      return checkSum1;
+    }
+    int[] even = new int[32];
+    int[] odd = new int[32];
+    // The operator for one zero bit
+    odd[0] = POLYNOMIAL;
+    int row = 1;
+    for (int n = 1; n < 32; n++) {
+      odd[n] = row;
+      row <<= 1;
+    }
+    // The operators for two and four zero bits
+    gf2MatrixSquare(even, odd);
+    gf2MatrixSquare(odd, even);
+    // Apply the operators for the zero bytes of the length of the second block to the first checksum
+    do {
+      gf2MatrixSquare(even, odd);
+      if ((length2 & 1) != 0) {
+        checkSum1 = gf2MatrixTimes(even, checkSum1);
+      }
+      length2 >>>= 1;
+      if (length2 == 0) {
+        break;
+      }
+      gf2MatrixSquare(odd, even);
+      if ((length2 & 1) != 0) {
+        checkSum1 = gf2MatrixTimes(odd, checkSum1);
+      }
+      length2 >>>= 1;
+    } while (length2 != 0);
+    return checkSum1 ^ checkSum2;
+  }
+
+  private static int gf2MatrixTimes(int[] matrix, int vector) {
+    int sum = 0;
+    for (int i = 0; vector != 0; i++, vector >>>= 1) {
+      if ((vector & 1) != 0) {
+        sum ^= matrix[i];
+      }
+    }
+    return sum;
+  }
+
+  private static void gf2MatrixSquare(int[] square, int[] matrix) {
+    for (int n = 0; n < 32; n++) {
+      square[n] = gf2MatrixTimes(matrix, matrix[n]);
+    }
+  }
+
+  static class TableDrivenCRC32C implements Checksum {
+    private static final int[] TABLE = new int[256];
+
+    static {
+      for (int i = 0; i < TABLE.length; i++) {
+        int crc = i;
+        for (int k = 0; k < 8; k++) {
+          crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+        }
+        TABLE[i] = crc;
+      }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+      crc = (crc >>> 8) ^ TABLE[(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+      int localCrc = crc;
+      for (int i = off; i < off + len; i++) {
+        localCrc = (localCrc >>> 8) ^ TABLE[(localCrc ^ b[i]) & 0xFF];
+      }
+      crc = localCrc;
+    }
+
+    @Override
+    public long getValue() {
+      return (~crc) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+      crc = 0xFFFFFFFF;
+    }
+  }
+}
@@ -133,6 +133,10 @@ public abstract class CheckSum {
         return Optional.of(new CRC32CheckSum());
       case MD5:
         return Optional.of(new MD5CheckSum());
+      case CRC32C:
+        return Optional.of(new CRC32CCheckSum());
+      case XXHASH64:
+        return Optional.of(new XXHash64CheckSum());
       default:
         return Optional.empty();
     }
@@ -145,6 +149,10 @@ public abstract class CheckSum {
           return Optional.empty();
         case MD5:
           return Optional.of(new MD5CheckSum(encodedState));
+        case CRC32C:
+          return Optional.of(new CRC32CCheckSum(encodedState));
+        case XXHASH64:
+          return Optional.of(new XXHash64CheckSum(encodedState));
         default:
           return Optional.empty();
       }
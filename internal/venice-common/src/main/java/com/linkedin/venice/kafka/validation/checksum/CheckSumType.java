@@ -7,11 +7,17 @@ import java.util.Map;
 
 /**
  * Types of checksum algorithms supported by Venice's Data Ingest Validation.
+ *
+ * {@link #CRC32C}, which is computed by the hardware instructions on JDK 9+, and {@link #XXHASH64} are much cheaper to
+ * compute than {@link #MD5}.
+ *
+ * N.B.: The type is carried on the wire by each segment, and the consumers fail to validate the segments with a type
+ *       they don't know, so a new type should only be configured in the producers once all the consumers support it.
  */
 public enum CheckSumType {
   NONE(0, true), MD5(1, true), @Deprecated
   ADLER32(2, false), @Deprecated
-  CRC32(3, false);
+  CRC32(3, false), CRC32C(4, true), XXHASH64(5, true);
 
   /** The value is the byte used on the wire format */
   private final int value;
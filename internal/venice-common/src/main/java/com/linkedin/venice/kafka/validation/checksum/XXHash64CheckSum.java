@@ -0,0 +1,170 @@
+package com.linkedin.venice.kafka.validation.checksum;
+
+import com.linkedin.venice.utils.ByteUtils;
+
+
+/**
+ * Running checksum implementation based on the non-cryptographic xxHash64 with seed 0, which is much cheaper to compute
+ * than MD5 while still detecting the corruptions with a 64-bit checksum.
+ *
+ * The streaming state is kept in this class, instead of relying on a library, so that it could be checkpointed and
+ * restored, like {@link MD5CheckSum}.
+ */
+public class XXHash64CheckSum extends CheckSum {
+  private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME64_3 = 0x165667B19E3779F9L;
+  private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+  private static final int STRIPE_SIZE = 32;
+  /** The 4 accumulators, the total length and the size of the buffered bytes, followed by the buffered bytes */
+  private static final int ENCODED_STATE_HEADER_SIZE = ByteUtils.SIZE_OF_LONG * 5 + ByteUtils.SIZE_OF_INT;
+
+  private long v1;
+  private long v2;
+  private long v3;
+  private long v4;
+  private long totalLength;
+  /** The bytes not making up a full stripe yet */
+  private final byte[] buffer = new byte[STRIPE_SIZE];
+  private int bufferSize;
+
+  public XXHash64CheckSum() {
+    resetInternal();
+  }
+
+  public XXHash64CheckSum(byte[] encodedState) {
+    v1 = ByteUtils.readLong(encodedState, 0);
+    v2 = ByteUtils.readLong(encodedState, ByteUtils.SIZE_OF_LONG);
+    v3 = ByteUtils.readLong(encodedState, ByteUtils.SIZE_OF_LONG * 2);
+    v4 = ByteUtils.readLong(encodedState, ByteUtils.SIZE_OF_LONG * 3);
+    totalLength = ByteUtils.readLong(encodedState, ByteUtils.SIZE_OF_LONG * 4);
+    bufferSize = ByteUtils.readInt(encodedState, ByteUtils.SIZE_OF_LONG * 5);
+    System.arraycopy(encodedState, ENCODED_STATE_HEADER_SIZE, buffer, 0, bufferSize);
+  }
+
+  @Override
+  public byte[] getFinalCheckSum() {
+    long hash;
+    if (totalLength >= STRIPE_SIZE) {
+      hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+      hash = mergeRound(hash, v1);
+      hash = mergeRound(hash, v2);
+      hash = mergeRound(hash, v3);
+      hash = mergeRound(hash, v4);
+    } else {
+      // The seed is 0
+      hash = PRIME64_5;
+    }
+    hash += totalLength;
+
+    int offset = 0;
+    for (; offset + ByteUtils.SIZE_OF_LONG <= bufferSize; offset += ByteUtils.SIZE_OF_LONG) {
+      hash ^= round(0, readLongLE(buffer, offset));
+      hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+    }
+    if (offset + ByteUtils.SIZE_OF_INT <= bufferSize) {
+      hash ^= (readIntLE(buffer, offset) & 0xFFFFFFFFL) * PRIME64_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+      offset += ByteUtils.SIZE_OF_INT;
+    }
+    for (; offset < bufferSize; offset++) {
+      hash ^= (buffer[offset] & 0xFF) * PRIME64_5;
+      hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= PRIME64_2;
+    hash ^= hash >>> 29;
+    hash *= PRIME64_3;
+    hash ^= hash >>> 32;
+
+    byte[] checkSum = new byte[ByteUtils.SIZE_OF_LONG];
+    ByteUtils.writeLong(checkSum, hash, 0);
+    return checkSum;
+  }
+
+  @Override
+  public void updateChecksum(byte[] input, int startIndex, int length) {
+    totalLength += length;
+    if (bufferSize + length < STRIPE_SIZE) {
+      System.arraycopy(input, startIndex, buffer, bufferSize, length);
+      bufferSize += length;
+      return;
+    }
+
+    int offset = startIndex;
+    int end = startIndex + length;
+    if (bufferSize > 0) {
+      int filled = STRIPE_SIZE - bufferSize;
+      System.arraycopy(input, offset, buffer, bufferSize, filled);
+      processStripe(buffer, 0);
+      offset += filled;
+      bufferSize = 0;
+    }
+    for (; offset + STRIPE_SIZE <= end; offset += STRIPE_SIZE) {
+      processStripe(input, offset);
+    }
+    if (offset < end) {
+      bufferSize = end - offset;
+      System.arraycopy(input, offset, buffer, 0, bufferSize);
+    }
+  }
+
+  @Override
+  public void resetInternal() {
+    v1 = PRIME64_1 + PRIME64_2;
+    v2 = PRIME64_2;
+    v3 = 0;
+    v4 = -PRIME64_1;
+    totalLength = 0;
+    bufferSize = 0;
+  }
+
+  @Override
+  public CheckSumType getType() {
+    return CheckSumType.XXHASH64;
+  }
+
+  @Override
+  public byte[] getEncodedState() {
+    byte[] encodedState = new byte[ENCODED_STATE_HEADER_SIZE + bufferSize];
+    ByteUtils.writeLong(encodedState, v1, 0);
+    ByteUtils.writeLong(encodedState, v2, ByteUtils.SIZE_OF_LONG);
+    ByteUtils.writeLong(encodedState, v3, ByteUtils.SIZE_OF_LONG * 2);
+    ByteUtils.writeLong(encodedState, v4, ByteUtils.SIZE_OF_LONG * 3);
+    ByteUtils.writeLong(encodedState, totalLength, ByteUtils.SIZE_OF_LONG * 4);
+    ByteUtils.writeInt(encodedState, bufferSize, ByteUtils.SIZE_OF_LONG * 5);
+    System.arraycopy(buffer, 0, encodedState, ENCODED_STATE_HEADER_SIZE, bufferSize);
+    return encodedState;
+  }
+
+  private void processStripe(byte[] input, int offset) {
+    v1 = round(v1, readLongLE(input, offset));
+    v2 = round(v2, readLongLE(input, offset + 8));
+    v3 = round(v3, readLongLE(input, offset + 16));
+    v4 = round(v4, readLongLE(input, offset + 24));
+  }
+
+  private static long round(long accumulator, long input) {
+    accumulator += input * PRIME64_2;
+    accumulator = Long.rotateLeft(accumulator, 31);
+    return accumulator * PRIME64_1;
+  }
+
+  private static long mergeRound(long accumulator, long value) {
+    accumulator ^= round(0, value);
+    return accumulator * PRIME64_1 + PRIME64_4;
+  }
+
+  private static long readLongLE(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8 | (bytes[offset + 2] & 0xFFL) << 16
+        | (bytes[offset + 3] & 0xFFL) << 24 | (bytes[offset + 4] & 0xFFL) << 32 | (bytes[offset + 5] & 0xFFL) << 40
+        | (bytes[offset + 6] & 0xFFL) << 48 | (bytes[offset + 7] & 0xFFL) << 56;
+  }
+
+  private static int readIntLE(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16
+        | (bytes[offset + 3] & 0xFF) << 24;
+  }
+}
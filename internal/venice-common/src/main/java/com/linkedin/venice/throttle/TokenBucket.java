@@ -3,21 +3,39 @@ package com.linkedin.venice.throttle;
 import java.time.Clock;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 
 /**
  * @see <a href="http://en.wikipedia.org/wiki/Token_bucket">Token Bucket on Wikipedia</a>
  * This implementation aims to be very high performance with the goal of supporting a very large number of
  * TokenBuckets in an application; thus avoiding an auxilliary thread to refill the bucket.
+ *
+ * The bucket is lock-free: the tokens can be split into a few stripes, and each thread consumes from its own stripe
+ * first, so that the threads checking the same quota don't contend on a single counter, and only fall back to the other
+ * stripes once its own stripe runs out. The refill happens lazily in the thread which first notices the refill time
+ * has passed, which claims the refill by advancing the next refill time with a CAS.
  */
 public class TokenBucket {
+  /**
+   * The stripe count used by the quota enforcement on the request path, which is bounded since there could be a
+   * bucket for every store and storage node.
+   */
+  public static final int DEFAULT_STRIPE_COUNT = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+  /**
+   * The stripes are apart by a cache line to avoid false sharing.
+   */
+  private static final int STRIPE_PADDING = 8;
+
   private final long capacity;
   private final long refillAmount;
   private final long refillIntervalMs;
   private final float refillPerSecond;// only used for logging
   private final Clock clock;
-  private final AtomicLong tokens;
-  private volatile long nextUpdateTime;
+  private final int stripeCount;
+  private final long[] stripeCapacities;
+  private final AtomicLongArray tokens;
+  private final AtomicLong nextUpdateTime;
 
   /**
    * This constructor should only be used by tests.  Application should not specify it's own instance of Clock
@@ -28,6 +46,20 @@ public class TokenBucket {
    * @param clock
    */
   public TokenBucket(long capacity, long refillAmount, long refillInterval, TimeUnit refillUnit, Clock clock) {
+    this(capacity, refillAmount, refillInterval, refillUnit, 1, clock);
+  }
+
+  /**
+   * This constructor should only be used by tests.  Application should not specify it's own instance of Clock
+   * @param stripeCount The number of stripes to split the tokens into, which is capped by the capacity.
+   */
+  public TokenBucket(
+      long capacity,
+      long refillAmount,
+      long refillInterval,
+      TimeUnit refillUnit,
+      int stripeCount,
+      Clock clock) {
 
     if (capacity <= 0) {
       throw new IllegalArgumentException("TokenBucket capacity " + capacity + " is not valid.  Must be greater than 0");
@@ -47,8 +79,18 @@ public class TokenBucket {
     this.refillIntervalMs = refillUnit.toMillis(refillInterval);
     this.clock = clock;
 
-    tokens = new AtomicLong(capacity);
-    nextUpdateTime = clock.millis() + refillIntervalMs;
+    if (stripeCount <= 0) {
+      throw new IllegalArgumentException(
+          "TokenBucket stripeCount " + stripeCount + " is not valid.  Must be greater than 0");
+    }
+    this.stripeCount = (int) Math.min(stripeCount, capacity);
+    this.stripeCapacities = new long[this.stripeCount];
+    this.tokens = new AtomicLongArray(this.stripeCount * STRIPE_PADDING);
+    for (int i = 0; i < this.stripeCount; ++i) {
+      stripeCapacities[i] = getShare(capacity, i);
+      tokens.set(i * STRIPE_PADDING, stripeCapacities[i]);
+    }
+    nextUpdateTime = new AtomicLong(clock.millis() + refillIntervalMs);
 
     float refillIntervalSeconds = refillIntervalMs / (float) 1000;
     refillPerSecond = refillAmount / refillIntervalSeconds;
@@ -66,31 +108,29 @@ public class TokenBucket {
     this(capacity, refillAmount, refillInterval, refillUnit, Clock.systemUTC());
   }
 
+  /**
+   * @param stripeCount The number of stripes to split the tokens into, check {@link #DEFAULT_STRIPE_COUNT}.
+   */
+  public TokenBucket(long capacity, long refillAmount, long refillInterval, TimeUnit refillUnit, int stripeCount) {
+    this(capacity, refillAmount, refillInterval, refillUnit, stripeCount, Clock.systemUTC());
+  }
+
   /**
    *
    * @return true if tokens may have been added, false if short circuited and no tokens were added
    */
   private boolean update() {
-    if (clock.millis() > nextUpdateTime) {
-      synchronized (this) {
-        if (clock.millis() > nextUpdateTime) {
-          long refillCount = (clock.millis() - nextUpdateTime) / refillIntervalMs + 1;
-          long totalRefillAmount = refillCount * refillAmount;
-          tokens.getAndAccumulate(totalRefillAmount, (existing, toAdd) -> {
-            long newTokens = existing + toAdd;
-            if (newTokens > capacity) {
-              return capacity;
-            } else {
-              return newTokens;
-            }
-          });
-          nextUpdateTime += refillCount * refillIntervalMs;
-        }
-      }
-      return true;
-    } else {
+    long now = clock.millis();
+    long updateTime = nextUpdateTime.get();
+    if (now <= updateTime) {
       return false;
     }
+    long refillCount = (now - updateTime) / refillIntervalMs + 1;
+    // Only the thread advancing the next update time does the refill
+    if (nextUpdateTime.compareAndSet(updateTime, updateTime + refillCount * refillIntervalMs)) {
+      addTokens(refillCount > capacity / refillAmount ? capacity : refillCount * refillAmount);
+    }
+    return true;
   }
 
   /**
@@ -99,22 +139,80 @@ public class TokenBucket {
    */
   public long getStaleTokenCount() {
     // TODO: maybe update the token after getting the stale token count
-    return tokens.get();
+    long tokenCount = 0;
+    for (int i = 0; i < stripeCount; ++i) {
+      tokenCount += tokens.get(i * STRIPE_PADDING);
+    }
+    return tokenCount;
   }
 
   public boolean tryConsume(long tokensToConsume) {
-    return noRetryTryConsume(tokensToConsume) || (update() && noRetryTryConsume(tokensToConsume));
+    int stripe = stripeCount == 1 ? 0 : (int) (Thread.currentThread().getId() % stripeCount);
+    return noRetryTryConsume(stripe, tokensToConsume) || (update() && noRetryTryConsume(stripe, tokensToConsume))
+        || (stripeCount > 1 && tryConsumeFromAllStripes(tokensToConsume));
   }
 
-  private boolean noRetryTryConsume(long tokensToConsume) {
-    long tokensThatWereAvailable = tokens.getAndAccumulate(tokensToConsume, (existing, toConsume) -> {
-      if (toConsume <= existing) { // there are sufficient tokens
-        return existing - toConsume;
-      } else {
-        return existing; // insufficient tokens, do not consume any
+  private boolean noRetryTryConsume(int stripe, long tokensToConsume) {
+    int index = stripe * STRIPE_PADDING;
+    for (;;) {
+      long existing = tokens.get(index);
+      if (tokensToConsume > existing) {
+        return false; // insufficient tokens, do not consume any
       }
-    });
-    return tokensToConsume <= tokensThatWereAvailable;
+      if (tokens.compareAndSet(index, existing, existing - tokensToConsume)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Collect the tokens from all the stripes, and put them back if there are not enough tokens in total.
+   */
+  private boolean tryConsumeFromAllStripes(long tokensToConsume) {
+    long consumedTokens = 0;
+    for (int i = 0; i < stripeCount && consumedTokens < tokensToConsume; ++i) {
+      long toConsume = tokensToConsume - consumedTokens;
+      long tokensThatWereAvailable = tokens.getAndAccumulate(
+          i * STRIPE_PADDING,
+          toConsume,
+          (existing, maxToConsume) -> existing - Math.min(existing, maxToConsume));
+      consumedTokens += Math.min(tokensThatWereAvailable, toConsume);
+    }
+    if (consumedTokens == tokensToConsume) {
+      return true;
+    }
+    addTokens(consumedTokens);
+    return false;
+  }
+
+  /**
+   * Spread the tokens over the stripes evenly, and move the ones beyond the capacity of a stripe to the other stripes.
+   * Any tokens beyond the capacity of the whole bucket are lost.
+   */
+  private void addTokens(long tokensToAdd) {
+    long remainingTokens = tokensToAdd;
+    for (int i = 0; i < stripeCount; ++i) {
+      remainingTokens -= addTokens(i, getShare(tokensToAdd, i));
+    }
+    for (int i = 0; i < stripeCount && remainingTokens > 0; ++i) {
+      remainingTokens -= addTokens(i, remainingTokens);
+    }
+  }
+
+  /**
+   * @return the number of tokens added to the given stripe.
+   */
+  private long addTokens(int stripe, long tokensToAdd) {
+    long stripeCapacity = stripeCapacities[stripe];
+    long tokensThatWereAvailable = tokens.getAndAccumulate(
+        stripe * STRIPE_PADDING,
+        tokensToAdd,
+        (existing, toAdd) -> toAdd >= stripeCapacity - existing ? stripeCapacity : existing + toAdd);
+    return Math.min(tokensToAdd, Math.max(stripeCapacity - tokensThatWereAvailable, 0));
+  }
+
+  private long getShare(long total, int stripe) {
+    return total / stripeCount + (stripe < total % stripeCount ? 1 : 0);
   }
 
   public boolean tryConsume() {
@@ -124,4 +222,12 @@ public class TokenBucket {
   public float getAmortizedRefillPerSecond() {
     return refillPerSecond;
   }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  public long getRefillAmount() {
+    return refillAmount;
+  }
 }
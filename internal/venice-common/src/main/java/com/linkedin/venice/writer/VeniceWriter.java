@@ -81,6 +81,13 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   public static final String VENICE_WRITER_CONFIG_PREFIX = "venice.writer.";
   public static final String CLOSE_TIMEOUT_MS = VENICE_WRITER_CONFIG_PREFIX + "close.timeout.ms";
   public static final String CHECK_SUM_TYPE = VENICE_WRITER_CONFIG_PREFIX + "checksum.type";
+  /**
+   * Whether {@link CheckSumType#CRC32C} and {@link CheckSumType#XXHASH64} could be configured by
+   * {@link #CHECK_SUM_TYPE}. Default: false. The consumers fail to validate the segments with a checksum type they
+   * don't know, so this should only be enabled once all the consumers of the topic, i.e. the servers, Da Vinci and the
+   * change capture clients, support them.
+   */
+  public static final String FAST_CHECK_SUM_TYPES_ENABLED = VENICE_WRITER_CONFIG_PREFIX + "fast.checksum.types.enabled";
   public static final String ENABLE_CHUNKING = VENICE_WRITER_CONFIG_PREFIX + "chunking.enabled";
   public static final String MAX_ATTEMPTS_WHEN_TOPIC_MISSING =
       VENICE_WRITER_CONFIG_PREFIX + "max.attemps.when.topic.missing";
@@ -117,7 +124,8 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   public static final int DEFAULT_CLOSE_TIMEOUT_MS = 30 * Time.MS_PER_SECOND;
 
   /**
-   * Default checksum type. N.B.: Only MD5 (and having no checksums) supports checkpointing mid-checksum.
+   * Default checksum type. N.B.: The deprecated {@link CheckSumType#ADLER32} and {@link CheckSumType#CRC32} are the
+   * only types which don't support checkpointing mid-checksum, see {@link CheckSumType#isCheckpointingSupported()}.
    */
   public static final String DEFAULT_CHECK_SUM_TYPE = CheckSumType.MD5.name();
 
@@ -246,6 +254,12 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
     this.partitioner = params.getPartitioner();
     this.closeTimeOut = props.getInt(CLOSE_TIMEOUT_MS, DEFAULT_CLOSE_TIMEOUT_MS);
     this.checkSumType = CheckSumType.valueOf(props.getString(CHECK_SUM_TYPE, DEFAULT_CHECK_SUM_TYPE));
+    if ((checkSumType == CheckSumType.CRC32C || checkSumType == CheckSumType.XXHASH64)
+        && !props.getBoolean(FAST_CHECK_SUM_TYPES_ENABLED, false)) {
+      throw new VeniceException(
+          CHECK_SUM_TYPE + " cannot be set to " + checkSumType.name() + " unless " + FAST_CHECK_SUM_TYPES_ENABLED
+              + " is true");
+    }
     this.isChunkingEnabled = props.getBoolean(ENABLE_CHUNKING, false);
     this.isChunkingSet = props.containsKey(ENABLE_CHUNKING);
     this.maxSizeForUserPayloadPerMessageInBytes = props
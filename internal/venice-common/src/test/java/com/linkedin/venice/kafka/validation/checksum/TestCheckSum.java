@@ -1,8 +1,12 @@
 package com.linkedin.venice.kafka.validation.checksum;
 
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.ByteUtils;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Random;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 
@@ -27,4 +31,56 @@ public class TestCheckSum {
     checkSum.update(3);
     Assert.assertFalse(Arrays.equals(curCheckSumVal, checkSum.getCheckSum()));
   }
+
+  @Test
+  public void testCRC32CCheckSum() {
+    Assert.assertEquals(computeCheckSum(CheckSumType.CRC32C, ""), "00000000");
+    Assert.assertEquals(computeCheckSum(CheckSumType.CRC32C, "a"), "c1d04330");
+    Assert.assertEquals(computeCheckSum(CheckSumType.CRC32C, "123456789"), "e3069283");
+    // The table-driven implementation used on JDK 8
+    CRC32CCheckSum.TableDrivenCRC32C generator = new CRC32CCheckSum.TableDrivenCRC32C();
+    byte[] input = "123456789".getBytes(StandardCharsets.UTF_8);
+    generator.update(input, 0, input.length);
+    Assert.assertEquals(generator.getValue(), 0xe3069283L);
+  }
+
+  @Test
+  public void testXXHash64CheckSum() {
+    Assert.assertEquals(computeCheckSum(CheckSumType.XXHASH64, ""), "ef46db3751d8e999");
+    Assert.assertEquals(computeCheckSum(CheckSumType.XXHASH64, "a"), "d24ec4f1a98c6e5b");
+    Assert.assertEquals(computeCheckSum(CheckSumType.XXHASH64, "123456789"), "8cb841db40e6ae83");
+  }
+
+  @DataProvider(name = "CheckpointableCheckSumTypes")
+  public static Object[][] checkpointableCheckSumTypes() {
+    return new Object[][] { { CheckSumType.MD5 }, { CheckSumType.CRC32C }, { CheckSumType.XXHASH64 } };
+  }
+
+  @Test(dataProvider = "CheckpointableCheckSumTypes")
+  public void testCheckSumRestoredFromEncodedState(CheckSumType checkSumType) {
+    Random random = new Random(checkSumType.getValue());
+    byte[] input = new byte[1000];
+    random.nextBytes(input);
+    CheckSum expectedCheckSum = CheckSum.getInstance(checkSumType).get();
+    expectedCheckSum.update(input);
+    byte[] expected = expectedCheckSum.getCheckSum();
+
+    CheckSum checkSum = CheckSum.getInstance(checkSumType).get();
+    int offset = 0;
+    while (offset < input.length) {
+      int length = Math.min(random.nextInt(100), input.length - offset);
+      checkSum.update(input, offset, length);
+      offset += length;
+      // Checkpoint and restore the running checksum
+      checkSum = CheckSum.getInstance(checkSumType, checkSum.getEncodedState());
+    }
+    Assert.assertEquals(checkSum.getCheckSum(), expected);
+  }
+
+  private static String computeCheckSum(CheckSumType checkSumType, String input) {
+    CheckSum checkSum = CheckSum.getInstance(checkSumType).get();
+    Assert.assertEquals(checkSum.getType(), checkSumType);
+    checkSum.update(input.getBytes(StandardCharsets.UTF_8));
+    return ByteUtils.toHexString(checkSum.getCheckSum());
+  }
 }
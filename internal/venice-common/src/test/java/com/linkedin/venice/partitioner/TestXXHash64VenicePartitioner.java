@@ -0,0 +1,59 @@
+package com.linkedin.venice.partitioner;
+
+import java.nio.ByteBuffer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestXXHash64VenicePartitioner {
+  private final VenicePartitioner partitioner = new XXHash64VenicePartitioner();
+
+  @Test
+  public void testPartitioningIsStable() {
+    // The partitioning scheme must never change, so it is pinned against the reference xxHash64 of an empty input.
+    long emptyInputHash = 0xEF46DB3751D8E999L;
+    for (int numPartitions: new int[] { 1, 3, 16, 1000 }) {
+      Assert.assertEquals(
+          partitioner.getPartitionId(new byte[0], numPartitions),
+          (int) Long.remainderUnsigned(emptyInputHash, numPartitions));
+    }
+  }
+
+  @Test
+  public void testConsistentPartitioning() {
+    int numPartitions = 7;
+    for (int i = 0; i < 1000; i++) {
+      byte[] keyBytes = ("key_" + i).getBytes();
+      int partition = partitioner.getPartitionId(keyBytes, numPartitions);
+      Assert.assertTrue(partition >= 0 && partition < numPartitions);
+
+      // The key could sit in the middle of a larger buffer
+      byte[] paddedKeyBytes = new byte[keyBytes.length + 6];
+      System.arraycopy(keyBytes, 0, paddedKeyBytes, 4, keyBytes.length);
+      Assert.assertEquals(partitioner.getPartitionId(paddedKeyBytes, 4, keyBytes.length, numPartitions), partition);
+
+      ByteBuffer slice = ByteBuffer.wrap(paddedKeyBytes, 2, keyBytes.length + 2).slice();
+      slice.position(2);
+      Assert.assertEquals(partitioner.getPartitionId(slice, numPartitions), partition);
+      Assert.assertEquals(slice.position(), 2);
+
+      ByteBuffer directBuffer = ByteBuffer.allocateDirect(keyBytes.length);
+      directBuffer.put(keyBytes).flip();
+      Assert.assertEquals(partitioner.getPartitionId(directBuffer, numPartitions), partition);
+    }
+  }
+
+  @Test
+  public void testUniformDistribution() {
+    int numPartitions = 16;
+    int numKeys = 160000;
+    int[] counts = new int[numPartitions];
+    for (int i = 0; i < numKeys; i++) {
+      counts[partitioner.getPartitionId(Integer.toString(i).getBytes(), numPartitions)]++;
+    }
+    int expectedCount = numKeys / numPartitions;
+    for (int count: counts) {
+      Assert.assertTrue(Math.abs(count - expectedCount) < expectedCount * 0.05, "Skewed partition count: " + count);
+    }
+  }
+}
@@ -7,7 +7,15 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.testng.annotations.Test;
 
 
@@ -40,4 +48,63 @@ public class TokenBucketTest {
     assertEquals(tokenBucket.getStaleTokenCount(), 10, "After refill and consumption, bucket must have correct tokens");
 
   }
+
+  @Test
+  public static void testStripedConsume() {
+    Clock mockClock = mock(Clock.class);
+    long start = System.currentTimeMillis();
+    doReturn(start).when(mockClock).millis();
+
+    TokenBucket tokenBucket = new TokenBucket(100, 10, 1, TimeUnit.SECONDS, 8, mockClock);
+    assertEquals(tokenBucket.getStaleTokenCount(), 100, "TokenBucket must start with full capacity");
+    // The tokens of the other stripes are used once the stripe of the current thread runs out
+    assertTrue(tokenBucket.tryConsume(80), "TokenBucket must allow consuming available tokens across stripes");
+    assertEquals(tokenBucket.getStaleTokenCount(), 20);
+    assertFalse(tokenBucket.tryConsume(40), "TokenBucket must not allow consuming more tokens than available");
+    assertEquals(
+        tokenBucket.getStaleTokenCount(),
+        20,
+        "After failing to consume tokens, the remaining tokens in the bucket must be unchanged");
+
+    doReturn(start + 3500).when(mockClock).millis(); // 3 refills of 10 each puts bucket at 50.
+    assertTrue(tokenBucket.tryConsume(40), "After refill, bucket must support consumption");
+    assertEquals(tokenBucket.getStaleTokenCount(), 10, "After refill and consumption, bucket must have correct tokens");
+
+    // The refill is capped by the capacity
+    doReturn(start + 100000).when(mockClock).millis();
+    assertTrue(tokenBucket.tryConsume(100));
+    assertFalse(tokenBucket.tryConsume());
+  }
+
+  @Test
+  public void testConcurrentConsume() throws Exception {
+    // No refill during the test
+    Clock fixedClock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+    long capacity = 10000;
+    TokenBucket tokenBucket = new TokenBucket(capacity, 10, 1, TimeUnit.SECONDS, 8, fixedClock);
+
+    int threadCount = 16;
+    AtomicLong consumedTokens = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; ++i) {
+        int tokensPerRequest = i % 3 + 1;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < capacity; ++j) {
+            if (tokenBucket.tryConsume(tokensPerRequest)) {
+              consumedTokens.addAndGet(tokensPerRequest);
+            }
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // No token is consumed twice, and the ones put back by the failed requests are not lost
+    assertEquals(consumedTokens.get() + tokenBucket.getStaleTokenCount(), capacity);
+  }
 }
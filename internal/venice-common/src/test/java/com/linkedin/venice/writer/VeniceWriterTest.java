@@ -12,6 +12,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
 import com.linkedin.venice.ConfigKeys;
+import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.integration.utils.KafkaBrokerWrapper;
 import com.linkedin.venice.integration.utils.ServiceFactory;
 import com.linkedin.venice.integration.utils.ZkServerWrapper;
@@ -22,6 +23,7 @@ import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.ProducerMetadata;
 import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
 import com.linkedin.venice.serialization.VeniceKafkaSerializer;
@@ -179,6 +181,28 @@ public class VeniceWriterTest {
     }
   }
 
+  @Test
+  public void testFastCheckSumTypesGated() {
+    KafkaProducerWrapper mockedProducer = mock(KafkaProducerWrapper.class);
+    VeniceKafkaSerializer serializer = new VeniceAvroKafkaSerializer("\"string\"");
+    VeniceWriterOptions veniceWriterOptions = new VeniceWriterOptions.Builder("test").setKeySerializer(serializer)
+        .setValueSerializer(serializer)
+        .setWriteComputeSerializer(serializer)
+        .setPartitioner(new DefaultVenicePartitioner())
+        .setTime(SystemTime.INSTANCE)
+        .build();
+    for (CheckSumType checkSumType: new CheckSumType[] { CheckSumType.CRC32C, CheckSumType.XXHASH64 }) {
+      Properties writerProperties = new Properties();
+      writerProperties.put(VeniceWriter.CHECK_SUM_TYPE, checkSumType.name());
+      Assert.assertThrows(
+          VeniceException.class,
+          () -> new VeniceWriter(veniceWriterOptions, new VeniceProperties(writerProperties), () -> mockedProducer));
+
+      writerProperties.put(VeniceWriter.FAST_CHECK_SUM_TYPES_ENABLED, true);
+      new VeniceWriter(veniceWriterOptions, new VeniceProperties(writerProperties), () -> mockedProducer).close(false);
+    }
+  }
+
   @Test
   public void testReplicationMetadataWrittenCorrectly()
       throws InterruptedException, ExecutionException, TimeoutException {
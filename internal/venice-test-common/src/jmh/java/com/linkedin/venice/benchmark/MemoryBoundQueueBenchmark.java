@@ -0,0 +1,121 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.davinci.kafka.consumer.MemoryBoundBlockingQueue;
+import com.linkedin.davinci.kafka.consumer.MemoryBoundQueue;
+import com.linkedin.davinci.kafka.consumer.MpscMemoryBoundBlockingQueue;
+import com.linkedin.venice.common.Measurable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark of the queue between the consumer threads and each store writer of the store buffer service, with the lock
+ * based {@link MemoryBoundBlockingQueue} vs. the lock-free {@link MpscMemoryBoundBlockingQueue}.
+ *
+ * The benchmark threads put the records as the consumer threads do, and a dedicated thread takes them as the store
+ * writer does for the whole trial, so the throughput of the producers is bounded by the consumer once the memory is
+ * exhausted, as it is in the ingestion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MemoryBoundQueueBenchmark {
+  /**
+   * The default capacity and notify delta of the store writer buffer.
+   */
+  private static final long MEMORY_CAPACITY_IN_BYTES = 10 * 1024 * 1024;
+  private static final long NOTIFY_DELTA_IN_BYTES = 1024 * 1024;
+
+  @Param({ "LOCK", "LOCK_FREE" })
+  protected String queueType;
+
+  /**
+   * The size of the key and value of each record.
+   */
+  @Param({ "100", "1000" })
+  protected int recordSize;
+
+  private MemoryBoundQueue<Record> queue;
+  private Record record;
+  private Thread consumerThread;
+
+  private static class Record implements Measurable {
+    private final int size;
+
+    Record(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public int getSize() {
+      return size;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    queue = queueType.equals("LOCK")
+        ? new MemoryBoundBlockingQueue<>(MEMORY_CAPACITY_IN_BYTES, NOTIFY_DELTA_IN_BYTES)
+        : new MpscMemoryBoundBlockingQueue<>(MEMORY_CAPACITY_IN_BYTES, NOTIFY_DELTA_IN_BYTES);
+    record = new Record(recordSize);
+    consumerThread = new Thread(() -> {
+      try {
+        while (true) {
+          queue.take();
+        }
+      } catch (InterruptedException e) {
+        // Stopped by the tear down
+      }
+    }, "MemoryBoundQueueBenchmark-consumer");
+    consumerThread.setDaemon(true);
+    consumerThread.start();
+  }
+
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    consumerThread.interrupt();
+    consumerThread.join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt = new OptionsBuilder()
+        .include(MemoryBoundQueueBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void putBySingleProducer() throws InterruptedException {
+    queue.put(record);
+  }
+
+  /**
+   * Each store writer is fed by many consumer threads.
+   */
+  @Benchmark
+  @Threads(8)
+  public void putByMultipleProducers() throws InterruptedException {
+    queue.put(record);
+  }
+}
@@ -0,0 +1,109 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.venice.exceptions.QuotaExceededException;
+import com.linkedin.venice.throttle.EventThrottler;
+import com.linkedin.venice.throttle.TokenBucket;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark of the read quota check, which happens for every request on all the IO threads of the routers and the
+ * storage nodes, with all the threads checking the quota of the same store at once. It compares the {@link TokenBucket}
+ * with a single counter and with striped counters, and the tehuti based {@link EventThrottler}, which was used by the
+ * routers before. The unlimited quota only measures the cost of the quota check, while the limited one is exceeded
+ * during the run, so that the cost of the rejections is measured too, and the accepted and rejected requests are
+ * reported along with the throughput to tell how close each throttler stays to the quota.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(64)
+public class ReadQuotaThrottlerBenchmark {
+  /**
+   * The quota which is large enough to not reject any request.
+   */
+  private static final long UNLIMITED_QUOTA_PER_SECOND = Long.MAX_VALUE / 1024;
+
+  @Param({ "TOKEN_BUCKET", "STRIPED_TOKEN_BUCKET", "EVENT_THROTTLER" })
+  protected String throttlerType;
+
+  /**
+   * The quota of the store per second, and the limited one is far below the throughput of the quota check.
+   */
+  @Param({ "UNLIMITED", "1000000" })
+  protected String quotaPerSecond;
+
+  private BooleanSupplier quotaCheck;
+
+  @Setup
+  public void setUp() {
+    long quota = quotaPerSecond.equals("UNLIMITED") ? UNLIMITED_QUOTA_PER_SECOND : Long.parseLong(quotaPerSecond);
+    switch (throttlerType) {
+      case "TOKEN_BUCKET":
+      case "STRIPED_TOKEN_BUCKET":
+        int stripeCount = throttlerType.equals("TOKEN_BUCKET") ? 1 : TokenBucket.DEFAULT_STRIPE_COUNT;
+        TokenBucket tokenBucket = new TokenBucket(quota, quota, 1, TimeUnit.SECONDS, stripeCount);
+        quotaCheck = () -> tokenBucket.tryConsume(1);
+        break;
+      case "EVENT_THROTTLER":
+        EventThrottler eventThrottler =
+            new EventThrottler(quota, 1000, "benchmark", true, EventThrottler.REJECT_STRATEGY);
+        quotaCheck = () -> {
+          try {
+            eventThrottler.maybeThrottle(1);
+            return true;
+          } catch (QuotaExceededException e) {
+            return false;
+          }
+        };
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown throttler type: " + throttlerType);
+    }
+  }
+
+  /**
+   * The accepted and the rejected requests of each thread, which are reported as rates along with the throughput.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class QuotaCheckCounters {
+    public long accepted;
+    public long rejected;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt =
+        new OptionsBuilder().include(ReadQuotaThrottlerBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  @Benchmark
+  public void checkQuota(QuotaCheckCounters counters) {
+    if (quotaCheck.getAsBoolean()) {
+      counters.accepted++;
+    } else {
+      counters.rejected++;
+    }
+  }
+}
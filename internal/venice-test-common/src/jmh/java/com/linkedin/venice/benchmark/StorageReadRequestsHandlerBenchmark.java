@@ -0,0 +1,564 @@
+package com.linkedin.venice.benchmark;
+
+import static com.linkedin.venice.ConfigKeys.ADMIN_PORT;
+import static com.linkedin.venice.ConfigKeys.CLUSTER_NAME;
+import static com.linkedin.venice.ConfigKeys.DATA_BASE_PATH;
+import static com.linkedin.venice.ConfigKeys.KAFKA_BOOTSTRAP_SERVERS;
+import static com.linkedin.venice.ConfigKeys.KAFKA_ZK_ADDRESS;
+import static com.linkedin.venice.ConfigKeys.LISTENER_PORT;
+import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
+import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_FAST_AVRO_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_ENABLE_PARALLEL_COMPUTE;
+import static com.linkedin.venice.ConfigKeys.ZOOKEEPER_ADDRESS;
+import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
+import static com.linkedin.venice.router.api.VenicePathParser.TYPE_COMPUTE;
+import static com.linkedin.venice.router.api.VenicePathParser.TYPE_STORAGE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.listener.response.ReadResponse;
+import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.davinci.store.record.ValueRecord;
+import com.linkedin.davinci.store.rocksdb.RocksDBComputeAccessMode;
+import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
+import com.linkedin.davinci.store.rocksdb.RocksDBStorageEngineFactory;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.listener.StorageReadRequestsHandler;
+import com.linkedin.venice.listener.request.ComputeRouterRequestWrapper;
+import com.linkedin.venice.listener.request.GetRouterRequest;
+import com.linkedin.venice.listener.request.MultiGetRouterRequestWrapper;
+import com.linkedin.venice.listener.request.RouterRequest;
+import com.linkedin.venice.listener.response.HttpShortcutResponse;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.meta.ReadOnlySchemaRepository;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
+import com.linkedin.venice.schema.SchemaEntry;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serialization.KeyWithChunkingSuffixSerializer;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.storage.protocol.ChunkId;
+import com.linkedin.venice.storage.protocol.ChunkedKeySuffix;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.PropertyBuilder;
+import com.linkedin.venice.utils.TestUtils;
+import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.VeniceProperties;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark of the storage node read path, which drives {@link StorageReadRequestsHandler} directly against a
+ * populated {@link com.linkedin.davinci.store.rocksdb.RocksDBStorageEngine}, so that the numbers are not blurred by
+ * the network, the router or the client.
+ *
+ * Each invocation submits a single get, multi-get or compute request to the handler, waits for the response to be
+ * written to the channel and serializes its body, which is what the outbound handler would do next. Throughput and
+ * latency percentiles are reported by the benchmark modes, and the allocation rate by the {@link GCProfiler}.
+ *
+ * Each request type has its own state with only the parameters which matter to it, so that e.g. the single get
+ * benchmark doesn't run through the batch size or the compute access mode. The requests are parsed up front into a
+ * per-thread pool of random requests, which the invocations cycle through, so neither the parsing nor the per
+ * invocation setup of JMH is part of the measurement.
+ *
+ * A subset of the parameter matrix could be picked with the regular JMH options, e.g. only the compute benchmark
+ * with the MULTI_GET access mode: "StorageReadRequestsHandlerBenchmark.compute -p computeAccessMode=MULTI_GET".
+ */
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageReadRequestsHandlerBenchmark {
+  protected static final int RECORD_COUNT = 10_000;
+  protected static final int PARTITION_COUNT = 4;
+  protected static final int VALUE_SCHEMA_ID = 1;
+  protected static final int EXECUTOR_THREAD_COUNT = 16;
+  protected static final int REQUEST_POOL_SIZE = 256;
+  protected static final String KEY_PREFIX = "key_";
+  protected static final String VALUE_FIELD = "value";
+
+  protected static final Schema VALUE_SCHEMA = Schema.parse(
+      "{" + "  \"namespace\" : \"example.avro\"," + "  \"type\": \"record\"," + "  \"name\": \"DenseVector\","
+          + "  \"fields\": [" + "     { \"name\": \"id\", \"type\": \"int\" },"
+          + "     { \"name\": \"value\", \"type\": {\"type\": \"array\", \"items\": \"float\"} }" + "   ]" + "}");
+  protected static final Schema COMPUTE_RESULT_SCHEMA = Schema.parse(
+      "{" + "  \"type\": \"record\"," + "  \"name\": \"DenseVectorComputeResult\"," + "  \"fields\": ["
+          + "     { \"name\": \"id\", \"type\": \"int\" },"
+          + "     { \"name\": \"dot_product\", \"type\": [\"null\", \"float\"], \"default\": null },"
+          + "     { \"name\": \"" + VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME
+          + "\", \"type\": {\"type\": \"map\", \"values\": \"string\"}, \"default\": {} }" + "   ]" + "}");
+
+  public static void main(String[] args) throws Exception {
+    Options options = new OptionsBuilder().include(StorageReadRequestsHandlerBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+
+  /**
+   * A populated storage engine and the handler serving it, which are shared by all the benchmark threads. The
+   * subclasses add the parameters and the server configs of their request type, and build the requests.
+   */
+  public abstract static class ReadPathState {
+    /**
+     * Number of floats in the vector of each value.
+     */
+    @Param({ "100", "2500" })
+    protected int valueLength;
+
+    /**
+     * Whether each value is split into chunks plus a manifest, the way large values are stored.
+     */
+    @Param({ "false", "true" })
+    protected boolean chunked;
+
+    protected String topic;
+    protected RocksDBStorageEngineFactory storageEngineFactory;
+    protected AbstractStorageEngine storageEngine;
+    protected StorageEngineBackedCompressorFactory compressorFactory;
+    protected ThreadPoolExecutor executor;
+    protected ThreadPoolExecutor computeExecutor;
+    protected StorageReadRequestsHandler handler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+      Utils.thisIsLocalhost();
+      String storeName = Utils.getUniqueString("read_path_benchmark_store");
+      topic = Version.composeKafkaTopic(storeName, 1);
+
+      PropertyBuilder propertyBuilder = new PropertyBuilder().put(CLUSTER_NAME, "read_path_benchmark_cluster")
+          .put(ZOOKEEPER_ADDRESS, "localhost:2181")
+          .put(PERSISTENCE_TYPE, PersistenceType.ROCKS_DB.toString())
+          .put(KAFKA_BOOTSTRAP_SERVERS, "127.0.0.1:9092")
+          .put(KAFKA_ZK_ADDRESS, "localhost:2181")
+          .put(LISTENER_PORT, 7072)
+          .put(ADMIN_PORT, 7073)
+          .put(DATA_BASE_PATH, Utils.getTempDataDirectory().getAbsolutePath())
+          .put(SERVER_COMPUTE_FAST_AVRO_ENABLED, true);
+      VeniceProperties serverProperties = addServerProperties(propertyBuilder).build();
+      VeniceServerConfig serverConfig = new VeniceServerConfig(serverProperties);
+      storageEngineFactory = new RocksDBStorageEngineFactory(serverConfig);
+      storageEngine = storageEngineFactory
+          .getStorageEngine(new VeniceStoreVersionConfig(topic, serverProperties, PersistenceType.ROCKS_DB));
+      populateStorageEngine();
+
+      StorageEngineRepository storageEngineRepository = new StorageEngineRepository();
+      storageEngineRepository.addLocalStorageEngine(storageEngine);
+      // Stub-only mocks don't record the invocations, which would otherwise pile up throughout the benchmark.
+      ReadOnlyStoreRepository storeRepository = mock(ReadOnlyStoreRepository.class, withSettings().stubOnly());
+      Store store = mock(Store.class, withSettings().stubOnly());
+      doReturn(Optional.empty()).when(store).getVersion(anyInt());
+      doReturn(store).when(storeRepository).getStoreOrThrow(anyString());
+      ReadOnlySchemaRepository schemaRepository = mock(ReadOnlySchemaRepository.class, withSettings().stubOnly());
+      SchemaEntry valueSchemaEntry = new SchemaEntry(VALUE_SCHEMA_ID, VALUE_SCHEMA);
+      doReturn(valueSchemaEntry).when(schemaRepository).getValueSchema(storeName, VALUE_SCHEMA_ID);
+      doReturn(valueSchemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(storeName);
+      compressorFactory = new StorageEngineBackedCompressorFactory(mock(StorageMetadataService.class));
+
+      executor = createExecutor();
+      computeExecutor = createExecutor();
+      handler = new StorageReadRequestsHandler(
+          executor,
+          computeExecutor,
+          storageEngineRepository,
+          storeRepository,
+          schemaRepository,
+          null,
+          null,
+          serverConfig.isComputeFastAvroEnabled(),
+          isParallelBatchGetEnabled(),
+          serverConfig.getParallelBatchGetChunkSize(),
+          serverConfig,
+          compressorFactory,
+          Optional.empty());
+
+      // JMH benchmark relies on System.exit to finish one round of benchmark run, otherwise it will hang there.
+      TestUtils.restoreSystemExit();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws Exception {
+      TestUtils.shutdownExecutor(executor);
+      TestUtils.shutdownExecutor(computeExecutor);
+      compressorFactory.close();
+      storageEngine.drop();
+      storageEngineFactory.close();
+    }
+
+    protected PropertyBuilder addServerProperties(PropertyBuilder propertyBuilder) {
+      return propertyBuilder;
+    }
+
+    protected boolean isParallelBatchGetEnabled() {
+      return false;
+    }
+
+    /**
+     * Builds a request the same way as the router request handler does before handing it over to
+     * {@link StorageReadRequestsHandler}.
+     */
+    protected abstract RouterRequest createRequest(ThreadLocalRandom random) throws Exception;
+
+    private ThreadPoolExecutor createExecutor() {
+      return new ThreadPoolExecutor(
+          EXECUTOR_THREAD_COUNT,
+          EXECUTOR_THREAD_COUNT,
+          0L,
+          TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>());
+    }
+
+    private void populateStorageEngine() {
+      for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+        storageEngine.addStoragePartition(partition);
+      }
+      StoreVersionState storeVersionState = new StoreVersionState();
+      storeVersionState.chunked = chunked;
+      storageEngine.putStoreVersionState(storeVersionState);
+
+      KeyWithChunkingSuffixSerializer keySerializer = new KeyWithChunkingSuffixSerializer();
+      GenericRecord value = new GenericData.Record(VALUE_SCHEMA);
+      List<Float> floats = new ArrayList<>(valueLength);
+      for (int i = 0; i < valueLength; i++) {
+        floats.add((float) i);
+      }
+      value.put(VALUE_FIELD, floats);
+      for (int i = 0; i < RECORD_COUNT; i++) {
+        value.put("id", i);
+        byte[] keyBytes = getKeyBytes(i);
+        byte[] valueBytes = SerializerDeserializerFactory.getAvroGenericSerializer(VALUE_SCHEMA).serialize(value);
+        int partition = getPartition(i);
+        if (!chunked) {
+          storageEngine.put(partition, keyBytes, ValueRecord.create(VALUE_SCHEMA_ID, valueBytes).serialize());
+          continue;
+        }
+        // Split the value into two chunks, and store them along with the manifest under the top-level key.
+        int cutOff = valueBytes.length / 2;
+        byte[][] chunks = { Arrays.copyOfRange(valueBytes, 0, cutOff),
+            Arrays.copyOfRange(valueBytes, cutOff, valueBytes.length) };
+        ChunkedValueManifest manifest = new ChunkedValueManifest();
+        manifest.keysWithChunkIdSuffix = new ArrayList<>(chunks.length);
+        manifest.schemaId = VALUE_SCHEMA_ID;
+        manifest.size = valueBytes.length;
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+          ChunkId chunkId = new ChunkId();
+          chunkId.producerGUID = new GUID();
+          chunkId.segmentNumber = 0;
+          chunkId.messageSequenceNumber = i;
+          chunkId.chunkIndex = chunkIndex;
+          ChunkedKeySuffix chunkedKeySuffix = new ChunkedKeySuffix();
+          chunkedKeySuffix.chunkId = chunkId;
+          chunkedKeySuffix.isChunk = true;
+          byte[] chunkKeyBytes = keySerializer.serializeChunkedKey(keyBytes, chunkedKeySuffix);
+          manifest.keysWithChunkIdSuffix.add(ByteBuffer.wrap(chunkKeyBytes));
+          storageEngine.put(
+              partition,
+              chunkKeyBytes,
+              ValueRecord.create(AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), chunks[chunkIndex])
+                  .serialize());
+        }
+        byte[] manifestBytes =
+            SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$).serialize(manifest);
+        storageEngine.put(
+            partition,
+            keySerializer.serializeNonChunkedKey(keyBytes),
+            ValueRecord.create(AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion(), manifestBytes)
+                .serialize());
+      }
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class SingleGetState extends ReadPathState {
+    @Override
+    protected RouterRequest createRequest(ThreadLocalRandom random) {
+      int keyId = random.nextInt(RECORD_COUNT);
+      String uri = "/" + TYPE_STORAGE + "/" + topic + "/" + getPartition(keyId) + "/" + KEY_PREFIX + keyId;
+      return GetRouterRequest
+          .parseGetHttpRequest(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri));
+    }
+  }
+
+  public abstract static class BatchReadPathState extends ReadPathState {
+    @Param({ "10", "100", "1000" })
+    protected int batchKeyCount;
+  }
+
+  @State(Scope.Benchmark)
+  public static class MultiGetState extends BatchReadPathState {
+    /**
+     * Whether the keys are split into chunks which are looked up concurrently by the handler executor.
+     */
+    @Param({ "false", "true" })
+    protected boolean parallelBatchGet;
+
+    /**
+     * Whether the keys of the same partition are looked up with a single batched storage engine lookup, see
+     * {@link com.linkedin.venice.ConfigKeys#SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED}.
+     */
+    @Param({ "false", "true" })
+    protected boolean storageMultiGet;
+
+    @Override
+    protected PropertyBuilder addServerProperties(PropertyBuilder propertyBuilder) {
+      return propertyBuilder.put(SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED, storageMultiGet);
+    }
+
+    @Override
+    protected boolean isParallelBatchGetEnabled() {
+      return parallelBatchGet;
+    }
+
+    @Override
+    protected RouterRequest createRequest(ThreadLocalRandom random) throws Exception {
+      List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>(batchKeyCount);
+      for (int i = 0; i < batchKeyCount; i++) {
+        int keyId = random.nextInt(RECORD_COUNT);
+        MultiGetRouterRequestKeyV1 key = new MultiGetRouterRequestKeyV1();
+        key.keyIndex = i;
+        key.keyBytes = ByteBuffer.wrap(getKeyBytes(keyId));
+        key.partitionId = getPartition(keyId);
+        keys.add(key);
+      }
+      FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+          HttpVersion.HTTP_1_1,
+          HttpMethod.POST,
+          "/" + TYPE_STORAGE + "/" + topic,
+          Unpooled.wrappedBuffer(
+              SerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$)
+                  .serializeObjects(keys)));
+      httpRequest.headers()
+          .add(
+              HttpConstants.VENICE_API_VERSION,
+              ReadAvroProtocolDefinition.MULTI_GET_ROUTER_REQUEST_V1.getProtocolVersion());
+      return MultiGetRouterRequestWrapper.parseMultiGetHttpRequest(httpRequest);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ComputeState extends BatchReadPathState {
+    /**
+     * {@link RocksDBComputeAccessMode} of the storage node.
+     */
+    @Param({ "SINGLE_GET", "SINGLE_GET_WITH_REUSE", "MULTI_GET" })
+    protected String computeAccessMode;
+
+    /**
+     * Whether the keys are split into chunks which are computed concurrently by the compute executor, see
+     * {@link com.linkedin.venice.ConfigKeys#SERVER_ENABLE_PARALLEL_COMPUTE}.
+     */
+    @Param({ "false", "true" })
+    protected boolean parallelCompute;
+
+    protected byte[] serializedComputeRequest;
+
+    @Setup(Level.Trial)
+    public void setUpComputeRequest() {
+      List<Float> dotProductParam = new ArrayList<>(valueLength);
+      for (int i = 0; i < valueLength; i++) {
+        dotProductParam.add((float) i);
+      }
+      DotProduct dotProduct = (DotProduct) ComputeOperationType.DOT_PRODUCT.getNewInstance();
+      dotProduct.field = VALUE_FIELD;
+      dotProduct.dotProductParam = dotProductParam;
+      dotProduct.resultFieldName = "dot_product";
+      ComputeOperation computeOperation = new ComputeOperation();
+      computeOperation.operationType = ComputeOperationType.DOT_PRODUCT.getValue();
+      computeOperation.operation = dotProduct;
+      ComputeRequestWrapper computeRequestWrapper =
+          new ComputeRequestWrapper(ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST);
+      computeRequestWrapper.setResultSchemaStr(COMPUTE_RESULT_SCHEMA.toString());
+      computeRequestWrapper.setOperations(Collections.singletonList(computeOperation));
+      serializedComputeRequest = computeRequestWrapper.serialize();
+    }
+
+    @Override
+    protected PropertyBuilder addServerProperties(PropertyBuilder propertyBuilder) {
+      return propertyBuilder.put(RocksDBServerConfig.ROCKSDB_COMPUTE_ACCESS_MODE, computeAccessMode)
+          .put(SERVER_ENABLE_PARALLEL_COMPUTE, parallelCompute);
+    }
+
+    @Override
+    protected RouterRequest createRequest(ThreadLocalRandom random) throws Exception {
+      List<ComputeRouterRequestKeyV1> keys = new ArrayList<>(batchKeyCount);
+      for (int i = 0; i < batchKeyCount; i++) {
+        int keyId = random.nextInt(RECORD_COUNT);
+        ComputeRouterRequestKeyV1 key = new ComputeRouterRequestKeyV1();
+        key.keyIndex = i;
+        key.keyBytes = ByteBuffer.wrap(getKeyBytes(keyId));
+        key.partitionId = getPartition(keyId);
+        keys.add(key);
+      }
+      ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+      requestBody.write(serializedComputeRequest);
+      requestBody.write(
+          SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRouterRequestKeyV1.SCHEMA$)
+              .serializeObjects(keys));
+      FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+          HttpVersion.HTTP_1_1,
+          HttpMethod.POST,
+          "/" + TYPE_COMPUTE + "/" + topic,
+          Unpooled.wrappedBuffer(requestBody.toByteArray()));
+      httpRequest.headers()
+          .add(HttpConstants.VENICE_API_VERSION, ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST);
+      httpRequest.headers().add(HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID, VALUE_SCHEMA_ID);
+      return ComputeRouterRequestWrapper.parseComputeRequest(httpRequest, true);
+    }
+  }
+
+  /**
+   * The channel of each benchmark thread, along with its pool of requests. The parsed requests are only read by the
+   * handler, so they could be submitted again and again.
+   */
+  public abstract static class ThreadContext {
+    public ChannelHandlerContext channelContext;
+    public volatile CompletableFuture<Object> response;
+    protected RouterRequest[] requests;
+    protected int nextRequestIndex;
+
+    protected void setUp(ReadPathState state) throws Exception {
+      channelContext = mock(ChannelHandlerContext.class, withSettings().stubOnly());
+      doAnswer(invocation -> {
+        response.complete(invocation.getArgument(0));
+        return null;
+      }).when(channelContext).writeAndFlush(any());
+
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      requests = new RouterRequest[REQUEST_POOL_SIZE];
+      for (int i = 0; i < REQUEST_POOL_SIZE; i++) {
+        requests[i] = state.createRequest(random);
+      }
+    }
+
+    public RouterRequest nextRequest() {
+      RouterRequest request = requests[nextRequestIndex];
+      nextRequestIndex = (nextRequestIndex + 1) % requests.length;
+      return request;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class SingleGetContext extends ThreadContext {
+    @Setup(Level.Trial)
+    public void setUp(SingleGetState state) throws Exception {
+      super.setUp(state);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class MultiGetContext extends ThreadContext {
+    @Setup(Level.Trial)
+    public void setUp(MultiGetState state) throws Exception {
+      super.setUp(state);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ComputeContext extends ThreadContext {
+    @Setup(Level.Trial)
+    public void setUp(ComputeState state) throws Exception {
+      super.setUp(state);
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void singleGet(SingleGetState state, SingleGetContext context, Blackhole blackhole) throws Exception {
+    handle(state, context, blackhole);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void multiGet(MultiGetState state, MultiGetContext context, Blackhole blackhole) throws Exception {
+    handle(state, context, blackhole);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void compute(ComputeState state, ComputeContext context, Blackhole blackhole) throws Exception {
+    handle(state, context, blackhole);
+  }
+
+  protected static byte[] getKeyBytes(int keyId) {
+    return (KEY_PREFIX + keyId).getBytes();
+  }
+
+  protected static int getPartition(int keyId) {
+    return keyId % PARTITION_COUNT;
+  }
+
+  protected static void handle(ReadPathState state, ThreadContext context, Blackhole blackhole) throws Exception {
+    RouterRequest request = context.nextRequest();
+    context.response = new CompletableFuture<>();
+    state.handler.channelRead(context.channelContext, request);
+    Object response = context.response.get();
+    if (response instanceof HttpShortcutResponse) {
+      throw new VeniceException("Failed to handle " + request + ": " + ((HttpShortcutResponse) response).getMessage());
+    }
+    ReadResponse readResponse = (ReadResponse) response;
+    blackhole.consume(readResponse.getRecordCount());
+    blackhole.consume(readResponse.getResponseBody());
+  }
+}
@@ -0,0 +1,103 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.partitioner.VenicePartitioner;
+import com.linkedin.venice.partitioner.XXHash64VenicePartitioner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark of the partition lookup, which happens for every key in the clients, the routers, the push job and the
+ * writers, with the MD5 based {@link DefaultVenicePartitioner} vs. the {@link XXHash64VenicePartitioner}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VenicePartitionerBenchmark {
+  private static final int NUM_KEYS = 1024;
+  private static final int NUM_PARTITIONS = 64;
+
+  /**
+   * Keys in Venice are usually serialized Avro records of a few ids or strings.
+   */
+  @Param({ "8", "32", "128" })
+  protected int keySize;
+
+  @Param({ "MD5", "XXHASH64" })
+  protected String partitionerType;
+
+  private VenicePartitioner partitioner;
+  private byte[][] keys;
+  private ByteBuffer[] keyBuffers;
+
+  @Setup
+  public void setUp() {
+    partitioner = partitionerType.equals("MD5") ? new DefaultVenicePartitioner() : new XXHash64VenicePartitioner();
+    keys = new byte[NUM_KEYS][];
+    keyBuffers = new ByteBuffer[NUM_KEYS];
+    for (int i = 0; i < NUM_KEYS; i++) {
+      keys[i] = new byte[keySize];
+      ThreadLocalRandom.current().nextBytes(keys[i]);
+      keyBuffers[i] = ByteBuffer.wrap(keys[i]);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt = new OptionsBuilder()
+        .include(VenicePartitionerBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_KEYS)
+  public void partitionByteArray(Blackhole bh) {
+    for (byte[] key: keys) {
+      bh.consume(partitioner.getPartitionId(key, NUM_PARTITIONS));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_KEYS)
+  public void partitionByteBuffer(Blackhole bh) {
+    for (ByteBuffer keyBuffer: keyBuffers) {
+      bh.consume(partitioner.getPartitionId(keyBuffer, NUM_PARTITIONS));
+    }
+  }
+
+  /**
+   * The routers look up the partitions of the keys concurrently in many threads.
+   */
+  @Benchmark
+  @Threads(8)
+  @OperationsPerInvocation(NUM_KEYS)
+  public void partitionByteArrayConcurrently(Blackhole bh) {
+    for (byte[] key: keys) {
+      bh.consume(partitioner.getPartitionId(key, NUM_PARTITIONS));
+    }
+  }
+}
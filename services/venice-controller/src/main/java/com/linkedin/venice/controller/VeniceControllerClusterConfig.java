@@ -7,6 +7,7 @@ import static com.linkedin.venice.ConfigKeys.CLUSTER_TO_D2;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_DEFAULT_READ_QUOTA_PER_ROUTER;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_DISABLE_PARENT_REQUEST_TOPIC_FOR_STREAM_PUSHES;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_JETTY_CONFIG_OVERRIDE_PREFIX;
+import static com.linkedin.venice.ConfigKeys.CONTROLLER_LZ4_COMPRESSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_NAME;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_SCHEMA_VALIDATION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_SSL_ENABLED;
@@ -53,6 +54,7 @@ import static com.linkedin.venice.ConfigKeys.NATIVE_REPLICATION_SOURCE_FABRIC_AS
 import static com.linkedin.venice.ConfigKeys.NATIVE_REPLICATION_SOURCE_FABRIC_AS_DEFAULT_FOR_HYBRID_STORES;
 import static com.linkedin.venice.ConfigKeys.NATIVE_REPLICATION_SOURCE_FABRIC_AS_DEFAULT_FOR_INCREMENTAL_PUSH_STORES;
 import static com.linkedin.venice.ConfigKeys.OFFLINE_JOB_START_TIMEOUT_MS;
+import static com.linkedin.venice.ConfigKeys.PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES;
 import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
 import static com.linkedin.venice.ConfigKeys.PUSH_MONITOR_TYPE;
 import static com.linkedin.venice.ConfigKeys.PUSH_SSL_ALLOWLIST;
@@ -76,9 +78,12 @@ import com.linkedin.venice.meta.OfflinePushStrategy;
 import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.meta.ReadStrategy;
 import com.linkedin.venice.meta.RoutingStrategy;
+import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.partitioner.XXHash64VenicePartitioner;
 import com.linkedin.venice.pushmonitor.LeakedPushStatusCleanUpService;
 import com.linkedin.venice.pushmonitor.PushMonitorType;
 import com.linkedin.venice.utils.KafkaSSLUtils;
+import com.linkedin.venice.utils.PartitionUtils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.util.ArrayList;
 import java.util.List;
@@ -155,6 +160,14 @@ public class VeniceControllerClusterConfig {
    */
   private boolean nativeReplicationEnabledAsDefaultForBatchOnly;
 
+  /**
+   * The partitioner class of all new user stores, e.g. {@link XXHash64VenicePartitioner}, which is cheaper to compute
+   * than the MD5 based {@link DefaultVenicePartitioner}, or empty to leave the partitioner of new stores unset.
+   * The parent controller propagates it to the child regions along with the store creation, but all the regions
+   * should still use the same value, since the routers would route the requests to the wrong partitions otherwise.
+   */
+  private Optional<String> partitionerClassAsDefaultForNewStores;
+
   /**
    * When this option is enabled, all new incremental push enabled stores will have native replication enabled in store
    * config so long as the store has leader follower also enabled.
@@ -279,6 +292,12 @@ public class VeniceControllerClusterConfig {
   private int defaultReadQuotaPerRouter;
   private int replicationMetadataVersionId;
 
+  /**
+   * Whether stores in this cluster could be updated to the LZ4 compression strategy, see
+   * {@link com.linkedin.venice.ConfigKeys#CONTROLLER_LZ4_COMPRESSION_ENABLED} for the upgrade order it depends on.
+   */
+  private boolean lz4CompressionEnabled;
+
   public VeniceControllerClusterConfig(VeniceProperties props) {
     try {
       this.props = props;
@@ -341,6 +360,19 @@ public class VeniceControllerClusterConfig {
       routingStrategy = RoutingStrategy.CONSISTENT_HASH;
     }
 
+    if (props.containsKey(PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES)) {
+      String partitionerClass = props.getString(PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES);
+      try {
+        PartitionUtils.getVenicePartitioner(partitionerClass, 1, new VeniceProperties());
+      } catch (Exception e) {
+        throw new ConfigurationException(
+            "Invalid " + PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES + ": " + partitionerClass,
+            e);
+      }
+      partitionerClassAsDefaultForNewStores = Optional.of(partitionerClass);
+    } else {
+      partitionerClassAsDefaultForNewStores = Optional.empty();
+    }
     nativeReplicationEnabledForBatchOnly = props.getBoolean(ENABLE_NATIVE_REPLICATION_FOR_BATCH_ONLY, false);
     nativeReplicationEnabledAsDefaultForBatchOnly =
         props.getBoolean(ENABLE_NATIVE_REPLICATION_AS_DEFAULT_FOR_BATCH_ONLY, false);
@@ -444,6 +476,7 @@ public class VeniceControllerClusterConfig {
     this.defaultReadQuotaPerRouter =
         props.getInt(CONTROLLER_DEFAULT_READ_QUOTA_PER_ROUTER, DEFAULT_PER_ROUTER_READ_QUOTA);
     this.replicationMetadataVersionId = props.getInt(REPLICATION_METADATA_VERSION_ID, 1);
+    this.lz4CompressionEnabled = props.getBoolean(CONTROLLER_LZ4_COMPRESSION_ENABLED, false);
   }
 
   private boolean doesControllerNeedsSslConfig() {
@@ -621,6 +654,10 @@ public class VeniceControllerClusterConfig {
     return nativeReplicationEnabledAsDefaultForBatchOnly;
   }
 
+  public Optional<String> getPartitionerClassAsDefaultForNewStores() {
+    return partitionerClassAsDefaultForNewStores;
+  }
+
   public boolean isNativeReplicationEnabledForIncremental() {
     return nativeReplicationEnabledForIncremental;
   }
@@ -696,4 +733,8 @@ public class VeniceControllerClusterConfig {
   public int getReplicationMetadataVersionId() {
     return replicationMetadataVersionId;
   }
+
+  public boolean isLz4CompressionEnabled() {
+    return lz4CompressionEnabled;
+  }
 }
@@ -1,5 +1,6 @@
 package com.linkedin.venice.controller;
 
+import static com.linkedin.venice.ConfigKeys.CONTROLLER_LZ4_COMPRESSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.PUSH_STATUS_STORE_DERIVED_SCHEMA_ID;
 import static com.linkedin.venice.controller.UserSystemStoreLifeCycleHelper.AUTO_META_SYSTEM_STORE_PUSH_ID_PREFIX;
 import static com.linkedin.venice.controller.UserSystemStoreLifeCycleHelper.DEFAULT_META_SYSTEM_STORE_SIZE;
@@ -801,6 +802,10 @@ public class VeniceHelixAdmin implements Admin, StoreCleaner {
        * Get the largestUsedVersionNumber from graveyard to avoid resource conflict.
        */
       configureNewStore(newStore, config, storeGraveyard.getLargestUsedVersionNumber(storeName));
+      if (!isSystemStore && config.getPartitionerClassAsDefaultForNewStores().isPresent()) {
+        newStore.setPartitionerConfig(
+            new PartitionerConfigImpl(config.getPartitionerClassAsDefaultForNewStores().get(), new HashMap<>(), 1));
+      }
 
       storeRepo.addStore(newStore);
       // Create global config for that store.
@@ -3371,6 +3376,7 @@ public class VeniceHelixAdmin implements Admin, StoreCleaner {
       String clusterName,
       String storeName,
       CompressionStrategy compressionStrategy) {
+    checkCompressionStrategyEnabled(clusterName, storeName, compressionStrategy);
     storeMetadataUpdate(clusterName, storeName, store -> {
       store.setCompressionStrategy(compressionStrategy);
 
@@ -3378,6 +3384,20 @@ public class VeniceHelixAdmin implements Admin, StoreCleaner {
     });
   }
 
+  /**
+   * A store could only be switched to LZ4 once all the components reading its data understand it, which is signaled
+   * by {@link VeniceControllerClusterConfig#isLz4CompressionEnabled()}.
+   */
+  void checkCompressionStrategyEnabled(String clusterName, String storeName, CompressionStrategy compressionStrategy) {
+    if (compressionStrategy == CompressionStrategy.LZ4
+        && !getHelixVeniceClusterResources(clusterName).getConfig().isLz4CompressionEnabled()) {
+      throw new VeniceHttpException(
+          HttpStatus.SC_BAD_REQUEST,
+          "Cannot update the compression strategy of store " + storeName + " in cluster " + clusterName + " to "
+              + compressionStrategy + ", since it is not enabled by " + CONTROLLER_LZ4_COMPRESSION_ENABLED);
+    }
+  }
+
   private void setClientDecompressionEnabled(String clusterName, String storeName, boolean clientDecompressionEnabled) {
     storeMetadataUpdate(clusterName, storeName, store -> {
       store.setClientDecompressionEnabled(clientDecompressionEnabled);
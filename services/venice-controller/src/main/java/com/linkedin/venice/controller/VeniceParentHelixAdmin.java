@@ -879,6 +879,20 @@ public class VeniceParentHelixAdmin implements Admin {
       // Provisioning ACL needs to be the first step in store creation process.
       provisionAclsForStore(storeName, accessPermissions, Collections.emptyList());
       sendStoreCreationAdminMessage(clusterName, storeName, owner, keySchema, valueSchema);
+      /**
+       * The store creation message doesn't carry the partitioner, so the default partitioner of the parent is sent to
+       * the child regions explicitly, which consume it before any version of the store, instead of relying on their
+       * own configs.
+       */
+      VeniceControllerClusterConfig config =
+          getVeniceHelixAdmin().getHelixVeniceClusterResources(clusterName).getConfig();
+      Optional<String> defaultPartitionerClass = config.getPartitionerClassAsDefaultForNewStores();
+      if (!isSystemStore && defaultPartitionerClass.isPresent()) {
+        updateStore(
+            clusterName,
+            storeName,
+            new UpdateStoreQueryParams().setPartitionerClass(defaultPartitionerClass.get()));
+      }
       /**
        * If the newly created store operation is triggered by store migration, Parent Controller will skip the system store
        * auto-materialization since the system stores will be taken care by store migration logic.
@@ -2344,6 +2358,8 @@ public class VeniceParentHelixAdmin implements Admin {
 
       setStore.accessControlled = accessControlled.map(addToUpdatedConfigList(updatedConfigsList, ACCESS_CONTROLLED))
           .orElseGet(currStore::isAccessControlled);
+      compressionStrategy.ifPresent(
+          strategy -> getVeniceHelixAdmin().checkCompressionStrategyEnabled(clusterName, storeName, strategy));
       setStore.compressionStrategy =
           compressionStrategy.map(addToUpdatedConfigList(updatedConfigsList, COMPRESSION_STRATEGY))
               .map(CompressionStrategy::getValue)
@@ -0,0 +1,41 @@
+package com.linkedin.venice.controller;
+
+import static com.linkedin.venice.ConfigKeys.PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.partitioner.XXHash64VenicePartitioner;
+import com.linkedin.venice.utils.PropertyBuilder;
+import com.linkedin.venice.utils.TestUtils;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Properties;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestVeniceControllerClusterConfig {
+  @Test
+  public void testPartitionerClassAsDefaultForNewStores() throws IOException {
+    Properties properties = TestUtils.getPropertiesForControllerConfig();
+    // The partitioner of new stores is left unset by default
+    VeniceControllerClusterConfig config =
+        new VeniceControllerClusterConfig(new PropertyBuilder().put(properties).build());
+    Assert.assertEquals(config.getPartitionerClassAsDefaultForNewStores(), Optional.empty());
+
+    config = new VeniceControllerClusterConfig(
+        new PropertyBuilder().put(properties)
+            .put(PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES, XXHash64VenicePartitioner.class.getName())
+            .build());
+    Assert.assertEquals(
+        config.getPartitionerClassAsDefaultForNewStores(),
+        Optional.of(XXHash64VenicePartitioner.class.getName()));
+
+    // The partitioner is validated on startup instead of on the store creation
+    Assert.assertThrows(
+        VeniceException.class,
+        () -> new VeniceControllerClusterConfig(
+            new PropertyBuilder().put(properties)
+                .put(PARTITIONER_CLASS_AS_DEFAULT_FOR_NEW_STORES, "com.linkedin.venice.NonExistingPartitioner")
+                .build()));
+  }
+}
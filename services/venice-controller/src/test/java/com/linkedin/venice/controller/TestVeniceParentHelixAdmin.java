@@ -66,6 +66,7 @@ import com.linkedin.venice.meta.VersionImpl;
 import com.linkedin.venice.meta.ZKStore;
 import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.partitioner.InvalidKeySchemaPartitioner;
+import com.linkedin.venice.partitioner.XXHash64VenicePartitioner;
 import com.linkedin.venice.pushmonitor.ExecutionStatus;
 import com.linkedin.venice.schema.avro.DirectionalSchemaCompatibilityType;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
@@ -296,6 +297,37 @@ public class TestVeniceParentHelixAdmin extends AbstractTestVeniceParentHelixAdm
     Assert.assertEquals(storeCreationMessage.valueSchema.definition.toString(), valueSchemaStr);
   }
 
+  @Test
+  public void testAddStoreWithDefaultPartitioner() {
+    String storeName = Utils.getUniqueString("test-store");
+    doReturn(Optional.of(XXHash64VenicePartitioner.class.getName())).when(config)
+        .getPartitionerClassAsDefaultForNewStores();
+    doReturn(TestUtils.createTestStore(storeName, "test", System.currentTimeMillis())).when(internalAdmin)
+        .getStore(clusterName, storeName);
+    doReturn(CompletableFuture.completedFuture(new RecordMetadata(topicPartition, 0, 1, -1, -1L, -1, -1)))
+        .when(veniceWriter)
+        .put(any(), any(), anyInt());
+    when(zkClient.readData(zkMetadataNodePath, null)).thenReturn(null)
+        .thenReturn(AdminTopicMetadataAccessor.generateMetadataMap(1, -1, 1));
+
+    parentAdmin.initStorageCluster(clusterName);
+    parentAdmin.createStore(clusterName, storeName, "test-owner", "\"string\"", "\"string\"");
+
+    // The partitioner is sent to the child regions right after the store creation
+    ArgumentCaptor<byte[]> valueCaptor = ArgumentCaptor.forClass(byte[].class);
+    ArgumentCaptor<Integer> schemaCaptor = ArgumentCaptor.forClass(Integer.class);
+    verify(veniceWriter, times(2)).put(any(), valueCaptor.capture(), schemaCaptor.capture());
+    List<byte[]> values = valueCaptor.getAllValues();
+    AdminOperation adminMessage = adminOperationSerializer.deserialize(values.get(0), schemaCaptor.getValue());
+    Assert.assertEquals(adminMessage.operationType, AdminMessageType.STORE_CREATION.getValue());
+    adminMessage = adminOperationSerializer.deserialize(values.get(1), schemaCaptor.getValue());
+    Assert.assertEquals(adminMessage.operationType, AdminMessageType.UPDATE_STORE.getValue());
+    UpdateStore updateStore = (UpdateStore) adminMessage.payloadUnion;
+    Assert.assertEquals(
+        updateStore.partitionerConfig.partitionerClass.toString(),
+        XXHash64VenicePartitioner.class.getName());
+  }
+
   @Test
   public void testCreateStoreForMultiCluster() {
     String secondCluster = "testCreateStoreForMultiCluster";
@@ -1936,6 +1968,38 @@ public class TestVeniceParentHelixAdmin extends AbstractTestVeniceParentHelixAdm
     verify(veniceWriter, times(1)).put(any(), any(), anyInt());
   }
 
+  @Test
+  public void testUpdateStoreToLz4Compression() {
+    String storeName = Utils.getUniqueString("testUpdateStore");
+    Store store = TestUtils.createTestStore(storeName, "test", System.currentTimeMillis());
+    doReturn(store).when(internalAdmin).getStore(clusterName, storeName);
+    doCallRealMethod().when(internalAdmin).checkCompressionStrategyEnabled(anyString(), anyString(), any());
+
+    doReturn(CompletableFuture.completedFuture(new RecordMetadata(topicPartition, 0, 1, -1, -1L, -1, -1)))
+        .when(veniceWriter)
+        .put(any(), any(), anyInt());
+
+    when(zkClient.readData(zkMetadataNodePath, null)).thenReturn(null)
+        .thenReturn(AdminTopicMetadataAccessor.generateMetadataMap(1, -1, 1));
+    parentAdmin.initStorageCluster(clusterName);
+
+    // LZ4 is rejected until all the readers in the cluster are upgraded and the cluster enables it.
+    Assert.assertThrows(
+        VeniceHttpException.class,
+        () -> parentAdmin.updateStore(
+            clusterName,
+            storeName,
+            new UpdateStoreQueryParams().setCompressionStrategy(CompressionStrategy.LZ4)));
+    verify(veniceWriter, times(0)).put(any(), any(), anyInt());
+
+    doReturn(true).when(config).isLz4CompressionEnabled();
+    parentAdmin.updateStore(
+        clusterName,
+        storeName,
+        new UpdateStoreQueryParams().setCompressionStrategy(CompressionStrategy.LZ4));
+    verify(veniceWriter, times(1)).put(any(), any(), anyInt());
+  }
+
   @Test
   public void testDeleteStore() {
     String storeName = "test-testReCreateStore";
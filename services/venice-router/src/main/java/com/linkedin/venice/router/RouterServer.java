@@ -32,11 +32,14 @@ import com.linkedin.venice.helix.ZkRoutersClusterManager;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.AdaptiveLongTailRetryManager;
 import com.linkedin.venice.router.api.DictionaryRetrievalService;
 import com.linkedin.venice.router.api.MetaStoreShadowReader;
 import com.linkedin.venice.router.api.RouterExceptionAndTrackingUtils;
 import com.linkedin.venice.router.api.RouterHeartbeat;
+import com.linkedin.venice.router.api.RouterHotKeyCache;
 import com.linkedin.venice.router.api.RouterKey;
+import com.linkedin.venice.router.api.RouterRequestCoalescer;
 import com.linkedin.venice.router.api.VeniceDelegateMode;
 import com.linkedin.venice.router.api.VeniceDispatcher;
 import com.linkedin.venice.router.api.VeniceHostFinder;
@@ -52,6 +55,7 @@ import com.linkedin.venice.router.api.path.VenicePath;
 import com.linkedin.venice.router.api.routing.helix.HelixGroupSelector;
 import com.linkedin.venice.router.httpclient.ApacheHttpAsyncStorageNodeClient;
 import com.linkedin.venice.router.httpclient.HttpClient5StorageNodeClient;
+import com.linkedin.venice.router.httpclient.NettyStorageNodeClient;
 import com.linkedin.venice.router.httpclient.StorageNodeClient;
 import com.linkedin.venice.router.stats.AdminOperationsStats;
 import com.linkedin.venice.router.stats.AggHostHealthStats;
@@ -84,10 +88,14 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.tehuti.metrics.MetricsRepository;
 import java.net.InetSocketAddress;
@@ -410,6 +418,15 @@ public class RouterServer extends AbstractVeniceService {
         LOGGER.info("Router will use HTTP CLIENT5");
         storageNodeClient = new HttpClient5StorageNodeClient(sslFactoryForRequests, config);
         break;
+      case NETTY_4_CLIENT:
+        LOGGER.info("Router will use NETTY_4_CLIENT");
+        storageNodeClient = new NettyStorageNodeClient(
+            config,
+            sslFactoryForRequests,
+            workerEventLoopGroup,
+            useEpoll ? EpollSocketChannel.class : NioSocketChannel.class,
+            useEpoll ? EpollDatagramChannel.class : NioDatagramChannel.class);
+        break;
       default:
         throw new VeniceException(
             "Router client type " + config.getStorageNodeClientType().toString() + " is not supported!");
@@ -476,6 +493,14 @@ public class RouterServer extends AbstractVeniceService {
         config.getClusterToD2Map(),
         config.getClusterName(),
         compressorFactory);
+    if (config.isHotKeyCacheEnabled()) {
+      RouterHotKeyCache hotKeyCache = new RouterHotKeyCache(config, metadataRepository, routerStats);
+      versionFinder.initHotKeyCache(hotKeyCache);
+      dispatcher.initHotKeyCache(hotKeyCache);
+    }
+    if (config.isRequestCoalescingEnabled()) {
+      dispatcher.initRequestCoalescer(new RouterRequestCoalescer(config, routerStats));
+    }
     VenicePathParser pathParser = new VenicePathParser(
         versionFinder,
         partitionFinder,
@@ -490,6 +515,8 @@ public class RouterServer extends AbstractVeniceService {
     // Fixed retry future
     AsyncFuture<LongSupplier> singleGetRetryFuture =
         new SuccessAsyncFuture<>(config::getLongTailRetryForSingleGetThresholdMs);
+    AdaptiveLongTailRetryManager adaptiveLongTailRetryManager =
+        config.isAdaptiveLongTailRetryEnabled() ? new AdaptiveLongTailRetryManager(config) : null;
     LongTailRetrySupplier retrySupplier = new LongTailRetrySupplier<VenicePath, RouterKey>() {
       private final TreeMap<Integer, Integer> longTailRetryConfigForBatchGet =
           config.getLongTailRetryForBatchGetThresholdMs();
@@ -499,6 +526,17 @@ public class RouterServer extends AbstractVeniceService {
       public AsyncFuture<LongSupplier> getLongTailRetryMilliseconds(
           @Nonnull VenicePath path,
           @Nonnull String methodName) {
+        if (adaptiveLongTailRetryManager != null) {
+          int staticThresholdMs = VeniceRouterUtils.isHttpGet(methodName)
+              ? config.getLongTailRetryForSingleGetThresholdMs()
+              : longTailRetryConfigForBatchGet.floorEntry(Math.max(path.getPartitionKeys().size(), 1)).getValue();
+          int longTailRetryThresholdMs = adaptiveLongTailRetryManager
+              .getLongTailRetryThresholdMs(path.getStoreName(), path.getRequestType(), staticThresholdMs);
+          path.setLongTailRetryThresholdMs(longTailRetryThresholdMs);
+          routerStats.getStatsByType(path.getRequestType())
+              .recordLongTailRetryThreshold(path.getStoreName(), longTailRetryThresholdMs);
+          return new SuccessAsyncFuture<>(() -> longTailRetryThresholdMs);
+        }
         if (VeniceRouterUtils.isHttpGet(methodName)) {
           // single-get
           path.setLongTailRetryThresholdMs(config.getLongTailRetryForSingleGetThresholdMs());
@@ -523,6 +561,10 @@ public class RouterServer extends AbstractVeniceService {
     };
 
     responseAggregator = new VeniceResponseAggregator(routerStats, metaStoreShadowReader);
+    if (adaptiveLongTailRetryManager != null) {
+      scatterGatherMode.initAdaptiveLongTailRetryManager(adaptiveLongTailRetryManager);
+      responseAggregator.initAdaptiveLongTailRetryManager(adaptiveLongTailRetryManager);
+    }
     /**
      * No need to setup {@link com.linkedin.alpini.router.api.HostHealthMonitor} here since
      * {@link VeniceHostFinder} will always do health check.
@@ -15,6 +15,12 @@ import static com.linkedin.venice.ConfigKeys.LISTENER_SSL_PORT;
 import static com.linkedin.venice.ConfigKeys.MAX_READ_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.REFRESH_ATTEMPTS_FOR_ZK_RECONNECT;
 import static com.linkedin.venice.ConfigKeys.REFRESH_INTERVAL_FOR_ZK_RECONNECT_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_BUDGET_RATIO;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_RETRIES_PER_WINDOW;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_SAMPLE_COUNT;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_WINDOW_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_ASYNC_START_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_CLIENT_DECOMPRESSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_CLIENT_SSL_HANDSHAKE_ATTEMPTS;
@@ -34,6 +40,11 @@ import static com.linkedin.venice.ConfigKeys.ROUTER_FULL_PENDING_QUEUE_SERVER_OO
 import static com.linkedin.venice.ConfigKeys.ROUTER_HEART_BEAT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_HELIX_ASSISTED_ROUTING_GROUP_SELECTION_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.ROUTER_HELIX_VIRTUAL_GROUP_FIELD_IN_DOMAIN;
+import static com.linkedin.venice.ConfigKeys.ROUTER_HOT_KEY_CACHE_ADMISSION_THRESHOLD;
+import static com.linkedin.venice.ConfigKeys.ROUTER_HOT_KEY_CACHE_ENABLED;
+import static com.linkedin.venice.ConfigKeys.ROUTER_HOT_KEY_CACHE_SIZE_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.ROUTER_HOT_KEY_CACHE_SIZE_PER_STORE_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.ROUTER_HOT_KEY_CACHE_STORE_ALLOWLIST;
 import static com.linkedin.venice.ConfigKeys.ROUTER_HTTP2_HEADER_TABLE_SIZE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_HTTP2_INBOUND_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_HTTP2_INITIAL_WINDOW_SIZE;
@@ -77,6 +88,8 @@ import static com.linkedin.venice.ConfigKeys.ROUTER_PER_NODE_CLIENT_THREAD_COUNT
 import static com.linkedin.venice.ConfigKeys.ROUTER_PER_STORAGE_NODE_READ_QUOTA_BUFFER;
 import static com.linkedin.venice.ConfigKeys.ROUTER_QUOTA_CHECK_WINDOW;
 import static com.linkedin.venice.ConfigKeys.ROUTER_READ_QUOTA_THROTTLING_LEASE_TIMEOUT_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_REQUEST_COALESCING_ENABLED;
+import static com.linkedin.venice.ConfigKeys.ROUTER_REQUEST_COALESCING_MAX_IN_FLIGHT_KEYS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLEGET_TARDY_LATENCY_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SMART_LONG_TAIL_RETRY_ABORT_THRESHOLD_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SMART_LONG_TAIL_RETRY_ENABLED;
@@ -102,6 +115,7 @@ import com.linkedin.venice.router.httpclient.StorageNodeClientType;
 import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -130,6 +144,19 @@ public class VeniceRouterConfig {
   private boolean smartLongTailRetryEnabled;
   private int smartLongTailRetryAbortThresholdMs;
   private int longTailRetryMaxRouteForMultiKeyReq;
+  private boolean adaptiveLongTailRetryEnabled;
+  private double adaptiveLongTailRetryPercentile;
+  private double adaptiveLongTailRetryBudgetRatio;
+  private long adaptiveLongTailRetryWindowMs;
+  private int adaptiveLongTailRetryMinSampleCount;
+  private int adaptiveLongTailRetryMinRetriesPerWindow;
+  private boolean hotKeyCacheEnabled;
+  private List<String> hotKeyCacheStoreAllowlist;
+  private long hotKeyCacheSizeInBytes;
+  private long hotKeyCacheSizePerStoreInBytes;
+  private int hotKeyCacheAdmissionThreshold;
+  private boolean requestCoalescingEnabled;
+  private int requestCoalescingMaxInFlightKeys;
   private int maxKeyCountInMultiGetReq;
   private int connectionLimit;
   private int httpClientPoolSize;
@@ -240,6 +267,27 @@ public class VeniceRouterConfig {
     smartLongTailRetryAbortThresholdMs = props.getInt(ROUTER_SMART_LONG_TAIL_RETRY_ABORT_THRESHOLD_MS, 100);
     // Default: -1 means this feature is not enabled.
     longTailRetryMaxRouteForMultiKeyReq = props.getInt(ROUTER_LONG_TAIL_RETRY_MAX_ROUTE_FOR_MULTI_KEYS_REQ, -1);
+    adaptiveLongTailRetryEnabled = props.getBoolean(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED, false);
+    adaptiveLongTailRetryPercentile = props.getDouble(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE, 95);
+    if (adaptiveLongTailRetryPercentile <= 0 || adaptiveLongTailRetryPercentile > 100) {
+      throw new VeniceException(
+          ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE + " should be in (0, 100], but got: "
+              + adaptiveLongTailRetryPercentile);
+    }
+    adaptiveLongTailRetryBudgetRatio = props.getDouble(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_BUDGET_RATIO, 0.05);
+    adaptiveLongTailRetryWindowMs =
+        props.getLong(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_WINDOW_MS, TimeUnit.SECONDS.toMillis(10));
+    adaptiveLongTailRetryMinSampleCount = props.getInt(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_SAMPLE_COUNT, 100);
+    adaptiveLongTailRetryMinRetriesPerWindow =
+        props.getInt(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_RETRIES_PER_WINDOW, 10);
+    hotKeyCacheEnabled = props.getBoolean(ROUTER_HOT_KEY_CACHE_ENABLED, false);
+    hotKeyCacheStoreAllowlist = props.getList(ROUTER_HOT_KEY_CACHE_STORE_ALLOWLIST, Collections.emptyList());
+    hotKeyCacheSizeInBytes = props.getSizeInBytes(ROUTER_HOT_KEY_CACHE_SIZE_IN_BYTES, 512 * 1024 * 1024);
+    hotKeyCacheSizePerStoreInBytes =
+        props.getSizeInBytes(ROUTER_HOT_KEY_CACHE_SIZE_PER_STORE_IN_BYTES, 64 * 1024 * 1024);
+    hotKeyCacheAdmissionThreshold = props.getInt(ROUTER_HOT_KEY_CACHE_ADMISSION_THRESHOLD, 2);
+    requestCoalescingEnabled = props.getBoolean(ROUTER_REQUEST_COALESCING_ENABLED, false);
+    requestCoalescingMaxInFlightKeys = props.getInt(ROUTER_REQUEST_COALESCING_MAX_IN_FLIGHT_KEYS, 10000);
     maxKeyCountInMultiGetReq = props.getInt(ROUTER_MAX_KEY_COUNT_IN_MULTIGET_REQ, 500);
     connectionLimit = props.getInt(ROUTER_CONNECTION_LIMIT, 10000);
     httpClientPoolSize = props.getInt(ROUTER_HTTP_CLIENT_POOL_SIZE, 12);
@@ -521,6 +569,58 @@ public class VeniceRouterConfig {
     return longTailRetryMaxRouteForMultiKeyReq;
   }
 
+  public boolean isAdaptiveLongTailRetryEnabled() {
+    return adaptiveLongTailRetryEnabled;
+  }
+
+  public double getAdaptiveLongTailRetryPercentile() {
+    return adaptiveLongTailRetryPercentile;
+  }
+
+  public double getAdaptiveLongTailRetryBudgetRatio() {
+    return adaptiveLongTailRetryBudgetRatio;
+  }
+
+  public long getAdaptiveLongTailRetryWindowMs() {
+    return adaptiveLongTailRetryWindowMs;
+  }
+
+  public int getAdaptiveLongTailRetryMinSampleCount() {
+    return adaptiveLongTailRetryMinSampleCount;
+  }
+
+  public int getAdaptiveLongTailRetryMinRetriesPerWindow() {
+    return adaptiveLongTailRetryMinRetriesPerWindow;
+  }
+
+  public boolean isHotKeyCacheEnabled() {
+    return hotKeyCacheEnabled;
+  }
+
+  public List<String> getHotKeyCacheStoreAllowlist() {
+    return hotKeyCacheStoreAllowlist;
+  }
+
+  public long getHotKeyCacheSizeInBytes() {
+    return hotKeyCacheSizeInBytes;
+  }
+
+  public long getHotKeyCacheSizePerStoreInBytes() {
+    return hotKeyCacheSizePerStoreInBytes;
+  }
+
+  public int getHotKeyCacheAdmissionThreshold() {
+    return hotKeyCacheAdmissionThreshold;
+  }
+
+  public boolean isRequestCoalescingEnabled() {
+    return requestCoalescingEnabled;
+  }
+
+  public int getRequestCoalescingMaxInFlightKeys() {
+    return requestCoalescingMaxInFlightKeys;
+  }
+
   public StorageNodeClientType getStorageNodeClientType() {
     return storageNodeClientType;
   }
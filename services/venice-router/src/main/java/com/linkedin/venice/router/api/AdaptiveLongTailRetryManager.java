@@ -0,0 +1,220 @@
+package com.linkedin.venice.router.api;
+
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.utils.SystemTime;
+import com.linkedin.venice.utils.Time;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * This class is used to adapt the long-tail retry threshold to the recent latency of each store and request type, and
+ * to limit the retries with a retry budget, check
+ * {@link com.linkedin.venice.ConfigKeys#ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED}.
+ *
+ * The latency samples and the request counts are collected in fixed windows, and the retry threshold is the configured
+ * percentile of the latency in the previous window, which is computed once per window, so that tracking the latency
+ * and looking up the threshold are cheap for every request. The retry budget allows the long-tail retries of the
+ * current and the previous windows up to the configured ratio of the requests in the same windows, and a minimum
+ * number of the long-tail retries in every window, so that the stores with little traffic could still retry.
+ */
+public class AdaptiveLongTailRetryManager {
+  /**
+   * The latency beyond this will be tracked in the last bucket.
+   */
+  private static final int MAX_TRACKED_LATENCY_MS = 60 * 1000;
+  /**
+   * The inclusive upper bounds of the latency buckets, with 1ms resolution for the latency up to 32ms and about 10%
+   * resolution beyond.
+   */
+  private static final int[] LATENCY_BUCKET_UPPER_BOUNDS_MS;
+
+  static {
+    List<Integer> upperBounds = new ArrayList<>();
+    int upperBound = 0;
+    while (upperBound < MAX_TRACKED_LATENCY_MS) {
+      upperBound = upperBound < 32 ? upperBound + 1 : (int) (upperBound * 1.1);
+      upperBounds.add(Math.min(upperBound, MAX_TRACKED_LATENCY_MS));
+    }
+    LATENCY_BUCKET_UPPER_BOUNDS_MS = upperBounds.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static final int REQUEST_TYPE_COUNT = RequestType.values().length;
+
+  private final double percentile;
+  private final double budgetRatio;
+  private final long windowMs;
+  private final int minSampleCount;
+  private final int minRetriesPerWindow;
+  private final Time time;
+  private final Map<String, LatencyTracker[]> storeTrackers = new VeniceConcurrentHashMap<>();
+
+  public AdaptiveLongTailRetryManager(VeniceRouterConfig config) {
+    this(
+        config.getAdaptiveLongTailRetryPercentile(),
+        config.getAdaptiveLongTailRetryBudgetRatio(),
+        config.getAdaptiveLongTailRetryWindowMs(),
+        config.getAdaptiveLongTailRetryMinSampleCount(),
+        config.getAdaptiveLongTailRetryMinRetriesPerWindow(),
+        new SystemTime());
+  }
+
+  public AdaptiveLongTailRetryManager(
+      double percentile,
+      double budgetRatio,
+      long windowMs,
+      int minSampleCount,
+      int minRetriesPerWindow,
+      Time time) {
+    this.percentile = percentile;
+    this.budgetRatio = budgetRatio;
+    this.windowMs = windowMs;
+    this.minSampleCount = minSampleCount;
+    this.minRetriesPerWindow = minRetriesPerWindow;
+    this.time = time;
+  }
+
+  /**
+   * Record the latency of a finished request, and only the latency of the healthy requests will be used to compute the
+   * retry threshold, since the failed requests could be much faster or slower than the regular ones.
+   */
+  public void recordRequest(String storeName, RequestType requestType, double latencyMs, boolean healthy) {
+    Window window = getTracker(storeName, requestType).getCurrentWindow(time.getMilliseconds());
+    window.requestCount.increment();
+    if (healthy) {
+      window.latencyCounts.incrementAndGet(getBucketIndex(latencyMs));
+      window.sampleCount.increment();
+    }
+  }
+
+  /**
+   * @return the adaptive retry threshold of the given store and request type, or the given static threshold if there
+   *         are not enough latency samples in the previous window.
+   */
+  public int getLongTailRetryThresholdMs(String storeName, RequestType requestType, int staticThresholdMs) {
+    LatencyTracker tracker = getTracker(storeName, requestType);
+    tracker.getCurrentWindow(time.getMilliseconds());
+    int thresholdMs = tracker.thresholdMs;
+    return thresholdMs > 0 ? thresholdMs : staticThresholdMs;
+  }
+
+  /**
+   * Try to take a long-tail retry from the retry budget of the given store and request type.
+   *
+   * @return whether the retry is allowed.
+   */
+  public boolean tryAcquireRetryBudget(String storeName, RequestType requestType) {
+    LatencyTracker tracker = getTracker(storeName, requestType);
+    Window currentWindow = tracker.getCurrentWindow(time.getMilliseconds());
+    Window previousWindow = tracker.previousWindow;
+    long requestCount = currentWindow.requestCount.sum();
+    long retryCount = currentWindow.retryCount.incrementAndGet();
+    if (retryCount <= minRetriesPerWindow) {
+      return true;
+    }
+    if (previousWindow != null) {
+      requestCount += previousWindow.requestCount.sum();
+      retryCount += previousWindow.retryCount.get();
+    }
+    if (retryCount > budgetRatio * requestCount) {
+      currentWindow.retryCount.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  private LatencyTracker getTracker(String storeName, RequestType requestType) {
+    LatencyTracker[] trackers = storeTrackers.computeIfAbsent(storeName, s -> {
+      LatencyTracker[] newTrackers = new LatencyTracker[REQUEST_TYPE_COUNT];
+      long currentTimeMs = time.getMilliseconds();
+      for (int i = 0; i < REQUEST_TYPE_COUNT; ++i) {
+        newTrackers[i] = new LatencyTracker(currentTimeMs);
+      }
+      return newTrackers;
+    });
+    return trackers[requestType.ordinal()];
+  }
+
+  static int getBucketIndex(double latencyMs) {
+    int low = 0;
+    int high = LATENCY_BUCKET_UPPER_BOUNDS_MS.length - 1;
+    // Find the first bucket, whose upper bound is not lower than the latency
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (LATENCY_BUCKET_UPPER_BOUNDS_MS[mid] < latencyMs) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private class LatencyTracker {
+    private volatile Window currentWindow;
+    private volatile Window previousWindow;
+    /**
+     * The retry threshold computed from {@link #previousWindow}, and non-positive means not enough samples.
+     */
+    private volatile int thresholdMs = -1;
+
+    LatencyTracker(long currentTimeMs) {
+      this.currentWindow = new Window(currentTimeMs);
+    }
+
+    Window getCurrentWindow(long currentTimeMs) {
+      Window window = currentWindow;
+      if (currentTimeMs - window.startTimeMs < windowMs) {
+        return window;
+      }
+      synchronized (this) {
+        window = currentWindow;
+        if (currentTimeMs - window.startTimeMs >= windowMs) {
+          // The current window is too old to reflect the recent latency if there is no request for a whole window
+          previousWindow = currentTimeMs - window.startTimeMs < 2 * windowMs ? window : null;
+          thresholdMs = computeThresholdMs(previousWindow);
+          window = new Window(currentTimeMs);
+          currentWindow = window;
+        }
+        return window;
+      }
+    }
+
+    private int computeThresholdMs(Window window) {
+      if (window == null) {
+        return -1;
+      }
+      long sampleCount = window.sampleCount.sum();
+      if (sampleCount == 0 || sampleCount < minSampleCount) {
+        return -1;
+      }
+      long targetCount = (long) Math.ceil(sampleCount * percentile / 100);
+      long cumulativeCount = 0;
+      for (int i = 0; i < LATENCY_BUCKET_UPPER_BOUNDS_MS.length; ++i) {
+        cumulativeCount += window.latencyCounts.get(i);
+        if (cumulativeCount >= targetCount) {
+          return LATENCY_BUCKET_UPPER_BOUNDS_MS[i];
+        }
+      }
+      return MAX_TRACKED_LATENCY_MS;
+    }
+  }
+
+  private static class Window {
+    private final long startTimeMs;
+    private final AtomicLongArray latencyCounts = new AtomicLongArray(LATENCY_BUCKET_UPPER_BOUNDS_MS.length);
+    private final LongAdder sampleCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+    private final AtomicLong retryCount = new AtomicLong();
+
+    Window(long startTimeMs) {
+      this.startTimeMs = startTimeMs;
+    }
+  }
+}
@@ -0,0 +1,474 @@
+package com.linkedin.venice.router.api;
+
+import com.linkedin.alpini.base.cache.ByteBufHashMap;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.StoreDataChangedListener;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
+import com.linkedin.venice.router.stats.RouterStats;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nonnull;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * This class caches the single-get responses of the hot keys for the batch-only stores, whose values can't change
+ * within a store version, check {@link com.linkedin.venice.ConfigKeys#ROUTER_HOT_KEY_CACHE_ENABLED}.
+ *
+ * The cache of each store only holds the entries of a single store version, and the values are kept as they are
+ * returned by the storage nodes, which are usually compressed, in the off-heap blocks of {@link ByteBufHashMap}, which
+ * evicts the oldest blocks once the memory limit is reached. The memory limit of Router is shared evenly by the stores
+ * being cached, up to the limit of each store, and no more stores will be cached once each of them would get less
+ * than {@link #MIN_SIZE_PER_STORE_IN_BYTES}. A key will only be admitted after it has been requested for a few times
+ * recently, which is tracked by a small count-min sketch per store, so that the keys only read once won't push the hot
+ * keys out. The whole cache of a store is dropped once {@link VeniceVersionFinder} starts serving a new current
+ * version of the store, or the store is no longer a batch-only store.
+ */
+public class RouterHotKeyCache {
+  private static final Logger LOGGER = LogManager.getLogger(RouterHotKeyCache.class);
+  private static final long MIN_SIZE_PER_STORE_IN_BYTES = 1024 * 1024;
+  /**
+   * The bytes of the schema id and the compression strategy serialized along with each value.
+   */
+  private static final int VALUE_HEADER_SIZE = 2 * Integer.BYTES;
+
+  private final Set<String> storeAllowlist;
+  private final long maxSizeInBytes;
+  private final long maxSizePerStoreInBytes;
+  private final int admissionThreshold;
+  private final RouterStats<AggRouterHttpRequestStats> routerStats;
+  private final Set<String> cacheableStores = VeniceConcurrentHashMap.newKeySet();
+  private final Map<String, StoreCache> storeCaches = new VeniceConcurrentHashMap<>();
+  private final Map<String, Integer> currentVersions = new VeniceConcurrentHashMap<>();
+
+  public RouterHotKeyCache(
+      VeniceRouterConfig config,
+      ReadOnlyStoreRepository storeRepository,
+      RouterStats<AggRouterHttpRequestStats> routerStats) {
+    this(
+        config.getHotKeyCacheStoreAllowlist(),
+        config.getHotKeyCacheSizeInBytes(),
+        config.getHotKeyCacheSizePerStoreInBytes(),
+        config.getHotKeyCacheAdmissionThreshold(),
+        storeRepository,
+        routerStats);
+  }
+
+  public RouterHotKeyCache(
+      Collection<String> storeAllowlist,
+      long maxSizeInBytes,
+      long maxSizePerStoreInBytes,
+      int admissionThreshold,
+      ReadOnlyStoreRepository storeRepository,
+      RouterStats<AggRouterHttpRequestStats> routerStats) {
+    this.storeAllowlist = new HashSet<>(storeAllowlist);
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.maxSizePerStoreInBytes = maxSizePerStoreInBytes;
+    this.admissionThreshold = admissionThreshold;
+    this.routerStats = routerStats;
+    storeRepository.registerStoreDataChangedListener(storeChangeListener);
+    storeRepository.getAllStores().forEach(this::updateCacheableStore);
+    LOGGER.info(
+        "Router hot key cache is enabled for stores: {} with max size: {} bytes and max size per store: {} bytes",
+        this.storeAllowlist.isEmpty() ? "all batch-only stores" : this.storeAllowlist,
+        maxSizeInBytes,
+        maxSizePerStoreInBytes);
+  }
+
+  /**
+   * @return the cached response of the given request, or null if the request can't be served by the cache.
+   */
+  public PortableHttpResponse get(VenicePath path) {
+    if (!isCacheable(path)) {
+      return null;
+    }
+    String storeName = path.getStoreName();
+    AggRouterHttpRequestStats stats = routerStats.getStatsByType(RequestType.SINGLE_GET);
+    StoreCache storeCache = storeCaches.get(storeName);
+    ByteBuffer key = path.getPartitionKey().getKeyBuffer();
+    if (storeCache != null && storeCache.version == path.getVersionNumber()) {
+      CachedValue value = storeCache.values.get(key);
+      if (value != null) {
+        stats.recordHotKeyCacheHitRequest(storeName);
+        return new CachedResponse(value);
+      }
+    }
+    stats.recordHotKeyCacheMissRequest(storeName);
+    storeCache = getOrCreateStoreCache(storeName, path.getVersionNumber());
+    if (storeCache != null) {
+      storeCache.admissionFilter.increment(key.hashCode());
+    }
+    return null;
+  }
+
+  /**
+   * Cache the value returned by the storage node for the given request if the key is hot enough.
+   *
+   * @param content the response content, which won't be consumed.
+   */
+  public void put(VenicePath path, ByteBuf content, String schemaIdHeader, String compressionStrategyHeader) {
+    if (!isCacheable(path) || schemaIdHeader == null) {
+      return;
+    }
+    String storeName = path.getStoreName();
+    StoreCache storeCache = storeCaches.get(storeName);
+    ByteBuffer key = path.getPartitionKey().getKeyBuffer();
+    if (storeCache == null || storeCache.version != path.getVersionNumber()
+        || storeCache.admissionFilter.estimate(key.hashCode()) < admissionThreshold
+        || content.readableBytes() + VALUE_HEADER_SIZE >= ByteBufHashMap.DEFAULT_BLOCK_SIZE) {
+      // The values which don't fit in a block are not cached, since each of them would take a dedicated block
+      return;
+    }
+    CachedValue value = new CachedValue(
+        Integer.parseInt(schemaIdHeader),
+        VeniceResponseDecompressor.getCompressionStrategy(compressionStrategyHeader),
+        ByteBufUtil.getBytes(content));
+    // Copy the key since the request buffer won't be retained
+    byte[] keyBytes = new byte[key.remaining()];
+    key.duplicate().get(keyBytes);
+    storeCache.put(ByteBuffer.wrap(keyBytes), value);
+    storeCache.reportEviction(storeName);
+  }
+
+  /**
+   * Drop the cache of the given store if it is for another version, which is invoked once {@link VeniceVersionFinder}
+   * starts serving a new current version.
+   */
+  public void onCurrentVersionChange(String storeName, int currentVersion) {
+    currentVersions.put(storeName, currentVersion);
+    StoreCache storeCache = storeCaches.get(storeName);
+    if (storeCache != null && storeCache.version != currentVersion && dropStoreCache(storeName, storeCache)) {
+      LOGGER.info(
+          "Dropped the hot key cache of store: {} version: {} since the current version is: {}",
+          storeName,
+          storeCache.version,
+          currentVersion);
+    }
+  }
+
+  private boolean isCacheable(VenicePath path) {
+    return path.getRequestType() == RequestType.SINGLE_GET && !path.isStreamingRequest()
+        && cacheableStores.contains(path.getStoreName());
+  }
+
+  /**
+   * @return the cache of the given store version, or null if the version isn't the one served as the current version,
+   *         such as the retry requests to the previous version during the version swap.
+   */
+  private StoreCache getOrCreateStoreCache(String storeName, int version) {
+    Integer currentVersion = currentVersions.get(storeName);
+    if (currentVersion != null && currentVersion != version) {
+      return null;
+    }
+    StoreCache storeCache = storeCaches.get(storeName);
+    if (storeCache == null && !hasRoomForNewStoreCache()) {
+      return null;
+    }
+    if (storeCache == null || (storeCache.version != version && currentVersion != null)) {
+      storeCache = createStoreCache(storeName, version, currentVersion != null);
+    }
+    return storeCache != null && storeCache.version == version ? storeCache : null;
+  }
+
+  /**
+   * The store caches are created and dropped with the lock held, so that the memory shared by them stays in the limit.
+   *
+   * @return the cache of the given store, or null if there is no memory left for a new store cache.
+   */
+  private synchronized StoreCache createStoreCache(String storeName, int version, boolean versionServed) {
+    StoreCache storeCache = storeCaches.get(storeName);
+    if (storeCache != null) {
+      if (storeCache.version == version || !versionServed) {
+        return storeCache;
+      }
+      // The stale cache created by the requests to the previous version during the version swap
+      storeCaches.remove(storeName);
+      storeCache.close();
+      storeCache = null;
+    }
+    if (hasRoomForNewStoreCache()) {
+      storeCache = new StoreCache(version);
+      storeCaches.put(storeName, storeCache);
+    }
+    updateSizePerStore();
+    return storeCache;
+  }
+
+  private boolean hasRoomForNewStoreCache() {
+    return (storeCaches.size() + 1) * Math.min(MIN_SIZE_PER_STORE_IN_BYTES, maxSizePerStoreInBytes) <= maxSizeInBytes;
+  }
+
+  /**
+   * @return whether the given cache is still the cache of the store and dropped.
+   */
+  private synchronized boolean dropStoreCache(String storeName, StoreCache storeCache) {
+    if (!storeCaches.remove(storeName, storeCache)) {
+      return false;
+    }
+    storeCache.close();
+    updateSizePerStore();
+    return true;
+  }
+
+  private void updateSizePerStore() {
+    long sizePerStore = Math.min(maxSizePerStoreInBytes, maxSizeInBytes / Math.max(1, storeCaches.size()));
+    for (StoreCache storeCache: storeCaches.values()) {
+      storeCache.setMaxSize(sizePerStore);
+    }
+  }
+
+  private void updateCacheableStore(Store store) {
+    String storeName = store.getName();
+    if (!store.isHybrid() && (storeAllowlist.isEmpty() || storeAllowlist.contains(storeName))) {
+      cacheableStores.add(storeName);
+    } else {
+      cacheableStores.remove(storeName);
+      dropStoreCache(storeName);
+    }
+  }
+
+  private void dropStoreCache(String storeName) {
+    StoreCache storeCache = storeCaches.get(storeName);
+    if (storeCache != null) {
+      dropStoreCache(storeName, storeCache);
+    }
+  }
+
+  private final StoreDataChangedListener storeChangeListener = new StoreDataChangedListener() {
+    @Override
+    public void handleStoreCreated(Store store) {
+      updateCacheableStore(store);
+    }
+
+    @Override
+    public void handleStoreDeleted(String storeName) {
+      cacheableStores.remove(storeName);
+      currentVersions.remove(storeName);
+      dropStoreCache(storeName);
+    }
+
+    @Override
+    public void handleStoreChanged(Store store) {
+      updateCacheableStore(store);
+    }
+  };
+
+  private class StoreCache {
+    private final int version;
+    private final ByteBufHashMap<ByteBuffer, CachedValue> values;
+    private final AdmissionFilter admissionFilter = new AdmissionFilter();
+    private final LongAdder insertionCount = new LongAdder();
+    private final AtomicLong reportedEvictionCount = new AtomicLong();
+    /**
+     * The puts hold the read lock, so that no block will be allocated by a put racing with {@link #close()}, which
+     * would never be released once the cache is dropped.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    StoreCache(int version) {
+      this.version = version;
+      this.values = new ByteBufHashMap<>(CachedValue.SERDES);
+    }
+
+    void put(ByteBuffer key, CachedValue value) {
+      Lock readLock = lock.readLock();
+      // Skip caching rather than blocking the response while the cache is being resized or dropped
+      if (!readLock.tryLock()) {
+        return;
+      }
+      try {
+        if (!closed && values.put(key, value) == null) {
+          insertionCount.increment();
+        }
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    /**
+     * The new limit takes effect once a new block is allocated.
+     */
+    void setMaxSize(long maxSizeInBytes) {
+      lock.writeLock().lock();
+      try {
+        values.setMaxAllocatedMemory(maxSizeInBytes);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void close() {
+      lock.writeLock().lock();
+      try {
+        closed = true;
+        values.clear();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /**
+     * {@link ByteBufHashMap} evicts the entries of the whole oldest block in the background, so the evictions are
+     * derived from the number of the entries inserted and the ones still in the cache.
+     */
+    void reportEviction(String storeName) {
+      long evictionCount = insertionCount.sum() - values.size();
+      long reportedCount = reportedEvictionCount.get();
+      if (evictionCount > reportedCount && reportedEvictionCount.compareAndSet(reportedCount, evictionCount)) {
+        routerStats.getStatsByType(RequestType.SINGLE_GET)
+            .recordHotKeyCacheEviction(storeName, evictionCount - reportedCount);
+      }
+    }
+  }
+
+  /**
+   * A count-min sketch with 4 hash functions to estimate the recent request count of each key, and all the counters
+   * are halved periodically so that the keys which are no longer hot will age out.
+   */
+  static class AdmissionFilter {
+    private static final int WIDTH = 4096;
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = { 0x97cb3127, 0xb7ea8f3b, 0xc2b2ae35, 0x27d4eb2f };
+    private static final int RESET_THRESHOLD = WIDTH * 10;
+
+    private final AtomicIntegerArray counters = new AtomicIntegerArray(WIDTH * DEPTH);
+    private final AtomicInteger additions = new AtomicInteger();
+
+    void increment(int hash) {
+      for (int i = 0; i < DEPTH; ++i) {
+        counters.incrementAndGet(indexOf(hash, i));
+      }
+      if (additions.incrementAndGet() == RESET_THRESHOLD) {
+        // The concurrent increments during the reset could be lost, which is fine for the estimation
+        for (int i = 0; i < counters.length(); ++i) {
+          counters.set(i, counters.get(i) >>> 1);
+        }
+        additions.set(0);
+      }
+    }
+
+    int estimate(int hash) {
+      int count = Integer.MAX_VALUE;
+      for (int i = 0; i < DEPTH; ++i) {
+        count = Math.min(count, counters.get(indexOf(hash, i)));
+      }
+      return count;
+    }
+
+    private static int indexOf(int hash, int row) {
+      int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+      h ^= h >>> 16;
+      return row * WIDTH + (h & (WIDTH - 1));
+    }
+  }
+
+  private static class CachedValue {
+    private static final ByteBufHashMap.SerDes<CachedValue> SERDES = new ByteBufHashMap.SerDes<CachedValue>() {
+      @Override
+      public CachedValue deserialize(@Nonnull ByteBufInputStream inputStream) {
+        try {
+          int schemaId = inputStream.readInt();
+          CompressionStrategy compressionStrategy = CompressionStrategy.valueOf(inputStream.readInt());
+          byte[] value = new byte[inputStream.available()];
+          inputStream.readFully(value);
+          return new CachedValue(schemaId, compressionStrategy, value);
+        } catch (IOException e) {
+          LOGGER.warn("Failed to deserialize the cached value", e);
+          return null;
+        }
+      }
+
+      @Override
+      public boolean serialize(@Nonnull ByteBufOutputStream outputStream, @Nonnull CachedValue value) {
+        try {
+          outputStream.writeInt(value.schemaId);
+          outputStream.writeInt(value.compressionStrategy.getValue());
+          outputStream.write(value.value);
+          return true;
+        } catch (IOException e) {
+          LOGGER.warn("Failed to serialize the cached value", e);
+          return false;
+        }
+      }
+    };
+
+    private final int schemaId;
+    private final CompressionStrategy compressionStrategy;
+    private final byte[] value;
+
+    CachedValue(int schemaId, CompressionStrategy compressionStrategy, byte[] value) {
+      this.schemaId = schemaId;
+      this.compressionStrategy = compressionStrategy;
+      this.value = value;
+    }
+  }
+
+  /**
+   * The response built from the cached value, which has the same status and headers as the storage node response
+   * used by {@link VeniceDispatcher}.
+   */
+  static class CachedResponse implements PortableHttpResponse {
+    private final CachedValue value;
+
+    private CachedResponse(CachedValue value) {
+      this.value = value;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return HttpStatus.SC_OK;
+    }
+
+    @Override
+    public ByteBuf getContentInByteBuf() {
+      return Unpooled.wrappedBuffer(value.value);
+    }
+
+    @Override
+    public boolean containsHeader(String headerName) {
+      return getFirstHeader(headerName) != null;
+    }
+
+    @Override
+    public String getFirstHeader(String headerName) {
+      switch (headerName) {
+        case HttpConstants.VENICE_SCHEMA_ID:
+          return Integer.toString(value.schemaId);
+        case HttpConstants.VENICE_COMPRESSION_STRATEGY:
+          return Integer.toString(value.compressionStrategy.getValue());
+        case HttpHeaders.CONTENT_TYPE:
+          return HttpConstants.AVRO_BINARY;
+        default:
+          return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.linkedin.venice.router.api;
+
+import com.linkedin.alpini.router.api.RouterException;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
+import com.linkedin.venice.router.stats.RouterStats;
+import com.linkedin.venice.utils.Pair;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * This class coalesces the concurrent single-get requests for the same key of the same store version, so that only
+ * the first request will be sent to the storage node, and the others will wait for its response, check
+ * {@link com.linkedin.venice.ConfigKeys#ROUTER_REQUEST_COALESCING_ENABLED}.
+ *
+ * The response content is shared by all the waiting requests, and each of them gets a retained duplicate of it, so the
+ * pooled buffer will be released once all of them have been written out. The retry requests are never coalesced, since
+ * they are meant to bypass the slow in-flight requests, and the compression of the shared response will be handled by
+ * each request separately.
+ */
+public class RouterRequestCoalescer {
+  private static final Logger LOGGER = LogManager.getLogger(RouterRequestCoalescer.class);
+
+  private final int maxInFlightKeys;
+  private final RouterStats<AggRouterHttpRequestStats> routerStats;
+  private final Map<Pair<String, RouterKey>, InFlightRequest> inFlightRequests = new VeniceConcurrentHashMap<>();
+
+  public RouterRequestCoalescer(VeniceRouterConfig config, RouterStats<AggRouterHttpRequestStats> routerStats) {
+    this(config.getRequestCoalescingMaxInFlightKeys(), routerStats);
+  }
+
+  public RouterRequestCoalescer(int maxInFlightKeys, RouterStats<AggRouterHttpRequestStats> routerStats) {
+    this.maxInFlightKeys = maxInFlightKeys;
+    this.routerStats = routerStats;
+    LOGGER.info("Router request coalescing is enabled with max in-flight keys: {}", maxInFlightKeys);
+  }
+
+  public boolean isCoalescable(VenicePath path) {
+    return path.getRequestType() == RequestType.SINGLE_GET && !path.isStreamingRequest() && !path.isRetryRequest();
+  }
+
+  /**
+   * Send the given request via the given sender, unless the same key is being requested already, in which case the
+   * response of the in-flight request will be shared.
+   *
+   * @param storageNodeId the storage node chosen for the request, which will be marked as requested for the following
+   *                      requests sharing the response, so that their retries will go to other storage nodes.
+   */
+  public CompletableFuture<PortableHttpResponse> coalesce(VenicePath path, String storageNodeId, RequestSender sender)
+      throws RouterException {
+    String storeName = path.getStoreName();
+    Pair<String, RouterKey> key = new Pair<>(path.getResourceName(), path.getPartitionKey());
+    InFlightRequest inFlightRequest = inFlightRequests.get(key);
+    if (inFlightRequest == null) {
+      if (inFlightRequests.size() >= maxInFlightKeys) {
+        routerStats.getStatsByType(RequestType.SINGLE_GET).recordRequestCoalescingRejectedRequest(storeName);
+        return sender.send();
+      }
+      InFlightRequest newRequest = new InFlightRequest(storageNodeId);
+      inFlightRequest = inFlightRequests.putIfAbsent(key, newRequest);
+      if (inFlightRequest == null) {
+        return newRequest.send(key, sender);
+      }
+    }
+
+    CompletableFuture<PortableHttpResponse> responseFuture = inFlightRequest.join();
+    if (responseFuture == null) {
+      // The in-flight request has just completed
+      return sender.send();
+    }
+    path.requestStorageNode(inFlightRequest.storageNodeId);
+    routerStats.getStatsByType(RequestType.SINGLE_GET).recordCoalescedRequest(storeName);
+    return responseFuture;
+  }
+
+  /**
+   * For TEST ONLY
+   */
+  int getInFlightKeyCount() {
+    return inFlightRequests.size();
+  }
+
+  @FunctionalInterface
+  public interface RequestSender {
+    CompletableFuture<PortableHttpResponse> send() throws RouterException;
+  }
+
+  private class InFlightRequest {
+    private final String storageNodeId;
+    private final CompletableFuture<PortableHttpResponse> responseFuture = new CompletableFuture<>();
+    private final List<CompletableFuture<PortableHttpResponse>> waiters = new ArrayList<>();
+    private boolean completed = false;
+
+    InFlightRequest(String storageNodeId) {
+      this.storageNodeId = storageNodeId;
+    }
+
+    CompletableFuture<PortableHttpResponse> send(Pair<String, RouterKey> key, RequestSender sender)
+        throws RouterException {
+      CompletableFuture<PortableHttpResponse> storageNodeResponseFuture;
+      try {
+        storageNodeResponseFuture = sender.send();
+      } catch (Throwable e) {
+        inFlightRequests.remove(key, this);
+        complete(null, e);
+        throw e;
+      }
+      storageNodeResponseFuture.whenComplete((response, throwable) -> {
+        // Stop taking new waiters before distributing the response
+        inFlightRequests.remove(key, this);
+        complete(response, throwable);
+      });
+      return responseFuture;
+    }
+
+    /**
+     * @return the future of the shared response, or null if the request has completed.
+     */
+    synchronized CompletableFuture<PortableHttpResponse> join() {
+      if (completed) {
+        return null;
+      }
+      CompletableFuture<PortableHttpResponse> waiter = new CompletableFuture<>();
+      waiters.add(waiter);
+      return waiter;
+    }
+
+    private void complete(PortableHttpResponse response, Throwable throwable) {
+      synchronized (this) {
+        completed = true;
+      }
+      if (throwable != null) {
+        responseFuture.completeExceptionally(throwable);
+        waiters.forEach(waiter -> waiter.completeExceptionally(throwable));
+        return;
+      }
+      if (waiters.isEmpty()) {
+        responseFuture.complete(response);
+        return;
+      }
+      try {
+        // The content of some responses can only be read once, so it is read here and shared by all the requests
+        ByteBuf content = response.getContentInByteBuf();
+        responseFuture.complete(new CoalescedResponse(response, content.retainedDuplicate()));
+        waiters.forEach(waiter -> waiter.complete(new CoalescedResponse(response, content.retainedDuplicate())));
+      } catch (Throwable e) {
+        responseFuture.completeExceptionally(e);
+        waiters.forEach(waiter -> waiter.completeExceptionally(e));
+      } finally {
+        ReferenceCountUtil.release(response);
+      }
+    }
+  }
+
+  /**
+   * The response shared by the coalesced requests, which holds its own reference of the shared content.
+   */
+  static final class CoalescedResponse extends DefaultByteBufHolder implements PortableHttpResponse {
+    private final PortableHttpResponse response;
+
+    CoalescedResponse(PortableHttpResponse response, ByteBuf content) {
+      super(content);
+      this.response = response;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return response.getStatusCode();
+    }
+
+    @Override
+    public ByteBuf getContentInByteBuf() {
+      return content();
+    }
+
+    @Override
+    public boolean containsHeader(String headerName) {
+      return response.containsHeader(headerName);
+    }
+
+    @Override
+    public String getFirstHeader(String headerName) {
+      return response.getFirstHeader(headerName);
+    }
+
+    @Override
+    public CoalescedResponse replace(ByteBuf content) {
+      return new CoalescedResponse(response, content);
+    }
+  }
+}
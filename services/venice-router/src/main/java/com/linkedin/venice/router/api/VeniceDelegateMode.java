@@ -93,6 +93,8 @@ public class VeniceDelegateMode extends ScatterGatherMode {
 
   private HelixGroupSelector helixGroupSelector;
 
+  private AdaptiveLongTailRetryManager adaptiveLongTailRetryManager;
+
   private final VeniceMultiKeyRoutingStrategy multiKeyRoutingStrategy;
   private final ScatterGatherMode scatterGatherModeForMultiKeyRequest;
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
@@ -138,6 +140,10 @@ public class VeniceDelegateMode extends ScatterGatherMode {
     this.helixGroupSelector = helixGroupSelector;
   }
 
+  public void initAdaptiveLongTailRetryManager(AdaptiveLongTailRetryManager adaptiveLongTailRetryManager) {
+    this.adaptiveLongTailRetryManager = adaptiveLongTailRetryManager;
+  }
+
   @Nonnull
   @Override
   public <H, P extends ResourcePath<K>, K, R> Scatter<H, P, K> scatter(
@@ -310,6 +316,16 @@ public class VeniceDelegateMode extends ScatterGatherMode {
             SERVICE_UNAVAILABLE,
             "The retry request aborted because there are too many retries for current request",
             RouterExceptionAndTrackingUtils.FailureType.SMART_RETRY_ABORTED_BY_MAX_RETRY_ROUTE_LIMIT);
+      } else if (adaptiveLongTailRetryManager != null && venicePath.isLongTailRetryRequest()
+          && !adaptiveLongTailRetryManager.tryAcquireRetryBudget(storeName, venicePath.getRequestType())) {
+        // Check whether the long-tail retry request is within the retry budget of the adaptive long-tail retry
+        routerStats.getStatsByType(venicePath.getRequestType()).recordDisallowedRetryRequest(storeName);
+        throw RouterExceptionAndTrackingUtils.newRouterExceptionAndTracking(
+            Optional.of(storeName),
+            Optional.of(venicePath.getRequestType()),
+            SERVICE_UNAVAILABLE,
+            "The retry request aborted because the retry budget is exhausted",
+            RouterExceptionAndTrackingUtils.FailureType.RETRY_ABORTED_BY_RETRY_BUDGET);
       } else {
         routerStats.getStatsByType(venicePath.getRequestType()).recordAllowedRetryRequest(storeName);
       }
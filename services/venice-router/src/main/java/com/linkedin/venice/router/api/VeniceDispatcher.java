@@ -41,6 +41,7 @@ import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
 import io.tehuti.metrics.MetricsRepository;
 import java.io.IOException;
 import java.util.Collections;
@@ -92,6 +93,9 @@ public class VeniceDispatcher implements PartitionDispatchHandler4<Instance, Ven
 
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
 
+  private RouterHotKeyCache hotKeyCache;
+  private RouterRequestCoalescer requestCoalescer;
+
   public VeniceDispatcher(
       VeniceRouterConfig config,
       ReadOnlyStoreRepository storeRepository,
@@ -117,6 +121,14 @@ public class VeniceDispatcher implements PartitionDispatchHandler4<Instance, Ven
     this.routerStats = routerStats;
   }
 
+  public void initHotKeyCache(RouterHotKeyCache hotKeyCache) {
+    this.hotKeyCache = hotKeyCache;
+  }
+
+  public void initRequestCoalescer(RouterRequestCoalescer requestCoalescer) {
+    this.requestCoalescer = requestCoalescer;
+  }
+
   @Override
   public void dispatch(
       @Nonnull Scatter<Instance, VenicePath, RouterKey> scatter,
@@ -154,11 +166,33 @@ public class VeniceDispatcher implements PartitionDispatchHandler4<Instance, Ven
     Instance storageNode = part.getHosts().get(0);
     hostSelected.setSuccess(storageNode);
 
+    if (hotKeyCache != null) {
+      PortableHttpResponse cachedResponse = hotKeyCache.get(path);
+      if (cachedResponse != null) {
+        // Served by the hot key cache without sending the request to the storage node
+        try {
+          responseFuture.setSuccess(Collections.singletonList(buildResponse(path, cachedResponse)));
+        } catch (Throwable e) {
+          responseFuture.setFailure(e);
+        }
+        return;
+      }
+    }
+
     // sendRequest completes future either immediately in the calling thread context or on the executor
-    sendRequest(storageNode, path, retryFuture).whenComplete((response, throwable) -> {
+    CompletableFuture<PortableHttpResponse> storageNodeResponseFuture;
+    if (requestCoalescer != null && requestCoalescer.isCoalescable(path)) {
+      storageNodeResponseFuture = requestCoalescer
+          .coalesce(path, storageNode.getNodeId(), () -> sendRequest(storageNode, path, retryFuture));
+    } else {
+      storageNodeResponseFuture = sendRequest(storageNode, path, retryFuture);
+    }
+    storageNodeResponseFuture.whenComplete((response, throwable) -> {
       try {
         int statusCode = response != null ? response.getStatusCode() : HttpStatus.SC_INTERNAL_SERVER_ERROR;
         if (!retryFuture.isCancelled() && RETRIABLE_ERROR_CODES.contains(statusCode)) {
+          // The response could be holding the pooled buffer, check NettyStorageNodeClient
+          ReferenceCountUtil.release(response);
           retryFuture.setSuccess(INTERNAL_SERVER_ERROR);
           return;
         }
@@ -245,7 +279,12 @@ public class VeniceDispatcher implements PartitionDispatchHandler4<Instance, Ven
         storageNodeClient.query(
             storageNode,
             path,
-            responseFuture::complete,
+            response -> {
+              if (!responseFuture.complete(response)) {
+                // The future has been completed already, e.g. by the leaked future cleanup
+                ReferenceCountUtil.release(response);
+              }
+            },
             responseFuture::completeExceptionally,
             () -> responseFuture.cancel(false),
             startTime);
@@ -276,6 +315,15 @@ public class VeniceDispatcher implements PartitionDispatchHandler4<Instance, Ven
       return buildPlainTextResponse(HttpResponseStatus.valueOf(statusCode), content);
     }
 
+    if (hotKeyCache != null && statusCode == HttpStatus.SC_OK
+        && !(serverResponse instanceof RouterHotKeyCache.CachedResponse)) {
+      hotKeyCache.put(
+          path,
+          content,
+          serverResponse.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID),
+          serverResponse.getFirstHeader(VENICE_COMPRESSION_STRATEGY));
+    }
+
     CompressionStrategy contentCompression =
         VeniceResponseDecompressor.getCompressionStrategy(serverResponse.getFirstHeader(VENICE_COMPRESSION_STRATEGY));
 
@@ -67,6 +67,7 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
   private final Optional<MetaStoreShadowReader> metaStoreShadowReaderOptional;
 
   private HelixGroupSelector helixGroupSelector;
+  private AdaptiveLongTailRetryManager adaptiveLongTailRetryManager;
 
   // timeout is configurable and should be overwritten elsewhere
   private long singleGetTardyThresholdInMs = TimeUnit.MILLISECONDS.convert(10, TimeUnit.SECONDS);
@@ -127,6 +128,10 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
     this.helixGroupSelector = helixGroupSelector;
   }
 
+  public void initAdaptiveLongTailRetryManager(AdaptiveLongTailRetryManager adaptiveLongTailRetryManager) {
+    this.adaptiveLongTailRetryManager = adaptiveLongTailRetryManager;
+  }
+
   @Nonnull
   @Override
   public FullHttpResponse buildResponse(
@@ -243,6 +248,10 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
       double latency = LatencyUtils
           .convertLatencyFromNSToMS(allMetrics.get(ROUTER_SERVER_TIME.name()).getRawValue(TimeUnit.NANOSECONDS));
       stats.recordLatency(storeName, latency);
+      if (adaptiveLongTailRetryManager != null) {
+        adaptiveLongTailRetryManager
+            .recordRequest(storeName, requestType, latency, HEALTHY_STATUSES.contains(responseStatus));
+      }
       if (HEALTHY_STATUSES.contains(responseStatus)) {
         routerStats.getStatsByType(RequestType.SINGLE_GET)
             .recordReadQuotaUsage(storeName, venicePath.getPartitionKeys().size());
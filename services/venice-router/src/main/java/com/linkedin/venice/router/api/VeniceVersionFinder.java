@@ -44,6 +44,7 @@ public class VeniceVersionFinder {
   private final ConcurrentMap<String, Integer> lastCurrentVersionMap = new ConcurrentHashMap<>();
   private final HelixBaseRoutingRepository routingDataRepository;
   private final CompressorFactory compressorFactory;
+  private RouterHotKeyCache hotKeyCache;
 
   public VeniceVersionFinder(
       ReadOnlyStoreRepository metadataRepository,
@@ -62,6 +63,10 @@ public class VeniceVersionFinder {
     this.compressorFactory = compressorFactory;
   }
 
+  public void initHotKeyCache(RouterHotKeyCache hotKeyCache) {
+    this.hotKeyCache = hotKeyCache;
+  }
+
   public int getVersion(String storeName, BasicFullHttpRequest request) throws VeniceException {
     /**
      * TODO: clone a store object is too expensive, and we could choose to expose the necessary methods
@@ -88,7 +93,7 @@ public class VeniceVersionFinder {
 
     int metadataCurrentVersion = store.getCurrentVersion();
     if (!lastCurrentVersionMap.containsKey(storeName)) {
-      lastCurrentVersionMap.put(storeName, metadataCurrentVersion);
+      updateLastCurrentVersion(storeName, metadataCurrentVersion);
       if (metadataCurrentVersion == Store.NON_EXISTING_VERSION) {
         /** This should happen at most once per store, since we are adding the mapping to {@link lastCurrentVersionMap} */
         store = metadataRepository.refreshOneStore(storeName);
@@ -111,7 +116,7 @@ public class VeniceVersionFinder {
     boolean currentVersionPartitionResourcesReady = isPartitionResourcesReady(kafkaTopic);
     if (currentVersionPartitionResourcesReady && currentVersionDecompressorReady) {
       // all partitions are online and decompressor is initialized with dictionary
-      lastCurrentVersionMap.put(storeName, newCurrentVersion);
+      updateLastCurrentVersion(storeName, newCurrentVersion);
       stats.recordNotStale();
       return newCurrentVersion;
     }
@@ -157,12 +162,19 @@ public class VeniceVersionFinder {
       if (!EXCEPTION_FILTER.isRedundantException(message)) {
         LOGGER.warn(message);
       }
-      lastCurrentVersionMap.put(storeName, newCurrentVersion);
+      updateLastCurrentVersion(storeName, newCurrentVersion);
       stats.recordNotStale();
       return newCurrentVersion;
     }
   }
 
+  private void updateLastCurrentVersion(String storeName, int currentVersion) {
+    lastCurrentVersionMap.put(storeName, currentVersion);
+    if (hotKeyCache != null) {
+      hotKeyCache.onCurrentVersionChange(storeName, currentVersion);
+    }
+  }
+
   private boolean isPartitionResourcesReady(String kafkaTopic) {
     if (!routingDataRepository.containsKafkaTopic(kafkaTopic)) {
       return false;
@@ -40,6 +40,7 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
   private int versionNumber;
   private final Time time;
   private boolean retryRequest = false;
+  private boolean longTailRetryRequest = false;
   private final boolean smartLongTailRetryEnabled;
   private final int smartLongTailRetryAbortThresholdMs;
   private long originalRequestStartTs = -1;
@@ -139,9 +140,15 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
     this.retryRequest = true;
   }
 
+  @Override
+  public void setRetryRequest(boolean longTailRetry) {
+    setRetryRequest();
+    this.longTailRetryRequest = longTailRetry;
+  }
+
   protected void setupRetryRelatedInfo(VenicePath originalPath) {
     if (originalPath.isRetryRequest()) {
-      setRetryRequest();
+      setRetryRequest(originalPath.isLongTailRetryRequest());
     }
 
     setLongTailRetryThresholdMs(originalPath.getLongTailRetryThresholdMs());
@@ -163,6 +170,14 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
     return this.retryRequest;
   }
 
+  /**
+   * @return whether this is a retry request triggered by the long-tail timeout of the original request, rather than by
+   *         its error response.
+   */
+  public boolean isLongTailRetryRequest() {
+    return this.longTailRetryRequest;
+  }
+
   public long getOriginalRequestStartTs() {
     return originalRequestStartTs;
   }
@@ -0,0 +1,396 @@
+package com.linkedin.venice.router.httpclient;
+
+import com.linkedin.alpini.base.concurrency.RunOnce;
+import com.linkedin.alpini.base.monitoring.NullCallTracker;
+import com.linkedin.alpini.consts.QOS;
+import com.linkedin.alpini.netty4.handlers.HttpClientResponseHandler;
+import com.linkedin.alpini.netty4.misc.Http2Utils;
+import com.linkedin.alpini.netty4.pool.ChannelPoolManager;
+import com.linkedin.alpini.netty4.pool.ChannelPoolManagerImpl;
+import com.linkedin.alpini.netty4.pool.Http2AwareChannelPoolFactory;
+import com.linkedin.alpini.netty4.pool.NettyDnsResolver;
+import com.linkedin.alpini.netty4.ssl.SSLEngineFactoryImpl;
+import com.linkedin.alpini.router.api.RouterException;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.Instance;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.security.SSLFactory;
+import com.linkedin.venice.utils.SslUtils;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ResolveAllBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.ssl.SslContext;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * This class is a Netty based {@link StorageNodeClient}, which is built on the alpini channel pools and shares the
+ * event loops of the router, so the requests to the storage nodes are sent and the responses are processed in the same
+ * threads as the client requests, without the extra thread pools of the other clients.
+ *
+ * The responses stay in the pooled {@link ByteBuf}s received from the network, and the ownership of the content is
+ * transferred to the caller of {@link PortableHttpResponse#getContentInByteBuf()}, which will release it once the
+ * response is built. HTTP/2 will be negotiated with ALPN when the connections to the storage nodes are secured,
+ * otherwise HTTP/1.1 will be used.
+ */
+public class NettyStorageNodeClient implements StorageNodeClient {
+  private static final Logger LOGGER = LogManager.getLogger(NettyStorageNodeClient.class);
+
+  private static final String QUEUE_NAME = "storage-node";
+  private static final long HEALTH_CHECK_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+  private static final int MAX_WAITERS_PER_POOL = 100000;
+
+  private final boolean isSSL;
+  private final int socketTimeoutMs;
+  private final ChannelPoolManager channelPoolManager;
+
+  public NettyStorageNodeClient(
+      VeniceRouterConfig config,
+      Optional<SSLFactory> sslFactory,
+      MultithreadEventLoopGroup eventLoopGroup,
+      Class<? extends Channel> socketChannelClass,
+      Class<? extends DatagramChannel> datagramChannelClass) {
+    this.isSSL = sslFactory.isPresent();
+    this.socketTimeoutMs = config.getSocketTimeout();
+
+    NettyDnsResolver resolver = new NettyDnsResolver(datagramChannelClass, eventLoopGroup);
+    Bootstrap bootstrap = new ResolveAllBootstrap(NullCallTracker.INSTANCE, NullCallTracker.INSTANCE)
+        .channel(socketChannelClass)
+        .handler(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            ch.pipeline().addLast(new HttpClientResponseHandler());
+          }
+        })
+        .resolver(resolver.getAddressResolverGroup());
+    if (isSSL) {
+      bootstrap.attr(Http2AwareChannelPoolFactory.SSL_CONTEXT, createSslContext(sslFactory.get()));
+    }
+
+    int maxConnections = config.getMaxOutgoingConnPerRoute();
+    Http2AwareChannelPoolFactory channelPoolFactory = new Http2AwareChannelPoolFactory(
+        bootstrap,
+        config.getConnectionTimeout(),
+        maxConnections,
+        (int) Math.min(config.getMaxPendingRequest(), Integer.MAX_VALUE),
+        true,
+        HEALTH_CHECK_INTERVAL_MS,
+        ChannelHealthChecker.ACTIVE,
+        NullCallTracker.INSTANCE);
+    channelPoolFactory.setHttp1MaxConnections(() -> maxConnections);
+    channelPoolFactory.setMaxConcurrentStreams(config.getHttp2MaxConcurrentStreams());
+    channelPoolFactory.setMaxFrameSize(config.getHttp2MaxFrameSize());
+    channelPoolFactory.setInitialWindowSize(config.getHttp2InitialWindowSize());
+    channelPoolFactory.setHeaderTableSize(config.getHttp2HeaderTableSize());
+    channelPoolFactory.setMaxHeaderListSize(config.getHttp2MaxHeaderListSize());
+
+    this.channelPoolManager =
+        new ChannelPoolManagerImpl(eventLoopGroup, channelPoolFactory, resolver, MAX_WAITERS_PER_POOL);
+    LOGGER.info(
+        "Constructing NettyStorageNodeClient with max connections per route: {}, ssl enabled: {}",
+        maxConnections,
+        isSSL);
+  }
+
+  private static SslContext createSslContext(SSLFactory sslFactory) {
+    try {
+      return new SSLEngineFactoryImpl(SslUtils.toAlpiniSSLConfig(sslFactory.getSSLConfig())).context(false);
+    } catch (Exception e) {
+      throw new VeniceException(
+          "Unable to create the SSL context for " + NettyStorageNodeClient.class.getSimpleName(),
+          e);
+    }
+  }
+
+  @Override
+  public void start() {
+
+  }
+
+  @Override
+  public void close() {
+    // The event loops are owned by the router, so only the connections are closed here.
+    channelPoolManager.closeAll().awaitUninterruptibly();
+  }
+
+  @Override
+  public void query(
+      Instance host,
+      VenicePath path,
+      Consumer<PortableHttpResponse> completedCallBack,
+      Consumer<Throwable> failedCallBack,
+      BooleanSupplier cancelledCallBack,
+      long queryStartTimeInNS) throws RouterException {
+    String hostAndPort = getHostAndPort(host.getHostUrl(isSSL));
+    ByteBuf body = path.getBody().map(Unpooled::wrappedBuffer).orElse(Unpooled.EMPTY_BUFFER);
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, path.getHttpMethod(), "/" + path.getLocation(), body);
+    path.setupVeniceHeaders((k, v) -> request.headers().set(k, v));
+    execute(hostAndPort, request, socketTimeoutMs, completedCallBack, failedCallBack);
+  }
+
+  @Override
+  public void sendRequest(VeniceMetaDataRequest request, CompletableFuture<PortableHttpResponse> responseFuture) {
+    FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.valueOf(request.getMethod()),
+        "/" + request.getQuery(),
+        Unpooled.EMPTY_BUFFER);
+    int timeoutMs = request.hasTimeout() ? request.getTimeout() : socketTimeoutMs;
+    execute(getHostAndPort(request.getUrl()), httpRequest, timeoutMs, response -> {
+      /**
+       * The callers of the metadata requests don't release the responses, and these requests are rare, so the content
+       * is copied to the heap to avoid leaking the pooled buffers.
+       */
+      NettyStorageNodeResponse heapResponse = response.replace(Unpooled.copiedBuffer(response.content()));
+      response.release();
+      responseFuture.complete(heapResponse);
+    }, responseFuture::completeExceptionally);
+  }
+
+  private void execute(
+      String hostAndPort,
+      FullHttpRequest request,
+      int timeoutMs,
+      Consumer<? super NettyStorageNodeResponse> completedCallBack,
+      Consumer<Throwable> failedCallBack) {
+    request.headers().set(HttpHeaderNames.HOST, hostAndPort);
+    HttpUtil.setContentLength(request, request.content().readableBytes());
+
+    channelPoolManager.acquire(hostAndPort, QUEUE_NAME, QOS.NORMAL).addListener((Future<Channel> channelFuture) -> {
+      if (!channelFuture.isSuccess()) {
+        request.release();
+        failedCallBack.accept(channelFuture.cause());
+        return;
+      }
+      Channel channel = channelFuture.getNow();
+      ResponseHandler responseHandler =
+          new ResponseHandler(channel, hostAndPort, request.uri(), completedCallBack, failedCallBack);
+      responseHandler.scheduleTimeout(timeoutMs);
+      channel.writeAndFlush(new ResponseConsumerHttpRequest(request, responseHandler))
+          .addListener((ChannelFuture writeFuture) -> {
+            if (!writeFuture.isSuccess()) {
+              responseHandler.accept(writeFuture.cause());
+            }
+          });
+      if (Http2Utils.isHttp2ParentChannelPipeline(channel.pipeline())) {
+        responseHandler.releaseChannel.run();
+      }
+    });
+  }
+
+  /**
+   * @param url in the format of "scheme://host:port/".
+   * @return the "host:port" part of the given url, which is the key of the channel pools.
+   */
+  static String getHostAndPort(String url) {
+    int start = url.indexOf("://");
+    start = start < 0 ? 0 : start + 3;
+    int end = url.indexOf('/', start);
+    return end < 0 ? url.substring(start) : url.substring(start, end);
+  }
+
+  /**
+   * This class collects the response of a single request, which is invoked in the event loop of the channel, and it
+   * will complete the request exactly once with the response, a failure or the timeout, whichever comes first.
+   */
+  private final class ResponseHandler implements Consumer<Object> {
+    private final Channel channel;
+    private final String hostAndPort;
+    private final String uri;
+    private final Consumer<? super NettyStorageNodeResponse> completedCallBack;
+    private final Consumer<Throwable> failedCallBack;
+    private final Runnable releaseChannel;
+
+    private ScheduledFuture<?> timeoutFuture;
+    private HttpResponse response;
+    private ByteBuf content = Unpooled.EMPTY_BUFFER;
+    private boolean done = false;
+
+    ResponseHandler(
+        Channel channel,
+        String hostAndPort,
+        String uri,
+        Consumer<? super NettyStorageNodeResponse> completedCallBack,
+        Consumer<Throwable> failedCallBack) {
+      this.channel = channel;
+      this.hostAndPort = hostAndPort;
+      this.uri = uri;
+      this.completedCallBack = completedCallBack;
+      this.failedCallBack = failedCallBack;
+      this.releaseChannel = RunOnce.make(channel, channelPoolManager::release);
+    }
+
+    void scheduleTimeout(int timeoutMs) {
+      timeoutFuture = channel.eventLoop()
+          .schedule(
+              () -> accept(
+                  new TimeoutException(
+                      "Request to storage node: " + hostAndPort + " for uri: " + uri + " timed out after " + timeoutMs
+                          + "ms")),
+              timeoutMs,
+              TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void accept(Object msg) {
+      if (done) {
+        // The late message after the failure or the timeout will be released by the response handler.
+        return;
+      }
+      if (msg instanceof Throwable) {
+        done = true;
+        timeoutFuture.cancel(false);
+        content.release();
+        content = null;
+        if (channel.pipeline().context(Http2FrameCodec.class) == null) {
+          channel.close().addListener((ChannelFuture closeFuture) -> releaseChannel.run());
+        } else {
+          releaseChannel.run();
+        }
+        failedCallBack.accept((Throwable) msg);
+        return;
+      }
+
+      if (msg instanceof HttpResponse) {
+        response = (HttpResponse) msg;
+      }
+      if (msg instanceof HttpContent) {
+        ByteBuf chunk = ((HttpContent) msg).content();
+        if (chunk.isReadable()) {
+          if (content == Unpooled.EMPTY_BUFFER) {
+            content = chunk.retain();
+          } else {
+            CompositeByteBuf composite;
+            if (content instanceof CompositeByteBuf) {
+              composite = (CompositeByteBuf) content;
+            } else {
+              composite = content.alloc().compositeBuffer().addComponent(true, content);
+              content = composite;
+            }
+            composite.addComponent(true, chunk.retain());
+          }
+        }
+      }
+      if (msg instanceof LastHttpContent) {
+        done = true;
+        timeoutFuture.cancel(false);
+        if (HttpUtil.isKeepAlive(response)) {
+          releaseChannel.run();
+        } else {
+          channel.close().addListener((ChannelFuture closeFuture) -> releaseChannel.run());
+        }
+        NettyStorageNodeResponse storageNodeResponse = new NettyStorageNodeResponse(response, content);
+        content = null;
+        completedCallBack.accept(storageNodeResponse);
+      }
+    }
+  }
+
+  private static final class ResponseConsumerHttpRequest extends DefaultFullHttpRequest
+      implements HttpClientResponseHandler.ResponseConsumer {
+    private final Consumer<Object> responseConsumer;
+
+    ResponseConsumerHttpRequest(FullHttpRequest request, Consumer<Object> responseConsumer) {
+      super(
+          request.protocolVersion(),
+          request.method(),
+          request.uri(),
+          request.content(),
+          request.headers(),
+          request.trailingHeaders());
+      this.responseConsumer = responseConsumer;
+    }
+
+    @Override
+    public Consumer<Object> responseConsumer() {
+      return responseConsumer;
+    }
+
+    @Override
+    public FullHttpRequest copy() {
+      return new ResponseConsumerHttpRequest(super.copy(), responseConsumer);
+    }
+
+    @Override
+    public FullHttpRequest duplicate() {
+      return new ResponseConsumerHttpRequest(super.duplicate(), responseConsumer);
+    }
+
+    @Override
+    public FullHttpRequest retainedDuplicate() {
+      return new ResponseConsumerHttpRequest(super.retainedDuplicate(), responseConsumer);
+    }
+
+    @Override
+    public FullHttpRequest replace(ByteBuf content) {
+      return new ResponseConsumerHttpRequest(super.replace(content), responseConsumer);
+    }
+  }
+
+  /**
+   * The response holding the pooled content received from the storage node.
+   */
+  static final class NettyStorageNodeResponse extends DefaultByteBufHolder implements PortableHttpResponse {
+    private final HttpResponse response;
+
+    NettyStorageNodeResponse(HttpResponse response, ByteBuf content) {
+      super(content);
+      this.response = response;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return response.status().code();
+    }
+
+    @Override
+    public ByteBuf getContentInByteBuf() {
+      return content();
+    }
+
+    @Override
+    public boolean containsHeader(String headerName) {
+      return response.headers().contains(headerName);
+    }
+
+    @Override
+    public String getFirstHeader(String headerName) {
+      return response.headers().get(headerName);
+    }
+
+    @Override
+    public NettyStorageNodeResponse replace(ByteBuf content) {
+      return new NettyStorageNodeResponse(response, content);
+    }
+  }
+}
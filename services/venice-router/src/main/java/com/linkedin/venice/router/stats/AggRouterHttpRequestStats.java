@@ -285,6 +285,11 @@ public class AggRouterHttpRequestStats extends AbstractVeniceAggStoreStats<Route
     getStoreStats(storeName).recordRetryRouteLimitAbortedRetryRequest();
   }
 
+  public void recordRetryBudgetAbortedRetryRequest(String storeName) {
+    totalStats.recordRetryBudgetAbortedRetryRequest();
+    getStoreStats(storeName).recordRetryBudgetAbortedRetryRequest();
+  }
+
   public void recordErrorRetryAttemptTriggeredByPendingRequestCheck(String storeName) {
     totalStats.recordErrorRetryAttemptTriggeredByPendingRequestCheck();
     getStoreStats(storeName).recordErrorRetryAttemptTriggeredByPendingRequestCheck();
@@ -294,4 +299,34 @@ public class AggRouterHttpRequestStats extends AbstractVeniceAggStoreStats<Route
     totalStats.recordRetryDelay(delay);
     getStoreStats(storeName).recordRetryDelay(delay);
   }
+
+  public void recordLongTailRetryThreshold(String storeName, double thresholdMs) {
+    totalStats.recordLongTailRetryThreshold(thresholdMs);
+    getStoreStats(storeName).recordLongTailRetryThreshold(thresholdMs);
+  }
+
+  public void recordHotKeyCacheHitRequest(String storeName) {
+    totalStats.recordHotKeyCacheHitRequest();
+    getStoreStats(storeName).recordHotKeyCacheHitRequest();
+  }
+
+  public void recordHotKeyCacheMissRequest(String storeName) {
+    totalStats.recordHotKeyCacheMissRequest();
+    getStoreStats(storeName).recordHotKeyCacheMissRequest();
+  }
+
+  public void recordHotKeyCacheEviction(String storeName, long evictionCount) {
+    totalStats.recordHotKeyCacheEviction(evictionCount);
+    getStoreStats(storeName).recordHotKeyCacheEviction(evictionCount);
+  }
+
+  public void recordCoalescedRequest(String storeName) {
+    totalStats.recordCoalescedRequest();
+    getStoreStats(storeName).recordCoalescedRequest();
+  }
+
+  public void recordRequestCoalescingRejectedRequest(String storeName) {
+    totalStats.recordRequestCoalescingRejectedRequest();
+    getStoreStats(storeName).recordRequestCoalescingRejectedRequest();
+  }
 }
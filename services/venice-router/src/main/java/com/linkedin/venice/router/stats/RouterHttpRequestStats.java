@@ -52,6 +52,7 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
   private final Sensor slowRouteAbortedRetryRequest;
   private final Sensor retryRouteLimitAbortedRetryRequest;
   private final Sensor noAvailableReplicaAbortedRetryRequest;
+  private final Sensor retryBudgetAbortedRetryRequest;
   private final Sensor readQuotaUsageSensor;
   private final Sensor inFlightRequestSensor;
   private Sensor keySizeSensor;
@@ -61,7 +62,13 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
   private final Sensor disallowedRetryRequestSensor;
   private final Sensor errorRetryAttemptTriggeredByPendingRequestCheckSensor;
   private final Sensor retryDelaySensor;
+  private final Sensor longTailRetryThresholdSensor;
   private final Sensor metaStoreShadowReadSensor;
+  private final Sensor hotKeyCacheHitRequestSensor;
+  private final Sensor hotKeyCacheMissRequestSensor;
+  private final Sensor hotKeyCacheEvictionSensor;
+  private final Sensor coalescedRequestSensor;
+  private final Sensor requestCoalescingRejectedRequestSensor;
 
   // QPS metrics
   public RouterHttpRequestStats(
@@ -142,6 +149,7 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
     slowRouteAbortedRetryRequest = registerSensor("slow_route_aborted_retry_request", new Count());
     retryRouteLimitAbortedRetryRequest = registerSensor("retry_route_limit_aborted_retry_request", new Count());
     noAvailableReplicaAbortedRetryRequest = registerSensor("no_available_replica_aborted_retry_request", new Count());
+    retryBudgetAbortedRetryRequest = registerSensor("retry_budget_aborted_retry_request", new Count());
 
     readQuotaUsageSensor = registerSensor("read_quota_usage_kps", new Total());
 
@@ -176,7 +184,13 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
     errorRetryAttemptTriggeredByPendingRequestCheckSensor =
         registerSensor("error_retry_attempt_triggered_by_pending_request_check", new OccurrenceRate());
     retryDelaySensor = registerSensor("retry_delay", new Avg(), new Max());
+    longTailRetryThresholdSensor = registerSensor("long_tail_retry_threshold", new Avg(), new Max());
     metaStoreShadowReadSensor = registerSensor("meta_store_shadow_read", new OccurrenceRate());
+    hotKeyCacheHitRequestSensor = registerSensor("hot_key_cache_hit_request", new Count());
+    hotKeyCacheMissRequestSensor = registerSensor("hot_key_cache_miss_request", new Count());
+    hotKeyCacheEvictionSensor = registerSensor("hot_key_cache_eviction", new Count());
+    coalescedRequestSensor = registerSensor("coalesced_request", new Count());
+    requestCoalescingRejectedRequestSensor = registerSensor("request_coalescing_rejected_request", new Count());
   }
 
   /**
@@ -323,6 +337,10 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
     noAvailableReplicaAbortedRetryRequest.record();
   }
 
+  public void recordRetryBudgetAbortedRetryRequest() {
+    retryBudgetAbortedRetryRequest.record();
+  }
+
   public void recordKeySizeInByte(long keySize) {
     keySizeSensor.record(keySize);
   }
@@ -351,7 +369,31 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
     retryDelaySensor.record(delay);
   }
 
+  public void recordLongTailRetryThreshold(double thresholdMs) {
+    longTailRetryThresholdSensor.record(thresholdMs);
+  }
+
   public void recordMetaStoreShadowRead() {
     metaStoreShadowReadSensor.record();
   }
+
+  public void recordHotKeyCacheHitRequest() {
+    hotKeyCacheHitRequestSensor.record();
+  }
+
+  public void recordHotKeyCacheMissRequest() {
+    hotKeyCacheMissRequestSensor.record();
+  }
+
+  public void recordHotKeyCacheEviction(long evictionCount) {
+    hotKeyCacheEvictionSensor.record(evictionCount);
+  }
+
+  public void recordCoalescedRequest() {
+    coalescedRequestSensor.record();
+  }
+
+  public void recordRequestCoalescingRejectedRequest() {
+    requestCoalescingRejectedRequestSensor.record();
+  }
 }
@@ -16,7 +16,6 @@ import com.linkedin.venice.meta.StoreDataChangedListener;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.pushmonitor.ReadOnlyPartitionStatus;
 import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
-import com.linkedin.venice.throttle.EventThrottler;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -218,7 +217,6 @@ public class ReadRequestThrottler implements RouterThrottler, RoutersClusterMana
     return new StoreReadThrottler(
         storeName,
         storeQuotaPerRouter,
-        EventThrottler.REJECT_STRATEGY,
         partitionAssignment,
         perStorageNodeReadQuotaBuffer,
         storeQuotaCheckTimeWindow,
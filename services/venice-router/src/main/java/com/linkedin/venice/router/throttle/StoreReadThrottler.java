@@ -1,12 +1,12 @@
 package com.linkedin.venice.router.throttle;
 
+import com.linkedin.venice.exceptions.QuotaExceededException;
 import com.linkedin.venice.meta.Instance;
 import com.linkedin.venice.meta.Partition;
 import com.linkedin.venice.meta.PartitionAssignment;
 import com.linkedin.venice.meta.Store;
 import com.linkedin.venice.meta.Version;
-import com.linkedin.venice.throttle.EventThrottler;
-import com.linkedin.venice.throttle.EventThrottlingStrategy;
+import com.linkedin.venice.throttle.TokenBucket;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -22,13 +23,18 @@ import org.apache.logging.log4j.Logger;
  * Throttler used to limit how many read request could hit this store and each storage node which has been assigned
  * with
  * this store's  replicas.
+ *
+ * The quotas are enforced by the lock-free {@link TokenBucket}s, which are refilled every second with the quota per
+ * second, and can hold the tokens of a whole quota check time window to tolerate the bursts within the window.
  */
 public class StoreReadThrottler {
   private static final Logger LOGGER = LogManager.getLogger(StoreReadThrottler.class);
   private final String storeName;
   private final long localQuota;
-  private final EventThrottlingStrategy throttlingStrategy;
-  private final EventThrottler storeThrottler;
+  /**
+   * The throttler of the whole store, which is null if the store has no quota at all.
+   */
+  private final TokenBucket storeThrottler;
   private final double perStorageNodeReadQuotaBuffer;
   private final long storageNodeQuotaCheckTimeWindow;
 
@@ -39,39 +45,54 @@ public class StoreReadThrottler {
    * <p>
    * This class is thread safe. Only one thread could access to the method to update storage nodes' throttlers.
    */
-  private ConcurrentMap<String, EventThrottler> storageNodesThrottlers;
+  private ConcurrentMap<String, TokenBucket> storageNodesThrottlers;
 
   public StoreReadThrottler(
       String storeName,
       long localQuota,
-      EventThrottlingStrategy throttlingStrategy,
       Optional<PartitionAssignment> partitionAssignment,
       double perStorageNodeReadQuotaBuffer,
       long storeQuotaCheckTimeWindow,
       long storageNodeQuotaCheckTimeWindow) {
     this.storeName = storeName;
     this.localQuota = localQuota;
-    this.throttlingStrategy = throttlingStrategy;
     this.perStorageNodeReadQuotaBuffer = perStorageNodeReadQuotaBuffer;
     storageNodesThrottlers = new ConcurrentHashMap<>();
-    storeThrottler =
-        new EventThrottler(localQuota, storeQuotaCheckTimeWindow, storeName + "-throttler", true, throttlingStrategy);
     this.storageNodeQuotaCheckTimeWindow = storageNodeQuotaCheckTimeWindow;
+    storeThrottler = localQuota > 0 ? buildTokenBucket(localQuota, storeQuotaCheckTimeWindow) : null;
     if (partitionAssignment.isPresent()) {
       updateStorageNodesThrottlers(partitionAssignment.get());
     }
   }
 
   public void mayThrottleRead(double readCapacityUnit, Optional<String> storageNodeId) {
+    long tokens = (long) Math.ceil(readCapacityUnit);
     if (storageNodeId.isPresent()) {
-      EventThrottler storageNodeThrottler = storageNodesThrottlers.get(storageNodeId.get());
+      TokenBucket storageNodeThrottler = storageNodesThrottlers.get(storageNodeId.get());
       // TODO While updating storage nodes' throttlers, there might be a very short period that we haven't create a
       // TODO throttler for the given storage node. Right now just accept this request, could add a default quota later.
-      if (storageNodeThrottler != null) {
-        storageNodeThrottler.maybeThrottle(readCapacityUnit);
+      if (storageNodeThrottler != null && !storageNodeThrottler.tryConsume(tokens)) {
+        throw new QuotaExceededException(
+            storeName + "-" + storageNodeId.get() + "-throttler",
+            tokens + " RCU with " + storageNodeThrottler.getStaleTokenCount() + " RCU left",
+            storageNodeThrottler.getRefillAmount() + " RCU/sec");
       }
     }
-    storeThrottler.maybeThrottle(readCapacityUnit);
+    if (storeThrottler == null || !storeThrottler.tryConsume(tokens)) {
+      throw new QuotaExceededException(
+          storeName + "-throttler",
+          tokens + " RCU with " + (storeThrottler == null ? 0 : storeThrottler.getStaleTokenCount()) + " RCU left",
+          localQuota + " RCU/sec");
+    }
+  }
+
+  /**
+   * @param quotaPerSecond the quota to refill every second.
+   * @param quotaCheckTimeWindow the time window in millisecond, whose quota could be used up at once.
+   */
+  private static TokenBucket buildTokenBucket(long quotaPerSecond, long quotaCheckTimeWindow) {
+    long capacity = Math.max(quotaPerSecond * quotaCheckTimeWindow / TimeUnit.SECONDS.toMillis(1), quotaPerSecond);
+    return new TokenBucket(capacity, quotaPerSecond, 1, TimeUnit.SECONDS, TokenBucket.DEFAULT_STRIPE_COUNT);
   }
 
   public synchronized void updateStorageNodesThrottlers(PartitionAssignment partitionAssignment) {
@@ -99,16 +120,13 @@ public class StoreReadThrottler {
         .stream()
         .filter(
             entry -> !storageNodesThrottlers.containsKey(entry.getKey()) || storageNodesThrottlers.get(entry.getKey())
-                .getMaxRatePerSecond() != (long) (entry.getValue() * (1 + perStorageNodeReadQuotaBuffer)))
+                .getRefillAmount() != (long) (entry.getValue() * (1 + perStorageNodeReadQuotaBuffer)))
         .forEach(entry -> {
           storageNodesThrottlers.put(
               entry.getKey(),
-              new EventThrottler(
+              buildTokenBucket(
                   (long) (entry.getValue() * (1 + perStorageNodeReadQuotaBuffer)),
-                  storageNodeQuotaCheckTimeWindow,
-                  storeName + "-" + entry.getKey() + "-throttler",
-                  true,
-                  throttlingStrategy));
+                  storageNodeQuotaCheckTimeWindow));
           addedOrUpdated[0]++;
         });
     int deleted = 0;
@@ -149,9 +167,9 @@ public class StoreReadThrottler {
   }
 
   protected long getQuotaForStorageNode(String storageNodeId) {
-    EventThrottler storageNodeThrottler = storageNodesThrottlers.get(storageNodeId);
+    TokenBucket storageNodeThrottler = storageNodesThrottlers.get(storageNodeId);
     if (storageNodeThrottler != null) {
-      return storageNodeThrottler.getMaxRatePerSecond();
+      return storageNodeThrottler.getRefillAmount();
     } else {
       return -1;
     }
@@ -0,0 +1,114 @@
+package com.linkedin.venice.router.api;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.utils.MockTime;
+import org.testng.annotations.Test;
+
+
+public class TestAdaptiveLongTailRetryManager {
+  private static final String STORE_NAME = "test_store";
+  private static final long WINDOW_MS = 10000;
+  private static final int STATIC_THRESHOLD_MS = 15;
+
+  @Test
+  public void testRetryThresholdFollowsLatencyPercentile() {
+    MockTime time = new MockTime();
+    AdaptiveLongTailRetryManager manager = new AdaptiveLongTailRetryManager(95, 0.05, WINDOW_MS, 100, 0, time);
+
+    // Not enough samples yet
+    for (int i = 1; i <= 99; ++i) {
+      manager.recordRequest(STORE_NAME, RequestType.SINGLE_GET, i, true);
+    }
+    // The unhealthy requests are not taken as latency samples
+    manager.recordRequest(STORE_NAME, RequestType.SINGLE_GET, 1, false);
+    time.addMilliseconds(WINDOW_MS);
+    assertEquals(
+        manager.getLongTailRetryThresholdMs(STORE_NAME, RequestType.SINGLE_GET, STATIC_THRESHOLD_MS),
+        STATIC_THRESHOLD_MS);
+
+    for (int i = 1; i <= 100; ++i) {
+      manager.recordRequest(STORE_NAME, RequestType.SINGLE_GET, i, true);
+      manager.recordRequest(STORE_NAME, RequestType.MULTI_GET, i * 10, true);
+    }
+    // The threshold is only updated once the window is over
+    assertEquals(
+        manager.getLongTailRetryThresholdMs(STORE_NAME, RequestType.SINGLE_GET, STATIC_THRESHOLD_MS),
+        STATIC_THRESHOLD_MS);
+    time.addMilliseconds(WINDOW_MS);
+    int singleGetThresholdMs =
+        manager.getLongTailRetryThresholdMs(STORE_NAME, RequestType.SINGLE_GET, STATIC_THRESHOLD_MS);
+    assertTrue(singleGetThresholdMs >= 95 && singleGetThresholdMs < 95 * 1.1, "Got: " + singleGetThresholdMs);
+    // Each request type is tracked separately
+    int multiGetThresholdMs =
+        manager.getLongTailRetryThresholdMs(STORE_NAME, RequestType.MULTI_GET, STATIC_THRESHOLD_MS);
+    assertTrue(multiGetThresholdMs >= 950 && multiGetThresholdMs < 950 * 1.1, "Got: " + multiGetThresholdMs);
+    assertEquals(
+        manager.getLongTailRetryThresholdMs(STORE_NAME, RequestType.COMPUTE, STATIC_THRESHOLD_MS),
+        STATIC_THRESHOLD_MS);
+    assertEquals(
+        manager.getLongTailRetryThresholdMs("other_store", RequestType.SINGLE_GET, STATIC_THRESHOLD_MS),
+        STATIC_THRESHOLD_MS);
+
+    // The latency samples are stale after an idle window
+    time.addMilliseconds(WINDOW_MS * 2);
+    assertEquals(
+        manager.getLongTailRetryThresholdMs(STORE_NAME, RequestType.SINGLE_GET, STATIC_THRESHOLD_MS),
+        STATIC_THRESHOLD_MS);
+  }
+
+  @Test
+  public void testRetryBudget() {
+    MockTime time = new MockTime();
+    AdaptiveLongTailRetryManager manager = new AdaptiveLongTailRetryManager(95, 0.05, WINDOW_MS, 100, 0, time);
+    // No budget without any request if there is no minimum number of retries per window
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+
+    for (int i = 0; i < 100; ++i) {
+      manager.recordRequest(STORE_NAME, RequestType.SINGLE_GET, 1, true);
+    }
+    for (int i = 0; i < 5; ++i) {
+      assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    }
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.MULTI_GET));
+
+    // The retries of the previous window still count
+    time.addMilliseconds(WINDOW_MS);
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    for (int i = 0; i < 20; ++i) {
+      manager.recordRequest(STORE_NAME, RequestType.SINGLE_GET, 1, true);
+    }
+    assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+  }
+
+  @Test
+  public void testMinRetriesPerWindow() {
+    MockTime time = new MockTime();
+    AdaptiveLongTailRetryManager manager = new AdaptiveLongTailRetryManager(95, 0.05, WINDOW_MS, 100, 2, time);
+    // The stores without much traffic could still retry up to the floor in every window
+    assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.MULTI_GET));
+
+    time.addMilliseconds(WINDOW_MS);
+    assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+
+    // The ratio still applies beyond the floor
+    for (int i = 0; i < 200; ++i) {
+      manager.recordRequest(STORE_NAME, RequestType.SINGLE_GET, 1, true);
+    }
+    // 10 retries are allowed for 200 requests, and 4 of them are taken by the current and the previous windows
+    for (int i = 0; i < 6; ++i) {
+      assertTrue(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+    }
+    assertFalse(manager.tryAcquireRetryBudget(STORE_NAME, RequestType.SINGLE_GET));
+  }
+}
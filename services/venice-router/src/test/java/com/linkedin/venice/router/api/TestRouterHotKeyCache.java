@@ -0,0 +1,226 @@
+package com.linkedin.venice.router.api;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import com.linkedin.alpini.base.cache.ByteBufHashMap;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.StoreDataChangedListener;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
+import com.linkedin.venice.router.stats.RouterStats;
+import com.linkedin.venice.utils.TestUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class TestRouterHotKeyCache {
+  private static final String STORE_NAME = "test_store";
+  private static final String OTHER_STORE_NAME = "test_other_store";
+  private static final String HYBRID_STORE_NAME = "test_hybrid_store";
+  private static final long MAX_SIZE_IN_BYTES = 64 * 1024 * 1024;
+  private static final String SCHEMA_ID = "1";
+  private static final String COMPRESSION_STRATEGY = Integer.toString(CompressionStrategy.GZIP.getValue());
+
+  private ReadOnlyStoreRepository storeRepository;
+  private AggRouterHttpRequestStats stats;
+  private RouterStats<AggRouterHttpRequestStats> routerStats;
+
+  @BeforeMethod
+  public void setUp() {
+    storeRepository = mock(ReadOnlyStoreRepository.class);
+    doReturn(
+        Arrays.asList(
+            mockStore(STORE_NAME, false),
+            mockStore(OTHER_STORE_NAME, false),
+            mockStore(HYBRID_STORE_NAME, true))).when(storeRepository).getAllStores();
+    stats = mock(AggRouterHttpRequestStats.class);
+    routerStats = mock(RouterStats.class);
+    doReturn(stats).when(routerStats).getStatsByType(RequestType.SINGLE_GET);
+  }
+
+  private static Store mockStore(String storeName, boolean hybrid) {
+    Store store = mock(Store.class);
+    doReturn(storeName).when(store).getName();
+    doReturn(hybrid).when(store).isHybrid();
+    return store;
+  }
+
+  private static VenicePath mockPath(String storeName, int version, String key) {
+    VenicePath path = mock(VenicePath.class);
+    doReturn(RequestType.SINGLE_GET).when(path).getRequestType();
+    doReturn(storeName).when(path).getStoreName();
+    doReturn(version).when(path).getVersionNumber();
+    doReturn(RouterKey.fromString(key)).when(path).getPartitionKey();
+    return path;
+  }
+
+  private static void cacheValue(RouterHotKeyCache cache, VenicePath path, String value) {
+    ByteBuf content = Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.UTF_8));
+    cache.put(path, content, SCHEMA_ID, COMPRESSION_STRATEGY);
+    // The response content is not consumed
+    assertEquals(content.readableBytes(), value.length());
+  }
+
+  private static void assertCachedValue(RouterHotKeyCache cache, VenicePath path, String value) throws Exception {
+    PortableHttpResponse response = cache.get(path);
+    assertNotNull(response);
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(ByteBufUtil.getBytes(response.getContentInByteBuf()), value.getBytes(StandardCharsets.UTF_8));
+    assertEquals(response.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID), SCHEMA_ID);
+    assertEquals(response.getFirstHeader(HttpConstants.VENICE_COMPRESSION_STRATEGY), COMPRESSION_STRATEGY);
+  }
+
+  @Test
+  public void testHotKeyAdmission() throws Exception {
+    RouterHotKeyCache cache =
+        new RouterHotKeyCache(Collections.emptyList(), MAX_SIZE_IN_BYTES, 1024 * 1024, 2, storeRepository, routerStats);
+    VenicePath path = mockPath(STORE_NAME, 1, "key");
+
+    // The key is not hot enough to be admitted after the first request
+    assertNull(cache.get(path));
+    cacheValue(cache, path, "value");
+    assertNull(cache.get(path));
+    cacheValue(cache, path, "value");
+    assertCachedValue(cache, path, "value");
+    verify(stats, times(2)).recordHotKeyCacheMissRequest(STORE_NAME);
+    verify(stats).recordHotKeyCacheHitRequest(STORE_NAME);
+
+    // The other keys are not affected
+    assertNull(cache.get(mockPath(STORE_NAME, 1, "other_key")));
+
+    // The hybrid stores are not cached
+    VenicePath hybridStorePath = mockPath(HYBRID_STORE_NAME, 1, "key");
+    for (int i = 0; i < 3; ++i) {
+      assertNull(cache.get(hybridStorePath));
+      cacheValue(cache, hybridStorePath, "value");
+    }
+    verify(stats, never()).recordHotKeyCacheMissRequest(HYBRID_STORE_NAME);
+  }
+
+  @Test
+  public void testStoreAllowlist() {
+    RouterHotKeyCache cache = new RouterHotKeyCache(
+        Collections.singletonList(OTHER_STORE_NAME),
+        MAX_SIZE_IN_BYTES,
+        1024 * 1024,
+        1,
+        storeRepository,
+        routerStats);
+    VenicePath path = mockPath(STORE_NAME, 1, "key");
+    for (int i = 0; i < 3; ++i) {
+      assertNull(cache.get(path));
+      cacheValue(cache, path, "value");
+    }
+    verify(stats, never()).recordHotKeyCacheMissRequest(STORE_NAME);
+  }
+
+  @Test
+  public void testInvalidation() throws Exception {
+    RouterHotKeyCache cache =
+        new RouterHotKeyCache(Collections.emptyList(), MAX_SIZE_IN_BYTES, 1024 * 1024, 1, storeRepository, routerStats);
+    ArgumentCaptor<StoreDataChangedListener> listenerCaptor = ArgumentCaptor.forClass(StoreDataChangedListener.class);
+    verify(storeRepository).registerStoreDataChangedListener(listenerCaptor.capture());
+
+    VenicePath pathV1 = mockPath(STORE_NAME, 1, "key");
+    assertNull(cache.get(pathV1));
+    cacheValue(cache, pathV1, "value_v1");
+    assertCachedValue(cache, pathV1, "value_v1");
+
+    // The cache is dropped once the new current version is served
+    cache.onCurrentVersionChange(STORE_NAME, 2);
+    assertNull(cache.get(pathV1));
+    cacheValue(cache, pathV1, "value_v1");
+    assertNull(cache.get(pathV1));
+
+    VenicePath pathV2 = mockPath(STORE_NAME, 2, "key");
+    assertNull(cache.get(pathV2));
+    cacheValue(cache, pathV2, "value_v2");
+    assertCachedValue(cache, pathV2, "value_v2");
+
+    // The cache is dropped once the store becomes a hybrid store
+    listenerCaptor.getValue().handleStoreChanged(mockStore(STORE_NAME, true));
+    assertNull(cache.get(pathV2));
+    listenerCaptor.getValue().handleStoreChanged(mockStore(STORE_NAME, false));
+    assertNull(cache.get(pathV2));
+  }
+
+  @Test
+  public void testEviction() {
+    RouterHotKeyCache cache =
+        new RouterHotKeyCache(Collections.emptyList(), MAX_SIZE_IN_BYTES, 4096, 1, storeRepository, routerStats);
+    String value = new String(new char[1024]);
+    AtomicInteger keyIndex = new AtomicInteger();
+    // Fill more than two default blocks, so that the oldest block is evicted
+    for (int i = 0; i < 200; ++i) {
+      VenicePath path = mockPath(STORE_NAME, 1, "key_" + keyIndex.incrementAndGet());
+      assertNull(cache.get(path));
+      cacheValue(cache, path, value);
+    }
+    // The keys of the evicted blocks are removed asynchronously, so the evictions are reported by the later puts
+    TestUtils.waitForNonDeterministicAssertion(10, TimeUnit.SECONDS, () -> {
+      VenicePath path = mockPath(STORE_NAME, 1, "key_" + keyIndex.incrementAndGet());
+      assertNull(cache.get(path));
+      cacheValue(cache, path, value);
+      verify(stats, atLeastOnce()).recordHotKeyCacheEviction(eq(STORE_NAME), anyLong());
+    });
+  }
+
+  @Test
+  public void testSharedMemoryLimit() throws Exception {
+    // Only a single store could be cached with the minimum memory of each store
+    RouterHotKeyCache cache =
+        new RouterHotKeyCache(Collections.emptyList(), 1024 * 1024, 1024 * 1024, 1, storeRepository, routerStats);
+    VenicePath path = mockPath(STORE_NAME, 1, "key");
+    assertNull(cache.get(path));
+    cacheValue(cache, path, "value");
+    assertCachedValue(cache, path, "value");
+
+    VenicePath otherStorePath = mockPath(OTHER_STORE_NAME, 1, "key");
+    for (int i = 0; i < 3; ++i) {
+      assertNull(cache.get(otherStorePath));
+      cacheValue(cache, otherStorePath, "value");
+    }
+
+    // The memory is available to the other stores once the cache of the store is dropped
+    cache.onCurrentVersionChange(STORE_NAME, 2);
+    assertNull(cache.get(otherStorePath));
+    cacheValue(cache, otherStorePath, "value");
+    assertCachedValue(cache, otherStorePath, "value");
+  }
+
+  @Test
+  public void testLargeValueNotCached() {
+    RouterHotKeyCache cache =
+        new RouterHotKeyCache(Collections.emptyList(), MAX_SIZE_IN_BYTES, 1024 * 1024, 1, storeRepository, routerStats);
+    VenicePath path = mockPath(STORE_NAME, 1, "key");
+    String value = new String(new char[ByteBufHashMap.DEFAULT_BLOCK_SIZE]);
+    for (int i = 0; i < 3; ++i) {
+      assertNull(cache.get(path));
+      cacheValue(cache, path, value);
+    }
+  }
+}
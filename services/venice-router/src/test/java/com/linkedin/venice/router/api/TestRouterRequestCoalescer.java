@@ -0,0 +1,173 @@
+package com.linkedin.venice.router.api;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
+import com.linkedin.venice.router.stats.RouterStats;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class TestRouterRequestCoalescer {
+  private static final String STORE_NAME = "test_store";
+  private static final String STORAGE_NODE_ID = "test_host_1234";
+
+  private AggRouterHttpRequestStats stats;
+  private RouterStats<AggRouterHttpRequestStats> routerStats;
+
+  @BeforeMethod
+  public void setUp() {
+    stats = mock(AggRouterHttpRequestStats.class);
+    routerStats = mock(RouterStats.class);
+    doReturn(stats).when(routerStats).getStatsByType(RequestType.SINGLE_GET);
+  }
+
+  private static VenicePath mockPath(int version, String key) {
+    VenicePath path = mock(VenicePath.class);
+    doReturn(RequestType.SINGLE_GET).when(path).getRequestType();
+    doReturn(STORE_NAME).when(path).getStoreName();
+    doReturn(STORE_NAME + "_v" + version).when(path).getResourceName();
+    doReturn(RouterKey.fromString(key)).when(path).getPartitionKey();
+    return path;
+  }
+
+  /**
+   * A pooled storage node response, which needs to be released.
+   */
+  private static PortableHttpResponse storageNodeResponse(ByteBuf content) {
+    PortableHttpResponse response = mock(PortableHttpResponse.class);
+    doReturn(200).when(response).getStatusCode();
+    doReturn("1").when(response).getFirstHeader(HttpConstants.VENICE_SCHEMA_ID);
+    return new RouterRequestCoalescer.CoalescedResponse(response, content);
+  }
+
+  @Test
+  public void testConcurrentRequestsShareResponse() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(100, routerStats);
+    AtomicInteger sentRequestCount = new AtomicInteger();
+    CompletableFuture<PortableHttpResponse> storageNodeResponseFuture = new CompletableFuture<>();
+    RouterRequestCoalescer.RequestSender sender = () -> {
+      sentRequestCount.incrementAndGet();
+      return storageNodeResponseFuture;
+    };
+
+    VenicePath firstPath = mockPath(1, "key");
+    VenicePath secondPath = mockPath(1, "key");
+    CompletableFuture<PortableHttpResponse> firstFuture = coalescer.coalesce(firstPath, STORAGE_NODE_ID, sender);
+    CompletableFuture<PortableHttpResponse> secondFuture = coalescer.coalesce(secondPath, "other_host_1234", sender);
+    assertEquals(sentRequestCount.get(), 1);
+    assertEquals(coalescer.getInFlightKeyCount(), 1);
+    verify(stats).recordCoalescedRequest(STORE_NAME);
+    // The retry of the coalesced request should avoid the storage node serving the shared request
+    verify(secondPath).requestStorageNode(STORAGE_NODE_ID);
+    verify(firstPath, never()).requestStorageNode(STORAGE_NODE_ID);
+
+    ByteBuf content = Unpooled.wrappedBuffer("value".getBytes(StandardCharsets.UTF_8));
+    storageNodeResponseFuture.complete(storageNodeResponse(content));
+    assertEquals(coalescer.getInFlightKeyCount(), 0);
+
+    PortableHttpResponse firstResponse = firstFuture.get();
+    PortableHttpResponse secondResponse = secondFuture.get();
+    assertNotSame(firstResponse, secondResponse);
+    for (PortableHttpResponse response: Arrays.asList(firstResponse, secondResponse)) {
+      assertEquals(response.getStatusCode(), 200);
+      assertEquals(response.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID), "1");
+      assertEquals(response.getContentInByteBuf().toString(StandardCharsets.UTF_8), "value");
+    }
+    // Each response holds its own reference of the shared content
+    assertEquals(content.refCnt(), 2);
+    assertTrue(((RouterRequestCoalescer.CoalescedResponse) firstResponse).release());
+    assertEquals(content.refCnt(), 1);
+    assertTrue(((RouterRequestCoalescer.CoalescedResponse) secondResponse).release());
+    assertEquals(content.refCnt(), 0);
+
+    // The following request will be sent once the previous one has completed
+    coalescer.coalesce(mockPath(1, "key"), STORAGE_NODE_ID, sender);
+    assertEquals(sentRequestCount.get(), 2);
+  }
+
+  @Test
+  public void testSingleRequestIsNotCopied() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(100, routerStats);
+    CompletableFuture<PortableHttpResponse> storageNodeResponseFuture = new CompletableFuture<>();
+    CompletableFuture<PortableHttpResponse> future =
+        coalescer.coalesce(mockPath(1, "key"), STORAGE_NODE_ID, () -> storageNodeResponseFuture);
+    PortableHttpResponse response = storageNodeResponse(Unpooled.EMPTY_BUFFER);
+    storageNodeResponseFuture.complete(response);
+    assertSame(future.get(), response);
+  }
+
+  @Test
+  public void testRequestsNotCoalesced() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(2, routerStats);
+    AtomicInteger sentRequestCount = new AtomicInteger();
+    RouterRequestCoalescer.RequestSender sender = () -> {
+      sentRequestCount.incrementAndGet();
+      return new CompletableFuture<>();
+    };
+
+    VenicePath retryPath = mockPath(1, "key");
+    doReturn(true).when(retryPath).isRetryRequest();
+    assertFalse(coalescer.isCoalescable(retryPath));
+    VenicePath multiGetPath = mockPath(1, "key");
+    doReturn(RequestType.MULTI_GET).when(multiGetPath).getRequestType();
+    assertFalse(coalescer.isCoalescable(multiGetPath));
+    assertTrue(coalescer.isCoalescable(mockPath(1, "key")));
+
+    // Different keys or versions are not coalesced
+    coalescer.coalesce(mockPath(1, "key"), STORAGE_NODE_ID, sender);
+    coalescer.coalesce(mockPath(2, "key"), STORAGE_NODE_ID, sender);
+    assertEquals(sentRequestCount.get(), 2);
+    assertEquals(coalescer.getInFlightKeyCount(), 2);
+
+    // The in-flight table is full
+    coalescer.coalesce(mockPath(1, "other_key"), STORAGE_NODE_ID, sender);
+    coalescer.coalesce(mockPath(1, "other_key"), STORAGE_NODE_ID, sender);
+    assertEquals(sentRequestCount.get(), 4);
+    assertEquals(coalescer.getInFlightKeyCount(), 2);
+    verify(stats, never()).recordCoalescedRequest(STORE_NAME);
+    verify(stats, times(2)).recordRequestCoalescingRejectedRequest(STORE_NAME);
+  }
+
+  @Test
+  public void testFailedRequest() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(100, routerStats);
+    CompletableFuture<PortableHttpResponse> storageNodeResponseFuture = new CompletableFuture<>();
+    CompletableFuture<PortableHttpResponse> firstFuture =
+        coalescer.coalesce(mockPath(1, "key"), STORAGE_NODE_ID, () -> storageNodeResponseFuture);
+    CompletableFuture<PortableHttpResponse> secondFuture =
+        coalescer.coalesce(mockPath(1, "key"), STORAGE_NODE_ID, () -> storageNodeResponseFuture);
+    storageNodeResponseFuture.completeExceptionally(new VeniceException("Failed to query storage node"));
+
+    for (CompletableFuture<PortableHttpResponse> future: Arrays.asList(firstFuture, secondFuture)) {
+      try {
+        future.get();
+        throw new AssertionError("The request should fail");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof VeniceException);
+      }
+    }
+    assertEquals(coalescer.getInFlightKeyCount(), 0);
+  }
+}
@@ -91,26 +91,27 @@ public class TestVeniceComputePath {
     }
     ComputeRequestV1 computeRequest = getComputeRequest();
 
-    RecordSerializer<ComputeRequestV1> computeRequestSerializer =
-        SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRequestV1.SCHEMA$);
-    byte[] computeRequestInBytes = computeRequestSerializer.serialize(computeRequest);
-    int expectedLength = computeRequestInBytes.length;
-
     RecordSerializer<ByteBuffer> keySerializer = SerializerDeserializerFactory
         .getAvroGenericSerializer(ReadAvroProtocolDefinition.COMPUTE_REQUEST_CLIENT_KEY_V1.getSchema());
     byte[] keysInBytes = keySerializer.serializeObjects(keys);
 
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-    try {
-      output.write(computeRequestInBytes);
-      output.write(keysInBytes);
-    } catch (Exception e) {
-      e.printStackTrace();
-      Assert.fail("Failed to write bytes to output stream", e);
-    }
-
-    // test all compute request versions
+    // test all compute request versions, each of which is serialized with its own schema
     for (int version = 1; version <= LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST; version++) {
+      ComputeRequestWrapper computeRequestWrapper = new ComputeRequestWrapper(version);
+      computeRequestWrapper.setOperations((List) computeRequest.operations);
+      computeRequestWrapper.setResultSchemaStr(computeRequest.resultSchemaStr.toString());
+      byte[] computeRequestInBytes = computeRequestWrapper.serialize();
+      int expectedLength = computeRequestInBytes.length;
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      try {
+        output.write(computeRequestInBytes);
+        output.write(keysInBytes);
+      } catch (Exception e) {
+        e.printStackTrace();
+        Assert.fail("Failed to write bytes to output stream", e);
+      }
+
       BasicFullHttpRequest request = getComputeHttpRequest(resourceName, output.toByteArray(), version);
 
       VeniceComputePath computePath =
@@ -144,4 +144,25 @@ public class TestVenicePath {
     assertFalse(retryPath2.isRetryRequestTooLate());
     assertTrue(retryPath2.canRequestStorageNode(STORAGE_NODE1));
   }
+
+  @Test
+  public void testLongTailRetryRequest() {
+    MockTime time = new MockTime();
+    SmartRetryVenicePath orgPath = new SmartRetryVenicePath(time);
+    assertFalse(orgPath.isRetryRequest());
+    assertFalse(orgPath.isLongTailRetryRequest());
+
+    orgPath.setRetryRequest(true);
+    assertTrue(orgPath.isRetryRequest());
+    assertTrue(orgPath.isLongTailRetryRequest());
+    SmartRetryVenicePath subPath = new SmartRetryVenicePath(time);
+    subPath.setupRetryRelatedInfo(orgPath);
+    assertTrue(subPath.isLongTailRetryRequest());
+
+    // The retries of the error responses are not long-tail retries
+    SmartRetryVenicePath errorRetryPath = new SmartRetryVenicePath(time);
+    errorRetryPath.setRetryRequest(false);
+    assertTrue(errorRetryPath.isRetryRequest());
+    assertFalse(errorRetryPath.isLongTailRetryRequest());
+  }
 }
@@ -6,7 +6,6 @@ import com.linkedin.venice.meta.Instance;
 import com.linkedin.venice.meta.Partition;
 import com.linkedin.venice.meta.PartitionAssignment;
 import com.linkedin.venice.meta.Version;
-import com.linkedin.venice.throttle.EventThrottler;
 import com.linkedin.venice.utils.Utils;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -43,7 +42,6 @@ public class StoreReadThrottlerTest {
     StoreReadThrottler throttler = new StoreReadThrottler(
         storeName,
         quota,
-        EventThrottler.REJECT_STRATEGY,
         Optional.of(assignment),
         perStorageNodeReadQuotaBuffer,
         1000,
@@ -113,7 +111,6 @@ public class StoreReadThrottlerTest {
     StoreReadThrottler throttler = new StoreReadThrottler(
         storeName,
         quota,
-        EventThrottler.REJECT_STRATEGY,
         Optional.of(assignment),
         0.0,
         1000,
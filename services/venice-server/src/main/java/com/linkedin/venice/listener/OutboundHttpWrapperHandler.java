@@ -13,6 +13,8 @@ import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.listener.response.BinaryResponse;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
+import com.linkedin.venice.listener.response.MultiKeyResponseChunk;
+import com.linkedin.venice.listener.response.MultiKeyResponseWrapper;
 import com.linkedin.venice.utils.ExceptionUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -20,9 +22,16 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
 import java.nio.charset.StandardCharsets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 
 /***
@@ -30,8 +39,16 @@ import java.nio.charset.StandardCharsets;
  */
 
 public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
+  private static final Logger LOGGER = LogManager.getLogger(OutboundHttpWrapperHandler.class);
+
   private final StatsHandler statsHandler;
 
+  /**
+   * Whether the status line and headers of a chunked response have been sent, and the response is still waiting for
+   * the {@link MultiKeyResponseWrapper} carrying the last records to be terminated.
+   */
+  private boolean chunkedResponseInProgress = false;
+
   public OutboundHttpWrapperHandler(StatsHandler handler) {
     super();
     statsHandler = handler;
@@ -39,6 +56,15 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
 
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+    if (msg instanceof MultiKeyResponseChunk) {
+      writeResponseChunk(ctx, (MultiKeyResponseChunk) msg);
+      return;
+    }
+    if (chunkedResponseInProgress) {
+      finishChunkedResponse(ctx, msg);
+      return;
+    }
+
     ByteBuf body;
     String contentType = HttpConstants.AVRO_BINARY;
     HttpResponseStatus responseStatus = OK;
@@ -49,20 +75,7 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
     try {
       if (msg instanceof ReadResponse) {
         ReadResponse obj = (ReadResponse) msg;
-        statsHandler.setDatabaseLookupLatency(obj.getDatabaseLookupLatency());
-        statsHandler.setStorageExecutionHandlerSubmissionWaitTime(obj.getStorageExecutionHandlerSubmissionWaitTime());
-        statsHandler.setStorageExecutionQueueLen(obj.getStorageExecutionQueueLen());
-        statsHandler.setSuccessRequestKeyCount(obj.getRecordCount());
-        statsHandler.setMultiChunkLargeValueCount(obj.getMultiChunkLargeValueCount());
-        statsHandler.setReadComputeLatency(obj.getReadComputeLatency());
-        statsHandler.setReadComputeDeserializationLatency(obj.getReadComputeDeserializationLatency());
-        statsHandler.setReadComputeSerializationLatency(obj.getReadComputeSerializationLatency());
-        statsHandler.setDotProductCount(obj.getDotProductCount());
-        statsHandler.setCosineSimilarityCount(obj.getCosineSimilarityCount());
-        statsHandler.setHadamardProductCount(obj.getHadamardProductCount());
-        statsHandler.setCountOperatorCount(obj.getCountOperatorCount());
-        statsHandler.setOptionalKeySizeList(obj.getOptionalKeySizeList());
-        statsHandler.setOptionalValueSizeList(obj.getOptionalValueSizeList());
+        setReadResponseStats(obj);
         compressionStrategy = obj.getCompressionStrategy();
         if (obj.isFound()) {
           body = obj.getResponseBody();
@@ -145,4 +158,64 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
      */
     ctx.writeAndFlush(response);
   }
+
+  private void writeResponseChunk(ChannelHandlerContext ctx, MultiKeyResponseChunk chunk) {
+    if (!chunkedResponseInProgress) {
+      HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+      HttpUtil.setTransferEncodingChunked(response, true);
+      response.headers().set(CONTENT_TYPE, HttpConstants.AVRO_BINARY);
+      response.headers().set(HttpConstants.VENICE_COMPRESSION_STRATEGY, chunk.getCompressionStrategy().getValue());
+      response.headers().set(HttpConstants.VENICE_SCHEMA_ID, chunk.getResponseSchemaIdHeader());
+      response.headers().set(HttpConstants.VENICE_REQUEST_RCU, chunk.getRCU());
+      if (chunk.isStreamingResponse()) {
+        response.headers().set(HttpConstants.VENICE_STREAMING_RESPONSE, "1");
+      }
+      chunkedResponseInProgress = true;
+      statsHandler.setChunkedResponseInProgress(true);
+      ctx.write(response);
+    }
+    ctx.writeAndFlush(new DefaultHttpContent(chunk.getBody()));
+  }
+
+  private void finishChunkedResponse(ChannelHandlerContext ctx, Object msg) {
+    chunkedResponseInProgress = false;
+    // The stats of the request will be recorded once the last content is written
+    statsHandler.setChunkedResponseInProgress(false);
+    if (msg instanceof MultiKeyResponseWrapper) {
+      MultiKeyResponseWrapper<?> response = (MultiKeyResponseWrapper<?>) msg;
+      try {
+        setReadResponseStats(response);
+        ByteBuf body = response.getResponseBody();
+        statsHandler.setResponseStatus(OK);
+        ctx.writeAndFlush(new DefaultLastHttpContent(body));
+        return;
+      } catch (Exception e) {
+        LOGGER.error("Failed to write the last chunk of the response", e);
+      }
+    }
+    /**
+     * The status line has already been sent along with the first chunk, so the only way to report the failure is to
+     * close the connection without terminating the chunked response, which prevents the client from taking the
+     * partial response as a complete one.
+     */
+    statsHandler.setResponseStatus(INTERNAL_SERVER_ERROR);
+    ctx.close();
+  }
+
+  private void setReadResponseStats(ReadResponse obj) {
+    statsHandler.setDatabaseLookupLatency(obj.getDatabaseLookupLatency());
+    statsHandler.setStorageExecutionHandlerSubmissionWaitTime(obj.getStorageExecutionHandlerSubmissionWaitTime());
+    statsHandler.setStorageExecutionQueueLen(obj.getStorageExecutionQueueLen());
+    statsHandler.setSuccessRequestKeyCount(obj.getRecordCount());
+    statsHandler.setMultiChunkLargeValueCount(obj.getMultiChunkLargeValueCount());
+    statsHandler.setReadComputeLatency(obj.getReadComputeLatency());
+    statsHandler.setReadComputeDeserializationLatency(obj.getReadComputeDeserializationLatency());
+    statsHandler.setReadComputeSerializationLatency(obj.getReadComputeSerializationLatency());
+    statsHandler.setDotProductCount(obj.getDotProductCount());
+    statsHandler.setCosineSimilarityCount(obj.getCosineSimilarityCount());
+    statsHandler.setHadamardProductCount(obj.getHadamardProductCount());
+    statsHandler.setCountOperatorCount(obj.getCountOperatorCount());
+    statsHandler.setOptionalKeySizeList(obj.getOptionalKeySizeList());
+    statsHandler.setOptionalValueSizeList(obj.getOptionalValueSizeList());
+  }
 }
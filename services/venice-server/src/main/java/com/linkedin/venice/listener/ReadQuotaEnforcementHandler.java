@@ -224,7 +224,14 @@ public class ReadQuotaEnforcementHandler extends SimpleChannelInboundHandler<Rou
     long totalCapacity = totalRefillAmount * enforcementCapacityMultiple;
     long thisRefillAmount = (long) Math.ceil(totalRefillAmount * thisBucketProportionOfTotalRcu);
     long thisCapacity = (long) Math.ceil(totalCapacity * thisBucketProportionOfTotalRcu);
-    return new TokenBucket(thisCapacity, thisRefillAmount, enforcementIntervalSeconds, SECONDS, clock);
+    // Every request of the store checks the same bucket on all the IO threads, so spread the tokens over stripes
+    return new TokenBucket(
+        thisCapacity,
+        thisRefillAmount,
+        enforcementIntervalSeconds,
+        SECONDS,
+        TokenBucket.DEFAULT_STRIPE_COUNT,
+        clock);
   }
 
   @Override
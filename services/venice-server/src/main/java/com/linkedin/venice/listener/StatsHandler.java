@@ -56,6 +56,12 @@ public class StatsHandler extends ChannelDuplexHandler {
   private boolean statCallbackExecuted = false;
   private double storageExecutionSubmissionWaitTime;
   private int storageExecutionQueueLen;
+  /**
+   * Whether a chunked response is being written and its last content hasn't been written yet. Since this handler is
+   * in front of {@link HttpServerCodec}, the writes reaching it are already encoded, so
+   * {@link OutboundHttpWrapperHandler} needs to tell which writes belong to the head and the intermediate chunks.
+   */
+  private boolean chunkedResponseInProgress = false;
 
   /**
    * Normally, one multi-get request will be split into two parts, and it means
@@ -88,6 +94,10 @@ public class StatsHandler extends ChannelDuplexHandler {
     this.responseStatus = status;
   }
 
+  public void setChunkedResponseInProgress(boolean chunkedResponseInProgress) {
+    this.chunkedResponseInProgress = chunkedResponseInProgress;
+  }
+
   public void setStoreName(String name) {
     this.storeName = name;
   }
@@ -251,6 +261,11 @@ public class StatsHandler extends ChannelDuplexHandler {
 
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws VeniceException {
+    if (chunkedResponseInProgress) {
+      // The head and intermediate chunks of a chunked response, the request is only done with the last content.
+      ctx.writeAndFlush(msg, promise);
+      return;
+    }
     ChannelFuture future = ctx.writeAndFlush(msg);
     future.addListener((result) -> {
       // reset the StatsHandler for the new request. This is necessary since instances are channel-based
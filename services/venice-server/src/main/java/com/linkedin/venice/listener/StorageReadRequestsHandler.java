@@ -9,6 +9,7 @@ import com.linkedin.davinci.storage.DiskHealthCheckService;
 import com.linkedin.davinci.storage.MetadataRetriever;
 import com.linkedin.davinci.storage.StorageEngineRepository;
 import com.linkedin.davinci.storage.chunking.BatchGetChunkingAdapter;
+import com.linkedin.davinci.storage.chunking.ChunkingUtils;
 import com.linkedin.davinci.storage.chunking.GenericRecordChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.SingleGetChunkingAdapter;
 import com.linkedin.davinci.store.AbstractStorageEngine;
@@ -18,6 +19,7 @@ import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.cleaner.ResourceReadUsageTracker;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.compute.ComputeAggregator;
 import com.linkedin.venice.compute.ComputeOperationUtils;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.ReadComputeOperator;
@@ -38,6 +40,7 @@ import com.linkedin.venice.listener.response.BinaryResponse;
 import com.linkedin.venice.listener.response.ComputeResponseWrapper;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
 import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.MultiKeyResponseWrapper;
 import com.linkedin.venice.listener.response.StorageResponseObject;
 import com.linkedin.venice.meta.PartitionerConfig;
 import com.linkedin.venice.meta.PartitionerConfigImpl;
@@ -76,9 +79,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -118,6 +125,11 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
   private final boolean fastAvroEnabled;
   private final boolean parallelBatchGetEnabled;
   private final int parallelBatchGetChunkSize;
+  private final boolean parallelComputeEnabled;
+  private final int parallelComputeChunkSize;
+  private final boolean batchGetStorageMultiGetEnabled;
+  private final boolean chunkedStreamingResponseEnabled;
+  private final int chunkedStreamingResponseBatchSize;
   private final boolean keyValueProfilingEnabled;
   private final RocksDBComputeAccessMode rocksDBComputeAccessMode;
   private final VeniceServerConfig serverConfig;
@@ -177,6 +189,11 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     this.computeResultSchemaCache = new VeniceConcurrentHashMap<>();
     this.parallelBatchGetEnabled = parallelBatchGetEnabled;
     this.parallelBatchGetChunkSize = parallelBatchGetChunkSize;
+    this.parallelComputeEnabled = serverConfig.isEnableParallelCompute();
+    this.parallelComputeChunkSize = serverConfig.getParallelComputeChunkSize();
+    this.batchGetStorageMultiGetEnabled = serverConfig.isBatchGetStorageMultiGetEnabled();
+    this.chunkedStreamingResponseEnabled = serverConfig.isChunkedStreamingResponseEnabled();
+    this.chunkedStreamingResponseBatchSize = serverConfig.getChunkedStreamingResponseBatchSize();
     this.keyValueProfilingEnabled = serverConfig.isKeyValueProfilingEnabled();
     this.rocksDBComputeAccessMode = serverConfig.getRocksDBServerConfig().getServerStorageOperation();
     this.serverConfig = serverConfig;
@@ -227,30 +244,13 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
        * to have some duplicate code for the time-being.
        */
       if (parallelBatchGetEnabled && request.getRequestType().equals(RequestType.MULTI_GET)) {
-        handleMultiGetRequestInParallel((MultiGetRouterRequestWrapper) request, parallelBatchGetChunkSize)
-            .whenComplete((v, e) -> {
-              if (e != null) {
-                if (e instanceof VeniceRequestEarlyTerminationException) {
-                  VeniceRequestEarlyTerminationException earlyTerminationException =
-                      (VeniceRequestEarlyTerminationException) e;
-                  context.writeAndFlush(
-                      new HttpShortcutResponse(
-                          earlyTerminationException.getMessage(),
-                          earlyTerminationException.getHttpResponseStatus()));
-                } else if (e instanceof VeniceNoStoreException) {
-                  context.writeAndFlush(
-                      new HttpShortcutResponse(
-                          "No storage exists for: " + ((VeniceNoStoreException) e).getStoreName(),
-                          HttpResponseStatus.BAD_REQUEST));
-                } else {
-                  LOGGER.error("Exception thrown in parallel batch get for {}", request.getResourceName(), e);
-                  context.writeAndFlush(
-                      new HttpShortcutResponse(e.getMessage(), HttpResponseStatus.INTERNAL_SERVER_ERROR));
-                }
-              } else {
-                context.writeAndFlush(v);
-              }
-            });
+        handleMultiGetRequestInParallel((MultiGetRouterRequestWrapper) request, parallelBatchGetChunkSize, context)
+            .whenComplete((v, e) -> writeParallelResponse(context, request, v, e));
+        return;
+      }
+      if (parallelComputeEnabled && request.getRequestType().equals(RequestType.COMPUTE)) {
+        handleComputeRequestInParallel((ComputeRouterRequestWrapper) request, parallelComputeChunkSize, context)
+            .whenComplete((v, e) -> writeParallelResponse(context, request, v, e));
         return;
       }
 
@@ -268,10 +268,10 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
               response = handleSingleGetRequest((GetRouterRequest) request);
               break;
             case MULTI_GET:
-              response = handleMultiGetRequest((MultiGetRouterRequestWrapper) request);
+              response = handleMultiGetRequest((MultiGetRouterRequestWrapper) request, context);
               break;
             case COMPUTE:
-              response = handleComputeRequest((ComputeRouterRequestWrapper) message);
+              response = handleComputeRequest((ComputeRouterRequestWrapper) message, context);
               break;
             default:
               throw new VeniceException("Unknown request type: " + request.getRequestType());
@@ -320,6 +320,58 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
+  private void writeParallelResponse(
+      ChannelHandlerContext context,
+      RouterRequest request,
+      ReadResponse response,
+      Throwable e) {
+    if (e instanceof CompletionException && e.getCause() != null) {
+      e = e.getCause();
+    }
+    if (e != null) {
+      if (e instanceof VeniceRequestEarlyTerminationException) {
+        VeniceRequestEarlyTerminationException earlyTerminationException = (VeniceRequestEarlyTerminationException) e;
+        context.writeAndFlush(
+            new HttpShortcutResponse(
+                earlyTerminationException.getMessage(),
+                earlyTerminationException.getHttpResponseStatus()));
+      } else if (e instanceof VeniceNoStoreException) {
+        context.writeAndFlush(
+            new HttpShortcutResponse(
+                "No storage exists for: " + ((VeniceNoStoreException) e).getStoreName(),
+                HttpResponseStatus.BAD_REQUEST));
+      } else {
+        LOGGER.error("Exception thrown in parallel {} for {}", request.getRequestType(), request.getResourceName(), e);
+        context.writeAndFlush(new HttpShortcutResponse(e.getMessage(), HttpResponseStatus.INTERNAL_SERVER_ERROR));
+      }
+    } else {
+      response.setRCU(ReadQuotaEnforcementHandler.getRcu(request));
+      if (request.isStreamingRequest()) {
+        response.setStreamingResponse();
+      }
+      context.writeAndFlush(response);
+    }
+  }
+
+  /**
+   * Lets the given response flush its records to the channel in batches as soon as they are added, so that the
+   * client gets the first records earlier and the server doesn't need to hold the whole response in memory.
+   */
+  private void maybeEnableChunkedStreaming(
+      RouterRequest request,
+      MultiKeyResponseWrapper<?> responseWrapper,
+      ChannelHandlerContext context) {
+    if (!chunkedStreamingResponseEnabled) {
+      return;
+    }
+    // These are sent along with the first batch of records, so they need to be populated upfront.
+    responseWrapper.setRCU(ReadQuotaEnforcementHandler.getRcu(request));
+    if (request.isStreamingRequest()) {
+      responseWrapper.setStreamingResponse();
+    }
+    responseWrapper.enableChunkedStreaming(context, chunkedStreamingResponseBatchSize);
+  }
+
   private ThreadPoolExecutor getExecutor(RequestType requestType) {
     switch (requestType) {
       case SINGLE_GET:
@@ -406,7 +458,8 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
 
   private CompletableFuture<ReadResponse> handleMultiGetRequestInParallel(
       MultiGetRouterRequestWrapper request,
-      int parallelChunkSize) {
+      int parallelChunkSize,
+      ChannelHandlerContext context) {
     String topic = request.getResourceName();
     Iterable<MultiGetRouterRequestKeyV1> keys = request.getKeys();
     AbstractStorageEngine storageEngine = getStorageEngine(topic);
@@ -414,6 +467,7 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     MultiGetResponseWrapper responseWrapper = new MultiGetResponseWrapper(request.getKeyCount());
     responseWrapper.setCompressionStrategy(storageEngine.getCompressionStrategy());
     responseWrapper.setDatabaseLookupLatency(0);
+    maybeEnableChunkedStreaming(request, responseWrapper, context);
     boolean isChunked = storageEngine.isChunked();
 
     ExecutorService executorService = getExecutor(RequestType.MULTI_GET);
@@ -424,15 +478,14 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     int totalKeyNum = keyList.size();
     int splitSize = (int) Math.ceil((double) totalKeyNum / parallelChunkSize);
 
-    ReentrantLock requestLock = new ReentrantLock();
-    CompletableFuture[] chunkFutures = new CompletableFuture[splitSize];
+    CompletableFuture<Void>[] chunkFutures = new CompletableFuture[splitSize];
+    /**
+     * Each chunk collects its records into its own slot, so the chunks don't contend with each other, and each slot
+     * gets merged into the response once the chunk and all the chunks before it are done.
+     */
+    List<MultiGetResponseRecordV1>[] chunkRecords = new List[splitSize];
     PartitionerConfig partitionerConfig = getPartitionerConfig(request.getResourceName());
 
-    Optional<List<Integer>> optionalKeyList =
-        keyValueProfilingEnabled ? Optional.of(new ArrayList<>(totalKeyNum)) : Optional.empty();
-    Optional<List<Integer>> optionalValueList =
-        keyValueProfilingEnabled ? Optional.of(new ArrayList<>(totalKeyNum)) : Optional.empty();
-
     for (int cur = 0; cur < splitSize; ++cur) {
       final int finalCur = cur;
       chunkFutures[cur] = CompletableFuture.runAsync(() -> {
@@ -441,55 +494,73 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
         }
         int startPos = finalCur * parallelChunkSize;
         int endPos = Math.min((finalCur + 1) * parallelChunkSize, totalKeyNum);
+        List<MultiGetResponseRecordV1> records = new ArrayList<>(endPos - startPos);
+        chunkRecords[finalCur] = records;
+        if (batchGetStorageMultiGetEnabled) {
+          multiGetKeysBySubPartition(
+              request,
+              keyList,
+              startPos,
+              endPos,
+              storageEngine,
+              partitionerConfig,
+              isChunked,
+              responseWrapper,
+              records::add);
+          return;
+        }
         for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
           final MultiGetRouterRequestKeyV1 key = keyList.get(subChunkCur);
-          optionalKeyList.ifPresent(list -> list.add(key.keyBytes.remaining()));
           int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes.array());
-          MultiGetResponseRecordV1 record =
-              BatchGetChunkingAdapter.get(storageEngine, subPartitionId, key.keyBytes, isChunked, responseWrapper);
-          if (record == null) {
-            if (request.isStreamingRequest()) {
-              // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
-              // non-existing keys in the response if the response is partial.
-              record = new MultiGetResponseRecordV1();
-              // Negative key index to indicate the non-existing keys
-              record.keyIndex = Math.negateExact(key.keyIndex);
-              record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
-              record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-            }
-          } else {
-            record.keyIndex = key.keyIndex;
-          }
+          MultiGetResponseRecordV1 record = toMultiGetResponseRecord(
+              BatchGetChunkingAdapter.get(storageEngine, subPartitionId, key.keyBytes, isChunked, responseWrapper),
+              key,
+              request.isStreamingRequest());
 
           if (record != null) {
-            // TODO: streaming support in storage node
-            requestLock.lock();
-            try {
-              responseWrapper.addRecord(record);
-
-              if (optionalValueList.isPresent()) {
-                optionalValueList.get().add(record.value.remaining());
-              }
-
-            } finally {
-              requestLock.unlock();
-            }
+            records.add(record);
           }
         }
       }, executorService);
     }
 
-    return CompletableFuture.allOf(chunkFutures).handle((v, e) -> {
-      if (e != null) {
-        throw new VeniceException(e);
+    Optional<List<Integer>> optionalKeyList =
+        keyValueProfilingEnabled ? Optional.of(new ArrayList<>(totalKeyNum)) : Optional.empty();
+    Optional<List<Integer>> optionalValueList =
+        keyValueProfilingEnabled ? Optional.of(new ArrayList<>(totalKeyNum)) : Optional.empty();
+    optionalKeyList.ifPresent(list -> keyList.forEach(key -> list.add(key.keyBytes.remaining())));
+    return mergeChunksInOrder(chunkFutures, chunk -> {
+      for (MultiGetResponseRecordV1 record: chunkRecords[chunk]) {
+        responseWrapper.addRecord(record);
+        optionalValueList.ifPresent(list -> list.add(record.value.remaining()));
       }
+      // Release the records of the chunk, which might have been flushed already
+      chunkRecords[chunk] = null;
+    }).thenApply(v -> {
       responseWrapper.setOptionalKeySizeList(optionalKeyList);
       responseWrapper.setOptionalValueSizeList(optionalValueList);
       return responseWrapper;
     });
   }
 
-  private ReadResponse handleMultiGetRequest(MultiGetRouterRequestWrapper request) {
+  /**
+   * Merges the result of each chunk into the response as soon as the chunk and all the chunks before it are done, so
+   * that the records keep the order of the keys, and get flushed early when chunked streaming is enabled, instead of
+   * waiting for the slowest chunk. The merges are chained, so they never run concurrently, and each of them sees the
+   * result of its chunk. If any chunk fails, the returned future fails with the failure of the earliest such chunk.
+   */
+  private static CompletableFuture<Void> mergeChunksInOrder(
+      CompletableFuture<Void>[] chunkFutures,
+      IntConsumer chunkMerger) {
+    CompletableFuture<Void> mergeFuture = CompletableFuture.completedFuture(null);
+    for (int i = 0; i < chunkFutures.length; ++i) {
+      final int chunk = i;
+      mergeFuture = mergeFuture.thenAcceptBoth(chunkFutures[i], (v1, v2) -> chunkMerger.accept(chunk));
+    }
+    return mergeFuture;
+  }
+
+  private ReadResponse handleMultiGetRequest(MultiGetRouterRequestWrapper request, ChannelHandlerContext context) {
     String topic = request.getResourceName();
     Iterable<MultiGetRouterRequestKeyV1> keys = request.getKeys();
     PartitionerConfig partitionerConfig = getPartitionerConfig(request.getResourceName());
@@ -498,27 +569,30 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     MultiGetResponseWrapper responseWrapper = new MultiGetResponseWrapper(request.getKeyCount());
     responseWrapper.setCompressionStrategy(storageEngine.getCompressionStrategy());
     responseWrapper.setDatabaseLookupLatency(0);
+    maybeEnableChunkedStreaming(request, responseWrapper, context);
     boolean isChunked = storageEngine.isChunked();
+    if (batchGetStorageMultiGetEnabled) {
+      List<MultiGetRouterRequestKeyV1> keyList = toKeyList(keys);
+      multiGetKeysBySubPartition(
+          request,
+          keyList,
+          0,
+          keyList.size(),
+          storageEngine,
+          partitionerConfig,
+          isChunked,
+          responseWrapper,
+          responseWrapper::addRecord);
+      return responseWrapper;
+    }
     for (MultiGetRouterRequestKeyV1 key: keys) {
       int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes.array());
-      MultiGetResponseRecordV1 record =
-          BatchGetChunkingAdapter.get(storageEngine, subPartitionId, key.keyBytes, isChunked, responseWrapper);
-      if (record == null) {
-        if (request.isStreamingRequest()) {
-          // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
-          // non-existing keys in the response if the response is partial.
-          record = new MultiGetResponseRecordV1();
-          // Negative key index to indicate the non-existing keys
-          record.keyIndex = Math.negateExact(key.keyIndex);
-          record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
-          record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-        }
-      } else {
-        record.keyIndex = key.keyIndex;
-      }
+      MultiGetResponseRecordV1 record = toMultiGetResponseRecord(
+          BatchGetChunkingAdapter.get(storageEngine, subPartitionId, key.keyBytes, isChunked, responseWrapper),
+          key,
+          request.isStreamingRequest());
 
       if (record != null) {
-        // TODO: streaming support in storage node
         responseWrapper.addRecord(record);
       }
     }
@@ -526,10 +600,157 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     return responseWrapper;
   }
 
-  private ReadResponse handleComputeRequest(ComputeRouterRequestWrapper request) {
+  /**
+   * Looks up the keys within [startPos, endPos) of the given key list with one
+   * {@link AbstractStorageEngine#multiGet(int, List, boolean)} call per sub-partition, instead of one lookup per key,
+   * and hands each resulting record to the given consumer. The records are not produced in the request order, which
+   * is fine since every record carries its key index.
+   */
+  private void multiGetKeysBySubPartition(
+      MultiGetRouterRequestWrapper request,
+      List<MultiGetRouterRequestKeyV1> keyList,
+      int startPos,
+      int endPos,
+      AbstractStorageEngine storageEngine,
+      PartitionerConfig partitionerConfig,
+      boolean isChunked,
+      ReadResponse response,
+      Consumer<MultiGetResponseRecordV1> recordConsumer) {
+    Map<Integer, List<MultiGetRouterRequestKeyV1>> keysBySubPartition = groupKeysBySubPartition(
+        keyList,
+        startPos,
+        endPos,
+        request.getResourceName(),
+        partitionerConfig,
+        key -> key.partitionId,
+        key -> key.keyBytes);
+    for (Map.Entry<Integer, List<MultiGetRouterRequestKeyV1>> entry: keysBySubPartition.entrySet()) {
+      List<MultiGetRouterRequestKeyV1> subPartitionKeys = entry.getValue();
+      List<ByteBuffer> keyBuffers = new ArrayList<>(subPartitionKeys.size());
+      for (MultiGetRouterRequestKeyV1 key: subPartitionKeys) {
+        keyBuffers.add(key.keyBytes);
+      }
+      List<MultiGetResponseRecordV1> records =
+          BatchGetChunkingAdapter.multiGet(storageEngine, entry.getKey(), keyBuffers, isChunked, response);
+      for (int i = 0; i < subPartitionKeys.size(); i++) {
+        MultiGetResponseRecordV1 record =
+            toMultiGetResponseRecord(records.get(i), subPartitionKeys.get(i), request.isStreamingRequest());
+        if (record != null) {
+          recordConsumer.accept(record);
+        }
+      }
+    }
+  }
+
+  /**
+   * Groups the keys within [startPos, endPos) of the given key list by the sub-partition they belong to, while keeping
+   * the relative order of the keys inside each group.
+   */
+  private <K> Map<Integer, List<K>> groupKeysBySubPartition(
+      List<K> keyList,
+      int startPos,
+      int endPos,
+      String topic,
+      PartitionerConfig partitionerConfig,
+      ToIntFunction<K> userPartitionGetter,
+      Function<K, ByteBuffer> keyBytesGetter) {
+    Map<Integer, List<K>> keysBySubPartition = new HashMap<>();
+    for (int i = startPos; i < endPos; i++) {
+      K key = keyList.get(i);
+      int subPartitionId = getSubPartitionId(
+          userPartitionGetter.applyAsInt(key),
+          topic,
+          partitionerConfig,
+          keyBytesGetter.apply(key).array());
+      keysBySubPartition.computeIfAbsent(subPartitionId, k -> new ArrayList<>()).add(key);
+    }
+    return keysBySubPartition;
+  }
+
+  private static <K> List<K> toKeyList(Iterable<K> keys) {
+    if (keys instanceof List) {
+      return (List<K>) keys;
+    }
+    List<K> keyList = new ArrayList<>();
+    keys.forEach(keyList::add);
+    return keyList;
+  }
+
+  /**
+   * @return the given record with its key index filled in, a record marking the key as non-existing if the record is
+   *         null and the request is a streaming one, or null otherwise.
+   */
+  private MultiGetResponseRecordV1 toMultiGetResponseRecord(
+      MultiGetResponseRecordV1 record,
+      MultiGetRouterRequestKeyV1 key,
+      boolean isStreaming) {
+    if (record == null) {
+      if (isStreaming) {
+        // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
+        // non-existing keys in the response if the response is partial.
+        record = new MultiGetResponseRecordV1();
+        // Negative key index to indicate the non-existing keys
+        record.keyIndex = Math.negateExact(key.keyIndex);
+        record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
+        record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+      }
+    } else {
+      record.keyIndex = key.keyIndex;
+    }
+    return record;
+  }
+
+  /**
+   * The request-level state of a compute request, which is shared by all the threads working on the request.
+   */
+  private static class ComputeRequestState {
+    final String topic;
+    final String storeName;
+    final AbstractStorageEngine storageEngine;
+    final PartitionerConfig partitionerConfig;
+    final Schema valueSchema;
+    final Schema computeResultSchema;
+    final ComputeRequestWrapper computeRequestWrapper;
+    final CompressionStrategy compressionStrategy;
+    final boolean isChunked;
+    final boolean isStreaming;
+    final RecordSerializer<GenericRecord> resultSerializer;
+    final VeniceCompressor compressor;
+    /**
+     * The filter and top-K of the request, or null if the request doesn't carry any aggregation.
+     */
+    final ComputeAggregator<ComputeResponseRecordV1> aggregator;
+
+    ComputeRequestState(
+        String topic,
+        String storeName,
+        AbstractStorageEngine storageEngine,
+        PartitionerConfig partitionerConfig,
+        Schema valueSchema,
+        Schema computeResultSchema,
+        ComputeRequestWrapper computeRequestWrapper,
+        boolean isStreaming,
+        RecordSerializer<GenericRecord> resultSerializer,
+        VeniceCompressor compressor) {
+      this.topic = topic;
+      this.storeName = storeName;
+      this.storageEngine = storageEngine;
+      this.partitionerConfig = partitionerConfig;
+      this.valueSchema = valueSchema;
+      this.computeResultSchema = computeResultSchema;
+      this.computeRequestWrapper = computeRequestWrapper;
+      this.compressionStrategy = storageEngine.getCompressionStrategy();
+      this.isChunked = storageEngine.isChunked();
+      this.isStreaming = isStreaming;
+      this.resultSerializer = resultSerializer;
+      this.compressor = compressor;
+      this.aggregator = ComputeAggregator.create(computeRequestWrapper, computeResultSchema);
+    }
+  }
+
+  private ComputeRequestState prepareComputeRequest(ComputeRouterRequestWrapper request) {
     String topic = request.getResourceName();
     String storeName = request.getStoreName();
-    Iterable<ComputeRouterRequestKeyV1> keys = request.getKeys();
     AbstractStorageEngine storageEngine = getStorageEngine(topic);
     PartitionerConfig partitionerConfig = getPartitionerConfig(request.getResourceName());
 
@@ -555,10 +776,28 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
       computeResultSchemaCache.putIfAbsent(computeResultSchemaStr, computeResultSchema);
     }
 
-    ComputeResponseWrapper responseWrapper = new ComputeResponseWrapper(request.getKeyCount());
-    CompressionStrategy compressionStrategy = storageEngine.getCompressionStrategy();
-    boolean isChunked = storageEngine.isChunked();
+    RecordSerializer<GenericRecord> resultSerializer;
+    if (fastAvroEnabled) {
+      resultSerializer = FastSerializerDeserializerFactory.getFastAvroGenericSerializer(computeResultSchema);
+    } else {
+      resultSerializer = SerializerDeserializerFactory.getAvroGenericSerializer(computeResultSchema);
+    }
 
+    return new ComputeRequestState(
+        topic,
+        storeName,
+        storageEngine,
+        partitionerConfig,
+        valueSchema,
+        computeResultSchema,
+        computeRequestWrapper,
+        request.isStreamingRequest(),
+        resultSerializer,
+        compressorFactory.getCompressor(storageEngine.getCompressionStrategy(), topic));
+  }
+
+  private static ComputeResponseWrapper createComputeResponseWrapper(int maxKeyCount) {
+    ComputeResponseWrapper responseWrapper = new ComputeResponseWrapper(maxKeyCount);
     // The following metrics will get incremented for each record processed in computeResult()
     responseWrapper.setReadComputeDeserializationLatency(0.0);
     responseWrapper.setDatabaseLookupLatency(0.0);
@@ -566,14 +805,97 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     responseWrapper.setReadComputeLatency(0.0);
 
     responseWrapper.setCompressionStrategy(CompressionStrategy.NO_OP);
+    return responseWrapper;
+  }
+
+  private ReadResponse handleComputeRequest(ComputeRouterRequestWrapper request, ChannelHandlerContext context) {
+    ComputeRequestState state = prepareComputeRequest(request);
+    ComputeResponseWrapper responseWrapper = createComputeResponseWrapper(request.getKeyCount());
+    maybeEnableChunkedStreaming(request, responseWrapper, context);
+
+    List<ComputeRouterRequestKeyV1> keyList = toKeyList(request.getKeys());
+    computeKeys(state, keyList, 0, keyList.size(), responseWrapper, responseWrapper::addRecord);
+    addTopKRecords(state, responseWrapper);
+    return responseWrapper;
+  }
 
+  /**
+   * The records selected by top-K can only be determined after all the keys have been computed, so they are added
+   * to the response at the end.
+   */
+  private static void addTopKRecords(ComputeRequestState state, ComputeResponseWrapper responseWrapper) {
+    if (state.aggregator != null && state.aggregator.hasTopK()) {
+      state.aggregator.drainTopK().forEach(responseWrapper::addRecord);
+    }
+  }
+
+  /**
+   * Splits the keys of the compute request into chunks of the given size, which are computed concurrently in
+   * {@link #computeExecutor}. Each chunk accumulates its records and metrics on its own, and they are merged into
+   * the response in the key order as soon as the chunk and all the chunks before it are done.
+   */
+  private CompletableFuture<ReadResponse> handleComputeRequestInParallel(
+      ComputeRouterRequestWrapper request,
+      int parallelChunkSize,
+      ChannelHandlerContext context) {
+    return CompletableFuture.supplyAsync(() -> prepareComputeRequest(request), computeExecutor).thenCompose(state -> {
+      List<ComputeRouterRequestKeyV1> keyList = toKeyList(request.getKeys());
+      int totalKeyNum = keyList.size();
+      int splitSize = (int) Math.ceil((double) totalKeyNum / parallelChunkSize);
+
+      ComputeResponseWrapper responseWrapper = createComputeResponseWrapper(totalKeyNum);
+      maybeEnableChunkedStreaming(request, responseWrapper, context);
+      CompletableFuture<Void>[] chunkFutures = new CompletableFuture[splitSize];
+      ComputeResponseWrapper[] chunkResponses = new ComputeResponseWrapper[splitSize];
+      List<ComputeResponseRecordV1>[] chunkRecords = new List[splitSize];
+      for (int cur = 0; cur < splitSize; ++cur) {
+        final int finalCur = cur;
+        chunkFutures[cur] = CompletableFuture.runAsync(() -> {
+          if (request.shouldRequestBeTerminatedEarly()) {
+            throw new VeniceRequestEarlyTerminationException(request.getStoreName());
+          }
+          int startPos = finalCur * parallelChunkSize;
+          int endPos = Math.min((finalCur + 1) * parallelChunkSize, totalKeyNum);
+          ComputeResponseWrapper chunkResponse = createComputeResponseWrapper(endPos - startPos);
+          List<ComputeResponseRecordV1> records = new ArrayList<>(endPos - startPos);
+          chunkResponses[finalCur] = chunkResponse;
+          chunkRecords[finalCur] = records;
+          computeKeys(state, keyList, startPos, endPos, chunkResponse, records::add);
+        }, computeExecutor);
+      }
+
+      return mergeChunksInOrder(chunkFutures, chunk -> {
+        responseWrapper.mergeStats(chunkResponses[chunk]);
+        chunkRecords[chunk].forEach(responseWrapper::addRecord);
+        chunkResponses[chunk] = null;
+        chunkRecords[chunk] = null;
+      }).thenApply(v -> {
+        addTopKRecords(state, responseWrapper);
+        return responseWrapper;
+      });
+    });
+  }
+
+  /**
+   * Computes the keys within [startPos, endPos) of the given key list, and passes the result records to the given
+   * consumer in the order they are computed. The reusable value and result records are taken from the calling
+   * thread, so this function can be invoked concurrently for disjoint key ranges of the same request.
+   */
+  private void computeKeys(
+      ComputeRequestState state,
+      List<ComputeRouterRequestKeyV1> keyList,
+      int startPos,
+      int endPos,
+      ComputeResponseWrapper responseWrapper,
+      Consumer<ComputeResponseRecordV1> recordConsumer) {
     StorageExecReusableObjects reusableObjects = threadLocalReusableObjects.get();
 
+    Schema valueSchema = state.valueSchema;
+    Schema computeResultSchema = state.computeResultSchema;
     GenericRecord reuseValueRecord =
         reusableObjects.reuseValueRecordMap.computeIfAbsent(valueSchema, k -> new GenericData.Record(valueSchema));
-    Schema finalComputeResultSchema1 = computeResultSchema;
     GenericRecord reuseResultRecord = reusableObjects.reuseResultRecordMap
-        .computeIfAbsent(computeResultSchema, k -> new GenericData.Record(finalComputeResultSchema1));
+        .computeIfAbsent(computeResultSchema, k -> new GenericData.Record(computeResultSchema));
 
     // Reuse the same value record and result record instances for all values
     ByteBuffer reusedRawValue = null;
@@ -581,45 +903,90 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
       reusedRawValue = reusableObjects.reusedByteBuffer;
     }
 
-    RecordSerializer<GenericRecord> resultSerializer;
-    if (fastAvroEnabled) {
-      resultSerializer = FastSerializerDeserializerFactory.getFastAvroGenericSerializer(computeResultSchema);
-    } else {
-      resultSerializer = SerializerDeserializerFactory.getAvroGenericSerializer(computeResultSchema);
-    }
-
     Map<String, Object> globalContext = new HashMap<>();
-    VeniceCompressor compressor = compressorFactory.getCompressor(compressionStrategy, topic);
-    for (ComputeRouterRequestKeyV1 key: keys) {
+    ComputeRequestWrapper computeRequestWrapper = state.computeRequestWrapper;
+    if (rocksDBComputeAccessMode == RocksDBComputeAccessMode.MULTI_GET) {
+      Map<Integer, List<ComputeRouterRequestKeyV1>> keysBySubPartition = groupKeysBySubPartition(
+          keyList,
+          startPos,
+          endPos,
+          state.topic,
+          state.partitionerConfig,
+          key -> key.partitionId,
+          key -> key.keyBytes);
+      for (Map.Entry<Integer, List<ComputeRouterRequestKeyV1>> entry: keysBySubPartition.entrySet()) {
+        int subPartitionId = entry.getKey();
+        List<ComputeRouterRequestKeyV1> subPartitionKeys = entry.getValue();
+        List<ByteBuffer> keyBuffers = new ArrayList<>(subPartitionKeys.size());
+        for (ComputeRouterRequestKeyV1 key: subPartitionKeys) {
+          keyBuffers.add(key.keyBytes);
+        }
+        List<byte[]> values = ChunkingUtils
+            .multiGetTopLevelValues(state.storageEngine, subPartitionId, keyBuffers, state.isChunked, responseWrapper);
+        for (int i = 0; i < subPartitionKeys.size(); i++) {
+          clearFieldsInReusedRecord(reuseResultRecord, computeResultSchema);
+          GenericRecord valueRecord = GenericRecordChunkingAdapter.INSTANCE.getFromPrefetchedValue(
+              state.storeName,
+              state.storageEngine,
+              subPartitionId,
+              values.get(i),
+              reuseValueRecord,
+              reusableObjects.binaryDecoder,
+              state.compressionStrategy,
+              fastAvroEnabled,
+              this.schemaRepo,
+              responseWrapper,
+              state.compressor);
+          ComputeResponseRecordV1 record = computeOnValueRecord(
+              valueRecord,
+              subPartitionKeys.get(i).keyIndex,
+              computeRequestWrapper.getComputeRequestVersion(),
+              computeRequestWrapper.getOperations(),
+              computeResultSchema,
+              state.resultSerializer,
+              reuseResultRecord,
+              reusableObjects,
+              state.isStreaming,
+              state.aggregator,
+              responseWrapper,
+              globalContext);
+          if (record != null) {
+            recordConsumer.accept(record);
+          }
+        }
+      }
+      return;
+    }
+    for (int cur = startPos; cur < endPos; ++cur) {
+      ComputeRouterRequestKeyV1 key = keyList.get(cur);
       clearFieldsInReusedRecord(reuseResultRecord, computeResultSchema);
-      int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes.array());
+      int subPartitionId =
+          getSubPartitionId(key.partitionId, state.topic, state.partitionerConfig, key.keyBytes.array());
       ComputeResponseRecordV1 record = computeResult(
-          storageEngine,
-          storeName,
+          state.storageEngine,
+          state.storeName,
           key.keyBytes,
           key.keyIndex,
           subPartitionId,
           computeRequestWrapper.getComputeRequestVersion(),
           computeRequestWrapper.getOperations(),
-          compressionStrategy,
+          state.compressionStrategy,
           computeResultSchema,
-          resultSerializer,
+          state.resultSerializer,
           reuseValueRecord,
           reuseResultRecord,
           reusableObjects,
-          isChunked,
-          request.isStreamingRequest(),
+          state.isChunked,
+          state.isStreaming,
+          state.aggregator,
           responseWrapper,
           globalContext,
           reusedRawValue,
-          compressor);
+          state.compressor);
       if (record != null) {
-        // TODO: streaming support in storage node
-        responseWrapper.addRecord(record);
+        recordConsumer.accept(record);
       }
     }
-
-    return responseWrapper;
   }
 
   private BinaryResponse handleDictionaryFetchRequest(DictionaryFetchRequest request) {
@@ -651,6 +1018,7 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
       StorageExecReusableObjects reusableObjects,
       boolean isChunked,
       boolean isStreaming,
+      ComputeAggregator<ComputeResponseRecordV1> aggregator,
       ComputeResponseWrapper response,
       Map<String, Object> globalContext,
       ByteBuffer reuseRawValue,
@@ -693,7 +1061,44 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
         throw new VeniceException("Unknown rocksDB compute storage operation");
     }
 
-    if (reuseValueRecord == null) {
+    return computeOnValueRecord(
+        reuseValueRecord,
+        keyIndex,
+        computeRequestVersion,
+        operations,
+        computeResultSchema,
+        resultSerializer,
+        reuseResultRecord,
+        reusableObjects,
+        isStreaming,
+        aggregator,
+        response,
+        globalContext);
+  }
+
+  /**
+   * Runs the compute operations against a value record which has already been looked up and deserialized.
+   *
+   * If the request carries a filter, the results which don't match it are dropped. If it carries a top-K, the results
+   * are handed over to the aggregator instead of being returned, and only the winners are added to the response.
+   *
+   * @param valueRecord the value record, or null if the key does not exist
+   * @param aggregator the aggregations of the request, or null if there is none
+   */
+  private ComputeResponseRecordV1 computeOnValueRecord(
+      GenericRecord valueRecord,
+      final int keyIndex,
+      int computeRequestVersion,
+      List<ComputeOperation> operations,
+      Schema computeResultSchema,
+      RecordSerializer<GenericRecord> resultSerializer,
+      GenericRecord reuseResultRecord,
+      StorageExecReusableObjects reusableObjects,
+      boolean isStreaming,
+      ComputeAggregator<ComputeResponseRecordV1> aggregator,
+      ComputeResponseWrapper response,
+      Map<String, Object> globalContext) {
+    if (valueRecord == null) {
       if (isStreaming) {
         // For streaming, we need to send back non-existing keys
         ComputeResponseRecordV1 computeResponseRecord = new ComputeResponseRecordV1();
@@ -713,7 +1118,7 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
       ReadComputeOperator operator = ComputeOperationType.valueOf(operation).getOperator();
       String fieldName = operator.getOperatorFieldName(operation);
       String errorMessage =
-          ComputeOperationUtils.validateNullableFieldAndGetErrorMsg(operator, reuseValueRecord, fieldName).orElse(null);
+          ComputeOperationUtils.validateNullableFieldAndGetErrorMsg(operator, valueRecord, fieldName).orElse(null);
       if (errorMessage != null) {
         operator.putDefaultResult(reuseResultRecord, operator.getResultFieldName(operation));
         computationErrorMap.put(operator.getResultFieldName(operation), errorMessage);
@@ -723,7 +1128,7 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
       operator.compute(
           computeRequestVersion,
           operation,
-          reuseValueRecord,
+          valueRecord,
           reuseResultRecord,
           computationErrorMap,
           globalContext);
@@ -736,12 +1141,26 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
           reuseResultRecord.put(field.pos(), computationErrorMap);
         } else {
           // project from value record
-          reuseResultRecord.put(field.pos(), reuseValueRecord.get(field.name()));
+          reuseResultRecord.put(field.pos(), valueRecord.get(field.name()));
         }
       }
     }
     response.addReadComputeLatency(LatencyUtils.getLatencyInMS(computeStartTimeInNS));
 
+    Double score = null;
+    if (aggregator != null) {
+      if (!aggregator.matches(reuseResultRecord)) {
+        return null;
+      }
+      if (aggregator.hasTopK()) {
+        score = aggregator.getScore(reuseResultRecord);
+        // Skip the serialization of the results which won't make it into the top-K
+        if (score == null || !aggregator.isTopKCandidate(score)) {
+          return null;
+        }
+      }
+    }
+
     // create a response record
     ComputeResponseRecordV1 responseRecord = new ComputeResponseRecordV1();
     responseRecord.keyIndex = keyIndex;
@@ -751,6 +1170,10 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     responseRecord.value = ByteBuffer.wrap(resultSerializer.serialize(reuseResultRecord, reusableObjects));
     response.addReadComputeSerializationLatency(LatencyUtils.getLatencyInMS(serializeStartTimeInNS));
 
+    if (score != null) {
+      aggregator.offer(score, responseRecord);
+      return null;
+    }
     return responseRecord;
   }
 
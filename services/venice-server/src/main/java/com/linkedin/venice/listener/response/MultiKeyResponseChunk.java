@@ -0,0 +1,51 @@
+package com.linkedin.venice.listener.response;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import io.netty.buffer.ByteBuf;
+
+
+/**
+ * A batch of serialized records which is flushed ahead of the rest of a {@link MultiKeyResponseWrapper} when
+ * chunked streaming is enabled. The first chunk of a response carries the response headers, and the
+ * {@link MultiKeyResponseWrapper} itself is written at the end to terminate the response.
+ */
+public class MultiKeyResponseChunk {
+  private final ByteBuf body;
+  private final CompressionStrategy compressionStrategy;
+  private final int responseSchemaIdHeader;
+  private final int rcu;
+  private final boolean isStreamingResponse;
+
+  public MultiKeyResponseChunk(
+      ByteBuf body,
+      CompressionStrategy compressionStrategy,
+      int responseSchemaIdHeader,
+      int rcu,
+      boolean isStreamingResponse) {
+    this.body = body;
+    this.compressionStrategy = compressionStrategy;
+    this.responseSchemaIdHeader = responseSchemaIdHeader;
+    this.rcu = rcu;
+    this.isStreamingResponse = isStreamingResponse;
+  }
+
+  public ByteBuf getBody() {
+    return body;
+  }
+
+  public CompressionStrategy getCompressionStrategy() {
+    return compressionStrategy;
+  }
+
+  public int getResponseSchemaIdHeader() {
+    return responseSchemaIdHeader;
+  }
+
+  public int getRCU() {
+    return rcu;
+  }
+
+  public boolean isStreamingResponse() {
+    return isStreamingResponse;
+  }
+}
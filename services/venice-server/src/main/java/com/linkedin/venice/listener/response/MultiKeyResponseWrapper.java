@@ -3,6 +3,7 @@ package com.linkedin.venice.listener.response;
 import com.linkedin.davinci.listener.response.ReadResponse;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,12 +11,58 @@ import java.util.List;
 public abstract class MultiKeyResponseWrapper<K> extends ReadResponse {
   protected final List<K> records;
 
+  /**
+   * When chunked streaming is enabled, the accumulated records will be flushed to this context as a
+   * {@link MultiKeyResponseChunk} every {@link #chunkedStreamingBatchSize} records.
+   */
+  private ChannelHandlerContext chunkedStreamingContext = null;
+  private int chunkedStreamingBatchSize;
+  private int flushedRecordCount = 0;
+
   public MultiKeyResponseWrapper(int maxKeyCount) {
     this.records = new ArrayList<>(maxKeyCount);
   }
 
+  /**
+   * Enables chunked streaming for this response, so that the records will be flushed to the given context in
+   * batches as soon as they are added, instead of being held until the whole response is ready.
+   *
+   * The compression strategy, RCU and streaming flag are sent along with the first batch, so they need to be
+   * settled before any record gets added.
+   */
+  public void enableChunkedStreaming(ChannelHandlerContext context, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Chunked streaming batch size should be positive, but got: " + batchSize);
+    }
+    this.chunkedStreamingContext = context;
+    this.chunkedStreamingBatchSize = batchSize;
+  }
+
   public void addRecord(K record) {
     records.add(record);
+    if (chunkedStreamingContext != null && records.size() >= chunkedStreamingBatchSize) {
+      flushRecords();
+    }
+  }
+
+  private void flushRecords() {
+    chunkedStreamingContext.writeAndFlush(
+        new MultiKeyResponseChunk(
+            getResponseBody(),
+            getCompressionStrategy(),
+            getResponseSchemaIdHeader(),
+            getRCU(),
+            isStreamingResponse()));
+    flushedRecordCount += records.size();
+    records.clear();
+  }
+
+  /**
+   * @return whether part of the records have already been flushed in {@link MultiKeyResponseChunk}s, in which case
+   *         {@link #getResponseBody()} only contains the remaining records.
+   */
+  public boolean isChunkedStreamingStarted() {
+    return flushedRecordCount > 0;
   }
 
   protected abstract byte[] serializedResponse();
@@ -23,7 +70,7 @@ public abstract class MultiKeyResponseWrapper<K> extends ReadResponse {
   public abstract int getResponseSchemaIdHeader();
 
   public int getRecordCount() {
-    return records.size();
+    return flushedRecordCount + records.size();
   }
 
   @Override
@@ -0,0 +1,77 @@
+package com.linkedin.venice.listener;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.MultiKeyResponseChunk;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.stats.AggServerHttpRequestStats;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpServerCodec;
+import java.nio.charset.StandardCharsets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class StatsHandlerTest {
+  private static final String STORE_NAME = "test_store";
+
+  private static String readOutbound(EmbeddedChannel channel) {
+    StringBuilder output = new StringBuilder();
+    ByteBuf buf;
+    while ((buf = channel.readOutbound()) != null) {
+      output.append(buf.toString(StandardCharsets.US_ASCII));
+      buf.release();
+    }
+    return output.toString();
+  }
+
+  @Test
+  public void testChunkedResponse() {
+    AggServerHttpRequestStats singleGetStats = mock(AggServerHttpRequestStats.class);
+    AggServerHttpRequestStats multiGetStats = mock(AggServerHttpRequestStats.class);
+    AggServerHttpRequestStats computeStats = mock(AggServerHttpRequestStats.class);
+    StatsHandler statsHandler = new StatsHandler(singleGetStats, multiGetStats, computeStats);
+    // The same order as the pipeline built by HttpChannelInitializer
+    EmbeddedChannel channel =
+        new EmbeddedChannel(statsHandler, new HttpServerCodec(), new OutboundHttpWrapperHandler(statsHandler));
+
+    channel.writeInbound(
+        Unpooled.copiedBuffer("POST /storage/test_store_v1 HTTP/1.1\r\n\r\n", StandardCharsets.US_ASCII));
+    long requestStartTimeInNS = statsHandler.getRequestStartTimeInNS();
+    statsHandler.setStoreName(STORE_NAME);
+    statsHandler.setRequestType(RequestType.MULTI_GET);
+
+    for (int i = 0; i < 2; ++i) {
+      channel.writeAndFlush(
+          new MultiKeyResponseChunk(
+              Unpooled.wrappedBuffer(new byte[] { (byte) i }),
+              CompressionStrategy.NO_OP,
+              1,
+              1,
+              false));
+    }
+    String head = readOutbound(channel);
+    Assert.assertTrue(head.startsWith("HTTP/1.1 200 OK"), head);
+    Assert.assertTrue(head.toLowerCase().contains("transfer-encoding: chunked"), head);
+    // The request isn't done until the last content is written
+    verify(multiGetStats, never()).recordSuccessRequest(STORE_NAME);
+    verify(multiGetStats, never()).recordErrorRequest(STORE_NAME);
+    channel.writeInbound(Unpooled.copiedBuffer("GET /health", StandardCharsets.US_ASCII));
+    Assert.assertEquals(statsHandler.getRequestStartTimeInNS(), requestStartTimeInNS);
+
+    channel.writeAndFlush(new MultiGetResponseWrapper(2));
+    Assert.assertTrue(readOutbound(channel).endsWith("0\r\n\r\n"));
+    verify(multiGetStats).recordSuccessRequest(STORE_NAME);
+    verify(multiGetStats).recordSuccessRequestLatency(eq(STORE_NAME), anyDouble());
+    verify(multiGetStats, never()).recordErrorRequest(STORE_NAME);
+    channel.finishAndReleaseAll();
+  }
+}
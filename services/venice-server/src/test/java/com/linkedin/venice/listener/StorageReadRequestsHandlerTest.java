@@ -1,13 +1,22 @@
 package com.linkedin.venice.listener;
 
+import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
+import static com.linkedin.venice.router.api.VenicePathParser.TYPE_COMPUTE;
 import static com.linkedin.venice.router.api.VenicePathParser.TYPE_STORAGE;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
@@ -19,36 +28,80 @@ import com.linkedin.davinci.storage.MetadataRetriever;
 import com.linkedin.davinci.storage.StorageEngineRepository;
 import com.linkedin.davinci.store.AbstractStorageEngine;
 import com.linkedin.davinci.store.record.ValueRecord;
+import com.linkedin.davinci.store.rocksdb.RocksDBComputeAccessMode;
 import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.NoopCompressor;
+import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.EqualsFilter;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.listener.request.AdminRequest;
+import com.linkedin.venice.listener.request.ComputeRouterRequestWrapper;
 import com.linkedin.venice.listener.request.GetRouterRequest;
 import com.linkedin.venice.listener.request.HealthCheckRequest;
+import com.linkedin.venice.listener.request.MultiGetRouterRequestWrapper;
+import com.linkedin.venice.listener.response.ComputeResponseWrapper;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
+import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.MultiKeyResponseChunk;
 import com.linkedin.venice.listener.response.StorageResponseObject;
 import com.linkedin.venice.meta.QueryAction;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.meta.ServerAdminAction;
 import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.offsets.OffsetRecord;
+import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.schema.SchemaEntry;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serialization.KeyWithChunkingSuffixSerializer;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.DataProviderUtils;
 import com.linkedin.venice.utils.TestUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -362,4 +415,597 @@ public class StorageReadRequestsHandlerTest {
       TestUtils.shutdownExecutor(threadPoolExecutor);
     }
   }
+
+  private static final String MULTI_KEY_STORE_NAME = "test_store";
+  private static final String MULTI_KEY_TOPIC = Version.composeKafkaTopic(MULTI_KEY_STORE_NAME, 1);
+  private static final int MULTI_KEY_VALUE_SCHEMA_ID = 1;
+  private static final int NON_CHUNKED_KEY_SUFFIX_LENGTH =
+      new KeyWithChunkingSuffixSerializer().serializeNonChunkedKey(new byte[0]).length;
+
+  private static String getKeyString(int keyId) {
+    return "key_" + keyId;
+  }
+
+  private static MultiGetRouterRequestWrapper createMultiGetRequest(int keyCount) {
+    List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      MultiGetRouterRequestKeyV1 key = new MultiGetRouterRequestKeyV1();
+      key.keyIndex = i;
+      key.keyBytes = ByteBuffer.wrap(getKeyString(i).getBytes());
+      key.partitionId = 0;
+      keys.add(key);
+    }
+    FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        "/" + TYPE_STORAGE + "/" + MULTI_KEY_TOPIC,
+        Unpooled.wrappedBuffer(
+            SerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$)
+                .serializeObjects(keys)));
+    httpRequest.headers()
+        .add(
+            HttpConstants.VENICE_API_VERSION,
+            ReadAvroProtocolDefinition.MULTI_GET_ROUTER_REQUEST_V1.getProtocolVersion());
+    return MultiGetRouterRequestWrapper.parseMultiGetHttpRequest(httpRequest);
+  }
+
+  private static AbstractStorageEngine createMultiKeyStorageEngine(
+      IntFunction<byte[]> valueBytesGetter,
+      Consumer<String> lookupCallback) {
+    return createMultiKeyStorageEngine(valueBytesGetter, lookupCallback, false);
+  }
+
+  /**
+   * @return a storage engine mock, which holds the value given by the getter for every key whose id is not a multiple
+   *         of 5, and invokes the given callback before each lookup, be it a single get or a part of a multi get. When
+   *         chunked, the values of the keys with an odd id are split into 2 chunks.
+   */
+  private static AbstractStorageEngine createMultiKeyStorageEngine(
+      IntFunction<byte[]> valueBytesGetter,
+      Consumer<String> lookupCallback,
+      boolean chunked) {
+    AbstractStorageEngine storageEngine = mock(AbstractStorageEngine.class);
+    doReturn(CompressionStrategy.NO_OP).when(storageEngine).getCompressionStrategy();
+    doReturn(chunked).when(storageEngine).isChunked();
+    Function<ByteBuffer, byte[]> lookup = keyBuffer -> {
+      byte[] keyBytes = ByteUtils.extractByteArray(keyBuffer);
+      if (chunked) {
+        keyBytes = Arrays.copyOf(keyBytes, keyBytes.length - NON_CHUNKED_KEY_SUFFIX_LENGTH);
+      }
+      String key = new String(keyBytes);
+      lookupCallback.accept(key);
+      int keyId = Integer.parseInt(key.substring(key.indexOf('_') + 1));
+      if (keyId % 5 == 0) {
+        return null;
+      }
+      byte[] valueBytes = valueBytesGetter.apply(keyId);
+      if (!chunked || keyId % 2 == 0) {
+        return ValueRecord.create(MULTI_KEY_VALUE_SCHEMA_ID, valueBytes).serialize();
+      }
+      ChunkedValueManifest chunkedValueManifest = new ChunkedValueManifest();
+      chunkedValueManifest.schemaId = MULTI_KEY_VALUE_SCHEMA_ID;
+      chunkedValueManifest.size = valueBytes.length;
+      chunkedValueManifest.keysWithChunkIdSuffix =
+          Arrays.asList(ByteBuffer.wrap((key + "_0").getBytes()), ByteBuffer.wrap((key + "_1").getBytes()));
+      byte[] manifestBytes = SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$)
+          .serialize(chunkedValueManifest);
+      int manifestSchemaId = AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion();
+      return ValueRecord.create(manifestSchemaId, manifestBytes).serialize();
+    };
+    doAnswer(invocation -> lookup.apply(invocation.getArgument(1))).when(storageEngine)
+        .get(eq(0), any(ByteBuffer.class), eq(false));
+    doAnswer(invocation -> {
+      List<ByteBuffer> keyBuffers = invocation.getArgument(1);
+      List<byte[]> values = new ArrayList<>(keyBuffers.size());
+      keyBuffers.forEach(keyBuffer -> values.add(lookup.apply(keyBuffer)));
+      return values;
+    }).when(storageEngine).multiGet(eq(0), anyList(), eq(false));
+    // The chunk keys are the key followed by the chunk index, and each chunk holds one half of the value
+    doAnswer(invocation -> {
+      String chunkKey = new String((byte[]) invocation.getArgument(1));
+      int keyId = Integer.parseInt(chunkKey.substring(chunkKey.indexOf('_') + 1, chunkKey.lastIndexOf('_')));
+      byte[] valueBytes = valueBytesGetter.apply(keyId);
+      int cutOff = valueBytes.length / 2;
+      byte[] chunk = chunkKey.endsWith("_0")
+          ? Arrays.copyOfRange(valueBytes, 0, cutOff)
+          : Arrays.copyOfRange(valueBytes, cutOff, valueBytes.length);
+      return ValueRecord.create(AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), chunk).serialize();
+    }).when(storageEngine).get(eq(0), any(byte[].class), eq(false));
+    return storageEngine;
+  }
+
+  private static byte[] getValueBytes(int keyId) {
+    return ("value_" + keyId).getBytes();
+  }
+
+  private static StorageReadRequestsHandler createMultiKeyHandler(
+      ThreadPoolExecutor executor,
+      AbstractStorageEngine storageEngine,
+      ReadOnlySchemaRepository schemaRepo,
+      VeniceServerConfig serverConfig,
+      boolean parallelBatchGetEnabled) {
+    StorageEngineRepository storageEngineRepository = mock(StorageEngineRepository.class);
+    doReturn(storageEngine).when(storageEngineRepository).getLocalStorageEngine(MULTI_KEY_TOPIC);
+    ReadOnlyStoreRepository metadataRepo = mock(ReadOnlyStoreRepository.class);
+    Store store = mock(Store.class);
+    doReturn(Optional.empty()).when(store).getVersion(anyInt());
+    doReturn(store).when(metadataRepo).getStoreOrThrow(MULTI_KEY_STORE_NAME);
+    StorageEngineBackedCompressorFactory compressorFactory = mock(StorageEngineBackedCompressorFactory.class);
+    doReturn(new NoopCompressor()).when(compressorFactory).getCompressor(CompressionStrategy.NO_OP, MULTI_KEY_TOPIC);
+    return new StorageReadRequestsHandler(
+        executor,
+        executor,
+        storageEngineRepository,
+        metadataRepo,
+        schemaRepo,
+        mock(MetadataRetriever.class),
+        null,
+        false,
+        parallelBatchGetEnabled,
+        10,
+        serverConfig,
+        compressorFactory,
+        Optional.empty());
+  }
+
+  private static VeniceServerConfig createMultiKeyServerConfig() {
+    VeniceServerConfig serverConfig = mock(VeniceServerConfig.class);
+    RocksDBServerConfig dbServerConfig = mock(RocksDBServerConfig.class);
+    doReturn(RocksDBComputeAccessMode.SINGLE_GET).when(dbServerConfig).getServerStorageOperation();
+    doReturn(dbServerConfig).when(serverConfig).getRocksDBServerConfig();
+    return serverConfig;
+  }
+
+  private static ChannelHandlerContext createChannelContext(List<Object> outputs) {
+    ChannelHandlerContext context = mock(ChannelHandlerContext.class);
+    doAnswer(invocation -> {
+      outputs.add(invocation.getArgument(0));
+      return null;
+    }).when(context).writeAndFlush(any());
+    return context;
+  }
+
+  private static ThreadPoolExecutor createMultiThreadExecutor() {
+    return new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+  }
+
+  private static List<MultiGetResponseRecordV1> deserializeMultiGetRecords(ByteBuf body) {
+    List<MultiGetResponseRecordV1> records = new ArrayList<>();
+    SerializerDeserializerFactory.getAvroSpecificDeserializer(MultiGetResponseRecordV1.class)
+        .deserializeObjects(ByteBufUtil.getBytes(body))
+        .forEach(records::add);
+    return records;
+  }
+
+  private static List<MultiGetResponseRecordV1> handleMultiGetRequest(
+      StorageReadRequestsHandler handler,
+      MultiGetRouterRequestWrapper request) throws Exception {
+    List<Object> outputs = new CopyOnWriteArrayList<>();
+    handler.channelRead(createChannelContext(outputs), request);
+    waitUntilStorageExecutionHandlerRespond(outputs);
+    Assert.assertEquals(outputs.size(), 1);
+    Assert.assertTrue(outputs.get(0) instanceof MultiGetResponseWrapper, "Unexpected response: " + outputs.get(0));
+    return deserializeMultiGetRecords(((MultiGetResponseWrapper) outputs.get(0)).getResponseBody());
+  }
+
+  @Test
+  public void testParallelMultiGetMatchesSequentialMultiGet() throws Exception {
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      AbstractStorageEngine storageEngine =
+          createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getValueBytes, key -> {});
+      ReadOnlySchemaRepository schemaRepo = mock(ReadOnlySchemaRepository.class);
+      VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+      StorageReadRequestsHandler sequentialHandler =
+          createMultiKeyHandler(executor, storageEngine, schemaRepo, serverConfig, false);
+      StorageReadRequestsHandler parallelHandler =
+          createMultiKeyHandler(executor, storageEngine, schemaRepo, serverConfig, true);
+
+      // Cover a single partial chunk, full chunks only and a trailing partial chunk, with 10 keys per chunk
+      for (int keyCount: new int[] { 7, 20, 25 }) {
+        List<MultiGetResponseRecordV1> expectedRecords =
+            handleMultiGetRequest(sequentialHandler, createMultiGetRequest(keyCount));
+        List<MultiGetResponseRecordV1> records =
+            handleMultiGetRequest(parallelHandler, createMultiGetRequest(keyCount));
+        Assert.assertEquals(records, expectedRecords);
+
+        // The records keep the order of the keys, and the missing keys are skipped
+        Assert.assertEquals(records.size(), keyCount - (keyCount + 4) / 5);
+        int previousKeyIndex = -1;
+        for (MultiGetResponseRecordV1 record: records) {
+          Assert.assertTrue(record.keyIndex > previousKeyIndex);
+          Assert.assertNotEquals(record.keyIndex % 5, 0);
+          Assert.assertEquals(ByteUtils.extractByteArray(record.value), getValueBytes(record.keyIndex));
+          previousKeyIndex = record.keyIndex;
+        }
+      }
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  @Test
+  public void testParallelMultiGetStreamsChunksInOrder() throws Exception {
+    int keyCount = 30;
+    CountDownLatch secondChunkLookupLatch = new CountDownLatch(1);
+    CountDownLatch lastChunkLookupLatch = new CountDownLatch(1);
+    Consumer<String> lookupCallback = key -> {
+      try {
+        if (key.equals(getKeyString(3))) {
+          // Hold the first chunk until the second one is being looked up, so the chunks complete out of order
+          Assert.assertTrue(secondChunkLookupLatch.await(10, TimeUnit.SECONDS));
+        } else if (key.equals(getKeyString(19))) {
+          secondChunkLookupLatch.countDown();
+        } else if (key.equals(getKeyString(29))) {
+          // Hold the last chunk until the records of the previous chunks have been streamed
+          Assert.assertTrue(lastChunkLookupLatch.await(10, TimeUnit.SECONDS));
+        }
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    };
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getValueBytes, lookupCallback);
+    VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+    doReturn(true).when(serverConfig).isChunkedStreamingResponseEnabled();
+    doReturn(5).when(serverConfig).getChunkedStreamingResponseBatchSize();
+
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      StorageReadRequestsHandler handler =
+          createMultiKeyHandler(executor, storageEngine, mock(ReadOnlySchemaRepository.class), serverConfig, true);
+      List<Object> outputs = new CopyOnWriteArrayList<>();
+      handler.channelRead(createChannelContext(outputs), createMultiGetRequest(keyCount));
+
+      // The records of the first two chunks get streamed in 3 batches while the last chunk is still being looked up
+      TestUtils.waitForNonDeterministicAssertion(10, TimeUnit.SECONDS, () -> Assert.assertEquals(outputs.size(), 3));
+      lastChunkLookupLatch.countDown();
+      // 24 records in total, which are flushed in batches of 5, and the last 4 records are sent with the response
+      TestUtils.waitForNonDeterministicAssertion(10, TimeUnit.SECONDS, () -> Assert.assertEquals(outputs.size(), 5));
+
+      List<MultiGetResponseRecordV1> records = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        Assert.assertTrue(outputs.get(i) instanceof MultiKeyResponseChunk, "Unexpected response: " + outputs.get(i));
+        records.addAll(deserializeMultiGetRecords(((MultiKeyResponseChunk) outputs.get(i)).getBody()));
+      }
+      Assert.assertTrue(outputs.get(4) instanceof MultiGetResponseWrapper, "Unexpected response: " + outputs.get(4));
+      MultiGetResponseWrapper lastResponse = (MultiGetResponseWrapper) outputs.get(4);
+      records.addAll(deserializeMultiGetRecords(lastResponse.getResponseBody()));
+      Assert.assertEquals(lastResponse.getRecordCount(), keyCount - keyCount / 5);
+
+      List<Integer> keyIndexes = new ArrayList<>();
+      records.forEach(record -> keyIndexes.add(record.keyIndex));
+      List<Integer> expectedKeyIndexes = new ArrayList<>();
+      for (int i = 0; i < keyCount; i++) {
+        if (i % 5 != 0) {
+          expectedKeyIndexes.add(i);
+        }
+      }
+      Assert.assertEquals(keyIndexes, expectedKeyIndexes);
+    } finally {
+      lastChunkLookupLatch.countDown();
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  @Test
+  public void testParallelMultiGetTerminatedEarly() throws Exception {
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getValueBytes, key -> {});
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      StorageReadRequestsHandler handler = createMultiKeyHandler(
+          executor,
+          storageEngine,
+          mock(ReadOnlySchemaRepository.class),
+          createMultiKeyServerConfig(),
+          true);
+      // The request times out after being dispatched to the chunks
+      MultiGetRouterRequestWrapper request = spy(createMultiGetRequest(25));
+      doReturn(false).doReturn(true).when(request).shouldRequestBeTerminatedEarly();
+      List<Object> outputs = new CopyOnWriteArrayList<>();
+      handler.channelRead(createChannelContext(outputs), request);
+      waitUntilStorageExecutionHandlerRespond(outputs);
+
+      Assert.assertEquals(outputs.size(), 1);
+      Assert.assertTrue(outputs.get(0) instanceof HttpShortcutResponse, "Unexpected response: " + outputs.get(0));
+      Assert.assertEquals(
+          ((HttpShortcutResponse) outputs.get(0)).getStatus(),
+          VeniceRequestEarlyTerminationException.getHttpResponseStatus());
+      verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class), anyBoolean());
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  @Test(dataProvider = "Two-True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testBatchGetStorageMultiGet(boolean batchGetStorageMultiGetEnabled, boolean chunked) throws Exception {
+    int keyCount = 25;
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getValueBytes, key -> {}, chunked);
+    ReadOnlySchemaRepository schemaRepo = mock(ReadOnlySchemaRepository.class);
+    VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+    doReturn(batchGetStorageMultiGetEnabled).when(serverConfig).isBatchGetStorageMultiGetEnabled();
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      // The single get path looks up the keys one by one
+      StorageReadRequestsHandler singleGetHandler =
+          createMultiKeyHandler(executor, storageEngine, schemaRepo, createMultiKeyServerConfig(), false);
+      List<MultiGetResponseRecordV1> expectedRecords =
+          handleMultiGetRequest(singleGetHandler, createMultiGetRequest(keyCount));
+      Assert.assertEquals(expectedRecords.size(), keyCount - keyCount / 5);
+      for (MultiGetResponseRecordV1 record: expectedRecords) {
+        Assert.assertNotEquals(record.keyIndex % 5, 0);
+        Assert.assertEquals(record.schemaId, MULTI_KEY_VALUE_SCHEMA_ID);
+        Assert.assertEquals(ByteUtils.extractByteArray(record.value), getValueBytes(record.keyIndex));
+      }
+
+      for (boolean parallelBatchGetEnabled: new boolean[] { false, true }) {
+        StorageReadRequestsHandler handler =
+            createMultiKeyHandler(executor, storageEngine, schemaRepo, serverConfig, parallelBatchGetEnabled);
+        List<MultiGetResponseRecordV1> records = handleMultiGetRequest(handler, createMultiGetRequest(keyCount));
+        records.sort(Comparator.comparingInt(record -> record.keyIndex));
+        Assert.assertEquals(records, expectedRecords, "Parallel batch get: " + parallelBatchGetEnabled);
+      }
+
+      if (batchGetStorageMultiGetEnabled) {
+        // One lookup for the sequential batch get, and one per chunk of 10 keys for the parallel one
+        verify(storageEngine, times(4)).multiGet(eq(0), anyList(), eq(false));
+        verify(storageEngine, times(keyCount)).get(eq(0), any(ByteBuffer.class), eq(false));
+      } else {
+        verify(storageEngine, never()).multiGet(anyInt(), anyList(), anyBoolean());
+        verify(storageEngine, times(3 * keyCount)).get(eq(0), any(ByteBuffer.class), eq(false));
+      }
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  private static final Schema COMPUTE_VALUE_SCHEMA = Schema.parse(
+      "{\"type\": \"record\", \"name\": \"DenseVector\", \"fields\": [" + "{\"name\": \"id\", \"type\": \"int\"},"
+          + "{\"name\": \"value\", \"type\": {\"type\": \"array\", \"items\": \"float\"}}]}");
+  private static final Schema COMPUTE_RESULT_SCHEMA = Schema.parse(
+      "{\"type\": \"record\", \"name\": \"DenseVectorComputeResult\", \"fields\": ["
+          + "{\"name\": \"id\", \"type\": \"int\"},"
+          + "{\"name\": \"dot_product\", \"type\": [\"null\", \"float\"], \"default\": null}," + "{\"name\": \""
+          + VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME + "\", \"type\": {\"type\": \"map\", \"values\": \"string\"}}]}");
+
+  private static byte[] getComputeValueBytes(int keyId) {
+    GenericRecord value = new GenericData.Record(COMPUTE_VALUE_SCHEMA);
+    value.put("id", keyId);
+    value.put("value", Arrays.asList((float) keyId, 1.0f));
+    return SerializerDeserializerFactory.getAvroGenericSerializer(COMPUTE_VALUE_SCHEMA).serialize(value);
+  }
+
+  private static ComputeRouterRequestWrapper createComputeRequest(int keyCount) throws Exception {
+    return createComputeRequest(keyCount, computeRequestWrapper -> {});
+  }
+
+  private static ComputeRouterRequestWrapper createComputeRequest(
+      int keyCount,
+      Consumer<ComputeRequestWrapper> aggregationSetter) throws Exception {
+    DotProduct dotProduct = (DotProduct) ComputeOperationType.DOT_PRODUCT.getNewInstance();
+    dotProduct.field = "value";
+    dotProduct.dotProductParam = Arrays.asList(1.0f, 1.0f);
+    dotProduct.resultFieldName = "dot_product";
+    ComputeOperation computeOperation = new ComputeOperation();
+    computeOperation.operationType = ComputeOperationType.DOT_PRODUCT.getValue();
+    computeOperation.operation = dotProduct;
+    ComputeRequestWrapper computeRequestWrapper =
+        new ComputeRequestWrapper(ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST);
+    computeRequestWrapper.setResultSchemaStr(COMPUTE_RESULT_SCHEMA.toString());
+    computeRequestWrapper.setOperations(Collections.singletonList(computeOperation));
+    aggregationSetter.accept(computeRequestWrapper);
+
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      ComputeRouterRequestKeyV1 key = new ComputeRouterRequestKeyV1();
+      key.keyIndex = i;
+      key.keyBytes = ByteBuffer.wrap(getKeyString(i).getBytes());
+      key.partitionId = 0;
+      keys.add(key);
+    }
+    ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+    requestBody.write(computeRequestWrapper.serialize());
+    requestBody.write(
+        SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRouterRequestKeyV1.SCHEMA$)
+            .serializeObjects(keys));
+    FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        "/" + TYPE_COMPUTE + "/" + MULTI_KEY_TOPIC,
+        Unpooled.wrappedBuffer(requestBody.toByteArray()));
+    httpRequest.headers()
+        .add(HttpConstants.VENICE_API_VERSION, ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST);
+    httpRequest.headers().add(HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID, MULTI_KEY_VALUE_SCHEMA_ID);
+    return ComputeRouterRequestWrapper.parseComputeRequest(httpRequest, false);
+  }
+
+  private static ReadOnlySchemaRepository createComputeSchemaRepository() {
+    ReadOnlySchemaRepository schemaRepo = mock(ReadOnlySchemaRepository.class);
+    SchemaEntry valueSchemaEntry = new SchemaEntry(MULTI_KEY_VALUE_SCHEMA_ID, COMPUTE_VALUE_SCHEMA);
+    doReturn(valueSchemaEntry).when(schemaRepo).getValueSchema(MULTI_KEY_STORE_NAME, MULTI_KEY_VALUE_SCHEMA_ID);
+    doReturn(valueSchemaEntry).when(schemaRepo).getSupersetOrLatestValueSchema(MULTI_KEY_STORE_NAME);
+    return schemaRepo;
+  }
+
+  private static List<ComputeResponseRecordV1> handleComputeRequest(
+      StorageReadRequestsHandler handler,
+      ComputeRouterRequestWrapper request) throws Exception {
+    List<Object> outputs = new CopyOnWriteArrayList<>();
+    handler.channelRead(createChannelContext(outputs), request);
+    waitUntilStorageExecutionHandlerRespond(outputs);
+    Assert.assertEquals(outputs.size(), 1);
+    Assert.assertTrue(outputs.get(0) instanceof ComputeResponseWrapper, "Unexpected response: " + outputs.get(0));
+    List<ComputeResponseRecordV1> records = new ArrayList<>();
+    SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class)
+        .deserializeObjects(ByteBufUtil.getBytes(((ComputeResponseWrapper) outputs.get(0)).getResponseBody()))
+        .forEach(records::add);
+    return records;
+  }
+
+  @Test
+  public void testParallelComputeMatchesSequentialCompute() throws Exception {
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getComputeValueBytes, key -> {});
+    ReadOnlySchemaRepository schemaRepo = createComputeSchemaRepository();
+    RecordDeserializer<GenericRecord> resultDeserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(COMPUTE_RESULT_SCHEMA);
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      StorageReadRequestsHandler sequentialHandler =
+          createMultiKeyHandler(executor, storageEngine, schemaRepo, createMultiKeyServerConfig(), false);
+      for (int chunkSize: new int[] { 1, 7, 10 }) {
+        VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+        doReturn(true).when(serverConfig).isEnableParallelCompute();
+        doReturn(chunkSize).when(serverConfig).getParallelComputeChunkSize();
+        StorageReadRequestsHandler parallelHandler =
+            createMultiKeyHandler(executor, storageEngine, schemaRepo, serverConfig, false);
+
+        // Cover a single partial chunk, full chunks only and a trailing partial chunk
+        for (int keyCount: new int[] { 5, 20, 21 }) {
+          List<ComputeResponseRecordV1> expectedRecords =
+              handleComputeRequest(sequentialHandler, createComputeRequest(keyCount));
+          List<ComputeResponseRecordV1> records = handleComputeRequest(parallelHandler, createComputeRequest(keyCount));
+          Assert.assertEquals(records, expectedRecords, "Chunk size: " + chunkSize + ", key count: " + keyCount);
+
+          // The records keep the order of the keys, and the missing keys are skipped
+          Assert.assertEquals(records.size(), keyCount - (keyCount + 4) / 5);
+          int previousKeyIndex = -1;
+          for (ComputeResponseRecordV1 record: records) {
+            Assert.assertTrue(record.keyIndex > previousKeyIndex);
+            Assert.assertNotEquals(record.keyIndex % 5, 0);
+            GenericRecord result = resultDeserializer.deserialize(record.value);
+            Assert.assertEquals(result.get("id"), record.keyIndex);
+            Assert.assertEquals(result.get("dot_product"), record.keyIndex + 1.0f);
+            previousKeyIndex = record.keyIndex;
+          }
+        }
+      }
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  @Test
+  public void testParallelComputeTerminatedEarly() throws Exception {
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getComputeValueBytes, key -> {});
+    VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+    doReturn(true).when(serverConfig).isEnableParallelCompute();
+    doReturn(10).when(serverConfig).getParallelComputeChunkSize();
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      StorageReadRequestsHandler handler =
+          createMultiKeyHandler(executor, storageEngine, createComputeSchemaRepository(), serverConfig, false);
+      // The request times out after being dispatched to the chunks
+      ComputeRouterRequestWrapper request = spy(createComputeRequest(25));
+      doReturn(false).doReturn(true).when(request).shouldRequestBeTerminatedEarly();
+      List<Object> outputs = new CopyOnWriteArrayList<>();
+      handler.channelRead(createChannelContext(outputs), request);
+      waitUntilStorageExecutionHandlerRespond(outputs);
+
+      Assert.assertEquals(outputs.size(), 1);
+      Assert.assertTrue(outputs.get(0) instanceof HttpShortcutResponse, "Unexpected response: " + outputs.get(0));
+      Assert.assertEquals(
+          ((HttpShortcutResponse) outputs.get(0)).getStatus(),
+          VeniceRequestEarlyTerminationException.getHttpResponseStatus());
+      verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class), anyBoolean());
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  @Test
+  public void testComputeWithFilterAndTopK() throws Exception {
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getComputeValueBytes, key -> {});
+    ReadOnlySchemaRepository schemaRepo = createComputeSchemaRepository();
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      for (boolean parallelComputeEnabled: new boolean[] { false, true }) {
+        VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+        doReturn(parallelComputeEnabled).when(serverConfig).isEnableParallelCompute();
+        doReturn(7).when(serverConfig).getParallelComputeChunkSize();
+        StorageReadRequestsHandler handler =
+            createMultiKeyHandler(executor, storageEngine, schemaRepo, serverConfig, false);
+
+        // Only the record matching the filter is returned
+        List<ComputeResponseRecordV1> records = handleComputeRequest(handler, createComputeRequest(20, request -> {
+          EqualsFilter equalsFilter = new EqualsFilter();
+          equalsFilter.field = "id";
+          equalsFilter.expectedValue = ByteBuffer.wrap(
+              SerializerDeserializerFactory.getAvroGenericSerializer(COMPUTE_RESULT_SCHEMA.getField("id").schema())
+                  .serialize(7));
+          request.setEqualsFilters(Collections.singletonList(equalsFilter));
+        }));
+        Assert.assertEquals(records.size(), 1);
+        Assert.assertEquals(records.get(0).keyIndex, 7);
+
+        // Only the top-3 records are returned in descending order of the dot product, which is key index + 1
+        records = handleComputeRequest(handler, createComputeRequest(20, request -> {
+          TopK topK = new TopK();
+          topK.scoreFieldName = "dot_product";
+          topK.k = 3;
+          request.setTopK(topK);
+        }));
+        List<Integer> keyIndexes = new ArrayList<>();
+        records.forEach(record -> keyIndexes.add(record.keyIndex));
+        Assert.assertEquals(keyIndexes, Arrays.asList(19, 18, 17), "Parallel compute: " + parallelComputeEnabled);
+      }
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
+
+  @Test(dataProvider = "Two-True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testComputeWithMultiGetAccessMode(boolean multiGetAccessModeEnabled, boolean chunked) throws Exception {
+    int keyCount = 25;
+    AbstractStorageEngine storageEngine =
+        createMultiKeyStorageEngine(StorageReadRequestsHandlerTest::getComputeValueBytes, key -> {}, chunked);
+    ReadOnlySchemaRepository schemaRepo = createComputeSchemaRepository();
+    RecordDeserializer<GenericRecord> resultDeserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(COMPUTE_RESULT_SCHEMA);
+    ThreadPoolExecutor executor = createMultiThreadExecutor();
+    try {
+      // The single get path looks up the keys one by one
+      StorageReadRequestsHandler singleGetHandler =
+          createMultiKeyHandler(executor, storageEngine, schemaRepo, createMultiKeyServerConfig(), false);
+      List<ComputeResponseRecordV1> expectedRecords =
+          handleComputeRequest(singleGetHandler, createComputeRequest(keyCount));
+      Assert.assertEquals(expectedRecords.size(), keyCount - keyCount / 5);
+      for (ComputeResponseRecordV1 record: expectedRecords) {
+        Assert.assertNotEquals(record.keyIndex % 5, 0);
+        GenericRecord result = resultDeserializer.deserialize(record.value);
+        Assert.assertEquals(result.get("id"), record.keyIndex);
+        Assert.assertEquals(result.get("dot_product"), record.keyIndex + 1.0f);
+      }
+
+      for (boolean parallelComputeEnabled: new boolean[] { false, true }) {
+        VeniceServerConfig serverConfig = createMultiKeyServerConfig();
+        RocksDBServerConfig dbServerConfig = serverConfig.getRocksDBServerConfig();
+        RocksDBComputeAccessMode accessMode =
+            multiGetAccessModeEnabled ? RocksDBComputeAccessMode.MULTI_GET : RocksDBComputeAccessMode.SINGLE_GET;
+        doReturn(accessMode).when(dbServerConfig).getServerStorageOperation();
+        doReturn(parallelComputeEnabled).when(serverConfig).isEnableParallelCompute();
+        doReturn(10).when(serverConfig).getParallelComputeChunkSize();
+        StorageReadRequestsHandler handler =
+            createMultiKeyHandler(executor, storageEngine, schemaRepo, serverConfig, false);
+        List<ComputeResponseRecordV1> records = handleComputeRequest(handler, createComputeRequest(keyCount));
+        records.sort(Comparator.comparingInt(record -> record.keyIndex));
+        Assert.assertEquals(records, expectedRecords, "Parallel compute: " + parallelComputeEnabled);
+      }
+
+      if (multiGetAccessModeEnabled) {
+        // One lookup for the sequential compute, and one per chunk of 10 keys for the parallel one
+        verify(storageEngine, times(4)).multiGet(eq(0), anyList(), eq(false));
+        verify(storageEngine, times(keyCount)).get(eq(0), any(ByteBuffer.class), eq(false));
+      } else {
+        verify(storageEngine, never()).multiGet(anyInt(), anyList(), anyBoolean());
+        verify(storageEngine, times(3 * keyCount)).get(eq(0), any(ByteBuffer.class), eq(false));
+      }
+    } finally {
+      TestUtils.shutdownExecutor(executor);
+    }
+  }
 }
@@ -0,0 +1,83 @@
+package com.linkedin.venice.listener.response;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class MultiGetResponseWrapperTest {
+  private static MultiGetResponseRecordV1 createRecord(int keyIndex) {
+    MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+    record.keyIndex = keyIndex;
+    record.schemaId = 1;
+    record.value = ByteBuffer.wrap(("value_" + keyIndex).getBytes());
+    return record;
+  }
+
+  private static byte[] toBytes(ByteBuf byteBuf) {
+    byte[] bytes = new byte[byteBuf.readableBytes()];
+    byteBuf.readBytes(bytes);
+    return bytes;
+  }
+
+  @Test
+  public void testChunkedStreaming() throws Exception {
+    int recordCount = 5;
+    List<Object> outputArray = new ArrayList<>();
+    ChannelHandlerContext mockCtx = mock(ChannelHandlerContext.class);
+    when(mockCtx.writeAndFlush(any())).then(i -> {
+      outputArray.add(i.getArguments()[0]);
+      return null;
+    });
+
+    MultiGetResponseWrapper streamedResponse = new MultiGetResponseWrapper(recordCount);
+    streamedResponse.setCompressionStrategy(CompressionStrategy.GZIP);
+    streamedResponse.setRCU(recordCount);
+    streamedResponse.enableChunkedStreaming(mockCtx, 2);
+    MultiGetResponseWrapper fullResponse = new MultiGetResponseWrapper(recordCount);
+    for (int i = 0; i < recordCount; i++) {
+      streamedResponse.addRecord(createRecord(i));
+      fullResponse.addRecord(createRecord(i));
+    }
+
+    Assert.assertEquals(outputArray.size(), 2);
+    Assert.assertTrue(streamedResponse.isChunkedStreamingStarted());
+    Assert.assertEquals(streamedResponse.getRecordCount(), recordCount);
+
+    // The chunks followed by the remaining records should be identical to the non-streamed response body
+    ByteArrayOutputStream streamedBody = new ByteArrayOutputStream();
+    for (Object output: outputArray) {
+      MultiKeyResponseChunk chunk = (MultiKeyResponseChunk) output;
+      Assert.assertEquals(chunk.getCompressionStrategy(), CompressionStrategy.GZIP);
+      Assert.assertEquals(chunk.getRCU(), recordCount);
+      Assert.assertEquals(chunk.getResponseSchemaIdHeader(), streamedResponse.getResponseSchemaIdHeader());
+      Assert.assertFalse(chunk.isStreamingResponse());
+      streamedBody.write(toBytes(chunk.getBody()));
+    }
+    streamedBody.write(toBytes(streamedResponse.getResponseBody()));
+    Assert.assertEquals(streamedBody.toByteArray(), toBytes(fullResponse.getResponseBody()));
+  }
+
+  @Test
+  public void testNoChunkFlushedBelowBatchSize() {
+    ChannelHandlerContext mockCtx = mock(ChannelHandlerContext.class);
+    MultiGetResponseWrapper response = new MultiGetResponseWrapper(2);
+    response.enableChunkedStreaming(mockCtx, 10);
+    response.addRecord(createRecord(0));
+    response.addRecord(createRecord(1));
+
+    Assert.assertFalse(response.isChunkedStreamingStarted());
+    Assert.assertEquals(response.getRecordCount(), 2);
+  }
+}